@@ -0,0 +1,153 @@
+package kr.otp.bench;
+
+import kr.otp.core.KoreanRaptor;
+import kr.otp.gtfs.GtfsBundle;
+import kr.otp.gtfs.loader.GtfsLoader;
+import kr.otp.raptor.data.StreamingTransitDataBuilder;
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.data.TransitDataBuilder;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.synthetic.SyntheticTransitDataGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KoreanRaptor 단일 쿼리 벤치마크 (고정 OD 샘플).
+ *
+ * 측정 항목: route(), routeMultiCriteria(), routeByStopIndex()의 쿼리당 평균 시간과
+ * 할당률 (gc 프로파일러: gc.alloc.rate.norm = 쿼리당 할당 바이트).
+ * MAX_ACCESS_STOPS, SEARCH_WINDOW_SECONDS 같은 튜닝 변경 전후를 같은 조건으로 비교한다.
+ *
+ * 실행:
+ * <pre>
+ * ./gradlew jmh
+ * ./gradlew jmh -PjmhInclude='KoreanRaptorBenchmark\.route$' -PjmhXmx=40g
+ * </pre>
+ *
+ * 데이터: -Dkorean.bench.gtfs (기본 data/gtfs). 도보 거리는 결과 재현성을 위해 직선 거리 사용.
+ * -Dkorean.bench.builder=streaming(기본)|loader 로 StreamingTransitDataBuilder와
+ * 기존 GtfsLoader + TransitDataBuilder 중 빌드 경로를 고른다.
+ * -Dkorean.bench.synthetic=2.0 을 주면 GTFS 대신 합성 전국 데이터(2배 규모)를 사용한다.
+ * 호출마다 OD 샘플을 순환하므로 결과는 샘플 전체의 평균이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KoreanRaptorBenchmark {
+
+    private static final int DEPARTURE_TIME = 8 * 3600;  // 08:00 (출근 시간대)
+
+    /**
+     * 고정 OD 샘플 (서울 주요 역 간, fromLat, fromLon, toLat, toLon)
+     */
+    private static final double[][] OD_SAMPLE = {
+        {37.5547, 126.9707, 37.4979, 127.0276},  // 서울역 → 강남역
+        {37.5572, 126.9245, 37.5133, 127.1001},  // 홍대입구 → 잠실
+        {37.5219, 126.9245, 37.5612, 127.0378},  // 여의도 → 왕십리
+        {37.6556, 127.0617, 37.4766, 126.9816},  // 노원 → 사당
+        {37.5404, 127.0692, 37.5552, 126.9368},  // 건대입구 → 신촌
+        {37.4979, 127.0276, 37.6556, 127.0617},  // 강남역 → 노원
+        {37.5133, 127.1001, 37.5219, 126.9245},  // 잠실 → 여의도
+        {37.4766, 126.9816, 37.5547, 126.9707},  // 사당 → 서울역
+    };
+
+    private KoreanRaptor raptor;
+    private int[][] stopSample;  // OD 샘플별 (출발 정류장, 도착 정류장) - 가장 가까운 정류장
+
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        TransitData transitData;
+        String syntheticScale = System.getProperty("korean.bench.synthetic");
+        if (syntheticScale != null) {
+            transitData = new SyntheticTransitDataGenerator(
+                SyntheticTransitDataGenerator.Config.korea(Double.parseDouble(syntheticScale))
+            ).generate().transitData();
+        } else {
+            Path gtfsDir = Path.of(System.getProperty("korean.bench.gtfs", "data/gtfs"));
+            String builder = System.getProperty("korean.bench.builder", "streaming");
+            transitData = switch (builder) {
+                case "streaming" -> new StreamingTransitDataBuilder(gtfsDir).build();
+                case "loader" -> {
+                    GtfsBundle gtfs = new GtfsLoader(gtfsDir).load();
+                    yield new TransitDataBuilder(gtfs).build();
+                }
+                default -> throw new IllegalArgumentException(
+                    "korean.bench.builder는 streaming 또는 loader: " + builder);
+            };
+        }
+
+        raptor = new KoreanRaptor(transitData);
+
+        stopSample = new int[OD_SAMPLE.length][];
+        for (int i = 0; i < OD_SAMPLE.length; i++) {
+            double[] od = OD_SAMPLE[i];
+            stopSample[i] = new int[] {
+                nearestStop(od[0], od[1], true),
+                nearestStop(od[2], od[3], false)
+            };
+        }
+    }
+
+    private int nearestStop(double lat, double lon, boolean access) {
+        List<RaptorAccessEgress> stops = access
+            ? raptor.findAccessPaths(lat, lon)
+            : raptor.findEgressPaths(lat, lon);
+        if (stops.isEmpty()) {
+            throw new IllegalStateException(String.format("벤치마크 OD 근처에 정류장이 없습니다: (%.4f, %.4f)", lat, lon));
+        }
+        return stops.get(0).stop();
+    }
+
+    /**
+     * 다음 OD 샘플 인덱스 (단일 스레드 벤치마크 기준)
+     */
+    private int nextIndex() {
+        int i = next;
+        next = (i + 1) % OD_SAMPLE.length;
+        return i;
+    }
+
+    @Benchmark
+    public void route(Blackhole bh) {
+        double[] od = OD_SAMPLE[nextIndex()];
+        List<RaptorPath<KoreanTripSchedule>> paths = raptor.route(od[0], od[1], od[2], od[3], DEPARTURE_TIME);
+        bh.consume(paths);
+    }
+
+    @Benchmark
+    public void routeMultiCriteria(Blackhole bh) {
+        double[] od = OD_SAMPLE[nextIndex()];
+        List<RaptorPath<KoreanTripSchedule>> paths =
+            raptor.routeMultiCriteria(od[0], od[1], od[2], od[3], DEPARTURE_TIME);
+        bh.consume(paths);
+    }
+
+    @Benchmark
+    public void routeByStopIndex(Blackhole bh) {
+        int[] stops = stopSample[nextIndex()];
+        List<RaptorPath<KoreanTripSchedule>> paths = raptor.routeByStopIndex(stops[0], stops[1], DEPARTURE_TIME);
+        bh.consume(paths);
+    }
+}
@@ -1,20 +1,37 @@
 package kr.otp;
 
+import kr.otp.batch.BatchRunner;
 import kr.otp.core.KoreanRaptor;
+import kr.otp.core.OdRequest;
+import kr.otp.core.RaptorRuntime;
+import kr.otp.core.RaptorSettings;
+import kr.otp.core.RouteCache;
 import kr.otp.gtfs.GtfsBundle;
 import kr.otp.gtfs.loader.GtfsLoader;
+import kr.otp.matrix.MatrixZone;
+import kr.otp.matrix.TravelTimeMatrix;
+import kr.otp.matrix.TravelTimeMatrixEngine;
+import kr.otp.osm.CompactStreetNetwork;
 import kr.otp.osm.OsmLoader;
+import kr.otp.osm.StopSnapIndex;
 import kr.otp.osm.StreetNetwork;
+import kr.otp.raptor.data.StreamingTransitDataBuilder;
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.data.TransitDataBuilder;
+import kr.otp.raptor.data.TransitDataSnapshot;
 import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TransferIndex;
+import kr.otp.region.Region;
+import kr.otp.region.RegionalTransitDataFilter;
 import kr.otp.scenario.ScenarioCli;
+import kr.otp.server.RoutingServer;
 
 import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.path.PathLeg;
 import org.opentripplanner.raptor.api.path.TransitPathLeg;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
@@ -29,14 +46,57 @@ import java.util.stream.Collectors;
  *
  * 사용법:
  *   java -jar korean-raptor.jar [출발위도] [출발경도] [도착위도] [도착경도] [시간] [결과수]
+ *   java -jar korean-raptor.jar --batch [입력CSV] [출력JSONL] [--threads N] [--virtual-threads] [--mc] [--mc-multistage]
+ *   java -jar korean-raptor.jar --matrix [존CSV] [출력파일] [시간] [--threads N]
+ *   java -jar korean-raptor.jar --server [포트] [--mc-multistage]
+ *   java -jar korean-raptor.jar --build-street-cache
  *
  * 예시:
  *   java -jar korean-raptor.jar 37.5547 126.9707 37.4979 127.0276 09:00 5
+ *   java -jar korean-raptor.jar --batch data/od.csv result.jsonl --threads 16
+ *   java -jar korean-raptor.jar --matrix data/zones.csv matrix.bin 08:00 --threads 16
+ *   java -jar korean-raptor.jar --server 8080
+ *   java -Xmx48g -jar korean-raptor.jar --build-street-cache   (최초 1회, 큰 힙 장비에서)
  */
 public class Main {
 
     private static int maxResults = 5;   // 기본 결과 수
     private static boolean useMultiCriteria = false;  // MULTI_CRITERIA 모드
+    private static boolean useArriveBy = false;       // 도착 시간 기준 (역방향) 모드
+    private static boolean useMultiStage = false;     // MC 다단계(STANDARD 휴리스틱 선행) 모드
+
+    // 배치 모드 (--batch)
+    private static Path batchInput = null;
+    private static Path batchOutput = null;
+    private static int batchThreads = Runtime.getRuntime().availableProcessors();
+    private static boolean batchVirtualThreads = false;
+
+    // 통행시간 행렬 모드 (--matrix)
+    private static Path matrixZones = null;
+    private static Path matrixOutput = null;
+    private static int matrixDepartureTime = 0;
+
+    // TransitData 스냅샷 (GTFS 지문이 같으면 CSV 파싱/빌드 생략)
+    private static final Path SNAPSHOT_PATH = Path.of("data/cache/transit-data.snapshot");
+
+    // CSR 도로망 (-Dkorean.street.compact=false 이면 기존 객체 그래프 사용)
+    private static final Path OSM_PATH = Path.of("data/osm/south-korea.osm.pbf");
+    private static final Path STREET_NETWORK_PATH = Path.of("data/cache/street-network.csr");
+    private static final Path STOP_SNAP_PATH = Path.of("data/cache/stop-snaps.bin");
+    private static final boolean USE_COMPACT_STREET_NETWORK =
+        Boolean.parseBoolean(System.getProperty("korean.street.compact", "true"));
+
+    // 스트리밍 GTFS 빌드 (-Dkorean.gtfs.streaming=true 이면 StreamingTransitDataBuilder 사용)
+    // 실데이터에서 기존 빌더와 정류장/패턴/트립 수 비교 결과를 기록하기 전까지는 기본값 false
+    private static final boolean USE_STREAMING_GTFS_BUILD =
+        Boolean.parseBoolean(System.getProperty("korean.gtfs.streaming", "false"));
+
+    // 지역 필터 (-Dkorean.region=seoul@2000, bbox:..., polygon:...)
+    private static Region region = null;
+
+    // HTTP 서버 모드 (--server)
+    private static final int DEFAULT_SERVER_PORT = 8080;
+    private static int serverPort = -1;
 
     public static void main(String[] args) {
         // UTF-8 출력 설정
@@ -52,6 +112,38 @@ public class Main {
         System.out.println("═══════════════════════════════════════════════════════════════");
         System.out.println();
 
+        // 배치 모드 인자 확인 (초기화 전에 검증)
+        if (args.length > 0 && args[0].equals("--batch")) {
+            if (!parseBatchArgs(args)) {
+                System.exit(1);
+            }
+        } else if (args.length > 0 && args[0].equals("--matrix")) {
+            if (!parseMatrixArgs(args)) {
+                System.exit(1);
+            }
+        } else if (args.length > 0 && args[0].equals("--server")) {
+            if (!parseServerArgs(args)) {
+                System.exit(1);
+            }
+        }
+
+        // 지역 필터 (지역 단위 배포)
+        String regionSpec = System.getProperty("korean.region");
+        if (regionSpec != null && !regionSpec.isBlank()) {
+            try {
+                region = Region.parse(regionSpec);
+                System.out.printf("지역 필터: %s%n%n", region);
+            } catch (IllegalArgumentException e) {
+                System.err.println("오류: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
+        // CSR 도로망 캐시만 만들고 종료 (OSM 객체 그래프 최대 힙을 서비스 JVM과 분리)
+        if (args.length > 0 && args[0].equals("--build-street-cache")) {
+            System.exit(buildStreetCache(OSM_PATH) ? 0 : 1);
+        }
+
         // GTFS 데이터 경로
         Path gtfsDir = Path.of("data/gtfs");
 
@@ -61,46 +153,119 @@ public class Main {
             System.exit(1);
         }
 
+        // HTTP 서버는 데이터 로드 전에 먼저 시작 (/health 응답, /ready는 초기화 완료 후 READY)
+        RoutingServer routingServer = null;
+        if (serverPort >= 0) {
+            try {
+                routingServer = new RoutingServer(serverPort);
+                routingServer.start();
+                System.out.printf("HTTP 서버 시작: 포트 %d (초기화 완료 전까지 /ready = 503)%n%n", routingServer.getPort());
+            } catch (Exception e) {
+                System.err.println("오류: HTTP 서버 시작 실패: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
         try {
             // ═══════════════════════════════════════════════════════════════
-            // Step 1: GTFS 로드
+            // Step 1-2: TransitData (스냅샷이 유효하면 매핑 로드, 아니면 GTFS 빌드 후 저장)
             // ═══════════════════════════════════════════════════════════════
-            System.out.println("[1/4] GTFS 데이터 로드 중...");
             long startTime = System.currentTimeMillis();
+            String builderId = USE_STREAMING_GTFS_BUILD
+                ? "streaming-v" + StreamingTransitDataBuilder.VERSION
+                : "gtfs-loader";
+            long gtfsFingerprint = TransitDataSnapshot.fingerprint(gtfsDir, builderId);
+            Path snapshotPath = cachePath(SNAPSHOT_PATH);
+            if (region != null) {
+                gtfsFingerprint = region.fingerprint(gtfsFingerprint);
+            }
+
+            // 스냅샷이 없거나 지문이 다를 때(또는 읽다가 실패했을 때)만 새로 저장
+            boolean snapshotStale = !TransitDataSnapshot.isValid(snapshotPath, gtfsFingerprint);
+            boolean snapshotLoaded = false;
+            if (!snapshotStale) {
+                System.out.println("[1/4] TransitData 스냅샷 로드 중...");
+                try {
+                    transitData = TransitDataSnapshot.load(snapshotPath);  // 전역 변수에 저장
+                    snapshotLoaded = true;
+                } catch (IOException e) {
+                    System.err.println("  스냅샷 로드 실패 (GTFS에서 다시 빌드): " + e.getMessage());
+                    snapshotStale = true;
+                }
+            }
+            if (snapshotLoaded) {
+                long elapsed = System.currentTimeMillis() - startTime;
+                System.out.printf("  완료: %,d 정류장, %,d 패턴, %,d 트립 (%.1f초)%n",
+                    transitData.getStopCount(), transitData.getRouteCount(),
+                    transitData.getTotalTripCount(), elapsed / 1000.0);
+                System.out.println("[2/4] Raptor 데이터 구조 생성 - 스냅샷 사용 (GTFS 변경 시 자동 재빌드)");
+            } else if (USE_STREAMING_GTFS_BUILD) {
+                // GtfsBundle 없이 GTFS → TransitData (정차 시간은 컬럼으로 읽고 패턴에 바로 쌓음)
+                System.out.println("[1/4] GTFS 데이터 로드 + Raptor 데이터 구조 생성 중 (스트리밍)...");
+
+                transitData = new StreamingTransitDataBuilder(gtfsDir).build();  // 전역 변수에 저장
+
+                long elapsed = System.currentTimeMillis() - startTime;
+                System.out.printf("  완료: %,d 정류장, %,d 패턴, %,d 트립 (%.1f초)%n",
+                    transitData.getStopCount(), transitData.getRouteCount(),
+                    transitData.getTotalTripCount(), elapsed / 1000.0);
+                System.out.println("[2/4] Raptor 데이터 구조 생성 - 스트리밍 빌드에 포함");
+            } else {
+                System.out.println("[1/4] GTFS 데이터 로드 중...");
 
-            GtfsLoader loader = new GtfsLoader(gtfsDir);
-            GtfsBundle gtfs = loader.load();
+                GtfsLoader loader = new GtfsLoader(gtfsDir);
+                GtfsBundle gtfs = loader.load();
 
-            long elapsed = System.currentTimeMillis() - startTime;
-            System.out.printf("  완료: %,d 정류장, %,d 노선, %,d 트립 (%.1f초)%n",
-                gtfs.getStopCount(), gtfs.getRouteCount(), gtfs.getTripCount(), elapsed / 1000.0);
+                long elapsed = System.currentTimeMillis() - startTime;
+                System.out.printf("  완료: %,d 정류장, %,d 노선, %,d 트립 (%.1f초)%n",
+                    gtfs.getStopCount(), gtfs.getRouteCount(), gtfs.getTripCount(), elapsed / 1000.0);
 
-            // ═══════════════════════════════════════════════════════════════
-            // Step 2: TransitData 빌드
-            // ═══════════════════════════════════════════════════════════════
-            System.out.println("[2/4] Raptor 데이터 구조 생성 중...");
-            long buildStart = System.currentTimeMillis();
+                // ═══════════════════════════════════════════════════════════════
+                // Step 2: TransitData 빌드
+                // ═══════════════════════════════════════════════════════════════
+                System.out.println("[2/4] Raptor 데이터 구조 생성 중...");
+                long buildStart = System.currentTimeMillis();
 
-            TransitDataBuilder builder = new TransitDataBuilder(gtfs);
-            transitData = builder.build();  // 전역 변수에 저장
+                TransitDataBuilder builder = new TransitDataBuilder(gtfs);
+                transitData = builder.build();  // 전역 변수에 저장
 
-            long buildElapsed = System.currentTimeMillis() - buildStart;
-            System.out.printf("  완료: %,d 패턴, %,d 트립 (%.1f초)%n",
-                transitData.getRouteCount(), transitData.getTotalTripCount(), buildElapsed / 1000.0);
+                long buildElapsed = System.currentTimeMillis() - buildStart;
+                System.out.printf("  완료: %,d 패턴, %,d 트립 (%.1f초)%n",
+                    transitData.getRouteCount(), transitData.getTotalTripCount(), buildElapsed / 1000.0);
+
+                // GTFS 원본(정차 시간 2천만 건)은 더 이상 필요 없음 → GC 대상으로 해제
+                gtfs = null;
+                builder = null;
+            }
+
+            if (!snapshotLoaded && region != null) {
+                transitData = new RegionalTransitDataFilter(region).filter(transitData);
+                System.out.printf("  지역 필터: %,d 정류장, %,d 패턴, %,d 트립%n",
+                    transitData.getStopCount(), transitData.getRouteCount(), transitData.getTotalTripCount());
+            }
+
+            if (snapshotStale) {
+                // 다음 시작부터는 스냅샷 사용
+                try {
+                    TransitDataSnapshot.write(transitData, gtfsFingerprint, snapshotPath);
+                    System.out.printf("  스냅샷 저장: %s%n", snapshotPath);
+                } catch (Exception e) {
+                    System.err.println("  스냅샷 저장 실패 (다음 시작 시 다시 빌드): " + e.getMessage());
+                }
+            }
 
             // ═══════════════════════════════════════════════════════════════
             // Step 3: OSM 도로망 로드 (선택적)
             // ═══════════════════════════════════════════════════════════════
             streetNetwork = null;  // 전역 변수에 저장
-            Path osmPath = Path.of("data/osm/south-korea.osm.pbf");
+            Path osmPath = OSM_PATH;
 
             if (Files.exists(osmPath)) {
                 System.out.println("[3/4] OSM 도로망 로드 중...");
                 long osmStart = System.currentTimeMillis();
 
                 try {
-                    OsmLoader osmLoader = new OsmLoader(osmPath);
-                    streetNetwork = osmLoader.load();
+                    streetNetwork = loadStreetNetwork(osmPath);
 
                     long osmElapsed = System.currentTimeMillis() - osmStart;
                     System.out.printf("  완료: %s (%.1f초)%n", streetNetwork, osmElapsed / 1000.0);
@@ -118,11 +283,17 @@ public class Main {
             System.out.println("[4/4] Raptor 엔진 초기화...");
             long raptorStart = System.currentTimeMillis();
 
-            KoreanRaptor raptor = new KoreanRaptor(transitData, streetNetwork);
+            // Raptor 튜닝/스레드 풀 (config/raptor.properties가 있으면 적용)
+            RaptorRuntime raptorRuntime = new RaptorRuntime(RaptorSettings.loadOrDefaults());
+            // 환승 인덱스: 로더가 만든 CSR을 그대로 공유 (GtfsLoader 경로만 여기서 새로 만든다)
+            TransferIndex transfers = TransferIndex.of(transitData);
+            KoreanRaptor raptor = new KoreanRaptor(transitData, streetNetwork, raptorRuntime, transfers);
+            raptor.setMultiStageMultiCriteria(useMultiStage);
 
             long raptorElapsed = System.currentTimeMillis() - raptorStart;
             System.out.printf("  완료: %s (%.1f초)%n", raptor, raptorElapsed / 1000.0);
             System.out.printf("  도보 거리: %s%n", raptor.isUsingOsm() ? "OSM 기반 (실제 도로)" : "직선 거리 (Haversine)");
+            System.out.printf("  Raptor 설정: %s%n", raptorRuntime.getSettings());
 
             // 총 소요 시간
             long totalElapsed = System.currentTimeMillis() - startTime;
@@ -135,7 +306,23 @@ public class Main {
             // ═══════════════════════════════════════════════════════════════
             // 커맨드라인 인자가 있으면 바로 검색 실행
             // ═══════════════════════════════════════════════════════════════
-            if (args.length >= 5) {
+            if (routingServer != null) {
+                // 상주 서버: HTTP 스레드가 프로세스를 유지, 종료 시그널에서 정리
+                routingServer.setRaptor(raptor);
+                RoutingServer server = routingServer;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.stop(2);
+                    raptorRuntime.shutdown();
+                }));
+                System.out.printf("HTTP 서버 준비 완료: http://localhost:%d/route?fromLat=..&fromLon=..&toLat=..&toLon=..&time=09:00%n",
+                    routingServer.getPort());
+                return;
+            } else if (batchInput != null) {
+                OdRequest.Mode mode = useMultiCriteria ? OdRequest.Mode.MULTI_CRITERIA : OdRequest.Mode.STANDARD;
+                new BatchRunner(raptor, batchThreads, mode, batchVirtualThreads).run(batchInput, batchOutput);
+            } else if (matrixZones != null) {
+                runMatrix(raptor);
+            } else if (args.length >= 5) {
                 double fromLat = Double.parseDouble(args[0]);
                 double fromLon = Double.parseDouble(args[1]);
                 double toLat = Double.parseDouble(args[2]);
@@ -152,6 +339,9 @@ public class Main {
                 runInteractiveCli(raptor);
             }
 
+            // 검색 스레드 풀 종료
+            raptorRuntime.shutdown();
+
         } catch (Exception e) {
             System.err.println("오류 발생: " + e.getMessage());
             e.printStackTrace();
@@ -159,6 +349,300 @@ public class Main {
         }
     }
 
+    /**
+     * OSM 도로망 로드
+     *
+     * CSR 모드(기본): 유효한 CSR 파일이 있으면 매핑 로드(힙 밖),
+     * 없으면 OSM을 한 번 객체 그래프로 읽어 CSR로 변환/저장한 뒤 객체 그래프는 버린다.
+     * 이 첫 변환은 객체 그래프 전체를 힙에 올리므로 전국 기준 약 40GB가 필요하다
+     * → 서비스 JVM은 작은 힙으로 두고 --build-street-cache로 미리 만들어 두는 것을 권장.
+     * 정류장 → 도로 노드 매핑도 사이드카 파일로 캐시한다 (AccessEgressFinder 초기화 생략).
+     */
+    private static StreetNetwork loadStreetNetwork(Path osmPath) throws Exception {
+        if (!USE_COMPACT_STREET_NETWORK) {
+            return new OsmLoader(osmPath).load();
+        }
+
+        long osmFingerprint = CompactStreetNetwork.fingerprint(osmPath);
+
+        // 지역 도로망이 이미 있으면 바로 사용
+        Path regionalPath = cachePath(STREET_NETWORK_PATH);
+        CompactStreetNetwork compact = null;
+        if (region != null && CompactStreetNetwork.isValid(regionalPath, region.fingerprint(osmFingerprint))) {
+            compact = CompactStreetNetwork.load(regionalPath);
+        }
+
+        if (compact == null) {
+            if (CompactStreetNetwork.isValid(STREET_NETWORK_PATH, osmFingerprint)) {
+                compact = CompactStreetNetwork.load(STREET_NETWORK_PATH);
+            } else {
+                System.out.println("  CSR 도로망 캐시 없음 → OSM 객체 그래프에서 변환 (전국 기준 최대 힙 약 40GB)");
+                System.out.println("  (큰 힙 장비에서 --build-street-cache로 미리 만들어 두면 이 단계를 건너뜀)");
+                compact = CompactStreetNetwork.from(new OsmLoader(osmPath).load(), osmFingerprint);
+                saveStreetNetwork(compact, STREET_NETWORK_PATH);
+            }
+            if (region != null) {
+                compact = compact.filter(region);
+                saveStreetNetwork(compact, regionalPath);
+            }
+        }
+
+        StopSnapIndex stopSnaps = StopSnapIndex.loadOrCompute(cachePath(STOP_SNAP_PATH), transitData, compact);
+        System.out.printf("  정류장 매핑: %s%n", stopSnaps);
+        return compact.asStreetNetwork(stopSnaps);
+    }
+
+    /**
+     * CSR 도로망 캐시 오프라인 생성 (--build-street-cache)
+     *
+     * OSM → 객체 그래프 → CSR 변환만 하고 종료한다. 객체 그래프가 힙에 올라가는 단계는
+     * 이 프로세스에만 있으므로, 서비스 JVM은 매핑 로드만 하면 되어 작은 힙으로 시작할 수 있다.
+     * 지역 필터(-Dkorean.region)가 있으면 지역 CSR도 함께 만든다. 결과 파일은 다른 장비로 복사해서 쓸 수 있다.
+     *
+     * @return 성공 여부
+     */
+    private static boolean buildStreetCache(Path osmPath) {
+        if (!Files.exists(osmPath)) {
+            System.err.println("오류: OSM 파일이 없습니다: " + osmPath);
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long osmFingerprint = CompactStreetNetwork.fingerprint(osmPath);
+            CompactStreetNetwork compact;
+            if (CompactStreetNetwork.isValid(STREET_NETWORK_PATH, osmFingerprint)) {
+                System.out.printf("CSR 도로망 캐시가 최신입니다: %s%n", STREET_NETWORK_PATH);
+                compact = CompactStreetNetwork.load(STREET_NETWORK_PATH);
+            } else {
+                System.out.printf("OSM 로드 + CSR 변환 중 (최대 힙 %,dMB)...%n", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+                compact = CompactStreetNetwork.from(new OsmLoader(osmPath).load(), osmFingerprint);
+                compact.save(STREET_NETWORK_PATH);
+                System.out.printf("  저장: %s (%s)%n", STREET_NETWORK_PATH, compact);
+            }
+            if (region != null) {
+                Path regionalPath = cachePath(STREET_NETWORK_PATH);
+                CompactStreetNetwork regional = compact.filter(region);
+                regional.save(regionalPath);
+                System.out.printf("  지역 저장: %s (%s)%n", regionalPath, regional);
+            }
+            System.out.printf("완료 (%.1f초)%n", (System.currentTimeMillis() - start) / 1000.0);
+            return true;
+        } catch (Exception e) {
+            System.err.println("오류: CSR 도로망 생성 실패: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static void saveStreetNetwork(CompactStreetNetwork compact, Path path) {
+        try {
+            compact.save(path);
+            System.out.printf("  CSR 도로망 저장: %s (다음 시작부터 매핑 로드)%n", path);
+        } catch (Exception e) {
+            System.err.println("  CSR 도로망 저장 실패 (다음 시작 시 다시 변환): " + e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 파일 경로 (지역 필터가 있으면 파일 이름에 지역 키 추가)
+     */
+    private static Path cachePath(Path base) {
+        if (region == null) {
+            return base;
+        }
+        String fileName = base.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return base.resolveSibling(fileName.substring(0, dot) + "-" + region.fileKey() + fileName.substring(dot));
+    }
+
+    /**
+     * 서버 모드 인자 파싱
+     *
+     * --server [포트] [--mc-multistage]
+     *
+     * @return 인자가 유효하면 true
+     */
+    private static boolean parseServerArgs(String[] args) {
+        serverPort = DEFAULT_SERVER_PORT;
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--mc-multistage")) {
+                useMultiStage = true;
+            } else if (i == 1 && !args[i].startsWith("--")) {
+                try {
+                    serverPort = Integer.parseInt(args[i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("포트는 숫자여야 합니다: " + args[i]);
+                    return false;
+                }
+                if (serverPort < 0 || serverPort > 65535) {
+                    System.err.println("포트 범위 오류 (0~65535): " + serverPort);
+                    return false;
+                }
+            } else {
+                System.err.println("알 수 없는 서버 옵션: " + args[i]);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 배치 모드 인자 파싱
+     *
+     * --batch [입력CSV] [출력JSONL] [--threads N] [--virtual-threads] [--mc] [--mc-multistage]
+     *
+     * @return 인자가 올바르면 true
+     */
+    private static boolean parseBatchArgs(String[] args) {
+        if (args.length < 3) {
+            System.err.println("사용법: --batch [입력CSV] [출력JSONL] [--threads N] [--virtual-threads] [--mc] [--mc-multistage]");
+            return false;
+        }
+
+        batchInput = Path.of(args[1]);
+        batchOutput = Path.of(args[2]);
+
+        for (int i = 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":
+                    if (i + 1 >= args.length) {
+                        System.err.println("--threads 값이 없습니다.");
+                        return false;
+                    }
+                    try {
+                        batchThreads = Integer.parseInt(args[++i]);
+                    } catch (NumberFormatException e) {
+                        System.err.println("--threads는 숫자여야 합니다: " + args[i]);
+                        return false;
+                    }
+                    if (batchThreads < 1) {
+                        System.err.println("--threads는 1 이상이어야 합니다.");
+                        return false;
+                    }
+                    break;
+                case "--virtual-threads":
+                    batchVirtualThreads = true;
+                    break;
+                case "--mc":
+                    useMultiCriteria = true;
+                    break;
+                case "--mc-multistage":
+                    useMultiStage = true;
+                    break;
+                default:
+                    System.err.println("알 수 없는 배치 옵션: " + args[i]);
+                    return false;
+            }
+        }
+
+        if (!Files.exists(batchInput)) {
+            System.err.println("오류: 입력 파일이 존재하지 않습니다: " + batchInput);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 도착 시간 기준 경로 검색 및 출력 (늦게 출발하는 순)
+     */
+    private static void searchArriveByAndPrint(KoreanRaptor raptor,
+                                               double fromLat, double fromLon,
+                                               double toLat, double toLon,
+                                               int arrivalTime) {
+        System.out.printf("검색 [ARRIVE_BY]: (%.4f, %.4f) → (%.4f, %.4f) @ %s 까지 도착, 최대 %d개%n",
+            fromLat, fromLon, toLat, toLon, formatTime(arrivalTime), maxResults);
+        System.out.println("─────────────────────────────────────────────────────");
+
+        long searchStart = System.currentTimeMillis();
+        List<RaptorPath<KoreanTripSchedule>> paths = raptor.routeArriveBy(fromLat, fromLon, toLat, toLon, arrivalTime);
+        long searchElapsed = System.currentTimeMillis() - searchStart;
+
+        // 요청 시간까지 도착하는 경로만 필터링 + 늦게 출발하는 순 정렬
+        List<RaptorPath<KoreanTripSchedule>> filteredPaths = paths.stream()
+            .filter(p -> p.endTime() <= arrivalTime)
+            .sorted(Comparator.comparingInt(RaptorPath<KoreanTripSchedule>::startTime).reversed())
+            .collect(Collectors.toList());
+
+        if (filteredPaths.isEmpty()) {
+            System.out.printf("%s 까지 도착하는 경로를 찾을 수 없습니다.%n", formatTime(arrivalTime));
+            return;
+        }
+
+        System.out.printf("%s 까지 도착 경로 %d개 (전체 %d개, %.3f초)%n%n",
+            formatTime(arrivalTime), filteredPaths.size(), paths.size(), searchElapsed / 1000.0);
+
+        int pathNum = 1;
+        for (RaptorPath<KoreanTripSchedule> path : filteredPaths) {
+            printPath(pathNum++, path, raptor);
+            if (pathNum > maxResults) break;
+        }
+    }
+
+    /**
+     * 행렬 모드 인자 파싱
+     *
+     * --matrix [존CSV] [출력파일] [시간] [--threads N]
+     *
+     * @return 인자가 올바르면 true
+     */
+    private static boolean parseMatrixArgs(String[] args) {
+        if (args.length < 4) {
+            System.err.println("사용법: --matrix [존CSV] [출력파일] [시간] [--threads N]");
+            return false;
+        }
+
+        matrixZones = Path.of(args[1]);
+        matrixOutput = Path.of(args[2]);
+        try {
+            matrixDepartureTime = parseTime(args[3]);
+        } catch (NumberFormatException e) {
+            System.err.println("시간 형식 오류: " + args[3]);
+            return false;
+        }
+
+        for (int i = 4; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                try {
+                    batchThreads = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("--threads는 숫자여야 합니다: " + args[i]);
+                    return false;
+                }
+                if (batchThreads < 1) {
+                    System.err.println("--threads는 1 이상이어야 합니다.");
+                    return false;
+                }
+            } else {
+                System.err.println("알 수 없는 행렬 옵션: " + args[i]);
+                return false;
+            }
+        }
+
+        if (!Files.exists(matrixZones)) {
+            System.err.println("오류: 존 파일이 존재하지 않습니다: " + matrixZones);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 존 간 통행시간 행렬 계산 및 저장 (모든 존 → 모든 존)
+     */
+    private static void runMatrix(KoreanRaptor raptor) throws Exception {
+        List<MatrixZone> zones = MatrixZone.readCsv(matrixZones);
+        System.out.printf("행렬 계산: %,d × %,d 존, 출발 %s (스레드 %d)%n",
+            zones.size(), zones.size(), formatTime(matrixDepartureTime), batchThreads);
+
+        long start = System.currentTimeMillis();
+        TravelTimeMatrix matrix = new TravelTimeMatrixEngine(raptor, batchThreads)
+            .compute(zones, zones, matrixDepartureTime);
+        matrix.write(matrixOutput);
+
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("  완료: %s → %s (%.1f초)%n", matrix, matrixOutput, elapsed / 1000.0);
+    }
+
     /**
      * 경로 검색 및 출력
      */
@@ -281,7 +765,8 @@ public class Main {
         System.out.println("───────────────────────────────────────────────────────────────");
         System.out.println("  입력: 출발위도 출발경도 도착위도 도착경도 시간 [결과수]");
         System.out.println("  예시: 37.5547 126.9707 37.4979 127.0276 09:00 5");
-        System.out.println("  명령: q(종료), n=숫자(결과수 변경), mc(MULTI_CRITERIA), std(STANDARD)");
+        System.out.println("  명령: q(종료), n=숫자(결과수 변경), mc(MULTI_CRITERIA), std(STANDARD), ab(도착 시간 기준)");
+        System.out.println("  캐시: cache(켜기/통계), cache off(끄기)   메트릭: metrics(Prometheus 형식 출력)");
         System.out.println("  시나리오: scenario (시나리오 모드 진입)");
         System.out.println("═══════════════════════════════════════════════════════════════");
         System.out.println();
@@ -318,6 +803,7 @@ public class Main {
                 // MULTI_CRITERIA 모드 전환
                 if (line.equalsIgnoreCase("mc")) {
                     useMultiCriteria = true;
+                    useArriveBy = false;
                     System.out.println("검색 모드: MULTI_CRITERIA (파레토 최적)");
                     printPrompt();
                     continue;
@@ -326,11 +812,46 @@ public class Main {
                 // STANDARD 모드 전환
                 if (line.equalsIgnoreCase("std")) {
                     useMultiCriteria = false;
+                    useArriveBy = false;
                     System.out.println("검색 모드: STANDARD (최단 시간)");
                     printPrompt();
                     continue;
                 }
 
+                // ARRIVE_BY 모드 전환 (입력 시간 = 도착 시간)
+                if (line.equalsIgnoreCase("ab")) {
+                    useMultiCriteria = false;
+                    useArriveBy = true;
+                    System.out.println("검색 모드: ARRIVE_BY (입력 시간까지 도착)");
+                    printPrompt();
+                    continue;
+                }
+
+                // 결과 캐시 켜기/통계/끄기
+                if (line.equalsIgnoreCase("cache")) {
+                    if (raptor.getRouteCache() == null) {
+                        raptor.setRouteCache(new RouteCache());
+                        System.out.println("결과 캐시 활성화: " + raptor.getRouteCache());
+                    } else {
+                        System.out.println(raptor.getRouteCache());
+                    }
+                    printPrompt();
+                    continue;
+                }
+                if (line.equalsIgnoreCase("cache off")) {
+                    raptor.setRouteCache(null);
+                    System.out.println("결과 캐시 비활성화");
+                    printPrompt();
+                    continue;
+                }
+
+                // 단계별 지연시간/카운터 출력 (Prometheus 텍스트 형식)
+                if (line.equalsIgnoreCase("metrics")) {
+                    System.out.print(raptor.getMetrics().toPrometheusText());
+                    printPrompt();
+                    continue;
+                }
+
                 // 시나리오 모드 진입
                 if (line.equalsIgnoreCase("scenario") || line.equalsIgnoreCase("sc")) {
                     ScenarioCli scenarioCli = new ScenarioCli(transitData, streetNetwork, reader, raptor);
@@ -362,7 +883,11 @@ public class Main {
                         maxResults = Integer.parseInt(parts[5]);
                     }
 
-                    searchAndPrint(raptor, fromLat, fromLon, toLat, toLon, departureTime);
+                    if (useArriveBy) {
+                        searchArriveByAndPrint(raptor, fromLat, fromLon, toLat, toLon, departureTime);
+                    } else {
+                        searchAndPrint(raptor, fromLat, fromLon, toLat, toLon, departureTime);
+                    }
 
                 } catch (NumberFormatException e) {
                     System.out.println("숫자 형식 오류: " + e.getMessage());
@@ -382,7 +907,7 @@ public class Main {
      * 프롬프트 출력
      */
     private static void printPrompt() {
-        String modeStr = useMultiCriteria ? "MC" : "STD";
+        String modeStr = useArriveBy ? "AB" : useMultiCriteria ? "MC" : "STD";
         System.out.printf("[%s, n=%d] > ", modeStr, maxResults);
     }
 
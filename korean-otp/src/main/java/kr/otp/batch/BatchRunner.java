@@ -0,0 +1,157 @@
+package kr.otp.batch;
+
+import kr.otp.core.BatchRouter;
+import kr.otp.core.KoreanRaptor;
+import kr.otp.core.OdRequest;
+import kr.otp.core.OdResult;
+import kr.otp.json.PathJsonFormatter;
+import kr.otp.metrics.LatencyHistogram;
+import kr.otp.metrics.RoutingMetrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CSV 입력 → JSON-lines 출력 스트리밍 배치 실행기.
+ *
+ * - 입력: OdCsvReader로 한 줄씩 지연 읽기
+ * - 처리: BatchRouter로 병렬 처리 (동시 처리 수 = 스레드 수로 제한 → backpressure)
+ * - 출력: 결과가 완료되는 즉시 한 줄씩 기록 (완료 순서, 입력 순서와 다를 수 있음)
+ *
+ * 결과를 메모리에 모으지 않으므로 수백만 행 OD 파일도 일정한 메모리로 처리한다.
+ *
+ * 사용법:
+ * <pre>
+ * java -jar korean-raptor.jar --batch od.csv result.jsonl --threads 16 [--mc] [--virtual-threads]
+ * </pre>
+ */
+public class BatchRunner {
+
+    private static final long PROGRESS_INTERVAL = 10_000;
+
+    private final KoreanRaptor raptor;
+    private final int threads;
+    private final OdRequest.Mode defaultMode;
+    private final boolean useVirtualThreads;
+
+    private final LatencyHistogram latencyMillis = new LatencyHistogram();
+
+    public BatchRunner(KoreanRaptor raptor, int threads, OdRequest.Mode defaultMode) {
+        this(raptor, threads, defaultMode, false);
+    }
+
+    /**
+     * @param useVirtualThreads true면 가상 스레드, false면 고정 크기 플랫폼 스레드 풀
+     */
+    public BatchRunner(KoreanRaptor raptor, int threads, OdRequest.Mode defaultMode, boolean useVirtualThreads) {
+        this.raptor = raptor;
+        this.threads = threads;
+        this.defaultMode = defaultMode;
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * 배치 실행
+     *
+     * 출력 쓰기가 실패하면(디스크 부족, 스트림 닫힘 등) 남은 요청을 처리하지 않고 IOException을 던진다.
+     *
+     * @param input  OD CSV 파일
+     * @param output 결과 JSON-lines 파일
+     * @return 배치 요약
+     * @throws IOException 입력 읽기 또는 결과 쓰기 실패
+     */
+    public BatchRouter.Summary run(Path input, Path output) throws IOException {
+        System.out.printf("배치 실행: %s → %s (스레드 %d%s, 기본 모드 %s)%n",
+            input, output, threads, useVirtualThreads ? " 가상" : "", defaultMode);
+        System.out.println("─────────────────────────────────────────────────────");
+
+        AtomicLong completed = new AtomicLong();
+        BatchRouter router = new BatchRouter(raptor, threads, useVirtualThreads);
+        BatchRouter.Summary summary;
+        long skipped;
+
+        try (OdCsvReader reader = new OdCsvReader(input, defaultMode);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+
+            summary = router.run(reader, result -> {
+                latencyMillis.record(result.elapsedMillis());
+                String line = PathJsonFormatter.formatResult(result, raptor);
+
+                synchronized (writer) {
+                    try {
+                        writer.write(line);
+                        writer.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                long done = completed.incrementAndGet();
+                if (done % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("  진행: %,d건 (P50 %dms, P99 %dms)%n",
+                        done, latencyMillis.getPercentile(50), latencyMillis.getPercentile(99));
+                }
+            });
+
+            skipped = reader.getSkippedRows();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        printSummary(summary, skipped);
+        return summary;
+    }
+
+    private void printSummary(BatchRouter.Summary summary, long skipped) {
+        System.out.println();
+        System.out.println("═══════════════════════════════════════════════════════════════");
+        System.out.println("  배치 결과");
+        System.out.println("───────────────────────────────────────────────────────────────");
+        System.out.printf("  처리:    %,d건 (성공 %,d, 경로없음 %,d, 실패 %,d)%n",
+            summary.total(), summary.withPaths(), summary.noPath(), summary.failed());
+        if (skipped > 0) {
+            System.out.printf("  건너뜀:  %,d행 (형식 오류)%n", skipped);
+        }
+        System.out.printf("  총 시간: %.2f초%n", summary.wallMillis() / 1000.0);
+        System.out.printf("  처리량:  %.1f req/s (%d 스레드)%n", summary.throughput(), threads);
+        System.out.printf("  검색시간: 평균 %.0fms, P50 %dms, P95 %dms, P99 %dms, 최대 %dms%n",
+            latencyMillis.getMean(),
+            latencyMillis.getPercentile(50),
+            latencyMillis.getPercentile(95),
+            latencyMillis.getPercentile(99),
+            latencyMillis.getMax());
+        printPhaseBreakdown();
+        System.out.println("═══════════════════════════════════════════════════════════════");
+    }
+
+    /**
+     * 모드별 단계 지연시간 (RoutingMetrics, 엔진 생성 이후 누적)
+     */
+    private void printPhaseBreakdown() {
+        RoutingMetrics metrics = raptor.getMetrics();
+        for (OdRequest.Mode mode : OdRequest.Mode.values()) {
+            if (metrics.getRequestCount(mode) == 0) {
+                continue;
+            }
+            System.out.printf("  [%s] 단계별 P50/P99 (ms):", mode);
+            for (RoutingMetrics.Phase phase : RoutingMetrics.Phase.values()) {
+                LatencyHistogram h = metrics.getPhaseHistogram(mode, phase);
+                System.out.printf(" %s %.1f/%.1f", phase.name().toLowerCase(),
+                    h.getPercentile(50) / 1000.0, h.getPercentile(99) / 1000.0);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * 검색 시간 히스토그램 (ms)
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyMillis;
+    }
+}
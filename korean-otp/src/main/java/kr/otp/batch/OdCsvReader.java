@@ -0,0 +1,189 @@
+package kr.otp.batch;
+
+import kr.otp.core.OdRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * OD CSV 파일 지연(lazy) 리더.
+ *
+ * 한 번에 한 줄씩 읽어 OdRequest로 변환하므로 수백만 행 파일도 메모리에 올리지 않는다.
+ *
+ * 형식 (헤더 행은 자동 감지하여 건너뜀, 빈 줄과 '#' 주석 줄은 무시):
+ * <pre>
+ * id,from_lat,from_lon,to_lat,to_lon,time[,mode]
+ * od1,37.5547,126.9707,37.4979,127.0276,09:00,mc
+ * </pre>
+ * - id 열이 없는 5열 형식도 허용 (행 번호를 id로 사용)
+ * - time: "HH:MM", "HH:MM:SS" 또는 자정 기준 초
+ * - mode: "mc" / "std" / "ab" (생략 시 기본 모드, ab는 time을 도착 시간으로 사용)
+ *
+ * 헤더 감지: 주석/빈 줄을 제외한 첫 번째 행이 OD로 파싱되지 않으면 헤더로 보고 건너뛴다.
+ * 그 뒤의 형식 오류 행은 경고 로그를 남기고 건너뛰며 getSkippedRows()로 센다.
+ * 헤더가 둘째 데이터 행 이후에 있거나 첫 행이 깨진 데이터이면 구분할 수 없으므로,
+ * 헤더는 파일의 첫 데이터 행에 두어야 한다.
+ */
+public class OdCsvReader implements Iterator<OdRequest>, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OdCsvReader.class);
+
+    private final BufferedReader reader;
+    private final OdRequest.Mode defaultMode;
+
+    private OdRequest next;
+    private long lineNumber = 0;
+    private long skippedRows = 0;
+    private boolean firstRow = true;
+    private boolean finished = false;
+
+    public OdCsvReader(Path csvPath, OdRequest.Mode defaultMode) throws IOException {
+        this.reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8);
+        this.defaultMode = defaultMode;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        next = readNext();
+        return next != null;
+    }
+
+    @Override
+    public OdRequest next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        OdRequest result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * 형식 오류로 건너뛴 행 수
+     */
+    public long getSkippedRows() {
+        return skippedRows;
+    }
+
+    private OdRequest readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+
+                // BOM 제거
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                OdRequest request = parseLine(line, firstRow);
+                firstRow = false;
+                if (request != null) {
+                    return request;
+                }
+            }
+            finished = true;
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("OD CSV 읽기 실패 (line " + lineNumber + ")", e);
+        }
+    }
+
+    private OdRequest parseLine(String line, boolean headerCandidate) {
+        String[] parts = line.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+
+        try {
+            // id 열 유무 판별: 7열이거나, 6열이면서 마지막 열이 모드가 아닐 때 id 있음
+            boolean hasId = parts.length >= 7 || (parts.length == 6 && !isMode(parts[5]));
+            int base = hasId ? 1 : 0;
+
+            if (parts.length < base + 5) {
+                throw new IllegalArgumentException("열 개수 부족: " + parts.length);
+            }
+
+            String id = hasId ? parts[0] : String.valueOf(lineNumber);
+            double fromLat = Double.parseDouble(parts[base]);
+            double fromLon = Double.parseDouble(parts[base + 1]);
+            double toLat = Double.parseDouble(parts[base + 2]);
+            double toLon = Double.parseDouble(parts[base + 3]);
+            int departureTime = parseTime(parts[base + 4]);
+
+            OdRequest.Mode mode = defaultMode;
+            if (parts.length > base + 5 && !parts[base + 5].isEmpty()) {
+                mode = parseMode(parts[base + 5]);
+            }
+
+            return new OdRequest(id, fromLat, fromLon, toLat, toLon, departureTime, mode);
+        } catch (IllegalArgumentException e) {
+            // 첫 데이터 행은 헤더로 간주
+            if (headerCandidate) {
+                LOG.debug("헤더 행 건너뜀: {}", line);
+            } else {
+                skippedRows++;
+                LOG.warn("OD CSV {}행 형식 오류 ({}): {}", lineNumber, e.getMessage(), line);
+            }
+            return null;
+        }
+    }
+
+    private static boolean isMode(String value) {
+        try {
+            parseMode(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static OdRequest.Mode parseMode(String value) {
+        return switch (value.toLowerCase()) {
+            case "mc", "multi_criteria" -> OdRequest.Mode.MULTI_CRITERIA;
+            case "std", "standard" -> OdRequest.Mode.STANDARD;
+            case "ab", "arrive_by" -> OdRequest.Mode.ARRIVE_BY;
+            default -> throw new IllegalArgumentException("알 수 없는 모드: " + value);
+        };
+    }
+
+    /**
+     * 시간 파싱 (HH:MM, HH:MM:SS 또는 초)
+     */
+    static int parseTime(String timeStr) {
+        if (!timeStr.contains(":")) {
+            return Integer.parseInt(timeStr);
+        }
+        String[] parts = timeStr.split(":");
+        int h = Integer.parseInt(parts[0]);
+        int m = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+        int s = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+        return h * 3600 + m * 60 + s;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
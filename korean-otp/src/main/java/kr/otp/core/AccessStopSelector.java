@@ -0,0 +1,143 @@
+package kr.otp.core;
+
+import kr.otp.raptor.data.TransitData;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Access/Egress 정류장 후보 선택 (노선 다양성 기준).
+ *
+ * 도보 거리순 상위 N개로 자르면 도심에서는 같은 버스 노선을 공유하는 정류장이 자리를 다 차지해
+ * 조금 먼 지하철역이 빠지고, N을 늘리면 Raptor 비용이 커진다. 여기서는 가까운 순서로 보면서
+ * <pre>
+ * 1. 이미 고른 정류장과 경유 노선 집합이 같으면 제외 (같은 노선을 더 먼 곳에서 탈 이유 없음)
+ * 2. 가장 가까운 minNearestStops개는 항상 유지
+ * 3. 그 뒤로는 아직 덮지 못한 노선을 하나 이상 추가하는 정류장만 유지
+ * 4. maxStops개에 도달하면 중단
+ * </pre>
+ * TransitData에 parent_station 정보가 없으므로 같은 역의 승강장은 3번 규칙으로 묶인다
+ * (가까운 승강장이 이미 덮은 노선뿐이면 제외, 다른 방향/호선을 지나면 유지).
+ *
+ * 수단 필터가 있는 검색은 허용 노선 비트셋을 넘긴다. 이때 노선 집합/커버리지는 허용 노선만으로 따지고,
+ * 허용 노선이 하나도 없는 정류장은 가까워도 제외한다 (지하철만 검색할 때 버스 정류장이 자리를 차지하지 않도록).
+ */
+public class AccessStopSelector {
+
+    private final TransitData transitData;
+    private final int minNearestStops;
+    private final int maxStops;
+
+    /**
+     * @param transitData     정류장별 노선(routesByStop) 조회용
+     * @param minNearestStops 노선 추가 여부와 관계없이 유지할 가장 가까운 정류장 수
+     * @param maxStops        최대 정류장 수
+     */
+    public AccessStopSelector(TransitData transitData, int minNearestStops, int maxStops) {
+        this.transitData = transitData;
+        this.minNearestStops = minNearestStops;
+        this.maxStops = maxStops;
+    }
+
+    /**
+     * @param candidates 도보 거리순 Access/Egress 후보
+     * @return 선택된 후보 (입력 순서 유지)
+     */
+    public List<RaptorAccessEgress> select(List<RaptorAccessEgress> candidates) {
+        return select(candidates, null);
+    }
+
+    /**
+     * @param candidates    도보 거리순 Access/Egress 후보
+     * @param allowedRoutes 허용 노선 비트셋 (비트 r = 노선 r 허용, null이면 전체 허용)
+     * @return 선택된 후보 (입력 순서 유지)
+     */
+    public List<RaptorAccessEgress> select(List<RaptorAccessEgress> candidates, long[] allowedRoutes) {
+        if (allowedRoutes == null && candidates.size() <= minNearestStops) {
+            return candidates;
+        }
+
+        List<RaptorAccessEgress> selected = new ArrayList<>(Math.min(candidates.size(), maxStops));
+        Set<RouteSet> seenRouteSets = new HashSet<>();
+        BitSet coveredRoutes = new BitSet(transitData.getRouteCount());
+
+        for (RaptorAccessEgress candidate : candidates) {
+            int[] routes = allowedOnly(transitData.getRoutesByStop(candidate.stop()), allowedRoutes);
+            if (routes.length == 0 && allowedRoutes != null) {
+                continue;
+            }
+            if (!seenRouteSets.add(RouteSet.of(routes))) {
+                continue;
+            }
+            boolean addsRoute = false;
+            for (int route : routes) {
+                if (!coveredRoutes.get(route)) {
+                    coveredRoutes.set(route);
+                    addsRoute = true;
+                }
+            }
+            if (selected.size() < minNearestStops || addsRoute) {
+                selected.add(candidate);
+                if (selected.size() >= maxStops) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static int[] allowedOnly(int[] routes, long[] allowedRoutes) {
+        if (allowedRoutes == null) {
+            return routes;
+        }
+        int[] allowed = new int[routes.length];
+        int count = 0;
+        for (int route : routes) {
+            if ((allowedRoutes[route >>> 6] & (1L << route)) != 0L) {
+                allowed[count++] = route;
+            }
+        }
+        return count == routes.length ? routes : Arrays.copyOf(allowed, count);
+    }
+
+    public int getMinNearestStops() {
+        return minNearestStops;
+    }
+
+    public int getMaxStops() {
+        return maxStops;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AccessStopSelector[nearest=%d, max=%d]", minNearestStops, maxStops);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 경유 노선 집합 (정렬된 노선 인덱스)
+    // ═══════════════════════════════════════════════════════════════
+
+    private record RouteSet(int[] routes) {
+
+        static RouteSet of(int[] routes) {
+            int[] sorted = routes.clone();
+            Arrays.sort(sorted);
+            return new RouteSet(sorted);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RouteSet other && Arrays.equals(routes, other.routes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(routes);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package kr.otp.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 대량 OD 병렬 경로탐색기.
+ *
+ * 하나의 KoreanRaptor(= 하나의 RaptorService, 하나의 Provider)를 여러 스레드가 공유하여
+ * OD 요청을 병렬로 처리하고, 완료되는 순서대로 콜백으로 결과를 전달한다.
+ *
+ * 메모리 사용량 일정 유지:
+ * - 요청은 Iterator에서 필요할 때만 꺼냄 (전체 목록을 미리 만들 필요 없음)
+ * - 동시에 처리 중인 요청 수를 parallelism 으로 제한 (Semaphore)
+ * - 결과는 콜백으로 즉시 넘기고 보관하지 않음
+ *
+ * 사용법:
+ * <pre>
+ * BatchRouter batch = new BatchRouter(raptor, 16, true);   // 가상 스레드
+ * BatchRouter.Summary summary = batch.run(requests.iterator(), result -> writer.write(result));
+ * </pre>
+ */
+public class BatchRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRouter.class);
+
+    private final KoreanRaptor raptor;
+    private final int parallelism;
+    private final boolean useVirtualThreads;
+
+    /**
+     * @param raptor            공유할 경로탐색 엔진
+     * @param parallelism       동시 처리 요청 수 (1 이상)
+     * @param useVirtualThreads true면 가상 스레드, false면 고정 크기 플랫폼 스레드 풀
+     */
+    public BatchRouter(KoreanRaptor raptor, int parallelism, boolean useVirtualThreads) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism은 1 이상이어야 합니다: " + parallelism);
+        }
+        this.raptor = raptor;
+        this.parallelism = parallelism;
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * 배치 실행
+     *
+     * 콜백은 여러 작업 스레드에서 동시에 호출되므로 스레드 안전해야 한다.
+     * 개별 OD의 예외는 배치를 중단하지 않고 실패 결과(OdResult.error)로 전달된다.
+     * 반면 콜백 예외(출력 쓰기 실패 등)는 결과 유실이므로 배치를 중단한다:
+     * 새 요청을 더 꺼내지 않고, 처리 중인 요청이 끝나면 첫 번째 콜백 예외를 그대로 던진다.
+     *
+     * @param requests OD 요청 (필요할 때마다 하나씩 읽음)
+     * @param callback 결과 콜백 (완료 순서대로 호출)
+     * @return 배치 요약
+     * @throws RuntimeException 콜백이 던진 첫 번째 예외
+     */
+    public Summary run(Iterator<OdRequest> requests, Consumer<OdResult> callback) {
+        long startTime = System.currentTimeMillis();
+
+        LongAdder total = new LongAdder();
+        LongAdder withPaths = new LongAdder();
+        LongAdder noPath = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicReference<RuntimeException> callbackFailure = new AtomicReference<>();
+
+        Semaphore inFlight = new Semaphore(parallelism);
+        ExecutorService executor = createExecutor();
+
+        try {
+            while (callbackFailure.get() == null && requests.hasNext()) {
+                OdRequest request = requests.next();
+
+                // 동시 처리 수 초과 시 대기 (backpressure)
+                inFlight.acquire();
+
+                executor.execute(() -> {
+                    try {
+                        OdResult result = routeOne(request);
+                        total.increment();
+                        if (!result.isSuccess()) {
+                            failed.increment();
+                        } else if (result.paths().isEmpty()) {
+                            noPath.increment();
+                        } else {
+                            withPaths.increment();
+                        }
+                        callback.accept(result);
+                    } catch (RuntimeException e) {
+                        if (callbackFailure.compareAndSet(null, e)) {
+                            LOG.error("배치 콜백 오류로 중단합니다 (id={})", request.id(), e);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+
+            // 남은 작업 완료 대기
+            inFlight.acquire(parallelism);
+            inFlight.release(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("배치 실행이 중단되었습니다 ({}건 처리)", total.sum());
+        } finally {
+            shutdown(executor);
+        }
+
+        RuntimeException failure = callbackFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        Summary summary = new Summary(total.sum(), withPaths.sum(), noPath.sum(), failed.sum(), elapsed);
+        LOG.info("배치 완료: {}", summary);
+        return summary;
+    }
+
+    /**
+     * OD 1건 검색 (예외는 실패 결과로 변환)
+     */
+    private OdResult routeOne(OdRequest request) {
+        long start = System.currentTimeMillis();
+        try {
+            var paths = switch (request.mode()) {
+                case MULTI_CRITERIA -> raptor.routeMultiCriteria(
+                    request.fromLat(), request.fromLon(), request.toLat(), request.toLon(), request.departureTime());
+                case STANDARD -> raptor.route(
+                    request.fromLat(), request.fromLon(), request.toLat(), request.toLon(), request.departureTime());
+                case ARRIVE_BY -> raptor.routeArriveBy(
+                    request.fromLat(), request.fromLon(), request.toLat(), request.toLon(), request.departureTime());
+            };
+            return OdResult.success(request, paths, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // OTP Raptor 내부 예외(NPE, IndexOutOfBounds 등)도 해당 OD만 실패 처리
+            return OdResult.failure(request, e, System.currentTimeMillis() - start);
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        if (useVirtualThreads) {
+            return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("raptor-batch-", 0).factory());
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "raptor-batch-" + counter.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+        return Executors.newFixedThreadPool(parallelism, factory);
+    }
+
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 배치 요약
+     *
+     * @param total       처리한 OD 수
+     * @param withPaths   경로 발견
+     * @param noPath      경로 없음
+     * @param failed      예외 발생
+     * @param wallMillis  전체 소요 시간 (ms)
+     */
+    public record Summary(long total, long withPaths, long noPath, long failed, long wallMillis) {
+
+        /**
+         * 처리량 (req/s)
+         */
+        public double throughput() {
+            return wallMillis > 0 ? total * 1000.0 / wallMillis : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d건 (성공 %,d, 경로없음 %,d, 실패 %,d), %.1f초, %.1f req/s",
+                total, withPaths, noPath, failed, wallMillis / 1000.0, throughput());
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package kr.otp.core;
 
+import kr.otp.metrics.RoutingMetrics;
 import kr.otp.osm.StreetNetwork;
 import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.IndexedTransitDataProvider;
 import kr.otp.raptor.spi.KoreanAccessEgress;
-import kr.otp.raptor.spi.KoreanTransitDataProvider;
 import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.RouteServiceSpans;
+import kr.otp.raptor.spi.TransferIndex;
+import kr.otp.raptor.spi.TransitMode;
 
 import org.opentripplanner.raptor.RaptorService;
 import org.opentripplanner.raptor.api.model.GeneralizedCostRelaxFunction;
@@ -12,20 +16,20 @@ import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RelaxFunction;
 import org.opentripplanner.raptor.api.path.RaptorPath;
 import org.opentripplanner.raptor.api.request.Optimization;
-import org.opentripplanner.raptor.api.request.RaptorEnvironment;
 import org.opentripplanner.raptor.api.request.RaptorProfile;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
 import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
-import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.api.model.SearchDirection;
 import org.opentripplanner.raptor.api.response.RaptorResponse;
-import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.raptor.api.response.StopArrivals;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 한국형 Raptor 경로탐색 엔진.
@@ -55,33 +59,65 @@ public class KoreanRaptor {
     private static final int MAX_RESULTS = 5;                     // 최대 결과 수
     private static final int MAX_ACCESS_STOPS = 30;               // 최대 출발 정류장 수
     private static final int MAX_EGRESS_STOPS = 30;               // 최대 도착 정류장 수
+    private static final int MIN_NEAREST_STOPS = 5;               // 노선 중복과 관계없이 유지할 최근접 정류장 수
 
     // MULTI_CRITERIA 최적화 설정
     private static final int MC_SEARCH_WINDOW_SECONDS = 1800;     // MC 모드 검색 범위 (30분) - 최적값
     private static final int MC_ADDITIONAL_TRANSFERS = 3;         // MC 모드 추가 환승 제한 (3회)
     private static final double MC_RELAX_RATIO = 1.0;             // 비용 완화 없음 (정확한 파레토)
     private static final int MC_RELAX_SLACK = 0;                  // 슬랙 없음
+    private static final int MC_HEURISTIC_ARRIVAL_SLACK = 900;    // 다단계 모드: STANDARD 경로 중 가장 늦은 도착 + 15분까지만 MC 탐색
+
+    // One-to-all (도달권) 설정
+    public static final int ONE_TO_ALL_MAX_DURATION_SECONDS = 7200;   // 기본 최대 소요 시간 (2시간)
+    private static final int ONE_TO_ALL_MAX_TRANSFERS = 4;            // 최대 환승 횟수
 
     private final TransitData transitData;
-    private final KoreanTransitDataProvider provider;
+    private final IndexedTransitDataProvider provider;
+    private final RaptorRuntime raptorRuntime;
     private final RaptorService<KoreanTripSchedule> raptorService;
     private final AccessEgressFinder accessEgressFinder;
+    private final AccessStopSelector accessSelector;
+    private final AccessStopSelector egressSelector;
+
+    private volatile boolean multiStageMultiCriteria = false;  // MC 다단계(휴리스틱 선행) 모드
+    private volatile RouteCache routeCache = null;             // 결과 캐시 (null이면 비활성)
+    private volatile RoutingMetrics metrics = new RoutingMetrics();  // 단계별 지연시간/카운터
 
     public KoreanRaptor(TransitData transitData) {
         this(transitData, (StreetNetwork) null);
     }
 
     public KoreanRaptor(TransitData transitData, StreetNetwork streetNetwork) {
-        this.transitData = transitData;
-        this.provider = new KoreanTransitDataProvider(transitData);
+        this(transitData, streetNetwork, RaptorRuntime.createDefault());
+    }
 
-        // Raptor 설정 생성 (기본값 사용)
-        RaptorConfig<KoreanTripSchedule> config = new RaptorConfig<>(
-            new RaptorTuningParameters() {},  // 기본 튜닝 파라미터
-            new RaptorEnvironment() {}        // 기본 환경
-        );
-        this.raptorService = new RaptorService<>(config);
+    /**
+     * 공유 Raptor 실행 환경을 사용하는 생성자.
+     *
+     * @param transitData   대중교통 데이터
+     * @param streetNetwork OSM 도로망 (null이면 직선 거리)
+     * @param runtime       공유할 RaptorService / 스레드 풀
+     * @see TransferIndex#of(TransitData) 로더(스냅샷/스트리밍 빌더/지역 필터)가 만든 인덱스는 다시 만들지 않는다
+     */
+    public KoreanRaptor(TransitData transitData, StreetNetwork streetNetwork, RaptorRuntime runtime) {
+        this(transitData, streetNetwork, runtime, TransferIndex.of(transitData));
+    }
+
+    /**
+     * 이미 만든 환승 인덱스를 공유하는 생성자.
+     *
+     * @param transfers 환승 CSR 인덱스 (transitData와 정류장 인덱스가 같아야 함)
+     */
+    public KoreanRaptor(TransitData transitData, StreetNetwork streetNetwork, RaptorRuntime runtime,
+                        TransferIndex transfers) {
+        this.transitData = transitData;
+        this.provider = new IndexedTransitDataProvider(transitData, transfers);
+        this.raptorRuntime = runtime;
+        this.raptorService = runtime.getService();
         this.accessEgressFinder = new AccessEgressFinder(transitData);
+        this.accessSelector = new AccessStopSelector(transitData, MIN_NEAREST_STOPS, MAX_ACCESS_STOPS);
+        this.egressSelector = new AccessStopSelector(transitData, MIN_NEAREST_STOPS, MAX_EGRESS_STOPS);
 
         // OSM 도로망 설정 (선택적)
         if (streetNetwork != null) {
@@ -100,19 +136,93 @@ public class KoreanRaptor {
      * @param existingFinder 재사용할 AccessEgressFinder
      */
     public KoreanRaptor(TransitData transitData, AccessEgressFinder existingFinder) {
-        this.transitData = transitData;
-        this.provider = new KoreanTransitDataProvider(transitData);
+        this(transitData, existingFinder, RaptorRuntime.createDefault());
+    }
 
-        RaptorConfig<KoreanTripSchedule> config = new RaptorConfig<>(
-            new RaptorTuningParameters() {},
-            new RaptorEnvironment() {}
-        );
-        this.raptorService = new RaptorService<>(config);
+    /**
+     * 기존 AccessEgressFinder와 Raptor 실행 환경을 모두 재사용하는 생성자 (시나리오 모드용).
+     *
+     * @param transitData 대중교통 데이터
+     * @param existingFinder 재사용할 AccessEgressFinder
+     * @param runtime 공유할 RaptorService / 스레드 풀
+     */
+    public KoreanRaptor(TransitData transitData, AccessEgressFinder existingFinder, RaptorRuntime runtime) {
+        this(transitData, existingFinder, runtime, TransferIndex.of(transitData));
+    }
+
+    /**
+     * 기존 AccessEgressFinder, Raptor 실행 환경, 환승 인덱스를 모두 재사용하는 생성자 (시나리오 모드용).
+     *
+     * 시나리오는 노선만 바꾸고 환승은 그대로이므로 원본 엔진의 TransferIndex를 공유한다.
+     */
+    public KoreanRaptor(TransitData transitData, AccessEgressFinder existingFinder, RaptorRuntime runtime,
+                        TransferIndex transfers) {
+        this.transitData = transitData;
+        this.provider = new IndexedTransitDataProvider(transitData, transfers);
+        this.raptorRuntime = runtime;
+        this.raptorService = runtime.getService();
         this.accessEgressFinder = existingFinder;
+        this.accessSelector = new AccessStopSelector(transitData, MIN_NEAREST_STOPS, MAX_ACCESS_STOPS);
+        this.egressSelector = new AccessStopSelector(transitData, MIN_NEAREST_STOPS, MAX_EGRESS_STOPS);
 
         LOG.info("KoreanRaptor 초기화 완료 (AccessEgressFinder 재사용): {} (OSM: {})", provider, isUsingOsm());
     }
 
+    /**
+     * MULTI_CRITERIA 다단계 모드 설정
+     *
+     * 활성화하면 routeMultiCriteria()가 먼저 STANDARD 검색(저비용)을 실행하고,
+     * - 경로가 없으면 MC 검색을 생략 (장거리 실패 OD에서 가장 큰 절감)
+     * - 경로가 있으면 STANDARD 경로 중 가장 늦은 도착 시간 + MC_HEURISTIC_ARRIVAL_SLACK(15분)을
+     *   MC 검색의 도착 시간 상한으로 사용
+     * 한 뒤 PARALLEL 최적화를 켜고 MC 검색을 실행한다.
+     * 환승 횟수는 두 모드 모두 numberOfAdditionalTransfers(최소 환승 + MC_ADDITIONAL_TRANSFERS)로 제한된다.
+     *
+     * 주의: 결과가 전체 MC 검색과 같지 않다. 도착 시간 상한보다 늦게 도착하는 파레토 경로
+     * (더 느리지만 환승이 적거나 비용이 낮은 경로)는 버려진다. 속도를 위해 이 손실을
+     * 감수할 수 있을 때만 켠다. 결과 캐시 키에 이 설정이 포함되므로 전환 전 결과가 섞이지 않는다.
+     */
+    public void setMultiStageMultiCriteria(boolean enabled) {
+        this.multiStageMultiCriteria = enabled;
+    }
+
+    public boolean isMultiStageMultiCriteria() {
+        return multiStageMultiCriteria;
+    }
+
+    /**
+     * 결과 캐시 설정 (null이면 캐시 비활성)
+     *
+     * route() / routeMultiCriteria() / routeArriveBy() 결과를 양자화 키로 캐시한다.
+     * 여러 엔진이 하나의 캐시를 공유하면 TransitData가 다른 엔진의 요청이 올 때마다
+     * 캐시가 비워지므로, 엔진마다 별도 캐시(RouteCache.copySettings())를 권장한다.
+     */
+    public void setRouteCache(RouteCache routeCache) {
+        this.routeCache = routeCache;
+    }
+
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    /**
+     * 단계별 지연시간/카운터 (여러 엔진이 하나를 공유하도록 교체 가능)
+     */
+    public RoutingMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(RoutingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Raptor 실행 환경 반환 (다른 엔진과 공유용)
+     */
+    public RaptorRuntime getRaptorRuntime() {
+        return raptorRuntime;
+    }
+
     /**
      * AccessEgressFinder 반환 (시나리오 모드에서 재사용)
      */
@@ -127,6 +237,48 @@ public class KoreanRaptor {
         return accessEgressFinder.isUsingOsm();
     }
 
+    /**
+     * 출발지 근처 정류장 (Access) - 노선 다양성 기준 최대 MAX_ACCESS_STOPS개
+     *
+     * @return Access 목록 (근처에 정류장이 없으면 빈 목록)
+     * @see AccessStopSelector
+     */
+    public List<RaptorAccessEgress> findAccessPaths(double lat, double lon) {
+        return findAccessPaths(lat, lon, null);
+    }
+
+    /**
+     * 출발지 근처 정류장 (Access) - 허용 수단 노선 기준으로 선택
+     *
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    public List<RaptorAccessEgress> findAccessPaths(double lat, double lon, Set<TransitMode> modes) {
+        return accessSelector.select(accessEgressFinder.findAccess(
+            lat, lon, MAX_ACCESS_WALK_METERS
+        ), provider.getModeIndex().allowedRoutes(modes));
+    }
+
+    /**
+     * 목적지 근처 정류장 (Egress) - 노선 다양성 기준 최대 MAX_EGRESS_STOPS개
+     *
+     * @return Egress 목록 (근처에 정류장이 없으면 빈 목록)
+     * @see AccessStopSelector
+     */
+    public List<RaptorAccessEgress> findEgressPaths(double lat, double lon) {
+        return findEgressPaths(lat, lon, null);
+    }
+
+    /**
+     * 목적지 근처 정류장 (Egress) - 허용 수단 노선 기준으로 선택
+     *
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    public List<RaptorAccessEgress> findEgressPaths(double lat, double lon, Set<TransitMode> modes) {
+        return egressSelector.select(accessEgressFinder.findEgress(
+            lat, lon, MAX_EGRESS_WALK_METERS
+        ), provider.getModeIndex().allowedRoutes(modes));
+    }
+
     /**
      * 좌표 기반 경로 탐색
      *
@@ -142,54 +294,30 @@ public class KoreanRaptor {
         double toLat, double toLon,
         int departureTime
     ) {
-        long startTime = System.currentTimeMillis();
-
-        // 1. 출발지 근처 정류장 찾기 (Access) - 상위 N개만
-        List<RaptorAccessEgress> accessPaths = accessEgressFinder.findAccess(
-            fromLat, fromLon, MAX_ACCESS_WALK_METERS
-        );
-        if (accessPaths.isEmpty()) {
-            LOG.warn("출발지 근처에 정류장이 없습니다: ({}, {})", fromLat, fromLon);
-            return List.of();
-        }
-        if (accessPaths.size() > MAX_ACCESS_STOPS) {
-            accessPaths = accessPaths.subList(0, MAX_ACCESS_STOPS);
-        }
-
-        // 2. 목적지 근처 정류장 찾기 (Egress) - 상위 N개만
-        List<RaptorAccessEgress> egressPaths = accessEgressFinder.findEgress(
-            toLat, toLon, MAX_EGRESS_WALK_METERS
-        );
-        if (egressPaths.isEmpty()) {
-            LOG.warn("목적지 근처에 정류장이 없습니다: ({}, {})", toLat, toLon);
-            return List.of();
-        }
-        if (egressPaths.size() > MAX_EGRESS_STOPS) {
-            egressPaths = egressPaths.subList(0, MAX_EGRESS_STOPS);
-        }
-
-        LOG.debug("Access 정류장: {}개, Egress 정류장: {}개",
-            accessPaths.size(), egressPaths.size());
-
-        // 3. Raptor 요청 생성
-        RaptorRequest<KoreanTripSchedule> request = buildRequest(
-            accessPaths, egressPaths, departureTime
-        );
-
-        // 4. Raptor 실행
-        RaptorResponse<KoreanTripSchedule> response = raptorService.route(request, provider);
-
-        long elapsed = System.currentTimeMillis() - startTime;
+        return route(fromLat, fromLon, toLat, toLon, departureTime, null);
+    }
 
-        if (response.noConnectionFound()) {
-            LOG.info("경로를 찾을 수 없습니다 ({}ms)", elapsed);
-            return List.of();
+    /**
+     * 좌표 기반 경로 탐색 (교통수단 필터)
+     *
+     * 허용하지 않은 수단의 노선은 Raptor가 아예 스캔하지 않는다 (예: 지하철만, 철도 제외).
+     *
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    public List<RaptorPath<KoreanTripSchedule>> route(
+        double fromLat, double fromLon,
+        double toLat, double toLon,
+        int departureTime,
+        Set<TransitMode> modes
+    ) {
+        RouteCache cache = routeCache;
+        if (cache != null) {
+            return cache.getOrCompute(transitData,
+                cache.key(fromLat, fromLon, toLat, toLon, departureTime, OdRequest.Mode.STANDARD,
+                    TransitMode.mask(modes)),
+                () -> search(OdRequest.Mode.STANDARD, fromLat, fromLon, toLat, toLon, departureTime, modes));
         }
-
-        Collection<RaptorPath<KoreanTripSchedule>> paths = response.paths();
-        LOG.info("경로 {}개 발견 ({}ms)", paths.size(), elapsed);
-
-        return List.copyOf(paths);
+        return search(OdRequest.Mode.STANDARD, fromLat, fromLon, toLat, toLon, departureTime, modes);
     }
 
     /**
@@ -210,54 +338,226 @@ public class KoreanRaptor {
         double toLat, double toLon,
         int departureTime
     ) {
-        long startTime = System.currentTimeMillis();
-
-        // 1. 출발지 근처 정류장 찾기
-        List<RaptorAccessEgress> accessPaths = accessEgressFinder.findAccess(
-            fromLat, fromLon, MAX_ACCESS_WALK_METERS
-        );
-        if (accessPaths.isEmpty()) {
-            LOG.warn("출발지 근처에 정류장이 없습니다: ({}, {})", fromLat, fromLon);
-            return List.of();
-        }
-        if (accessPaths.size() > MAX_ACCESS_STOPS) {
-            accessPaths = accessPaths.subList(0, MAX_ACCESS_STOPS);
-        }
+        return routeMultiCriteria(fromLat, fromLon, toLat, toLon, departureTime, null);
+    }
 
-        // 2. 목적지 근처 정류장 찾기
-        List<RaptorAccessEgress> egressPaths = accessEgressFinder.findEgress(
-            toLat, toLon, MAX_EGRESS_WALK_METERS
-        );
-        if (egressPaths.isEmpty()) {
-            LOG.warn("목적지 근처에 정류장이 없습니다: ({}, {})", toLat, toLon);
-            return List.of();
-        }
-        if (egressPaths.size() > MAX_EGRESS_STOPS) {
-            egressPaths = egressPaths.subList(0, MAX_EGRESS_STOPS);
+    /**
+     * MULTI_CRITERIA 모드 좌표 기반 경로 탐색 (교통수단 필터)
+     *
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    public List<RaptorPath<KoreanTripSchedule>> routeMultiCriteria(
+        double fromLat, double fromLon,
+        double toLat, double toLon,
+        int departureTime,
+        Set<TransitMode> modes
+    ) {
+        RouteCache cache = routeCache;
+        if (cache != null) {
+            return cache.getOrCompute(transitData,
+                cache.key(fromLat, fromLon, toLat, toLon, departureTime, OdRequest.Mode.MULTI_CRITERIA,
+                    TransitMode.mask(modes), multiStageMultiCriteria),
+                () -> search(OdRequest.Mode.MULTI_CRITERIA, fromLat, fromLon, toLat, toLon, departureTime, modes));
         }
+        return search(OdRequest.Mode.MULTI_CRITERIA, fromLat, fromLon, toLat, toLon, departureTime, modes);
+    }
 
-        LOG.debug("MULTI_CRITERIA - Access: {}개, Egress: {}개",
-            accessPaths.size(), egressPaths.size());
+    /**
+     * 도착 시간 기준 경로 탐색 (Arrive-by)
+     *
+     * "09:00까지 도착" 질의를 역방향(REVERSE) Raptor 1회로 처리한다.
+     * 도착 시간에서 거꾸로 탐색하므로 여러 출발 시간을 추측해 정방향 검색을
+     * 반복할 필요가 없다. 역방향 탑승 검색은 KoreanTripScheduleSearch가 담당한다.
+     *
+     * @param fromLat     출발지 위도
+     * @param fromLon     출발지 경도
+     * @param toLat       목적지 위도
+     * @param toLon       목적지 경도
+     * @param arrivalTime 최종 도착 시간 (초, 자정 기준. 이 시간까지 도착)
+     * @return 탐색된 경로 목록 (늦게 출발하는 순으로 최적)
+     */
+    public List<RaptorPath<KoreanTripSchedule>> routeArriveBy(
+        double fromLat, double fromLon,
+        double toLat, double toLon,
+        int arrivalTime
+    ) {
+        return routeArriveBy(fromLat, fromLon, toLat, toLon, arrivalTime, null);
+    }
 
-        // 3. MULTI_CRITERIA 요청 생성
-        RaptorRequest<KoreanTripSchedule> request = buildMultiCriteriaRequest(
-            accessPaths, egressPaths, departureTime
-        );
+    /**
+     * 도착 시간 기준 경로 탐색 (교통수단 필터)
+     *
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    public List<RaptorPath<KoreanTripSchedule>> routeArriveBy(
+        double fromLat, double fromLon,
+        double toLat, double toLon,
+        int arrivalTime,
+        Set<TransitMode> modes
+    ) {
+        RouteCache cache = routeCache;
+        if (cache != null) {
+            return cache.getOrCompute(transitData,
+                cache.key(fromLat, fromLon, toLat, toLon, arrivalTime, OdRequest.Mode.ARRIVE_BY,
+                    TransitMode.mask(modes)),
+                () -> search(OdRequest.Mode.ARRIVE_BY, fromLat, fromLon, toLat, toLon, arrivalTime, modes));
+        }
+        return search(OdRequest.Mode.ARRIVE_BY, fromLat, fromLon, toLat, toLon, arrivalTime, modes);
+    }
 
-        // 4. Raptor 실행
-        RaptorResponse<KoreanTripSchedule> response = raptorService.route(request, provider);
+    /**
+     * 좌표 기반 검색 공통 처리
+     *
+     * Access 탐색 → Egress 탐색 → Raptor 검색 → 경로 변환 단계별 소요 시간과
+     * 정류장 수/결과 수/실패 유형을 RoutingMetrics에 기록한다.
+     *
+     * @param time  출발 시간 (ARRIVE_BY 모드에서는 도착 시간)
+     * @param modes 허용 교통수단 (null이면 전체)
+     */
+    private List<RaptorPath<KoreanTripSchedule>> search(
+        OdRequest.Mode mode,
+        double fromLat, double fromLon,
+        double toLat, double toLon,
+        int time,
+        Set<TransitMode> modes
+    ) {
+        RoutingMetrics m = metrics;
+        long start = System.nanoTime();
+        RoutingMetrics.Outcome outcome = RoutingMetrics.Outcome.ERROR;
+        try {
+            // 1. 출발지 근처 정류장 찾기 (Access) - 노선 다양성 기준 선택
+            List<RaptorAccessEgress> accessPaths = findAccessPaths(fromLat, fromLon, modes);
+            long accessEnd = System.nanoTime();
+            m.recordPhase(mode, RoutingMetrics.Phase.ACCESS, accessEnd - start);
+            m.recordAccessStops(mode, accessPaths.size());
+            if (accessPaths.isEmpty()) {
+                LOG.warn("출발지 근처에 정류장이 없습니다: ({}, {})", fromLat, fromLon);
+                outcome = RoutingMetrics.Outcome.NO_ACCESS;
+                return List.of();
+            }
+
+            // 2. 목적지 근처 정류장 찾기 (Egress) - 노선 다양성 기준 선택
+            List<RaptorAccessEgress> egressPaths = findEgressPaths(toLat, toLon, modes);
+            long egressEnd = System.nanoTime();
+            m.recordPhase(mode, RoutingMetrics.Phase.EGRESS, egressEnd - accessEnd);
+            m.recordEgressStops(mode, egressPaths.size());
+            if (egressPaths.isEmpty()) {
+                LOG.warn("목적지 근처에 정류장이 없습니다: ({}, {})", toLat, toLon);
+                outcome = RoutingMetrics.Outcome.NO_EGRESS;
+                return List.of();
+            }
+
+            LOG.debug("{} - Access: {}개, Egress: {}개", mode, accessPaths.size(), egressPaths.size());
+
+            // 3. Raptor 실행
+            RaptorResponse<KoreanTripSchedule> response = executeSearch(mode, accessPaths, egressPaths, time, modes);
+            long searchEnd = System.nanoTime();
+            m.recordPhase(mode, RoutingMetrics.Phase.SEARCH, searchEnd - egressEnd);
+
+            if (response.noConnectionFound()) {
+                outcome = RoutingMetrics.Outcome.NO_CONNECTION;
+                LOG.debug("{} 경로를 찾을 수 없습니다 ({}ms)", mode, (searchEnd - start) / 1_000_000);
+                return List.of();
+            }
+
+            // 4. 경로 변환
+            List<RaptorPath<KoreanTripSchedule>> paths = List.copyOf(response.paths());
+            long end = System.nanoTime();
+            m.recordPhase(mode, RoutingMetrics.Phase.PATH_MAPPING, end - searchEnd);
+            m.recordPaths(mode, paths.size());
+            outcome = RoutingMetrics.Outcome.FOUND;
+
+            LOG.debug("{} 경로 {}개 발견 ({}ms)", mode, paths.size(), (end - start) / 1_000_000);
+            return paths;
+        } finally {
+            // 조기 반환/예외를 포함한 모든 종료 경로에서 전체 시간과 결과 유형 기록
+            m.recordPhase(mode, RoutingMetrics.Phase.TOTAL, System.nanoTime() - start);
+            m.recordOutcome(mode, outcome);
+        }
+    }
 
-        long elapsed = System.currentTimeMillis() - startTime;
+    private RaptorResponse<KoreanTripSchedule> executeSearch(
+        OdRequest.Mode mode,
+        List<RaptorAccessEgress> accessPaths,
+        List<RaptorAccessEgress> egressPaths,
+        int time,
+        Set<TransitMode> modes
+    ) {
+        IndexedTransitDataProvider filtered = provider.withModes(modes);
+        return switch (mode) {
+            case STANDARD -> raptorService.route(
+                buildRequest(accessPaths, egressPaths, time), departAfter(filtered, time));
+            case ARRIVE_BY -> raptorService.route(
+                buildArriveByRequest(accessPaths, egressPaths, time), arriveBy(filtered, time));
+            case MULTI_CRITERIA -> executeMultiCriteria(accessPaths, egressPaths, time, filtered);
+        };
+    }
 
-        if (response.noConnectionFound()) {
-            LOG.info("MULTI_CRITERIA 경로를 찾을 수 없습니다 ({}ms)", elapsed);
-            return List.of();
+    /**
+     * MULTI_CRITERIA 검색 (다단계 모드면 STANDARD 휴리스틱 검색 선행)
+     */
+    private RaptorResponse<KoreanTripSchedule> executeMultiCriteria(
+        List<RaptorAccessEgress> accessPaths,
+        List<RaptorAccessEgress> egressPaths,
+        int departureTime,
+        IndexedTransitDataProvider filtered
+    ) {
+        IndexedTransitDataProvider windowed = departAfter(filtered, departureTime);
+        HeuristicBounds bounds = null;
+        if (multiStageMultiCriteria) {
+            RaptorResponse<KoreanTripSchedule> heuristic = raptorService.route(
+                buildRequest(accessPaths, egressPaths, departureTime), windowed
+            );
+            if (heuristic.noConnectionFound()) {
+                LOG.debug("MULTI_CRITERIA 휴리스틱 단계에서 경로 없음 - MC 검색 생략");
+                return heuristic;
+            }
+            bounds = HeuristicBounds.of(heuristic.paths());
+            LOG.debug("MULTI_CRITERIA 휴리스틱: {}", bounds);
+            windowed = filtered.withSearchWindow(
+                departureTime, bounds.latestArrivalTime() + MC_HEURISTIC_ARRIVAL_SLACK);
         }
 
-        Collection<RaptorPath<KoreanTripSchedule>> paths = response.paths();
-        LOG.info("MULTI_CRITERIA 경로 {}개 발견 ({}ms)", paths.size(), elapsed);
+        return raptorService.route(
+            buildMultiCriteriaRequest(accessPaths, egressPaths, departureTime, bounds), windowed
+        );
+    }
 
-        return List.copyOf(paths);
+    /**
+     * 정류장 인덱스 기반 도착 시간 기준 경로 탐색
+     *
+     * @param fromStopIndex 출발 정류장 인덱스
+     * @param toStopIndex   도착 정류장 인덱스
+     * @param arrivalTime   최종 도착 시간 (초)
+     * @return 탐색된 경로 목록
+     */
+    public List<RaptorPath<KoreanTripSchedule>> routeArriveByStopIndex(
+        int fromStopIndex,
+        int toStopIndex,
+        int arrivalTime
+    ) {
+        long start = System.nanoTime();
+        RoutingMetrics.Outcome outcome = RoutingMetrics.Outcome.ERROR;
+        try {
+            RaptorRequest<KoreanTripSchedule> request = buildArriveByRequest(
+                List.of(new KoreanAccessEgress(fromStopIndex, 0, 0)),
+                List.of(new KoreanAccessEgress(toStopIndex, 0, 0)),
+                arrivalTime
+            );
+
+            RaptorResponse<KoreanTripSchedule> response = raptorService.route(request, arriveBy(provider, arrivalTime));
+
+            if (response.noConnectionFound()) {
+                outcome = RoutingMetrics.Outcome.NO_CONNECTION;
+                return List.of();
+            }
+
+            outcome = RoutingMetrics.Outcome.FOUND;
+            return List.copyOf(response.paths());
+        } finally {
+            metrics.recordDirectQuery(RoutingMetrics.DirectQuery.ARRIVE_BY_STOP_INDEX, outcome,
+                System.nanoTime() - start);
+        }
     }
 
     /**
@@ -273,27 +573,169 @@ public class KoreanRaptor {
         int toStopIndex,
         int departureTime
     ) {
-        // Access: 출발 정류장에서 바로 탑승 (도보 0초)
-        List<RaptorAccessEgress> accessPaths = List.of(
-            new KoreanAccessEgress(fromStopIndex, 0, 0)
-        );
+        long start = System.nanoTime();
+        RoutingMetrics.Outcome outcome = RoutingMetrics.Outcome.ERROR;
+        try {
+            // Access: 출발 정류장에서 바로 탑승 (도보 0초)
+            List<RaptorAccessEgress> accessPaths = List.of(
+                new KoreanAccessEgress(fromStopIndex, 0, 0)
+            );
+
+            // Egress: 도착 정류장에서 바로 하차 (도보 0초)
+            List<RaptorAccessEgress> egressPaths = List.of(
+                new KoreanAccessEgress(toStopIndex, 0, 0)
+            );
+
+            RaptorRequest<KoreanTripSchedule> request = buildRequest(
+                accessPaths, egressPaths, departureTime
+            );
+
+            RaptorResponse<KoreanTripSchedule> response = raptorService.route(request, departAfter(provider, departureTime));
+
+            if (response.noConnectionFound()) {
+                outcome = RoutingMetrics.Outcome.NO_CONNECTION;
+                return List.of();
+            }
+
+            outcome = RoutingMetrics.Outcome.FOUND;
+            return List.copyOf(response.paths());
+        } finally {
+            metrics.recordDirectQuery(RoutingMetrics.DirectQuery.STOP_INDEX, outcome, System.nanoTime() - start);
+        }
+    }
 
-        // Egress: 도착 정류장에서 바로 하차 (도보 0초)
-        List<RaptorAccessEgress> egressPaths = List.of(
-            new KoreanAccessEgress(toStopIndex, 0, 0)
-        );
+    /**
+     * One-to-all 검색 (등시선/도달권 핵심)
+     *
+     * 출발지에서 Raptor를 1회 실행하여 모든 정류장의 최적 도착 시간을 구한다.
+     * 도착지(Egress)가 없으므로 경로 대신 정류장별 도착 시간 배열을 반환하며,
+     * 수백 번의 point-to-point 검색을 한 번의 검색으로 대체한다.
+     *
+     * 최대 소요 시간은 기본 2시간 (초과하는 정류장은 미도달 처리).
+     *
+     * @param lat           출발지 위도
+     * @param lon           출발지 경도
+     * @param departureTime 출발 시간 (초, 자정 기준)
+     * @return 정류장별 도착 시간/환승 횟수
+     */
+    public OneToAllResult routeOneToAll(double lat, double lon, int departureTime) {
+        return routeOneToAll(lat, lon, departureTime, ONE_TO_ALL_MAX_DURATION_SECONDS);
+    }
 
-        RaptorRequest<KoreanTripSchedule> request = buildRequest(
-            accessPaths, egressPaths, departureTime
-        );
+    /**
+     * One-to-all 검색 (최대 소요 시간 지정)
+     *
+     * @param maxDurationSeconds 최대 소요 시간 (초). 도착 시간 상한으로 사용되어 탐색 범위를 줄인다.
+     */
+    public OneToAllResult routeOneToAll(double lat, double lon, int departureTime, int maxDurationSeconds) {
+        long start = System.nanoTime();
+        List<RaptorAccessEgress> accessPaths = findAccessPaths(lat, lon);
+        if (accessPaths.isEmpty()) {
+            LOG.warn("출발지 근처에 정류장이 없습니다: ({}, {})", lat, lon);
+            metrics.recordDirectQuery(RoutingMetrics.DirectQuery.ONE_TO_ALL, RoutingMetrics.Outcome.NO_ACCESS,
+                System.nanoTime() - start);
+            return OneToAllResult.unreached(transitData.getStopCount(), departureTime);
+        }
 
-        RaptorResponse<KoreanTripSchedule> response = raptorService.route(request, provider);
+        return routeOneToAll(accessPaths, departureTime, maxDurationSeconds);
+    }
 
-        if (response.noConnectionFound()) {
-            return List.of();
+    /**
+     * One-to-all 검색 (Access 목록 직접 지정)
+     *
+     * 같은 출발지의 Access를 여러 번 재사용할 때 사용 (예: OD 행렬 계산).
+     *
+     * @param accessPaths        출발 정류장 목록
+     * @param departureTime      출발 시간 (초)
+     * @param maxDurationSeconds 최대 소요 시간 (초)
+     * @return 정류장별 도착 시간/환승 횟수
+     */
+    public OneToAllResult routeOneToAll(
+        List<RaptorAccessEgress> accessPaths,
+        int departureTime,
+        int maxDurationSeconds
+    ) {
+        long start = System.nanoTime();
+        RoutingMetrics.Outcome outcome = RoutingMetrics.Outcome.ERROR;
+        try {
+            RaptorRequest<KoreanTripSchedule> request = buildOneToAllRequest(
+                accessPaths, departureTime, maxDurationSeconds
+            );
+            RaptorResponse<KoreanTripSchedule> response = raptorService.route(
+                request, provider.withSearchWindow(departureTime, departureTime + maxDurationSeconds));
+            StopArrivals arrivals = response.getArrivals();
+
+            int stopCount = transitData.getStopCount();
+            int[] arrivalTimes = new int[stopCount];
+            int[] transfers = new int[stopCount];
+            boolean reachedAny = false;
+
+            for (int stop = 0; stop < stopCount; stop++) {
+                if (arrivals.reached(stop)) {
+                    arrivalTimes[stop] = arrivals.bestArrivalTime(stop);
+                    transfers[stop] = arrivals.smallestNumberOfTransfers(stop);
+                    reachedAny = true;
+                } else {
+                    arrivalTimes[stop] = OneToAllResult.UNREACHED;
+                    transfers[stop] = OneToAllResult.UNREACHED;
+                }
+            }
+
+            OneToAllResult result = new OneToAllResult(departureTime, arrivalTimes, transfers);
+            outcome = reachedAny ? RoutingMetrics.Outcome.FOUND : RoutingMetrics.Outcome.NO_CONNECTION;
+            LOG.debug("One-to-all: {} ({}ms)", result, (System.nanoTime() - start) / 1_000_000);
+            return result;
+        } finally {
+            metrics.recordDirectQuery(RoutingMetrics.DirectQuery.ONE_TO_ALL, outcome, System.nanoTime() - start);
         }
+    }
 
-        return List.copyOf(response.paths());
+    /**
+     * 대량 OD 병렬 경로탐색
+     *
+     * 이 엔진(RaptorService, Provider)을 공유하는 parallelism 개의 스레드로 요청을 처리하고,
+     * 완료되는 순서대로 callback에 결과를 전달한다. 결과는 보관하지 않으므로
+     * 대량 배치에서도 메모리 사용량이 일정하게 유지된다.
+     *
+     * @param requests    OD 요청 목록
+     * @param parallelism 동시 처리 수
+     * @param callback    결과 콜백 (여러 스레드에서 호출됨 - 스레드 안전해야 함)
+     * @return 배치 요약
+     */
+    public BatchRouter.Summary routeBatch(
+        List<OdRequest> requests,
+        int parallelism,
+        Consumer<OdResult> callback
+    ) {
+        return routeBatch(requests, parallelism, false, callback);
+    }
+
+    /**
+     * 대량 OD 병렬 경로탐색 (실행기 선택)
+     *
+     * @param useVirtualThreads true면 요청마다 가상 스레드, false면 parallelism 크기의 플랫폼 스레드 풀
+     */
+    public BatchRouter.Summary routeBatch(
+        List<OdRequest> requests,
+        int parallelism,
+        boolean useVirtualThreads,
+        Consumer<OdResult> callback
+    ) {
+        return new BatchRouter(this, parallelism, useVirtualThreads).run(requests.iterator(), callback);
+    }
+
+    /**
+     * 정방향 검색용 Provider (출발 시각 전에 운행이 끝난 노선 제외)
+     */
+    private static IndexedTransitDataProvider departAfter(IndexedTransitDataProvider base, int departureTime) {
+        return base.withSearchWindow(departureTime, RouteServiceSpans.UNBOUNDED_LATEST);
+    }
+
+    /**
+     * 역방향 검색용 Provider (도착 시각 뒤에 운행을 시작하는 노선 제외)
+     */
+    private static IndexedTransitDataProvider arriveBy(IndexedTransitDataProvider base, int arrivalTime) {
+        return base.withSearchWindow(RouteServiceSpans.UNBOUNDED_EARLIEST, arrivalTime);
     }
 
     /**
@@ -322,6 +764,64 @@ public class KoreanRaptor {
         return builder.build();
     }
 
+    /**
+     * Arrive-by Raptor 요청 생성 (역방향)
+     *
+     * latestArrivalTime부터 검색 윈도우만큼 거꾸로 반복하며,
+     * Access/Egress는 정방향과 동일하게 넘기면 Raptor가 역할을 바꿔 처리한다.
+     */
+    private RaptorRequest<KoreanTripSchedule> buildArriveByRequest(
+        List<RaptorAccessEgress> accessPaths,
+        List<RaptorAccessEgress> egressPaths,
+        int arrivalTime
+    ) {
+        RaptorRequestBuilder<KoreanTripSchedule> builder = new RaptorRequestBuilder<>();
+
+        builder
+            .profile(RaptorProfile.STANDARD)
+            .searchDirection(SearchDirection.REVERSE)   // 역방향 탐색 (도착 → 출발)
+            .searchParams()
+                .latestArrivalTime(arrivalTime)
+                .searchWindowInSeconds(SEARCH_WINDOW_SECONDS)
+                .timetable(true)
+                .addAccessPaths(accessPaths)
+                .addEgressPaths(egressPaths);
+
+        builder.searchParams().numberOfAdditionalTransfers(3);  // 최대 3회 환승
+
+        return builder.build();
+    }
+
+    /**
+     * One-to-all Raptor 요청 빌드
+     *
+     * - BEST_TIME 프로파일: 경로 복원 없이 정류장별 도착 시간만 계산
+     * - 단일 반복: 출발 시각 1개에 대해서만 탐색 (검색 윈도우 없음)
+     * - Egress 없음: 모든 정류장을 끝까지 탐색
+     * - 도착 시간 상한: departureTime + maxDurationSeconds
+     */
+    private RaptorRequest<KoreanTripSchedule> buildOneToAllRequest(
+        List<RaptorAccessEgress> accessPaths,
+        int departureTime,
+        int maxDurationSeconds
+    ) {
+        RaptorRequestBuilder<KoreanTripSchedule> builder = new RaptorRequestBuilder<>();
+
+        builder
+            .profile(RaptorProfile.BEST_TIME)
+            .searchDirection(SearchDirection.FORWARD)
+            .searchParams()
+                .earliestDepartureTime(departureTime)
+                .latestArrivalTime(departureTime + maxDurationSeconds)
+                .searchOneIterationOnly()
+                .timetable(true)
+                .maxNumberOfTransfers(ONE_TO_ALL_MAX_TRANSFERS)
+                .allowEmptyAccessEgressPaths(true)      // Egress 없이 실행
+                .addAccessPaths(accessPaths);
+
+        return builder.build();
+    }
+
     /**
      * MULTI_CRITERIA Raptor 요청 빌드 (최적화 적용)
      *
@@ -333,7 +833,8 @@ public class KoreanRaptor {
     private RaptorRequest<KoreanTripSchedule> buildMultiCriteriaRequest(
         List<RaptorAccessEgress> accessPaths,
         List<RaptorAccessEgress> egressPaths,
-        int departureTime
+        int departureTime,
+        HeuristicBounds bounds
     ) {
         RaptorRequestBuilder<KoreanTripSchedule> builder = new RaptorRequestBuilder<>();
 
@@ -353,12 +854,36 @@ public class KoreanRaptor {
                 .addAccessPaths(accessPaths)
                 .addEgressPaths(egressPaths);
 
+        // 다단계 모드: 휴리스틱 결과로 도착 시간 상한 설정 + 병렬 탐색
+        // (PARALLEL은 RaptorConfig에 스레드 풀이 있을 때만 실제로 병렬 실행됨)
+        if (bounds != null) {
+            builder.enableOptimization(Optimization.PARALLEL);
+            builder.searchParams()
+                .latestArrivalTime(bounds.latestArrivalTime() + MC_HEURISTIC_ARRIVAL_SLACK);
+        }
+
         // MULTI_CRITERIA 설정: relaxC1 적용
         builder.withMultiCriteria(mc -> mc.withRelaxC1(relaxC1));
 
         return builder.build();
     }
 
+    /**
+     * STANDARD 휴리스틱 검색 결과에서 얻은 MC 탐색 상한
+     *
+     * @param latestArrivalTime STANDARD 경로 중 가장 늦은 도착 시간
+     */
+    private record HeuristicBounds(int latestArrivalTime) {
+
+        static HeuristicBounds of(Collection<RaptorPath<KoreanTripSchedule>> paths) {
+            int latestArrival = Integer.MIN_VALUE;
+            for (RaptorPath<KoreanTripSchedule> path : paths) {
+                latestArrival = Math.max(latestArrival, path.endTime());
+            }
+            return new HeuristicBounds(latestArrival);
+        }
+    }
+
     /**
      * 정류장 이름 조회
      */
@@ -390,10 +915,17 @@ public class KoreanRaptor {
     /**
      * Provider 반환
      */
-    public KoreanTransitDataProvider getProvider() {
+    public IndexedTransitDataProvider getProvider() {
         return provider;
     }
 
+    /**
+     * 환승 인덱스 반환 (시나리오 엔진과 공유용)
+     */
+    public TransferIndex getTransferIndex() {
+        return provider.getTransferIndex();
+    }
+
     @Override
     public String toString() {
         return String.format("KoreanRaptor[stops=%d, routes=%d, trips=%d]",
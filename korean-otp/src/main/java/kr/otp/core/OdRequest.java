@@ -0,0 +1,53 @@
+package kr.otp.core;
+
+/**
+ * 배치 경로탐색용 OD(출발지-도착지) 요청.
+ *
+ * @param id            요청 식별자 (결과 매칭용, null 허용)
+ * @param fromLat       출발지 위도
+ * @param fromLon       출발지 경도
+ * @param toLat         목적지 위도
+ * @param toLon         목적지 경도
+ * @param departureTime 출발 시간 (초, 자정 기준. ARRIVE_BY 모드에서는 도착 시간)
+ * @param mode          검색 모드
+ */
+public record OdRequest(
+    String id,
+    double fromLat,
+    double fromLon,
+    double toLat,
+    double toLon,
+    int departureTime,
+    Mode mode
+) {
+
+    /**
+     * 검색 모드
+     */
+    public enum Mode {
+        STANDARD,        // KoreanRaptor.route()
+        MULTI_CRITERIA,  // KoreanRaptor.routeMultiCriteria()
+        ARRIVE_BY        // KoreanRaptor.routeArriveBy()
+    }
+
+    public OdRequest {
+        if (mode == null) {
+            mode = Mode.STANDARD;
+        }
+    }
+
+    public static OdRequest standard(String id, double fromLat, double fromLon,
+                                     double toLat, double toLon, int departureTime) {
+        return new OdRequest(id, fromLat, fromLon, toLat, toLon, departureTime, Mode.STANDARD);
+    }
+
+    public static OdRequest multiCriteria(String id, double fromLat, double fromLon,
+                                          double toLat, double toLon, int departureTime) {
+        return new OdRequest(id, fromLat, fromLon, toLat, toLon, departureTime, Mode.MULTI_CRITERIA);
+    }
+
+    public static OdRequest arriveBy(String id, double fromLat, double fromLon,
+                                     double toLat, double toLon, int arrivalTime) {
+        return new OdRequest(id, fromLat, fromLon, toLat, toLon, arrivalTime, Mode.ARRIVE_BY);
+    }
+}
@@ -0,0 +1,45 @@
+package kr.otp.core;
+
+import kr.otp.raptor.spi.KoreanTripSchedule;
+
+import org.opentripplanner.raptor.api.path.RaptorPath;
+
+import java.util.List;
+
+/**
+ * 배치 경로탐색 결과 (OD 1건).
+ *
+ * @param request       원본 요청
+ * @param paths         탐색된 경로 (실패 시 빈 목록)
+ * @param elapsedMillis 검색 소요 시간 (ms)
+ * @param error         검색 중 발생한 예외 (성공 시 null)
+ */
+public record OdResult(
+    OdRequest request,
+    List<RaptorPath<KoreanTripSchedule>> paths,
+    long elapsedMillis,
+    Throwable error
+) {
+
+    public static OdResult success(OdRequest request, List<RaptorPath<KoreanTripSchedule>> paths, long elapsedMillis) {
+        return new OdResult(request, paths, elapsedMillis, null);
+    }
+
+    public static OdResult failure(OdRequest request, Throwable error, long elapsedMillis) {
+        return new OdResult(request, List.of(), elapsedMillis, error);
+    }
+
+    /**
+     * 예외 없이 검색이 끝났는지 여부 (경로 유무와 무관)
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * 경로가 하나 이상 발견되었는지 여부
+     */
+    public boolean hasPaths() {
+        return error == null && !paths.isEmpty();
+    }
+}
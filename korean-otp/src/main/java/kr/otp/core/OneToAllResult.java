@@ -0,0 +1,99 @@
+package kr.otp.core;
+
+import java.util.Arrays;
+
+/**
+ * One-to-all 검색 결과 (등시선/도달권 계산용).
+ *
+ * TransitData의 정류장 인덱스 순서 그대로 primitive 배열에 저장한다.
+ * 도달하지 못한 정류장은 UNREACHED(-1).
+ *
+ * 배열은 복사 없이 그대로 반환되므로 호출자가 수정하지 않아야 한다.
+ */
+public class OneToAllResult {
+
+    /** 도달하지 못한 정류장 값 */
+    public static final int UNREACHED = -1;
+
+    private final int departureTime;
+    private final int[] arrivalTimes;       // 정류장별 최적 도착 시간 (초, 자정 기준)
+    private final int[] numberOfTransfers;  // 정류장별 최소 환승 횟수
+
+    public OneToAllResult(int departureTime, int[] arrivalTimes, int[] numberOfTransfers) {
+        this.departureTime = departureTime;
+        this.arrivalTimes = arrivalTimes;
+        this.numberOfTransfers = numberOfTransfers;
+    }
+
+    /**
+     * 모든 정류장이 미도달인 결과 (출발지 근처에 정류장이 없는 경우)
+     */
+    public static OneToAllResult unreached(int stopCount, int departureTime) {
+        int[] arrivals = new int[stopCount];
+        int[] transfers = new int[stopCount];
+        Arrays.fill(arrivals, UNREACHED);
+        Arrays.fill(transfers, UNREACHED);
+        return new OneToAllResult(departureTime, arrivals, transfers);
+    }
+
+    public int getDepartureTime() {
+        return departureTime;
+    }
+
+    /**
+     * 정류장별 최적 도착 시간 배열 (미도달: -1)
+     */
+    public int[] getArrivalTimes() {
+        return arrivalTimes;
+    }
+
+    /**
+     * 정류장별 최소 환승 횟수 배열 (미도달: -1)
+     */
+    public int[] getNumberOfTransfers() {
+        return numberOfTransfers;
+    }
+
+    public boolean isReached(int stopIndex) {
+        return arrivalTimes[stopIndex] != UNREACHED;
+    }
+
+    public int arrivalTime(int stopIndex) {
+        return arrivalTimes[stopIndex];
+    }
+
+    /**
+     * 출발 시각부터 정류장 도착까지 소요 시간 (초, 미도달: -1)
+     */
+    public int travelTime(int stopIndex) {
+        int arrival = arrivalTimes[stopIndex];
+        return arrival == UNREACHED ? UNREACHED : arrival - departureTime;
+    }
+
+    public int transfers(int stopIndex) {
+        return numberOfTransfers[stopIndex];
+    }
+
+    /**
+     * 도달한 정류장 수
+     */
+    public int getReachedStopCount() {
+        int count = 0;
+        for (int arrival : arrivalTimes) {
+            if (arrival != UNREACHED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getStopCount() {
+        return arrivalTimes.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OneToAllResult[departure=%d, reached=%d/%d]",
+            departureTime, getReachedStopCount(), arrivalTimes.length);
+    }
+}
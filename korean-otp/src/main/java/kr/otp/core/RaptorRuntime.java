@@ -0,0 +1,75 @@
+package kr.otp.core;
+
+import kr.otp.raptor.spi.KoreanTripSchedule;
+
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor.api.request.RaptorEnvironment;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 여러 KoreanRaptor 엔진이 공유하는 Raptor 실행 환경.
+ *
+ * RaptorConfig(튜닝 파라미터 + 검색 스레드 풀)와 RaptorService를 한 번만 만들고
+ * 원본/시나리오 엔진 등이 함께 사용한다. RaptorService는 요청마다 작업 상태를
+ * 새로 만들기 때문에 서로 다른 TransitData 엔진이 공유해도 안전하다.
+ *
+ * 검색 스레드 풀을 쓰는 경우 종료 시 shutdown()을 호출해야 한다.
+ */
+public class RaptorRuntime implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RaptorRuntime.class);
+
+    private final RaptorSettings settings;
+    private final RaptorConfig<KoreanTripSchedule> config;
+    private final RaptorService<KoreanTripSchedule> service;
+
+    public RaptorRuntime(RaptorSettings settings) {
+        this.settings = settings;
+        this.config = new RaptorConfig<>(settings, new RaptorEnvironment() {});
+        this.service = new RaptorService<>(config);
+
+        LOG.info("Raptor 실행 환경 생성: {} (병렬: {})", settings, config.isMultiThreaded());
+    }
+
+    /**
+     * 기본 설정 (OTP 기본값, 단일 스레드)
+     */
+    public static RaptorRuntime createDefault() {
+        return new RaptorRuntime(RaptorSettings.defaults());
+    }
+
+    public RaptorService<KoreanTripSchedule> getService() {
+        return service;
+    }
+
+    public RaptorSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * 검색 스레드 풀이 있는지 (Optimization.PARALLEL이 실제로 병렬 실행되는지)
+     */
+    public boolean isMultiThreaded() {
+        return config.isMultiThreaded();
+    }
+
+    /**
+     * 검색 스레드 풀 종료
+     */
+    public void shutdown() {
+        config.shutdown();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RaptorRuntime[%s, multiThreaded=%s]", settings, config.isMultiThreaded());
+    }
+}
@@ -0,0 +1,146 @@
+package kr.otp.core;
+
+import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Raptor 튜닝 설정 (RaptorTuningParameters 구현).
+ *
+ * 기본값은 OTP 기본값과 같으며, properties 파일로 덮어쓸 수 있다.
+ * <pre>
+ * # config/raptor.properties
+ * # 최대 라운드(환승) 수
+ * raptor.maxNumberOfTransfers=12
+ * # 트립 이진 탐색 전환 기준
+ * raptor.scheduledTripBinarySearchThreshold=50
+ * # Range Raptor 반복 간격 (초)
+ * raptor.iterationDepartureStepInSeconds=60
+ * # 검색 스레드 풀 (0 = 단일 스레드)
+ * raptor.searchThreadPoolSize=0
+ * </pre>
+ * java.util.Properties는 줄 맨 앞의 '#'만 주석으로 보므로 주석은 값 뒤가 아니라 별도 줄에 둔다.
+ *
+ * searchThreadPoolSize > 0 이면 Raptor가 휴리스틱/본 검색을 병렬 실행할 수 있다
+ * (Optimization.PARALLEL 요청에 한함).
+ */
+public class RaptorSettings implements RaptorTuningParameters {
+
+    /** 기본 설정 파일 경로 */
+    public static final Path DEFAULT_CONFIG_PATH = Path.of("config/raptor.properties");
+
+    private static final String PREFIX = "raptor.";
+
+    private static final RaptorTuningParameters OTP_DEFAULTS = new RaptorTuningParameters() {};
+
+    private final int maxNumberOfTransfers;
+    private final int scheduledTripBinarySearchThreshold;
+    private final int iterationDepartureStepInSeconds;
+    private final int searchThreadPoolSize;
+
+    public RaptorSettings(int maxNumberOfTransfers,
+                          int scheduledTripBinarySearchThreshold,
+                          int iterationDepartureStepInSeconds,
+                          int searchThreadPoolSize) {
+        if (maxNumberOfTransfers < 0 || scheduledTripBinarySearchThreshold < 1
+                || iterationDepartureStepInSeconds < 1 || searchThreadPoolSize < 0) {
+            throw new IllegalArgumentException("잘못된 Raptor 설정: " + describe(
+                maxNumberOfTransfers, scheduledTripBinarySearchThreshold,
+                iterationDepartureStepInSeconds, searchThreadPoolSize));
+        }
+        this.maxNumberOfTransfers = maxNumberOfTransfers;
+        this.scheduledTripBinarySearchThreshold = scheduledTripBinarySearchThreshold;
+        this.iterationDepartureStepInSeconds = iterationDepartureStepInSeconds;
+        this.searchThreadPoolSize = searchThreadPoolSize;
+    }
+
+    /**
+     * OTP 기본값
+     */
+    public static RaptorSettings defaults() {
+        return new RaptorSettings(
+            OTP_DEFAULTS.maxNumberOfTransfers(),
+            OTP_DEFAULTS.scheduledTripBinarySearchThreshold(),
+            OTP_DEFAULTS.iterationDepartureStepInSeconds(),
+            OTP_DEFAULTS.searchThreadPoolSize()
+        );
+    }
+
+    /**
+     * properties 파일에서 로드 (없는 키는 기본값)
+     */
+    public static RaptorSettings load(Path path) throws IOException {
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * 기본 설정 파일이 있으면 로드, 없으면 기본값
+     */
+    public static RaptorSettings loadOrDefaults() throws IOException {
+        return Files.exists(DEFAULT_CONFIG_PATH) ? load(DEFAULT_CONFIG_PATH) : defaults();
+    }
+
+    public static RaptorSettings fromProperties(Properties props) {
+        RaptorSettings d = defaults();
+        return new RaptorSettings(
+            intProperty(props, "maxNumberOfTransfers", d.maxNumberOfTransfers),
+            intProperty(props, "scheduledTripBinarySearchThreshold", d.scheduledTripBinarySearchThreshold),
+            intProperty(props, "iterationDepartureStepInSeconds", d.iterationDepartureStepInSeconds),
+            intProperty(props, "searchThreadPoolSize", d.searchThreadPoolSize)
+        );
+    }
+
+    private static int intProperty(Properties props, String name, int defaultValue) {
+        String value = props.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        String trimmed = value.trim();
+        try {
+            return Integer.parseInt(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                "Raptor 설정 값이 숫자가 아닙니다: " + PREFIX + name + "=\"" + trimmed + "\"", e);
+        }
+    }
+
+    @Override
+    public int maxNumberOfTransfers() {
+        return maxNumberOfTransfers;
+    }
+
+    @Override
+    public int scheduledTripBinarySearchThreshold() {
+        return scheduledTripBinarySearchThreshold;
+    }
+
+    @Override
+    public int iterationDepartureStepInSeconds() {
+        return iterationDepartureStepInSeconds;
+    }
+
+    @Override
+    public int searchThreadPoolSize() {
+        return searchThreadPoolSize;
+    }
+
+    @Override
+    public String toString() {
+        return "RaptorSettings" + describe(maxNumberOfTransfers, scheduledTripBinarySearchThreshold,
+            iterationDepartureStepInSeconds, searchThreadPoolSize);
+    }
+
+    private static String describe(int maxTransfers, int binarySearchThreshold, int stepSeconds, int threads) {
+        return String.format("[maxTransfers=%d, binarySearchThreshold=%d, step=%ds, threads=%d]",
+            maxTransfers, binarySearchThreshold, stepSeconds, threads);
+    }
+}
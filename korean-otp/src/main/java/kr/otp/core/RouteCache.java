@@ -0,0 +1,243 @@
+package kr.otp.core;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TransitMode;
+
+import org.opentripplanner.raptor.api.path.RaptorPath;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 양자화(quantized) 경로 탐색 결과 캐시.
+ *
+ * 앱 새로고침 등으로 같은 정류장 쌍 / 같은 출발 분 요청이 반복되는 트래픽을 위한 캐시.
+ * 키는 격자에 스냅한 출발/도착 좌표 + 출발 시간 버킷 + 검색 모드(MC 다단계 여부 포함)이며,
+ * 같은 격자 칸 / 같은 시간 버킷의 요청은 처음 계산된 결과를 공유한다.
+ *
+ * - 최대 항목 수 제한 + LRU 제거 (메모리 상한)
+ * - TTL 만료
+ * - 적중/미스 카운터
+ * - TransitData 인스턴스가 바뀌면 (예: 시나리오 적용) 전체 무효화
+ *
+ * 스레드 안전. 미스 시 탐색은 잠금 밖에서 실행하므로 같은 키가 동시에
+ * 요청되면 중복 계산될 수 있다 (결과는 동일).
+ */
+public class RouteCache {
+
+    // 기본 설정
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = 5 * 60 * 1000L;   // 5분
+    public static final double DEFAULT_GRID_METERS = 100.0;         // 좌표 격자 크기
+    public static final int DEFAULT_TIME_BUCKET_SECONDS = 60;       // 출발 시간 버킷 (1분)
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final double gridMeters;
+    private final int timeBucketSeconds;
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private TransitData boundData;  // 캐시 내용이 유효한 TransitData (동일 인스턴스 비교)
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RouteCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, DEFAULT_GRID_METERS, DEFAULT_TIME_BUCKET_SECONDS);
+    }
+
+    /**
+     * @param maxEntries        최대 항목 수 (초과 시 가장 오래 사용되지 않은 항목 제거)
+     * @param ttlMillis         항목 유효 시간 (ms)
+     * @param gridMeters        좌표 스냅 격자 크기 (m)
+     * @param timeBucketSeconds 출발 시간 버킷 크기 (초)
+     */
+    public RouteCache(int maxEntries, long ttlMillis, double gridMeters, int timeBucketSeconds) {
+        if (maxEntries < 1 || ttlMillis < 1 || gridMeters <= 0 || timeBucketSeconds < 1) {
+            throw new IllegalArgumentException(String.format(
+                "잘못된 캐시 설정: maxEntries=%d, ttlMillis=%d, gridMeters=%.1f, timeBucketSeconds=%d",
+                maxEntries, ttlMillis, gridMeters, timeBucketSeconds));
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.gridMeters = gridMeters;
+        this.timeBucketSeconds = timeBucketSeconds;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {  // accessOrder = LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > RouteCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 같은 설정의 빈 캐시 (시나리오 엔진 등 별도 TransitData용)
+     */
+    public RouteCache copySettings() {
+        return new RouteCache(maxEntries, ttlMillis, gridMeters, timeBucketSeconds);
+    }
+
+    /**
+     * 캐시 조회, 없으면 탐색 후 저장
+     *
+     * @param transitData 검색 대상 데이터 (이전과 다른 인스턴스면 캐시 전체 무효화)
+     * @param key         양자화 키 (key() 로 생성)
+     * @param search      미스 시 실행할 탐색
+     */
+    public List<RaptorPath<KoreanTripSchedule>> getOrCompute(
+        TransitData transitData,
+        Key key,
+        Supplier<List<RaptorPath<KoreanTripSchedule>>> search
+    ) {
+        long now = System.currentTimeMillis();
+
+        synchronized (this) {
+            bind(transitData);
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.paths;
+                }
+                entries.remove(key);
+            }
+        }
+
+        misses.increment();
+        List<RaptorPath<KoreanTripSchedule>> paths = search.get();
+
+        synchronized (this) {
+            // 탐색 중 데이터가 바뀌었으면 저장하지 않음
+            if (boundData == transitData) {
+                entries.put(key, new Entry(paths, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * 양자화 키 생성
+     */
+    public Key key(double fromLat, double fromLon, double toLat, double toLon,
+                   int departureTime, OdRequest.Mode mode) {
+        return key(fromLat, fromLon, toLat, toLon, departureTime, mode, TransitMode.ALL_MASK);
+    }
+
+    /**
+     * 양자화 키 생성 (수단 필터 포함)
+     *
+     * @param transitModes 허용 수단 마스크 (TransitMode.mask)
+     */
+    public Key key(double fromLat, double fromLon, double toLat, double toLon,
+                   int departureTime, OdRequest.Mode mode, int transitModes) {
+        return key(fromLat, fromLon, toLat, toLon, departureTime, mode, transitModes, false);
+    }
+
+    /**
+     * 양자화 키 생성 (수단 필터 + MC 다단계 여부 포함)
+     *
+     * @param transitModes 허용 수단 마스크 (TransitMode.mask)
+     * @param multiStage   MULTI_CRITERIA 다단계 모드 여부 (결과가 전체 MC와 다르므로 키를 분리)
+     */
+    public Key key(double fromLat, double fromLon, double toLat, double toLon,
+                   int departureTime, OdRequest.Mode mode, int transitModes, boolean multiStage) {
+        return new Key(
+            snapLat(fromLat), snapLon(fromLat, fromLon),
+            snapLat(toLat), snapLon(toLat, toLon),
+            Math.floorDiv(departureTime, timeBucketSeconds),
+            mode,
+            transitModes,
+            multiStage
+        );
+    }
+
+    private int snapLat(double lat) {
+        return (int) Math.floor(lat * METERS_PER_DEGREE_LAT / gridMeters);
+    }
+
+    private int snapLon(double lat, double lon) {
+        double metersPerDegreeLon = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat));
+        return (int) Math.floor(lon * metersPerDegreeLon / gridMeters);
+    }
+
+    private void bind(TransitData transitData) {
+        if (boundData != transitData) {
+            if (boundData != null) {
+                invalidations.increment();
+            }
+            entries.clear();
+            boundData = transitData;
+        }
+    }
+
+    /**
+     * 전체 무효화
+     */
+    public synchronized void clear() {
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * 적중률 (0.0 ~ 1.0, 요청이 없으면 0)
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RouteCache[size=%d/%d, hit=%d, miss=%d (%.1f%%), evict=%d, grid=%.0fm, bucket=%ds, ttl=%ds]",
+            size(), maxEntries, getHitCount(), getMissCount(), getHitRate() * 100,
+            getEvictionCount(), gridMeters, timeBucketSeconds, ttlMillis / 1000);
+    }
+
+    /**
+     * 양자화 캐시 키 (격자 좌표 + 시간 버킷 + 검색 모드 + 허용 수단 마스크 + MC 다단계 여부)
+     */
+    public record Key(
+        int fromLatCell, int fromLonCell,
+        int toLatCell, int toLonCell,
+        int timeBucket,
+        OdRequest.Mode mode,
+        int transitModes,
+        boolean multiStage
+    ) {}
+
+    private record Entry(List<RaptorPath<KoreanTripSchedule>> paths, long expiresAt) {}
+}
@@ -0,0 +1,117 @@
+package kr.otp.gtfs.loader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 바이트 키 → 순번 사전 (개방 주소법).
+ *
+ * CSV 필드를 String으로 만들지 않고 바이트 그대로 중복 제거한다.
+ * 키 바이트는 하나의 풀 배열에 이어서 저장되며, 순번은 처음 등장한 순서대로 매겨진다.
+ * 스레드 안전하지 않다 (청크별로 하나씩 사용한 뒤 순서대로 병합).
+ */
+final class ByteDictionary {
+
+    private byte[] pool = new byte[1 << 16];
+    private int poolSize;
+
+    private int[] offsets = new int[1024];
+    private int[] lengths = new int[1024];
+    private int[] hashes = new int[1024];
+    private int size;
+
+    private int[] table = new int[2048];  // 값 = 순번 + 1, 0 = 빈 칸
+    private int mask = table.length - 1;
+
+    /**
+     * 키의 순번 (없으면 새로 등록)
+     */
+    int intern(byte[] key, int offset, int length) {
+        int hash = hash(key, offset, length);
+        int slot = hash & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int id = entry - 1;
+            if (hashes[id] == hash && lengths[id] == length
+                    && Arrays.equals(pool, offsets[id], offsets[id] + length, key, offset, offset + length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = add(key, offset, length, hash);
+        table[slot] = id + 1;
+        if (size * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private int add(byte[] key, int offset, int length, int hash) {
+        if (poolSize + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + length));
+        }
+        System.arraycopy(key, offset, pool, poolSize, length);
+
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        offsets[size] = poolSize;
+        lengths[size] = length;
+        hashes[size] = hash;
+        poolSize += length;
+        return size++;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * 다른 사전의 키를 이 사전에 등록하고, 순번 변환표(다른 사전 순번 → 이 사전 순번)를 반환
+     */
+    int[] mergeFrom(ByteDictionary other) {
+        int[] mapping = new int[other.size];
+        for (int id = 0; id < other.size; id++) {
+            mapping[id] = intern(other.pool, other.offsets[id], other.lengths[id]);
+        }
+        return mapping;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String toString(int id) {
+        return new String(pool, offsets[id], lengths[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 모든 키를 순번 순서의 문자열 배열로
+     */
+    String[] toStrings() {
+        String[] values = new String[size];
+        for (int id = 0; id < size; id++) {
+            values[id] = toString(id);
+        }
+        return values;
+    }
+
+    private static int hash(byte[] key, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ key[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,47 @@
+package kr.otp.gtfs.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GTFS ID ↔ 순번 사전 (불변).
+ *
+ * 순번은 파일에서 처음 등장한 순서다. 컬럼 배열에는 ID 문자열 대신 순번이 들어간다.
+ */
+public final class IdDictionary {
+
+    private final String[] ids;
+    private final Map<String, Integer> ordinals;
+
+    public IdDictionary(String[] ids) {
+        this.ids = ids;
+        this.ordinals = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            ordinals.put(ids[i], i);
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 순번 → ID
+     */
+    public String get(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /**
+     * ID → 순번 (없으면 -1)
+     */
+    public int ordinalOf(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IdDictionary[size=%d]", ids.length);
+    }
+}
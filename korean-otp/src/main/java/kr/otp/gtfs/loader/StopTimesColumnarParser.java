@@ -0,0 +1,496 @@
+package kr.otp.gtfs.loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * stop_times.txt 병렬 컬럼 파서.
+ *
+ * OpenCSV + GtfsStopTime 레코드 + Map 그룹핑 대신, 파일을 메모리 맵으로 읽어
+ * 줄 경계에 맞춘 청크로 나누고 모든 코어에서 동시에 파싱한다.
+ * 결과는 StopTimeColumns의 int 배열에 바로 기록되며, 행마다 String/레코드를 만들지 않는다.
+ *
+ * 처리 순서:
+ * 1. 헤더에서 컬럼 위치 확인, 청크 경계를 다음 줄 시작으로 맞춤
+ * 2. (병렬) 청크별 행 수 계산 → 누적합으로 청크마다 최종 배열의 행 범위 결정
+ * 3. (병렬) 청크별 파싱: 자기 범위에 직접 기록, 트립/정류장 ID는 청크 로컬 바이트 사전에 등록
+ * 4. 청크 사전을 파일 순서대로 전역 사전에 병합 → (병렬) 로컬 순번을 전역 순번으로 변환
+ *
+ * 전역 순번은 파일에서 처음 등장한 순서라서 스레드 수와 무관하게 결과가 같다.
+ * 따옴표 필드(쉼표/"" 포함)는 지원하지만, 따옴표 안의 줄바꿈은 지원하지 않는다 (청크 경계 판정).
+ */
+public class StopTimesColumnarParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StopTimesColumnarParser.class);
+
+    private static final int TARGET_CHUNK_BYTES = 16 << 20;
+    private static final int MAX_FIELD_BYTES = 1024;
+
+    private final int threads;
+
+    public StopTimesColumnarParser() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StopTimesColumnarParser(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * stop_times.txt 파싱
+     */
+    public StopTimeColumns parse(Path file) throws IOException {
+        long start = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            Header header = readHeader(channel, file);
+            long[] bounds = chunkBounds(channel, header.dataStart, fileSize);
+            int chunkCount = bounds.length - 1;
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, chunkCount));
+            try {
+                // 1. 청크별 행 수
+                List<Callable<Integer>> countTasks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    long from = bounds[c];
+                    long to = bounds[c + 1];
+                    countTasks.add(() -> countRows(map(channel, from, to)));
+                }
+                List<Integer> counts = invokeAll(executor, countTasks);
+
+                int[] rowStarts = new int[chunkCount + 1];
+                long total = 0;
+                for (int c = 0; c < chunkCount; c++) {
+                    total += counts.get(c);
+                    if (total > Integer.MAX_VALUE - 8) {
+                        throw new IOException("stop_times 행 수가 너무 많습니다: " + total);
+                    }
+                    rowStarts[c + 1] = (int) total;
+                }
+                int rows = (int) total;
+
+                int[] trips = new int[rows];
+                int[] stops = new int[rows];
+                int[] arrivals = new int[rows];
+                int[] departures = new int[rows];
+                int[] sequences = new int[rows];
+
+                // 2. 청크별 파싱 (각자 자기 행 범위에 기록)
+                List<Callable<ChunkParser>> parseTasks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    long from = bounds[c];
+                    long to = bounds[c + 1];
+                    int rowStart = rowStarts[c];
+                    int rowEnd = rowStarts[c + 1];
+                    parseTasks.add(() -> {
+                        ChunkParser parser = new ChunkParser(header, trips, stops, arrivals, departures, sequences);
+                        parser.parse(map(channel, from, to), rowStart, rowEnd);
+                        return parser;
+                    });
+                }
+                List<ChunkParser> parsers = invokeAll(executor, parseTasks);
+
+                // 3. 사전 병합 (파일 순서 = 처음 등장 순서)
+                ByteDictionary tripDictionary = new ByteDictionary();
+                ByteDictionary stopDictionary = new ByteDictionary();
+                int[][] tripMappings = new int[chunkCount][];
+                int[][] stopMappings = new int[chunkCount][];
+                for (int c = 0; c < chunkCount; c++) {
+                    tripMappings[c] = tripDictionary.mergeFrom(parsers.get(c).tripDictionary);
+                    stopMappings[c] = stopDictionary.mergeFrom(parsers.get(c).stopDictionary);
+                }
+
+                // 4. 로컬 순번 → 전역 순번
+                List<Callable<Integer>> remapTasks = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    int rowStart = rowStarts[c];
+                    int rowEnd = rowStarts[c + 1];
+                    int[] tripMapping = tripMappings[c];
+                    int[] stopMapping = stopMappings[c];
+                    remapTasks.add(() -> {
+                        for (int i = rowStart; i < rowEnd; i++) {
+                            trips[i] = tripMapping[trips[i]];
+                            stops[i] = stopMapping[stops[i]];
+                        }
+                        return rowEnd - rowStart;
+                    });
+                }
+                invokeAll(executor, remapTasks);
+
+                StopTimeColumns columns = new StopTimeColumns(rows, trips, stops, arrivals, departures, sequences,
+                    new IdDictionary(tripDictionary.toStrings()), new IdDictionary(stopDictionary.toStrings()));
+
+                LOG.info("stop_times 컬럼 파싱: {}행, 트립 {}개, 정류장 {}개 ({}개 청크, {}스레드, {}ms)",
+                    rows, columns.getTripIds().size(), columns.getStopIds().size(),
+                    chunkCount, Math.min(threads, chunkCount), System.currentTimeMillis() - start);
+                return columns;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 헤더 / 청크 경계
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 필요한 컬럼 위치
+     */
+    private record Header(long dataStart, int columnCount, int tripColumn, int arrivalColumn,
+                          int departureColumn, int stopColumn, int sequenceColumn) {
+    }
+
+    private static Header readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        channel.read(buffer, 0);
+        buffer.flip();
+
+        int end = 0;
+        while (end < buffer.limit() && buffer.get(end) != '\n') {
+            end++;
+        }
+        if (end == buffer.limit() && end == buffer.capacity()) {
+            throw new IOException("stop_times 헤더가 너무 깁니다: " + file);
+        }
+
+        String line = new String(buffer.array(), 0, end, StandardCharsets.UTF_8);
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        String[] names = line.trim().split(",", -1);
+        int trip = -1, arrival = -1, departure = -1, stop = -1, sequence = -1;
+        for (int i = 0; i < names.length; i++) {
+            switch (names[i].trim().replace("\"", "")) {
+                case "trip_id" -> trip = i;
+                case "arrival_time" -> arrival = i;
+                case "departure_time" -> departure = i;
+                case "stop_id" -> stop = i;
+                case "stop_sequence" -> sequence = i;
+                default -> {
+                }
+            }
+        }
+        if (trip < 0 || stop < 0 || sequence < 0 || (arrival < 0 && departure < 0)) {
+            throw new IOException("stop_times 필수 컬럼 누락 (trip_id, stop_id, stop_sequence, arrival/departure_time): "
+                + file);
+        }
+        long dataStart = Math.min(end + 1L, channel.size());
+        return new Header(dataStart, names.length, trip, arrival, departure, stop, sequence);
+    }
+
+    /**
+     * 청크 경계 (각 경계는 줄의 시작 위치)
+     */
+    private long[] chunkBounds(FileChannel channel, long dataStart, long fileSize) throws IOException {
+        long dataSize = fileSize - dataStart;
+        int chunkCount = (int) Math.max(1, Math.max(Math.min(threads * 4L, dataSize / (1 << 20)),
+            (dataSize + TARGET_CHUNK_BYTES - 1) / TARGET_CHUNK_BYTES));
+
+        long[] bounds = new long[chunkCount + 1];
+        bounds[0] = dataStart;
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        int count = 1;
+        for (int c = 1; c < chunkCount; c++) {
+            long nominal = dataStart + dataSize * c / chunkCount;
+            long lineStart = nextLineStart(channel, Math.max(nominal, bounds[count - 1]), fileSize, probe);
+            if (lineStart > bounds[count - 1] && lineStart < fileSize) {
+                bounds[count++] = lineStart;
+            }
+        }
+        bounds[count++] = fileSize;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long fileSize, ByteBuffer probe)
+            throws IOException {
+        long pos = position;
+        while (pos < fileSize) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return fileSize;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("stop_times 파싱 중단", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("stop_times 파싱 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * 내용이 있는 줄 수 (빈 줄, "\r"만 있는 줄 제외)
+     */
+    private static int countRows(ByteBuffer buffer) {
+        int rows = 0;
+        boolean content = false;
+        int limit = buffer.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                if (content) {
+                    rows++;
+                }
+                content = false;
+            } else if (b != '\r') {
+                content = true;
+            }
+        }
+        return content ? rows + 1 : rows;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 청크 파서
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 청크 하나를 파싱하는 작업 단위 (스레드 하나가 전담)
+     */
+    private static final class ChunkParser {
+
+        private final Header header;
+        private final int[] trips;
+        private final int[] stops;
+        private final int[] arrivals;
+        private final int[] departures;
+        private final int[] sequences;
+
+        final ByteDictionary tripDictionary = new ByteDictionary();
+        final ByteDictionary stopDictionary = new ByteDictionary();
+
+        // 현재 필드 (따옴표 제거 후)
+        private final byte[] field = new byte[MAX_FIELD_BYTES];
+        private int fieldLength;
+
+        // 직전 트립 ID (stop_times는 트립별로 모여 있으므로 대부분 사전 조회 없이 재사용)
+        private final byte[] lastTrip = new byte[MAX_FIELD_BYTES];
+        private int lastTripLength = -1;
+        private int lastTripOrdinal;
+
+        ChunkParser(Header header, int[] trips, int[] stops, int[] arrivals, int[] departures, int[] sequences) {
+            this.header = header;
+            this.trips = trips;
+            this.stops = stops;
+            this.arrivals = arrivals;
+            this.departures = departures;
+            this.sequences = sequences;
+        }
+
+        void parse(ByteBuffer buffer, int rowStart, int rowEnd) throws IOException {
+            int limit = buffer.limit();
+            int pos = 0;
+            int row = rowStart;
+
+            while (pos < limit) {
+                // 빈 줄 건너뛰기
+                byte b = buffer.get(pos);
+                if (b == '\n' || b == '\r') {
+                    pos++;
+                    continue;
+                }
+                if (row >= rowEnd) {
+                    throw new IOException("stop_times 청크 행 수 불일치 (예상 " + (rowEnd - rowStart) + ")");
+                }
+
+                int arrival = StopTimeColumns.NO_TIME;
+                int departure = StopTimeColumns.NO_TIME;
+                int column = 0;
+                boolean lineEnd = false;
+                while (!lineEnd) {
+                    boolean capture = column == header.tripColumn || column == header.stopColumn
+                        || column == header.arrivalColumn || column == header.departureColumn
+                        || column == header.sequenceColumn;
+                    pos = readField(buffer, pos, limit, capture);
+                    lineEnd = pos >= limit || buffer.get(pos) == '\n';
+                    pos++;  // 쉼표 또는 줄바꿈 건너뛰기
+
+                    if (column == header.tripColumn) {
+                        trips[row] = internTrip();
+                    } else if (column == header.stopColumn) {
+                        stops[row] = stopDictionary.intern(field, 0, fieldLength);
+                    } else if (column == header.arrivalColumn) {
+                        arrival = parseTime(row);
+                    } else if (column == header.departureColumn) {
+                        departure = parseTime(row);
+                    } else if (column == header.sequenceColumn) {
+                        sequences[row] = parseInt(row);
+                    }
+                    column++;
+                }
+                if (column <= Math.max(header.tripColumn, Math.max(header.stopColumn, header.sequenceColumn))) {
+                    throw new IOException("stop_times 컬럼 수 부족 (" + column + "/" + header.columnCount + ")");
+                }
+
+                // GTFS: 한쪽만 있으면 같은 값으로 채움
+                arrivals[row] = arrival == StopTimeColumns.NO_TIME ? departure : arrival;
+                departures[row] = departure == StopTimeColumns.NO_TIME ? arrival : departure;
+                row++;
+            }
+
+            if (row != rowEnd) {
+                throw new IOException("stop_times 청크 행 수 불일치: " + (row - rowStart) + "/" + (rowEnd - rowStart));
+            }
+        }
+
+        /**
+         * 필드 하나 읽기. 반환값은 구분자(쉼표/줄바꿈) 위치 또는 limit
+         */
+        private int readField(ByteBuffer buffer, int pos, int limit, boolean capture) throws IOException {
+            fieldLength = 0;
+            if (pos < limit && buffer.get(pos) == '"') {
+                pos++;
+                while (pos < limit) {
+                    byte b = buffer.get(pos);
+                    if (b == '"') {
+                        if (pos + 1 < limit && buffer.get(pos + 1) == '"') {
+                            append(b, capture);
+                            pos += 2;
+                            continue;
+                        }
+                        pos++;
+                        break;
+                    }
+                    append(b, capture);
+                    pos++;
+                }
+            }
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == ',' || b == '\n') {
+                    break;
+                }
+                if (b != '\r') {
+                    append(b, capture);
+                }
+                pos++;
+            }
+            // 앞뒤 공백 제거
+            if (capture) {
+                int from = 0;
+                while (from < fieldLength && field[from] == ' ') {
+                    from++;
+                }
+                int to = fieldLength;
+                while (to > from && field[to - 1] == ' ') {
+                    to--;
+                }
+                if (from > 0) {
+                    System.arraycopy(field, from, field, 0, to - from);
+                }
+                fieldLength = to - from;
+            }
+            return pos;
+        }
+
+        private void append(byte b, boolean capture) throws IOException {
+            if (!capture) {
+                return;
+            }
+            if (fieldLength == MAX_FIELD_BYTES) {
+                throw new IOException("stop_times 필드가 너무 깁니다 (최대 " + MAX_FIELD_BYTES + "바이트)");
+            }
+            field[fieldLength++] = b;
+        }
+
+        private int internTrip() {
+            if (fieldLength == lastTripLength
+                    && Arrays.equals(field, 0, fieldLength, lastTrip, 0, fieldLength)) {
+                return lastTripOrdinal;
+            }
+            lastTripOrdinal = tripDictionary.intern(field, 0, fieldLength);
+            System.arraycopy(field, 0, lastTrip, 0, fieldLength);
+            lastTripLength = fieldLength;
+            return lastTripOrdinal;
+        }
+
+        /**
+         * HH:MM:SS → 자정 기준 초 (24시 이후 허용, 빈 값은 NO_TIME)
+         */
+        private int parseTime(int row) throws IOException {
+            if (fieldLength == 0) {
+                return StopTimeColumns.NO_TIME;
+            }
+            int seconds = 0;
+            int part = 0;
+            int parts = 0;
+            for (int i = 0; i < fieldLength; i++) {
+                byte b = field[i];
+                if (b >= '0' && b <= '9') {
+                    part = part * 10 + (b - '0');
+                } else if (b == ':') {
+                    seconds = seconds * 60 + part;
+                    part = 0;
+                    parts++;
+                } else {
+                    throw invalid("시각", row);
+                }
+            }
+            if (parts != 2) {
+                throw invalid("시각", row);
+            }
+            return seconds * 60 + part;
+        }
+
+        private int parseInt(int row) throws IOException {
+            if (fieldLength == 0) {
+                throw invalid("stop_sequence", row);
+            }
+            int value = 0;
+            for (int i = 0; i < fieldLength; i++) {
+                byte b = field[i];
+                if (b < '0' || b > '9') {
+                    throw invalid("stop_sequence", row);
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        private IOException invalid(String what, int row) {
+            return new IOException(String.format("stop_times %s 형식 오류 (행 %d): %s",
+                what, row + 1, new String(field, 0, fieldLength, StandardCharsets.UTF_8)));
+        }
+    }
+}
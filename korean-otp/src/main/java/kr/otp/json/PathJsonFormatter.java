@@ -0,0 +1,154 @@
+package kr.otp.json;
+
+import kr.otp.core.KoreanRaptor;
+import kr.otp.core.OdResult;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+
+import org.opentripplanner.raptor.api.path.PathLeg;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.opentripplanner.raptor.api.path.TransitPathLeg;
+
+import java.util.List;
+
+/**
+ * Raptor 경로 → JSON 문자열 변환기.
+ *
+ * 외부 JSON 라이브러리 없이 StringBuilder로 직접 작성한다.
+ * 시간 값은 모두 초 단위 정수 (자정 기준), 정류장은 이름으로 출력.
+ *
+ * 경로 형식:
+ * <pre>
+ * {"startTime":32400,"endTime":34800,"duration":2400,"transfers":2,
+ *  "legs":[{"type":"WALK","duration":180,"to":"서울역버스환승센터"},
+ *          {"type":"TRANSIT","route":"500","from":"서울역버스환승센터","fromTime":32580,
+ *           "to":"숙대입구역","toTime":32820}, ...]}
+ * </pre>
+ */
+public final class PathJsonFormatter {
+
+    private PathJsonFormatter() {
+    }
+
+    /**
+     * 배치 결과 1건을 한 줄 JSON으로 변환 (JSON-lines 출력용)
+     */
+    public static String formatResult(OdResult result, KoreanRaptor raptor) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"id\":");
+        appendString(sb, result.request().id());
+
+        String status;
+        if (!result.isSuccess()) {
+            status = "ERROR";
+        } else if (result.paths().isEmpty()) {
+            status = "NO_PATH";
+        } else {
+            status = "OK";
+        }
+        sb.append(",\"status\":\"").append(status).append('"');
+        sb.append(",\"elapsedMs\":").append(result.elapsedMillis());
+
+        if (!result.isSuccess()) {
+            Throwable error = result.error();
+            sb.append(",\"error\":");
+            appendString(sb, error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+
+        sb.append(",\"paths\":");
+        appendPaths(sb, result.paths(), raptor);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * 경로 목록을 JSON 배열로 추가
+     */
+    public static void appendPaths(StringBuilder sb, List<RaptorPath<KoreanTripSchedule>> paths, KoreanRaptor raptor) {
+        sb.append('[');
+        for (int i = 0; i < paths.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendPath(sb, paths.get(i), raptor);
+        }
+        sb.append(']');
+    }
+
+    /**
+     * 경로 1개를 JSON 객체로 추가
+     */
+    @SuppressWarnings("unchecked")
+    public static void appendPath(StringBuilder sb, RaptorPath<KoreanTripSchedule> path, KoreanRaptor raptor) {
+        sb.append("{\"startTime\":").append(path.startTime())
+          .append(",\"endTime\":").append(path.endTime())
+          .append(",\"duration\":").append(path.durationInSeconds())
+          .append(",\"transfers\":").append(path.numberOfTransfers())
+          .append(",\"legs\":[");
+
+        boolean first = true;
+        PathLeg<?> leg = path.accessLeg();
+
+        while (leg != null) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+
+            if (leg.isAccessLeg()) {
+                sb.append("{\"type\":\"WALK\",\"duration\":").append(leg.duration())
+                  .append(",\"to\":");
+                appendString(sb, raptor.getStopName(leg.toStop()));
+                sb.append('}');
+            } else if (leg.isTransitLeg()) {
+                TransitPathLeg<KoreanTripSchedule> transitLeg = (TransitPathLeg<KoreanTripSchedule>) leg;
+                sb.append("{\"type\":\"TRANSIT\",\"route\":");
+                appendString(sb, transitLeg.trip().getRouteShortName());
+                sb.append(",\"from\":");
+                appendString(sb, raptor.getStopName(transitLeg.fromStop()));
+                sb.append(",\"fromTime\":").append(transitLeg.fromTime());
+                sb.append(",\"to\":");
+                appendString(sb, raptor.getStopName(transitLeg.toStop()));
+                sb.append(",\"toTime\":").append(transitLeg.toTime()).append('}');
+            } else if (leg.isTransferLeg()) {
+                sb.append("{\"type\":\"TRANSFER\",\"duration\":").append(leg.duration()).append('}');
+            } else if (leg.isEgressLeg()) {
+                sb.append("{\"type\":\"WALK\",\"duration\":").append(leg.duration())
+                  .append(",\"to\":null}");
+            }
+
+            // EgressLeg는 마지막 leg이므로 nextLeg() 호출 불가
+            leg = leg.isEgressLeg() ? null : leg.nextLeg();
+        }
+
+        sb.append("]}");
+    }
+
+    /**
+     * JSON 문자열 값 추가 (이스케이프 처리, null → null)
+     */
+    public static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
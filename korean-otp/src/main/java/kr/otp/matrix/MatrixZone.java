@@ -0,0 +1,62 @@
+package kr.otp.matrix;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 행렬 계산용 존 (대표 좌표)
+ *
+ * @param id  존 ID (예: 행정동 코드)
+ * @param lat 대표점 위도
+ * @param lon 대표점 경도
+ */
+public record MatrixZone(String id, double lat, double lon) {
+
+    /**
+     * 존 CSV 읽기
+     *
+     * 형식: id,lat,lon (첫 행이 숫자가 아니면 헤더로 간주하여 건너뜀)
+     */
+    public static List<MatrixZone> readCsv(Path csvPath) throws IOException {
+        List<MatrixZone> zones = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] parts = line.split(",");
+                if (parts.length < 3) {
+                    throw new IOException("존 CSV " + lineNumber + "행 열 개수 부족: " + line);
+                }
+
+                try {
+                    zones.add(new MatrixZone(
+                        parts[0].trim(),
+                        Double.parseDouble(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim())
+                    ));
+                } catch (NumberFormatException e) {
+                    if (lineNumber != 1) {
+                        throw new IOException("존 CSV " + lineNumber + "행 좌표 오류: " + line, e);
+                    }
+                    // 첫 행은 헤더
+                }
+            }
+        }
+        return zones;
+    }
+}
@@ -0,0 +1,158 @@
+package kr.otp.matrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 존 간 통행시간 행렬.
+ *
+ * 출발 존(행) × 도착 존(열) 소요 시간(초)을 하나의 int[]에 행 우선(row-major)으로 저장한다.
+ * 도달 불가는 UNREACHABLE(-1).
+ *
+ * 바이너리 파일 형식 (big-endian):
+ * <pre>
+ * int    MAGIC ("KRTM")
+ * int    VERSION
+ * int    출발 시각 (초, 자정 기준)
+ * int    출발 존 수 N
+ * int    도착 존 수 M
+ * UTF    출발 존 ID × N
+ * UTF    도착 존 ID × M
+ * int    소요 시간 × (N × M), 행 우선
+ * </pre>
+ */
+public class TravelTimeMatrix {
+
+    /** 도달 불가 값 */
+    public static final int UNREACHABLE = -1;
+
+    private static final int MAGIC = 0x4B52544D;  // "KRTM"
+    private static final int VERSION = 1;
+
+    private final String[] originIds;
+    private final String[] destinationIds;
+    private final int departureTime;
+    private final int[] travelTimes;  // [origin * M + destination]
+
+    public TravelTimeMatrix(String[] originIds, String[] destinationIds, int departureTime, int[] travelTimes) {
+        if (travelTimes.length != originIds.length * destinationIds.length) {
+            throw new IllegalArgumentException(String.format(
+                "행렬 크기 불일치: %d × %d != %d", originIds.length, destinationIds.length, travelTimes.length));
+        }
+        this.originIds = originIds;
+        this.destinationIds = destinationIds;
+        this.departureTime = departureTime;
+        this.travelTimes = travelTimes;
+    }
+
+    /**
+     * 소요 시간 (초, 도달 불가: -1)
+     */
+    public int get(int originIndex, int destinationIndex) {
+        return travelTimes[originIndex * destinationIds.length + destinationIndex];
+    }
+
+    public int getOriginCount() {
+        return originIds.length;
+    }
+
+    public int getDestinationCount() {
+        return destinationIds.length;
+    }
+
+    public String getOriginId(int originIndex) {
+        return originIds[originIndex];
+    }
+
+    public String getDestinationId(int destinationIndex) {
+        return destinationIds[destinationIndex];
+    }
+
+    public int getDepartureTime() {
+        return departureTime;
+    }
+
+    /**
+     * 행 우선 원시 배열 (복사 없음, 수정 금지)
+     */
+    public int[] getTravelTimes() {
+        return travelTimes;
+    }
+
+    /**
+     * 도달 가능한 OD 쌍 수
+     */
+    public long getReachableCount() {
+        long count = 0;
+        for (int t : travelTimes) {
+            if (t != UNREACHABLE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 바이너리 입출력
+    // ═══════════════════════════════════════════════════════════════
+
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(departureTime);
+            out.writeInt(originIds.length);
+            out.writeInt(destinationIds.length);
+            for (String id : originIds) {
+                out.writeUTF(id);
+            }
+            for (String id : destinationIds) {
+                out.writeUTF(id);
+            }
+            for (int t : travelTimes) {
+                out.writeInt(t);
+            }
+        }
+    }
+
+    public static TravelTimeMatrix read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("통행시간 행렬 파일이 아닙니다: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 행렬 파일 버전: " + version);
+            }
+
+            int departureTime = in.readInt();
+            String[] originIds = new String[in.readInt()];
+            String[] destinationIds = new String[in.readInt()];
+            for (int i = 0; i < originIds.length; i++) {
+                originIds[i] = in.readUTF();
+            }
+            for (int i = 0; i < destinationIds.length; i++) {
+                destinationIds[i] = in.readUTF();
+            }
+
+            int[] travelTimes = new int[originIds.length * destinationIds.length];
+            for (int i = 0; i < travelTimes.length; i++) {
+                travelTimes[i] = in.readInt();
+            }
+            return new TravelTimeMatrix(originIds, destinationIds, departureTime, travelTimes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TravelTimeMatrix[%d × %d, departure=%d, reachable=%d]",
+            originIds.length, destinationIds.length, departureTime, getReachableCount());
+    }
+}
@@ -0,0 +1,206 @@
+package kr.otp.matrix;
+
+import kr.otp.core.KoreanRaptor;
+import kr.otp.core.OneToAllResult;
+
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 존 간 통행시간 행렬 (Many-to-Many) 계산 엔진.
+ *
+ * N × M 번 route()를 호출하면 같은 Access/Egress 도보 탐색을 N × M 번 반복한다.
+ * 이 엔진은:
+ * 1. 도착 존별 Egress 목록을 한 번만 계산 (M회)
+ * 2. 출발 존별 Access 목록을 한 번만 계산 (N회)
+ * 3. 출발 존마다 One-to-All 검색 1회 → 정류장 도착 배열에서 모든 도착 존 값을 읽음
+ *
+ * 도착 존 소요 시간 = min(정류장 도착 시간 + Egress 도보 시간) - 출발 시각
+ *
+ * 참고: One-to-All 결과에는 Access 도보만으로 도달한 정류장(0회 탑승)도 들어 있으므로,
+ * 도보 → 정류장 → 도보로 가는 경우도 행렬 값에 포함된다. 정류장을 거치지 않는
+ * 존 간 직접 도보 시간은 계산하지 않는다.
+ */
+public class TravelTimeMatrixEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TravelTimeMatrixEngine.class);
+
+    private static final int PROGRESS_INTERVAL = 100;  // 진행 로그 간격 (출발 존 수)
+
+    private final KoreanRaptor raptor;
+    private final int threads;
+
+    public TravelTimeMatrixEngine(KoreanRaptor raptor, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads는 1 이상이어야 합니다: " + threads);
+        }
+        this.raptor = raptor;
+        this.threads = threads;
+    }
+
+    /**
+     * 통행시간 행렬 계산 (기본 최대 소요 시간)
+     */
+    public TravelTimeMatrix compute(List<MatrixZone> origins, List<MatrixZone> destinations, int departureTime) {
+        return compute(origins, destinations, departureTime, KoreanRaptor.ONE_TO_ALL_MAX_DURATION_SECONDS);
+    }
+
+    /**
+     * 통행시간 행렬 계산
+     *
+     * @param origins            출발 존
+     * @param destinations       도착 존
+     * @param departureTime      출발 시간 (초, 자정 기준)
+     * @param maxDurationSeconds 최대 소요 시간 (초과하면 도달 불가)
+     */
+    public TravelTimeMatrix compute(List<MatrixZone> origins,
+                                    List<MatrixZone> destinations,
+                                    int departureTime,
+                                    int maxDurationSeconds) {
+        long startTime = System.currentTimeMillis();
+        int originCount = origins.size();
+        int destinationCount = destinations.size();
+
+        LOG.info("통행시간 행렬 계산 시작: {} × {} 존, 스레드 {}", originCount, destinationCount, threads);
+
+        // 1. 도착 존별 Egress (한 번만)
+        EgressTable egressTable = buildEgressTable(destinations);
+
+        // 2~3. 출발 존별 Access + One-to-All
+        int[] travelTimes = new int[originCount * destinationCount];
+        AtomicInteger completed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "raptor-matrix");
+            t.setDaemon(true);
+            return t;
+        });
+
+        try {
+            List<Future<?>> futures = new ArrayList<>(originCount);
+            for (int o = 0; o < originCount; o++) {
+                final int originIndex = o;
+                futures.add(executor.submit(() -> {
+                    computeRow(origins.get(originIndex), departureTime, maxDurationSeconds,
+                        egressTable, travelTimes, originIndex * destinationCount);
+
+                    int done = completed.incrementAndGet();
+                    if (done % PROGRESS_INTERVAL == 0) {
+                        LOG.info("  진행: {}/{} 출발 존", done, originCount);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("통행시간 행렬 계산 중단", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("통행시간 행렬 계산 실패", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        TravelTimeMatrix matrix = new TravelTimeMatrix(
+            origins.stream().map(MatrixZone::id).toArray(String[]::new),
+            destinations.stream().map(MatrixZone::id).toArray(String[]::new),
+            departureTime,
+            travelTimes
+        );
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        LOG.info("통행시간 행렬 계산 완료: {} ({}ms)", matrix, elapsed);
+        return matrix;
+    }
+
+    /**
+     * 출발 존 한 행 계산
+     */
+    private void computeRow(MatrixZone origin,
+                            int departureTime,
+                            int maxDurationSeconds,
+                            EgressTable egressTable,
+                            int[] travelTimes,
+                            int rowOffset) {
+        int destinationCount = egressTable.size();
+        Arrays.fill(travelTimes, rowOffset, rowOffset + destinationCount, TravelTimeMatrix.UNREACHABLE);
+
+        List<RaptorAccessEgress> accessPaths = raptor.findAccessPaths(origin.lat(), origin.lon());
+        if (accessPaths.isEmpty()) {
+            return;
+        }
+
+        OneToAllResult arrivals = raptor.routeOneToAll(accessPaths, departureTime, maxDurationSeconds);
+        int[] arrivalTimes = arrivals.getArrivalTimes();
+
+        for (int d = 0; d < destinationCount; d++) {
+            int best = Integer.MAX_VALUE;
+            for (int i = egressTable.start[d], end = egressTable.start[d + 1]; i < end; i++) {
+                int arrival = arrivalTimes[egressTable.stops[i]];
+                if (arrival != OneToAllResult.UNREACHED) {
+                    best = Math.min(best, arrival + egressTable.durations[i]);
+                }
+            }
+            if (best != Integer.MAX_VALUE && best - departureTime <= maxDurationSeconds) {
+                travelTimes[rowOffset + d] = best - departureTime;
+            }
+        }
+    }
+
+    /**
+     * 도착 존별 Egress 목록을 평탄화한 테이블 (CSR)
+     *
+     * 존 d의 Egress = stops/durations[start[d] .. start[d+1])
+     */
+    private EgressTable buildEgressTable(List<MatrixZone> destinations) {
+        int[] start = new int[destinations.size() + 1];
+        List<List<RaptorAccessEgress>> perZone = new ArrayList<>(destinations.size());
+
+        int total = 0;
+        int emptyZones = 0;
+        for (int d = 0; d < destinations.size(); d++) {
+            MatrixZone zone = destinations.get(d);
+            List<RaptorAccessEgress> egressPaths = raptor.findEgressPaths(zone.lat(), zone.lon());
+            if (egressPaths.isEmpty()) {
+                emptyZones++;
+            }
+            perZone.add(egressPaths);
+            start[d] = total;
+            total += egressPaths.size();
+        }
+        start[destinations.size()] = total;
+
+        int[] stops = new int[total];
+        int[] durations = new int[total];
+        int i = 0;
+        for (List<RaptorAccessEgress> egressPaths : perZone) {
+            for (RaptorAccessEgress egress : egressPaths) {
+                stops[i] = egress.stop();
+                durations[i] = egress.durationInSeconds();
+                i++;
+            }
+        }
+
+        if (emptyZones > 0) {
+            LOG.warn("근처에 정류장이 없는 도착 존: {}개", emptyZones);
+        }
+        return new EgressTable(start, stops, durations);
+    }
+
+    private record EgressTable(int[] start, int[] stops, int[] durations) {
+        int size() {
+            return start.length - 1;
+        }
+    }
+}
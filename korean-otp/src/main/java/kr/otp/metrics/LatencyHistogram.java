@@ -0,0 +1,152 @@
+package kr.otp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 락 없는(lock-free) 지연시간 히스토그램.
+ *
+ * 값의 단위는 호출자가 정한다 (ms, μs, ns 등).
+ * 고정 크기 버킷 배열만 사용하므로 기록 건수와 무관하게 메모리가 일정하다.
+ *
+ * 버킷 구조 (로그-선형):
+ * - 0 ~ 63: 값 그대로 1:1 버킷
+ * - 64 이상: 2의 거듭제곱 구간마다 32개 하위 버킷 → 상대 오차 약 3% 이내
+ *
+ * 여러 스레드에서 동시에 record() 해도 안전하다.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 64;            // 2^6
+    private static final int SUB_BUCKET_BITS = 5;          // 구간당 32개
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_EXPONENT = 6;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - LINEAR_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * 값 기록 (음수는 0으로 처리)
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+        min.accumulateAndGet(value, Math::min);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0.0 : (double) getSum() / n;
+    }
+
+    /**
+     * 백분위수 (근사값, 상대 오차 ~3%)
+     *
+     * @param percentile 0 ~ 100 (예: 99.0)
+     * @return 해당 백분위수 값 (기록이 없으면 0)
+     */
+    public long getPercentile(double percentile) {
+        long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long cumulative = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= target) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * value 이하로 기록된 건수 (누적 버킷, 버킷 해상도 내 근사값)
+     *
+     * Prometheus 히스토그램의 le 버킷 출력에 사용한다.
+     */
+    public long getCountAtOrBelow(long value) {
+        if (value < 0) {
+            return 0;
+        }
+        int last = bucketIndex(value);
+        // value가 버킷 상한보다 작으면 해당 버킷은 제외 (과대 집계 방지)
+        if (bucketUpperBound(last) > value) {
+            last--;
+        }
+        long cumulative = 0;
+        for (int i = 0; i <= last; i++) {
+            cumulative += buckets.get(i);
+        }
+        return cumulative;
+    }
+
+    /**
+     * 모든 기록 초기화 (동시 기록 중 호출 시 일부 값이 남을 수 있음)
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(Long.MIN_VALUE);
+        min.set(Long.MAX_VALUE);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);       // >= 6
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_LIMIT + (exponent - LINEAR_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = LINEAR_EXPONENT + offset / SUB_BUCKETS;
+        int subBucket = offset % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (1L << exponent) + subBucket * width;
+        return lower + width - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LatencyHistogram[count=%d, mean=%.1f, p50=%d, p95=%d, p99=%d, max=%d]",
+            getCount(), getMean(), getPercentile(50), getPercentile(95), getPercentile(99), getMax());
+    }
+}
@@ -0,0 +1,37 @@
+package kr.otp.metrics;
+
+import java.util.Map;
+
+/**
+ * 메트릭 출력 대상 (플러그형).
+ *
+ * RoutingMetrics.export()가 각 카운터/히스토그램마다 호출한다.
+ * 기본 구현은 Prometheus 텍스트 형식(PrometheusTextSink)이며,
+ * 로그/StatsD 등 다른 대상은 이 인터페이스를 구현하면 된다.
+ *
+ * 같은 이름의 메트릭이 라벨만 바꿔 연속으로 전달된다.
+ */
+public interface MetricsSink {
+
+    /**
+     * 단조 증가 카운터
+     *
+     * @param name   메트릭 이름 (예: korean_raptor_requests_total)
+     * @param help   설명
+     * @param labels 라벨 (순서 유지)
+     * @param value  현재 값
+     */
+    void counter(String name, String help, Map<String, String> labels, long value);
+
+    /**
+     * 지연시간 히스토그램
+     *
+     * @param name        메트릭 이름 (단위 접미사 포함, 예: korean_raptor_phase_seconds)
+     * @param help        설명
+     * @param labels      라벨 (순서 유지)
+     * @param histogram   히스토그램 (기록 단위는 unitSeconds)
+     * @param unitSeconds 히스토그램 값 1의 초 단위 크기 (μs 기록이면 1e-6)
+     */
+    void histogram(String name, String help, Map<String, String> labels,
+                   LatencyHistogram histogram, double unitSeconds);
+}
@@ -0,0 +1,134 @@
+package kr.otp.metrics;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prometheus 텍스트 형식 (exposition format 0.0.4) 메트릭 출력.
+ *
+ * <pre>
+ * # HELP korean_raptor_phase_seconds 검색 단계별 소요 시간
+ * # TYPE korean_raptor_phase_seconds histogram
+ * korean_raptor_phase_seconds_bucket{mode="standard",phase="search",le="0.1"} 42
+ * ...
+ * </pre>
+ *
+ * 사용법:
+ * <pre>
+ * PrometheusTextSink sink = new PrometheusTextSink();
+ * raptor.getMetrics().export(sink);
+ * String text = sink.getText();
+ * </pre>
+ */
+public class PrometheusTextSink implements MetricsSink {
+
+    /** 히스토그램 le 경계 (초) */
+    private static final double[] BUCKET_BOUNDS_SECONDS = {
+        0.0001, 0.00025, 0.0005,
+        0.001, 0.0025, 0.005,
+        0.01, 0.025, 0.05,
+        0.1, 0.25, 0.5,
+        1.0, 2.5, 5.0, 10.0
+    };
+
+    private final StringBuilder out = new StringBuilder(8192);
+    private final Set<String> declared = new HashSet<>();
+
+    @Override
+    public void counter(String name, String help, Map<String, String> labels, long value) {
+        declare(name, help, "counter");
+        out.append(name);
+        appendLabels(labels, null);
+        out.append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void histogram(String name, String help, Map<String, String> labels,
+                          LatencyHistogram histogram, double unitSeconds) {
+        declare(name, help, "histogram");
+
+        for (double bound : BUCKET_BOUNDS_SECONDS) {
+            long count = histogram.getCountAtOrBelow((long) Math.floor(bound / unitSeconds));
+            out.append(name).append("_bucket");
+            appendLabels(labels, formatDouble(bound));
+            out.append(' ').append(count).append('\n');
+        }
+
+        long total = histogram.getCount();
+        out.append(name).append("_bucket");
+        appendLabels(labels, "+Inf");
+        out.append(' ').append(total).append('\n');
+
+        out.append(name).append("_sum");
+        appendLabels(labels, null);
+        out.append(' ').append(formatDouble(histogram.getSum() * unitSeconds)).append('\n');
+
+        out.append(name).append("_count");
+        appendLabels(labels, null);
+        out.append(' ').append(total).append('\n');
+    }
+
+    /**
+     * 출력 텍스트
+     */
+    public String getText() {
+        return out.toString();
+    }
+
+    private void declare(String name, String help, String type) {
+        if (declared.add(name)) {
+            out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+    }
+
+    private void appendLabels(Map<String, String> labels, String le) {
+        if (labels.isEmpty() && le == null) {
+            return;
+        }
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append(label.getKey()).append("=\"");
+            appendEscaped(label.getValue());
+            out.append('"');
+            first = false;
+        }
+        if (le != null) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append("le=\"").append(le).append('"');
+        }
+        out.append('}');
+    }
+
+    private void appendEscaped(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static String formatDouble(double value) {
+        String s = String.format(Locale.ROOT, "%.6f", value);
+        // 불필요한 0 제거 (0.100000 → 0.1)
+        s = s.replaceAll("0+$", "");
+        return s.endsWith(".") ? s + "0" : s;
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+}
@@ -0,0 +1,296 @@
+package kr.otp.metrics;
+
+import kr.otp.core.OdRequest;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 경로 탐색 단계별 지연시간 + 카운터.
+ *
+ * 좌표 기반 검색은 모드(STANDARD / MULTI_CRITERIA / ARRIVE_BY)별로:
+ * - 단계별 지연시간 히스토그램 (μs): Access 탐색, Egress 탐색, Raptor 검색, 경로 변환, 전체
+ * - 카운터: 요청 결과 유형, Access/Egress 정류장 수 합계, 결과 경로 수 합계
+ * 도보 탐색이 없는 검색(정류장 인덱스 검색, One-to-all)은 DirectQuery별 전체 지연시간과 결과 유형만 기록한다.
+ *
+ * 모든 기록은 락 없이 처리되며 (LatencyHistogram, LongAdder),
+ * 요청당 System.nanoTime() 몇 번 수준의 오버헤드만 추가된다.
+ *
+ * P99 급증이 AccessEgressFinder 도보 탐색 때문인지 Raptor 라운드 때문인지
+ * phase 라벨로 구분할 수 있다.
+ */
+public class RoutingMetrics {
+
+    /**
+     * 측정 단계
+     */
+    public enum Phase {
+        ACCESS,        // 출발지 근처 정류장 탐색 (AccessEgressFinder)
+        EGRESS,        // 목적지 근처 정류장 탐색 (AccessEgressFinder)
+        SEARCH,        // Raptor 검색 (MC 다단계 모드의 휴리스틱 검색 포함)
+        PATH_MAPPING,  // Raptor 응답 → 경로 목록 변환
+        TOTAL          // 전체
+    }
+
+    /**
+     * 요청 결과 유형
+     */
+    public enum Outcome {
+        FOUND,          // 경로 있음
+        NO_ACCESS,      // 출발지 근처 정류장 없음
+        NO_EGRESS,      // 목적지 근처 정류장 없음
+        NO_CONNECTION,  // Raptor 검색 결과 없음
+        ERROR           // 검색 중 예외
+    }
+
+    /**
+     * 도보 탐색 없이 실행하는 검색
+     */
+    public enum DirectQuery {
+        STOP_INDEX,            // routeByStopIndex
+        ARRIVE_BY_STOP_INDEX,  // routeArriveByStopIndex
+        ONE_TO_ALL             // routeOneToAll
+    }
+
+    private static final String PREFIX = "korean_raptor_";
+    private static final double MICROS = 1e-6;
+
+    private static final int MODE_COUNT = OdRequest.Mode.values().length;
+    private static final int PHASE_COUNT = Phase.values().length;
+    private static final int OUTCOME_COUNT = Outcome.values().length;
+    private static final int DIRECT_QUERY_COUNT = DirectQuery.values().length;
+
+    private final LatencyHistogram[] phaseMicros = new LatencyHistogram[MODE_COUNT * PHASE_COUNT];
+    private final LongAdder[] outcomes = new LongAdder[MODE_COUNT * OUTCOME_COUNT];
+    private final LongAdder[] accessStops = new LongAdder[MODE_COUNT];
+    private final LongAdder[] egressStops = new LongAdder[MODE_COUNT];
+    private final LongAdder[] paths = new LongAdder[MODE_COUNT];
+    private final LatencyHistogram[] directMicros = new LatencyHistogram[DIRECT_QUERY_COUNT];
+    private final LongAdder[] directOutcomes = new LongAdder[DIRECT_QUERY_COUNT * OUTCOME_COUNT];
+
+    public RoutingMetrics() {
+        for (int i = 0; i < phaseMicros.length; i++) {
+            phaseMicros[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+        for (int i = 0; i < MODE_COUNT; i++) {
+            accessStops[i] = new LongAdder();
+            egressStops[i] = new LongAdder();
+            paths[i] = new LongAdder();
+        }
+        for (int i = 0; i < DIRECT_QUERY_COUNT; i++) {
+            directMicros[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < directOutcomes.length; i++) {
+            directOutcomes[i] = new LongAdder();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 기록
+    // ═══════════════════════════════════════════════════════════════
+
+    public void recordPhase(OdRequest.Mode mode, Phase phase, long nanos) {
+        phaseMicros[mode.ordinal() * PHASE_COUNT + phase.ordinal()].record(nanos / 1_000);
+    }
+
+    public void recordOutcome(OdRequest.Mode mode, Outcome outcome) {
+        outcomes[mode.ordinal() * OUTCOME_COUNT + outcome.ordinal()].increment();
+    }
+
+    public void recordAccessStops(OdRequest.Mode mode, int count) {
+        accessStops[mode.ordinal()].add(count);
+    }
+
+    public void recordEgressStops(OdRequest.Mode mode, int count) {
+        egressStops[mode.ordinal()].add(count);
+    }
+
+    public void recordPaths(OdRequest.Mode mode, int count) {
+        paths[mode.ordinal()].add(count);
+    }
+
+    public void recordDirectQuery(DirectQuery query, Outcome outcome, long nanos) {
+        directMicros[query.ordinal()].record(nanos / 1_000);
+        directOutcomes[query.ordinal() * OUTCOME_COUNT + outcome.ordinal()].increment();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 조회
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 단계별 지연시간 히스토그램 (μs)
+     */
+    public LatencyHistogram getPhaseHistogram(OdRequest.Mode mode, Phase phase) {
+        return phaseMicros[mode.ordinal() * PHASE_COUNT + phase.ordinal()];
+    }
+
+    public long getOutcomeCount(OdRequest.Mode mode, Outcome outcome) {
+        return outcomes[mode.ordinal() * OUTCOME_COUNT + outcome.ordinal()].sum();
+    }
+
+    /**
+     * DirectQuery 지연시간 히스토그램 (μs)
+     */
+    public LatencyHistogram getDirectQueryHistogram(DirectQuery query) {
+        return directMicros[query.ordinal()];
+    }
+
+    public long getDirectQueryCount(DirectQuery query, Outcome outcome) {
+        return directOutcomes[query.ordinal() * OUTCOME_COUNT + outcome.ordinal()].sum();
+    }
+
+    /**
+     * DirectQuery 전체 요청 수 (모든 결과 유형 합)
+     */
+    public long getDirectQueryCount(DirectQuery query) {
+        long total = 0;
+        for (Outcome outcome : Outcome.values()) {
+            total += getDirectQueryCount(query, outcome);
+        }
+        return total;
+    }
+
+    /**
+     * 모드별 전체 요청 수 (모든 결과 유형 합)
+     */
+    public long getRequestCount(OdRequest.Mode mode) {
+        long total = 0;
+        for (Outcome outcome : Outcome.values()) {
+            total += getOutcomeCount(mode, outcome);
+        }
+        return total;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 출력
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 모든 메트릭을 sink로 출력 (요청이 없는 모드는 생략)
+     */
+    public void export(MetricsSink sink) {
+        for (OdRequest.Mode mode : OdRequest.Mode.values()) {
+            if (getRequestCount(mode) == 0) {
+                continue;
+            }
+            String modeLabel = label(mode);
+
+            for (Outcome outcome : Outcome.values()) {
+                sink.counter(PREFIX + "requests_total", "검색 요청 수 (결과 유형별)",
+                    labels("mode", modeLabel, "outcome", label(outcome)),
+                    getOutcomeCount(mode, outcome));
+            }
+            sink.counter(PREFIX + "access_stops_total", "Access 정류장 수 합계",
+                labels("mode", modeLabel), accessStops[mode.ordinal()].sum());
+            sink.counter(PREFIX + "egress_stops_total", "Egress 정류장 수 합계",
+                labels("mode", modeLabel), egressStops[mode.ordinal()].sum());
+            sink.counter(PREFIX + "paths_total", "반환된 경로 수 합계",
+                labels("mode", modeLabel), paths[mode.ordinal()].sum());
+        }
+
+        for (OdRequest.Mode mode : OdRequest.Mode.values()) {
+            if (getRequestCount(mode) == 0) {
+                continue;
+            }
+            for (Phase phase : Phase.values()) {
+                sink.histogram(PREFIX + "phase_seconds", "검색 단계별 소요 시간",
+                    labels("mode", label(mode), "phase", label(phase)),
+                    getPhaseHistogram(mode, phase), MICROS);
+            }
+        }
+
+        for (DirectQuery query : DirectQuery.values()) {
+            if (getDirectQueryCount(query) == 0) {
+                continue;
+            }
+            for (Outcome outcome : Outcome.values()) {
+                sink.counter(PREFIX + "direct_requests_total", "도보 탐색 없는 검색 요청 수 (결과 유형별)",
+                    labels("query", label(query), "outcome", label(outcome)),
+                    getDirectQueryCount(query, outcome));
+            }
+        }
+        for (DirectQuery query : DirectQuery.values()) {
+            if (getDirectQueryCount(query) == 0) {
+                continue;
+            }
+            sink.histogram(PREFIX + "direct_seconds", "도보 탐색 없는 검색 소요 시간",
+                labels("query", label(query)), getDirectQueryHistogram(query), MICROS);
+        }
+    }
+
+    /**
+     * Prometheus 텍스트 형식으로 출력 (기본 sink)
+     */
+    public String toPrometheusText() {
+        PrometheusTextSink sink = new PrometheusTextSink();
+        export(sink);
+        return sink.getText();
+    }
+
+    /**
+     * 모든 기록 초기화
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : phaseMicros) {
+            histogram.reset();
+        }
+        for (LongAdder adder : outcomes) {
+            adder.reset();
+        }
+        for (int i = 0; i < MODE_COUNT; i++) {
+            accessStops[i].reset();
+            egressStops[i].reset();
+            paths[i].reset();
+        }
+        for (LatencyHistogram histogram : directMicros) {
+            histogram.reset();
+        }
+        for (LongAdder adder : directOutcomes) {
+            adder.reset();
+        }
+    }
+
+    private static String label(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, String> labels(String... keyValues) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            labels.put(keyValues[i], keyValues[i + 1]);
+        }
+        return labels;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RoutingMetrics[");
+        for (OdRequest.Mode mode : OdRequest.Mode.values()) {
+            long requests = getRequestCount(mode);
+            if (requests == 0) {
+                continue;
+            }
+            sb.append(String.format("%s: %d건, total p99=%dμs (access p99=%dμs, egress p99=%dμs, search p99=%dμs); ",
+                mode, requests,
+                getPhaseHistogram(mode, Phase.TOTAL).getPercentile(99),
+                getPhaseHistogram(mode, Phase.ACCESS).getPercentile(99),
+                getPhaseHistogram(mode, Phase.EGRESS).getPercentile(99),
+                getPhaseHistogram(mode, Phase.SEARCH).getPercentile(99)));
+        }
+        for (DirectQuery query : DirectQuery.values()) {
+            long requests = getDirectQueryCount(query);
+            if (requests == 0) {
+                continue;
+            }
+            sb.append(String.format("%s: %d건, p99=%dμs; ",
+                query, requests, getDirectQueryHistogram(query).getPercentile(99)));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,793 @@
+package kr.otp.osm;
+
+import kr.otp.region.Region;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CSR(Compressed Sparse Row) 기반 도로망.
+ *
+ * StreetNetwork는 노드(1,570만 개)마다 객체 + 간선 리스트를 가지므로 전국 OSM에 40GB 이상이 필요하다.
+ * 이 클래스는 같은 그래프를 평탄한 기본형 배열로 저장한다:
+ * <pre>
+ * nodeLat / nodeLon   int[노드]     고정소수점 좌표 (도 × 1e7, 약 1cm 정밀도)
+ * osmIds              long[노드]    OSM 노드 ID (osmId 오름차순 = 노드 인덱스 순서)
+ * edgeOffsets         int[노드+1]   노드 i의 간선 = [edgeOffsets[i], edgeOffsets[i+1])
+ * edgeTargets         int[간선]     도착 노드 인덱스
+ * edgeLengths         float[간선]   간선 길이 (m)
+ * cellOffsets/Nodes   격자 인덱스   최근접 노드 탐색용 (CELL_SIZE_DEGREES 격자)
+ * </pre>
+ *
+ * 파일로 저장한 뒤 load()로 매핑하면 배열이 힙 밖(매핑된 파일)에 그대로 남는다.
+ * 기존 WalkingRouter / AccessEgressFinder는 asStreetNetwork() 뷰를 통해 그대로 사용한다.
+ * 새로 작성하는 탐색 루프는 객체 없이 edgeStart/edgeEnd/edgeTarget/edgeLength로 순회한다.
+ */
+public final class CompactStreetNetwork {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompactStreetNetwork.class);
+
+    private static final int MAGIC = 0x4E53524B;  // "KRSN" (리틀 엔디언)
+    public static final int VERSION = 1;
+
+    private static final double FIXED_POINT = 1e7;
+    private static final double CELL_SIZE_DEGREES = 0.005;  // 약 550m (위도 방향)
+    private static final int CELL_SIZE_E7 = (int) Math.round(CELL_SIZE_DEGREES * FIXED_POINT);
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    // magic, version, fingerprint(long), nodeCount, edgeCount, gridRows, gridCols, minLatE7, minLonE7, 예약
+    private static final int HEADER_BYTES = 64;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final IntBuffer nodeLat;
+    private final IntBuffer nodeLon;
+    private final LongBuffer osmIds;
+    private final IntBuffer edgeOffsets;
+    private final IntBuffer edgeTargets;
+    private final FloatBuffer edgeLengths;
+
+    // 격자 인덱스
+    private final int gridRows;
+    private final int gridCols;
+    private final int minLatE7;
+    private final int minLonE7;
+    private final IntBuffer cellOffsets;
+    private final IntBuffer cellNodes;
+
+    private final long fingerprint;
+
+    private CompactStreetNetwork(int nodeCount, int edgeCount,
+                                 IntBuffer nodeLat, IntBuffer nodeLon, LongBuffer osmIds,
+                                 IntBuffer edgeOffsets, IntBuffer edgeTargets, FloatBuffer edgeLengths,
+                                 int gridRows, int gridCols, int minLatE7, int minLonE7,
+                                 IntBuffer cellOffsets, IntBuffer cellNodes, long fingerprint) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.nodeLat = nodeLat;
+        this.nodeLon = nodeLon;
+        this.osmIds = osmIds;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.edgeLengths = edgeLengths;
+        this.gridRows = gridRows;
+        this.gridCols = gridCols;
+        this.minLatE7 = minLatE7;
+        this.minLonE7 = minLonE7;
+        this.cellOffsets = cellOffsets;
+        this.cellNodes = cellNodes;
+        this.fingerprint = fingerprint;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 생성
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 객체 그래프(StreetNetwork)를 CSR로 변환
+     *
+     * 노드 인덱스는 OSM ID 오름차순이며, 간선의 도착 노드는 이진 탐색으로 인덱스를 찾는다.
+     *
+     * @param fingerprint 원본 지문 (OSM 파일 지문, 없으면 0)
+     */
+    public static CompactStreetNetwork from(StreetNetwork network, long fingerprint) {
+        long start = System.currentTimeMillis();
+
+        StreetNode[] nodes = network.getNodes().toArray(new StreetNode[0]);
+        Arrays.sort(nodes, (a, b) -> Long.compare(a.getOsmId(), b.getOsmId()));
+        int n = nodes.length;
+
+        long[] ids = new long[n];
+        int[] lat = new int[n];
+        int[] lon = new int[n];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            ids[i] = nodes[i].getOsmId();
+            lat[i] = toFixed(nodes[i].getLat());
+            lon[i] = toFixed(nodes[i].getLon());
+            offsets[i + 1] = offsets[i] + nodes[i].getOutgoingEdges().size();
+        }
+
+        int[] targets = new int[offsets[n]];
+        float[] lengths = new float[offsets[n]];
+        int e = 0;
+        int dropped = 0;
+        for (int i = 0; i < n; i++) {
+            for (StreetEdge edge : nodes[i].getOutgoingEdges()) {
+                int target = Arrays.binarySearch(ids, edge.getToNode().getOsmId());
+                if (target < 0) {
+                    dropped++;  // 네트워크에 등록되지 않은 노드로 가는 간선
+                    continue;
+                }
+                targets[e] = target;
+                lengths[e] = (float) edge.getLengthMeters();
+                e++;
+            }
+            offsets[i + 1] = e;
+        }
+        if (dropped > 0) {
+            targets = Arrays.copyOf(targets, e);
+            lengths = Arrays.copyOf(lengths, e);
+            LOG.warn("CSR 변환: 등록되지 않은 노드로 가는 간선 {}개 제외", dropped);
+        }
+
+        CompactStreetNetwork compact = build(lat, lon, ids, offsets, targets, lengths, fingerprint);
+        LOG.info("CSR 도로망 변환: {} ({}ms)", compact, System.currentTimeMillis() - start);
+        return compact;
+    }
+
+    /**
+     * 지역(버퍼 포함) 안의 노드만 남긴 부분 그래프 (인덱스 압축)
+     *
+     * 양 끝 노드가 모두 남은 간선만 유지한다. 지문은 Region.fingerprint()로 새로 계산한다.
+     */
+    public CompactStreetNetwork filter(Region region) {
+        long start = System.currentTimeMillis();
+
+        int[] mapping = new int[nodeCount];
+        int n = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            mapping[i] = region.contains(getLat(i), getLon(i)) ? n++ : -1;
+        }
+
+        int[] lat = new int[n];
+        int[] lon = new int[n];
+        long[] ids = new long[n];
+        int[] offsets = new int[n + 1];
+        int keptEdges = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            int mapped = mapping[i];
+            if (mapped < 0) {
+                continue;
+            }
+            lat[mapped] = nodeLat.get(i);
+            lon[mapped] = nodeLon.get(i);
+            ids[mapped] = osmIds.get(i);
+            for (int e = edgeStart(i); e < edgeEnd(i); e++) {
+                if (mapping[edgeTarget(e)] >= 0) {
+                    keptEdges++;
+                }
+            }
+            offsets[mapped + 1] = keptEdges;
+        }
+
+        int[] targets = new int[keptEdges];
+        float[] lengths = new float[keptEdges];
+        int pos = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (mapping[i] < 0) {
+                continue;
+            }
+            for (int e = edgeStart(i); e < edgeEnd(i); e++) {
+                int target = mapping[edgeTarget(e)];
+                if (target >= 0) {
+                    targets[pos] = target;
+                    lengths[pos] = edgeLength(e);
+                    pos++;
+                }
+            }
+        }
+
+        CompactStreetNetwork filtered = build(lat, lon, ids, offsets, targets, lengths,
+            region.fingerprint(fingerprint));
+        LOG.info("도로망 지역 필터 {}: 노드 {} → {}, 간선 {} → {} ({}ms)", region.getName(),
+            nodeCount, n, edgeCount, keptEdges, System.currentTimeMillis() - start);
+        return filtered;
+    }
+
+    /**
+     * 배열로부터 생성 (격자 인덱스 계산 포함)
+     */
+    private static CompactStreetNetwork build(int[] lat, int[] lon, long[] ids,
+                                              int[] offsets, int[] targets, float[] lengths, long fingerprint) {
+        int n = lat.length;
+
+        int minLat = Integer.MAX_VALUE;
+        int maxLat = Integer.MIN_VALUE;
+        int minLon = Integer.MAX_VALUE;
+        int maxLon = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minLat = Math.min(minLat, lat[i]);
+            maxLat = Math.max(maxLat, lat[i]);
+            minLon = Math.min(minLon, lon[i]);
+            maxLon = Math.max(maxLon, lon[i]);
+        }
+        if (n == 0) {
+            minLat = maxLat = minLon = maxLon = 0;
+        }
+
+        int rows = (maxLat - minLat) / CELL_SIZE_E7 + 1;
+        int cols = (maxLon - minLon) / CELL_SIZE_E7 + 1;
+        if ((long) rows * cols >= Integer.MAX_VALUE) {
+            throw new IllegalStateException(String.format("도로망 범위가 너무 넓습니다: %d x %d 격자", rows, cols));
+        }
+
+        // 격자 CSR (counting sort)
+        int[] cellOffsets = new int[rows * cols + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = ((lat[i] - minLat) / CELL_SIZE_E7) * cols + (lon[i] - minLon) / CELL_SIZE_E7;
+            cellOffsets[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellOffsets[c + 1] += cellOffsets[c];
+        }
+        int[] fill = Arrays.copyOf(cellOffsets, rows * cols);
+        int[] cellNodes = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellNodes[fill[cellOf[i]]++] = i;
+        }
+
+        return new CompactStreetNetwork(n, targets.length,
+            IntBuffer.wrap(lat), IntBuffer.wrap(lon), LongBuffer.wrap(ids),
+            IntBuffer.wrap(offsets), IntBuffer.wrap(targets), FloatBuffer.wrap(lengths),
+            rows, cols, minLat, minLon,
+            IntBuffer.wrap(cellOffsets), IntBuffer.wrap(cellNodes), fingerprint);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 저장 / 로드
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * OSM 파일 지문 (크기 + 수정 시각)
+     */
+    public static long fingerprint(Path osmPath) throws IOException {
+        return 31 * Files.size(osmPath) + Files.getLastModifiedTime(osmPath).toMillis();
+    }
+
+    /**
+     * 파일이 존재하고 버전/지문이 일치하는지 확인 (헤더만 읽음)
+     */
+    public static boolean isValid(Path path, long expectedFingerprint) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == MAGIC
+                && header.getInt() == VERSION
+                && header.getLong() == expectedFingerprint;
+        } catch (IOException e) {
+            LOG.warn("CSR 도로망 헤더 읽기 실패: {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * 파일로 저장 (임시 파일에 쓴 뒤 원자적으로 교체)
+     *
+     * 전체를 한 번에 매핑하지 않고 고정 크기 버퍼로 나눠 쓰므로 파일이 2GB를 넘어도 된다.
+     */
+    public void save(Path path) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ChunkWriter out = new ChunkWriter(channel);
+
+            ByteBuffer header = out.buffer;
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(fingerprint);
+            header.putInt(nodeCount);
+            header.putInt(edgeCount);
+            header.putInt(gridRows);
+            header.putInt(gridCols);
+            header.putInt(minLatE7);
+            header.putInt(minLonE7);
+            header.position(HEADER_BYTES);
+
+            out.ints(nodeLat);
+            out.ints(nodeLon);
+            out.align();
+            for (int i = 0; i < nodeCount; i++) {
+                out.reserve(Long.BYTES).putLong(osmIds.get(i));
+            }
+            out.ints(edgeOffsets);
+            out.ints(edgeTargets);
+            for (int i = 0; i < edgeCount; i++) {
+                out.reserve(Float.BYTES).putFloat(edgeLengths.get(i));
+            }
+            out.ints(cellOffsets);
+            out.ints(cellNodes);
+            out.flush();
+
+            if (out.position != fileSize(nodeCount, edgeCount, gridRows * gridCols)) {
+                throw new IOException("CSR 도로망 저장 크기 불일치: " + out.position + " bytes");
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        LOG.info("CSR 도로망 저장: {} ({}MB, {}ms)", path,
+            Files.size(path) / (1024 * 1024), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 파일을 매핑해서 로드 (배열은 복사하지 않고 매핑된 파일을 그대로 참조)
+     *
+     * 배열마다 별도로 매핑하므로 2GB 제한은 배열 단위로만 적용된다.
+     */
+    public static CompactStreetNetwork load(Path path) throws IOException {
+        long start = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("CSR 도로망 파일 크기 오류: " + path);
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            in.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (in.getInt() != MAGIC) {
+                throw new IOException("CSR 도로망 파일이 아닙니다: " + path);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("CSR 도로망 버전 불일치: 파일=%d, 지원=%d", version, VERSION));
+            }
+            long fingerprint = in.getLong();
+            int nodeCount = in.getInt();
+            int edgeCount = in.getInt();
+            int gridRows = in.getInt();
+            int gridCols = in.getInt();
+            int minLatE7 = in.getInt();
+            int minLonE7 = in.getInt();
+
+            if (channel.size() != fileSize(nodeCount, edgeCount, gridRows * gridCols)) {
+                throw new IOException("CSR 도로망 파일 크기 불일치 (손상된 파일): " + path);
+            }
+
+            SectionMapper sections = new SectionMapper(channel, HEADER_BYTES);
+            IntBuffer nodeLat = sections.next((long) nodeCount * Integer.BYTES).asIntBuffer();
+            IntBuffer nodeLon = sections.next((long) nodeCount * Integer.BYTES).asIntBuffer();
+            sections.align();
+            LongBuffer osmIds = sections.next((long) nodeCount * Long.BYTES).asLongBuffer();
+            IntBuffer edgeOffsets = sections.next((long) (nodeCount + 1) * Integer.BYTES).asIntBuffer();
+            IntBuffer edgeTargets = sections.next((long) edgeCount * Integer.BYTES).asIntBuffer();
+            FloatBuffer edgeLengths = sections.next((long) edgeCount * Float.BYTES).asFloatBuffer();
+            IntBuffer cellOffsets = sections.next((long) (gridRows * gridCols + 1) * Integer.BYTES).asIntBuffer();
+            IntBuffer cellNodes = sections.next((long) nodeCount * Integer.BYTES).asIntBuffer();
+
+            CompactStreetNetwork network = new CompactStreetNetwork(nodeCount, edgeCount,
+                nodeLat, nodeLon, osmIds, edgeOffsets, edgeTargets, edgeLengths,
+                gridRows, gridCols, minLatE7, minLonE7, cellOffsets, cellNodes, fingerprint);
+            LOG.info("CSR 도로망 로드: {} ({}ms)", network, System.currentTimeMillis() - start);
+            return network;
+        }
+    }
+
+    private static long fileSize(int nodeCount, int edgeCount, int cellCount) {
+        long size = HEADER_BYTES;
+        size += 2L * nodeCount * Integer.BYTES;
+        size = (size + 7) & ~7L;
+        size += (long) nodeCount * Long.BYTES;
+        size += (long) (nodeCount + 1) * Integer.BYTES;
+        size += (long) edgeCount * Integer.BYTES;
+        size += (long) edgeCount * Float.BYTES;
+        size += (long) (cellCount + 1) * Integer.BYTES;
+        size += (long) nodeCount * Integer.BYTES;
+        return size;
+    }
+
+    /**
+     * 고정 크기 버퍼를 채워 파일 위치 순서대로 쓰는 쓰기 도우미
+     */
+    private static final class ChunkWriter {
+        private static final int CHUNK = 8 * 1024 * 1024;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        ChunkWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * bytes만큼 쓸 자리를 확보한 버퍼 (부족하면 먼저 비운다)
+         */
+        ByteBuffer reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        void ints(IntBuffer source) throws IOException {
+            for (int i = 0, n = source.limit(); i < n; i++) {
+                reserve(Integer.BYTES).putInt(source.get(i));
+            }
+        }
+
+        /**
+         * 8바이트 경계까지 0으로 채움 (long 배열 정렬)
+         */
+        void align() throws IOException {
+            long written = position + buffer.position();
+            int padding = (int) ((8 - (written & 7)) & 7);
+            for (int i = 0; i < padding; i++) {
+                reserve(1).put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 파일 앞에서부터 배열 섹션을 하나씩 따로 매핑
+     */
+    private static final class SectionMapper {
+        private final FileChannel channel;
+        private long position;
+
+        SectionMapper(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        ByteBuffer next(long bytes) throws IOException {
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IOException("CSR 도로망 배열이 단일 매핑 한도(2GB)를 넘습니다: " + bytes + " bytes");
+            }
+            ByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            position += bytes;
+            return section;
+        }
+
+        void align() {
+            position = (position + 7) & ~7L;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 조회
+    // ═══════════════════════════════════════════════════════════════
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public double getLat(int node) {
+        return nodeLat.get(node) / FIXED_POINT;
+    }
+
+    public double getLon(int node) {
+        return nodeLon.get(node) / FIXED_POINT;
+    }
+
+    public long getOsmId(int node) {
+        return osmIds.get(node);
+    }
+
+    /**
+     * 노드의 첫 간선 인덱스
+     */
+    public int edgeStart(int node) {
+        return edgeOffsets.get(node);
+    }
+
+    /**
+     * 노드의 마지막 간선 다음 인덱스
+     */
+    public int edgeEnd(int node) {
+        return edgeOffsets.get(node + 1);
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTargets.get(edge);
+    }
+
+    public float edgeLength(int edge) {
+        return edgeLengths.get(edge);
+    }
+
+    /**
+     * OSM ID → 노드 인덱스 (없으면 -1)
+     */
+    public int indexOf(long osmId) {
+        int lo = 0;
+        int hi = nodeCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long id = osmIds.get(mid);
+            if (id < osmId) {
+                lo = mid + 1;
+            } else if (id > osmId) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 가장 가까운 노드 (maxDistanceMeters 이내, 없으면 -1)
+     */
+    public int findNearestNodeIndex(double lat, double lon, double maxDistanceMeters) {
+        if (nodeCount == 0) {
+            return -1;
+        }
+        double cellMetersLat = CELL_SIZE_DEGREES * METERS_PER_DEGREE_LAT;
+        double cellMetersLon = cellMetersLat * Math.max(0.1, Math.cos(Math.toRadians(lat)));
+        int rowRadius = (int) Math.ceil(maxDistanceMeters / cellMetersLat);
+        int colRadius = (int) Math.ceil(maxDistanceMeters / cellMetersLon);
+
+        int row = (int) Math.floor((toFixed(lat) - (long) minLatE7) / (double) CELL_SIZE_E7);
+        int col = (int) Math.floor((toFixed(lon) - (long) minLonE7) / (double) CELL_SIZE_E7);
+
+        int best = -1;
+        double bestDistance = maxDistanceMeters;
+        for (int r = Math.max(0, row - rowRadius); r <= Math.min(gridRows - 1, row + rowRadius); r++) {
+            for (int c = Math.max(0, col - colRadius); c <= Math.min(gridCols - 1, col + colRadius); c++) {
+                int cell = r * gridCols + c;
+                for (int k = cellOffsets.get(cell), end = cellOffsets.get(cell + 1); k < end; k++) {
+                    int node = cellNodes.get(k);
+                    double distance = StreetNetwork.haversineDistance(lat, lon, getLat(node), getLon(node));
+                    if (distance <= bestDistance) {
+                        bestDistance = distance;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * StreetNetwork 뷰 (기존 WalkingRouter / AccessEgressFinder용)
+     *
+     * 노드/간선 객체는 접근할 때만 가볍게 만들어지고 CSR 배열을 그대로 참조한다.
+     */
+    public StreetNetwork asStreetNetwork() {
+        return new View(this, null);
+    }
+
+    /**
+     * 정류장 매핑 캐시를 사용하는 StreetNetwork 뷰
+     *
+     * 정류장 좌표로 들어오는 findNearestNode() 호출(AccessEgressFinder 초기화)은 격자 탐색 없이 응답한다.
+     */
+    public StreetNetwork asStreetNetwork(StopSnapIndex stopSnaps) {
+        return new View(this, stopSnaps);
+    }
+
+    /**
+     * 추정 메모리 사용량 (바이트, 매핑 시 힙 밖)
+     */
+    public long estimatedBytes() {
+        return fileSize(nodeCount, edgeCount, gridRows * gridCols) - HEADER_BYTES;
+    }
+
+    private static int toFixed(double degrees) {
+        return (int) Math.round(degrees * FIXED_POINT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactStreetNetwork[nodes=%d, edges=%d, grid=%dx%d, %dMB]",
+            nodeCount, edgeCount, gridRows, gridCols, estimatedBytes() / (1024 * 1024));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // StreetNetwork 어댑터
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * CSR 도로망을 StreetNetwork로 보이게 하는 읽기 전용 뷰
+     *
+     * 노드 플라이웨이트는 인덱스 하위 비트로 고른 고정 크기 슬롯(direct-mapped)에 캐시해서
+     * 도보 탐색이 같은 노드를 다시 펼칠 때 노드/간선 객체를 새로 만들지 않는다.
+     * 슬롯 교체는 경쟁해도 안전하다 (Node는 불변, 같은 인덱스면 어느 객체든 동등).
+     */
+    private static final class View extends StreetNetwork {
+        private static final int NODE_CACHE_SIZE = 1 << 16;
+
+        private final CompactStreetNetwork csr;
+        private final StopSnapIndex stopSnaps;
+
+        private final Node[] nodeCache = new Node[NODE_CACHE_SIZE];
+
+        View(CompactStreetNetwork csr, StopSnapIndex stopSnaps) {
+            this.csr = csr;
+            this.stopSnaps = stopSnaps;
+        }
+
+        @Override
+        public StreetNode findNearestNode(double lat, double lon, double maxDistanceMeters) {
+            if (stopSnaps != null) {
+                int cached = stopSnaps.lookup(lat, lon, maxDistanceMeters);
+                if (cached != StopSnapIndex.MISS) {
+                    return cached < 0 ? null : node(cached);
+                }
+            }
+            int index = csr.findNearestNodeIndex(lat, lon, maxDistanceMeters);
+            return index < 0 ? null : node(index);
+        }
+
+        @Override
+        public int getNodeCount() {
+            return csr.getNodeCount();
+        }
+
+        @Override
+        public int getEdgeCount() {
+            return csr.getEdgeCount();
+        }
+
+        @Override
+        public Collection<StreetNode> getNodes() {
+            return new AbstractList<>() {
+                @Override
+                public StreetNode get(int index) {
+                    return node(index);
+                }
+
+                @Override
+                public int size() {
+                    return csr.getNodeCount();
+                }
+            };
+        }
+
+        @Override
+        public void addNode(StreetNode node) {
+            throw new UnsupportedOperationException("CSR 도로망은 읽기 전용입니다");
+        }
+
+        StreetNode node(int index) {
+            int slot = index & (NODE_CACHE_SIZE - 1);
+            Node cached = nodeCache[slot];
+            if (cached != null && cached.index == index) {
+                return cached;
+            }
+            Node created = new Node(this, index);
+            nodeCache[slot] = created;
+            return created;
+        }
+
+        @Override
+        public String toString() {
+            return csr.toString();
+        }
+    }
+
+    /**
+     * 노드 플라이웨이트 (동등성 = 노드 인덱스)
+     *
+     * 간선 목록은 처음 요청할 때 한 번 만들어 재사용한다.
+     */
+    private static final class Node extends StreetNode {
+        private final View view;
+        private final int index;
+        private List<StreetEdge> edges;  // 불변 목록 (경쟁 시 같은 내용으로 다시 만들어질 뿐)
+
+        Node(View view, int index) {
+            super(view.csr.getOsmId(index), view.csr.getLat(index), view.csr.getLon(index));
+            this.view = view;
+            this.index = index;
+        }
+
+        @Override
+        public List<StreetEdge> getOutgoingEdges() {
+            List<StreetEdge> cached = edges;
+            if (cached == null) {
+                CompactStreetNetwork csr = view.csr;
+                int start = csr.edgeStart(index);
+                StreetEdge[] created = new StreetEdge[csr.edgeEnd(index) - start];
+                for (int i = 0; i < created.length; i++) {
+                    created[i] = new Edge(this, start + i);
+                }
+                cached = List.of(created);
+                edges = cached;
+            }
+            return cached;
+        }
+
+        @Override
+        public void addEdge(StreetEdge edge) {
+            throw new UnsupportedOperationException("CSR 도로망은 읽기 전용입니다");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node other && other.index == index && other.view == view;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(index);
+        }
+    }
+
+    /**
+     * 간선 플라이웨이트 (도착 노드는 getToNode() 호출 시 뷰의 노드 캐시에서 찾는다)
+     *
+     * 도착 노드를 필드로 잡아 두면 캐시된 노드에서 간선을 따라 그래프 전체가 힙에 남을 수 있다.
+     */
+    private static final class Edge extends StreetEdge {
+        private final Node from;
+        private final int edge;
+
+        Edge(Node from, int edge) {
+            super(from, null, from.view.csr.edgeLength(edge));
+            this.from = from;
+            this.edge = edge;
+        }
+
+        @Override
+        public StreetNode getFromNode() {
+            return from;
+        }
+
+        @Override
+        public StreetNode getToNode() {
+            return from.view.node(from.view.csr.edgeTarget(edge));
+        }
+
+        @Override
+        public double getLengthMeters() {
+            return from.view.csr.edgeLength(edge);
+        }
+    }
+}
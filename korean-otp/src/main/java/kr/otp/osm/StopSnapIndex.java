@@ -0,0 +1,325 @@
+package kr.otp.osm;
+
+import kr.otp.raptor.data.TransitData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * 정류장 → 최근접 도로 노드 매핑 (사이드카 파일로 저장).
+ *
+ * AccessEgressFinder는 도로망이 설정될 때마다 21만 개 정류장을 도로 노드에 매핑한다 (약 3초).
+ * 이 인덱스는 그 결과(노드 인덱스 + 거리)를 정류장 좌표 체크섬 / OSM 지문과 함께 저장하고,
+ * CSR 도로망 뷰의 findNearestNode()가 정류장 좌표로 호출되면 격자 탐색 대신 이 값을 돌려준다.
+ *
+ * 최근접 노드는 SNAP_RADIUS_METERS 이내에서 미리 구해두므로 그 이하의 maxDistance 질의에는
+ * 격자 탐색과 같은 결과를 준다. 더 큰 반경으로 노드가 없던 정류장을 질의하면 격자 탐색으로 넘긴다.
+ *
+ * 파일 구조 (리틀 엔디언):
+ * <pre>
+ * [헤더]  magic "KRSS", 버전, 정류장 수, 반경, 정류장 좌표 체크섬, OSM 지문
+ * [본문]  정류장 위도/경도 double[], 노드 인덱스 int[] (없으면 -1), 거리 double[]
+ * </pre>
+ */
+public final class StopSnapIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StopSnapIndex.class);
+
+    private static final int MAGIC = 0x5353524B;  // "KRSS" (리틀 엔디언)
+    public static final int VERSION = 1;
+
+    /** 미리 계산하는 최대 매핑 반경 (m) */
+    public static final double SNAP_RADIUS_METERS = 1000.0;
+
+    /** lookup 결과: 캐시에 없는 좌표 (격자 탐색 필요) */
+    public static final int MISS = -2;
+    /** lookup 결과: 반경 이내 노드 없음 */
+    public static final int NONE = -1;
+
+    // magic, version, stopCount, 예약, radius(double), stopsChecksum(long), osmFingerprint(long), 예약
+    private static final int HEADER_BYTES = 48;
+
+    private final double[] lats;
+    private final double[] lons;
+    private final int[] nodes;
+    private final double[] distances;
+    private final double radiusMeters;
+    private final long stopsChecksum;
+    private final long osmFingerprint;
+
+    // 좌표 → 정류장 (개방 주소법, 값 = 정류장 + 1, 0 = 빈 칸)
+    private final int[] table;
+    private final int mask;
+
+    private StopSnapIndex(double[] lats, double[] lons, int[] nodes, double[] distances,
+                          double radiusMeters, long stopsChecksum, long osmFingerprint) {
+        this.lats = lats;
+        this.lons = lons;
+        this.nodes = nodes;
+        this.distances = distances;
+        this.radiusMeters = radiusMeters;
+        this.stopsChecksum = stopsChecksum;
+        this.osmFingerprint = osmFingerprint;
+
+        int capacity = Integer.highestOneBit(Math.max(4, lats.length * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        for (int stop = 0; stop < lats.length; stop++) {
+            int slot = hash(lats[stop], lons[stop]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = stop + 1;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 생성 / 저장 / 로드
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 모든 정류장을 도로 노드에 매핑 (병렬)
+     */
+    public static StopSnapIndex compute(TransitData transitData, CompactStreetNetwork network) {
+        long start = System.currentTimeMillis();
+
+        int stopCount = transitData.getStopCount();
+        double[] lats = new double[stopCount];
+        double[] lons = new double[stopCount];
+        for (int s = 0; s < stopCount; s++) {
+            lats[s] = transitData.getStopLat(s);
+            lons[s] = transitData.getStopLon(s);
+        }
+
+        int[] nodes = new int[stopCount];
+        double[] distances = new double[stopCount];
+        IntStream.range(0, stopCount).parallel().forEach(s -> {
+            int node = network.findNearestNodeIndex(lats[s], lons[s], SNAP_RADIUS_METERS);
+            nodes[s] = node;
+            distances[s] = node < 0
+                ? Double.POSITIVE_INFINITY
+                : StreetNetwork.haversineDistance(lats[s], lons[s], network.getLat(node), network.getLon(node));
+        });
+
+        StopSnapIndex index = new StopSnapIndex(lats, lons, nodes, distances,
+            SNAP_RADIUS_METERS, checksum(lats, lons), network.getFingerprint());
+        LOG.info("정류장 → 도로 노드 매핑 계산: {} ({}ms)", index, System.currentTimeMillis() - start);
+        return index;
+    }
+
+    /**
+     * 유효한 사이드카가 있으면 로드, 없으면 계산 후 저장
+     */
+    public static StopSnapIndex loadOrCompute(Path path, TransitData transitData, CompactStreetNetwork network) {
+        long expectedChecksum = checksum(transitData);
+        StopSnapIndex loaded = load(path, expectedChecksum, network.getFingerprint());
+        if (loaded != null) {
+            return loaded;
+        }
+
+        StopSnapIndex computed = compute(transitData, network);
+        try {
+            computed.save(path);
+        } catch (IOException e) {
+            LOG.warn("정류장 매핑 저장 실패 (다음 시작 시 다시 계산): {}", path, e);
+        }
+        return computed;
+    }
+
+    /**
+     * 사이드카 로드 (없거나 체크섬/지문/버전이 다르면 null)
+     */
+    public static StopSnapIndex load(Path path, long expectedStopsChecksum, long expectedOsmFingerprint) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return null;
+            }
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                return null;
+            }
+            int stopCount = in.getInt();
+            in.getInt();
+            double radius = in.getDouble();
+            long stopsChecksum = in.getLong();
+            long osmFingerprint = in.getLong();
+            if (stopsChecksum != expectedStopsChecksum || osmFingerprint != expectedOsmFingerprint) {
+                LOG.info("정류장 매핑 사이드카가 현재 데이터와 다름 → 재계산: {}", path);
+                return null;
+            }
+            if (channel.size() != HEADER_BYTES + (long) stopCount * (3 * Double.BYTES + Integer.BYTES)) {
+                return null;
+            }
+            in.position(HEADER_BYTES);
+
+            double[] lats = new double[stopCount];
+            double[] lons = new double[stopCount];
+            double[] distances = new double[stopCount];
+            int[] nodes = new int[stopCount];
+            in.asDoubleBuffer().get(lats);
+            in.position(in.position() + stopCount * Double.BYTES);
+            in.asDoubleBuffer().get(lons);
+            in.position(in.position() + stopCount * Double.BYTES);
+            in.asDoubleBuffer().get(distances);
+            in.position(in.position() + stopCount * Double.BYTES);
+            in.asIntBuffer().get(nodes);
+
+            StopSnapIndex index = new StopSnapIndex(lats, lons, nodes, distances,
+                radius, stopsChecksum, osmFingerprint);
+            LOG.info("정류장 매핑 사이드카 로드: {} ({}ms)", index, System.currentTimeMillis() - start);
+            return index;
+        } catch (IOException e) {
+            LOG.warn("정류장 매핑 사이드카 읽기 실패: {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 사이드카 저장 (임시 파일에 쓴 뒤 원자적으로 교체)
+     */
+    public void save(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        int stopCount = lats.length;
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + stopCount * (3 * Double.BYTES + Integer.BYTES))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(stopCount);
+        out.putInt(0);
+        out.putDouble(radiusMeters);
+        out.putLong(stopsChecksum);
+        out.putLong(osmFingerprint);
+        out.position(HEADER_BYTES);
+        for (double lat : lats) {
+            out.putDouble(lat);
+        }
+        for (double lon : lons) {
+            out.putDouble(lon);
+        }
+        for (double distance : distances) {
+            out.putDouble(distance);
+        }
+        for (int node : nodes) {
+            out.putInt(node);
+        }
+        out.flip();
+
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOG.info("정류장 매핑 사이드카 저장: {}", path);
+    }
+
+    /**
+     * 정류장 좌표 체크섬 (CRC32C, 좌표 비트 기준)
+     */
+    public static long checksum(TransitData transitData) {
+        int stopCount = transitData.getStopCount();
+        double[] lats = new double[stopCount];
+        double[] lons = new double[stopCount];
+        for (int s = 0; s < stopCount; s++) {
+            lats[s] = transitData.getStopLat(s);
+            lons[s] = transitData.getStopLon(s);
+        }
+        return checksum(lats, lons);
+    }
+
+    private static long checksum(double[] lats, double[] lons) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int s = 0; s < lats.length; s++) {
+            buffer.clear();
+            buffer.putDouble(lats[s]).putDouble(lons[s]).flip();
+            crc.update(buffer);
+        }
+        return ((long) lats.length << 32) | crc.getValue();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 조회
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 정류장 좌표로 최근접 노드 조회
+     *
+     * @return 노드 인덱스, NONE(반경 이내 노드 없음) 또는 MISS(정류장 좌표가 아니거나 반경 초과 → 격자 탐색 필요)
+     */
+    public int lookup(double lat, double lon, double maxDistanceMeters) {
+        int slot = hash(lat, lon) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            int stop = entry - 1;
+            if (lats[stop] == lat && lons[stop] == lon) {
+                if (nodes[stop] >= 0) {
+                    return distances[stop] <= maxDistanceMeters ? nodes[stop] : NONE;
+                }
+                return maxDistanceMeters <= radiusMeters ? NONE : MISS;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISS;
+    }
+
+    public int getStopCount() {
+        return lats.length;
+    }
+
+    /**
+     * 정류장의 최근접 노드 (없으면 -1)
+     */
+    public int getNode(int stop) {
+        return nodes[stop];
+    }
+
+    /**
+     * 정류장 ↔ 최근접 노드 거리 (m, 없으면 무한대)
+     */
+    public double getDistance(int stop) {
+        return distances[stop];
+    }
+
+    private static int hash(double lat, double lon) {
+        long h = Double.doubleToLongBits(lat) * 31 + Double.doubleToLongBits(lon);
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h;
+    }
+
+    @Override
+    public String toString() {
+        int snapped = 0;
+        for (int node : nodes) {
+            if (node >= 0) {
+                snapped++;
+            }
+        }
+        return String.format("StopSnapIndex[stops=%d, snapped=%d, radius=%.0fm]",
+            lats.length, snapped, radiusMeters);
+    }
+}
@@ -0,0 +1,592 @@
+package kr.otp.raptor.data;
+
+import kr.otp.gtfs.loader.IdDictionary;
+import kr.otp.gtfs.loader.StopTimeColumns;
+import kr.otp.gtfs.loader.StopTimesColumnarParser;
+import kr.otp.osm.StreetNetwork;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TimeShiftedTimeTable;
+import kr.otp.raptor.spi.TransferIndex;
+import kr.otp.raptor.spi.TransitMode;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GTFS 디렉토리 → TransitData 스트리밍 빌더.
+ *
+ * GtfsLoader + TransitDataBuilder 경로는 GtfsBundle(정류장/노선/트립 Map + 정차 시간 2천만 건의
+ * GtfsStopTime 레코드)을 모두 만든 뒤 변환하므로, 시작 시 두 표현이 동시에 힙에 올라간다.
+ * 이 빌더는 중간 GtfsBundle 없이:
+ * 1. stops/routes/calendar는 작은 파일이라 한 줄씩 읽어 인덱스만 만든다
+ * 2. stop_times는 StopTimesColumnarParser로 int 컬럼(행당 20바이트)에 읽는다
+ * 3. trips.txt를 한 줄씩 읽으며 트립 순번 → 노선 순번만 기록한다
+ * 4. 트립 순서대로 정차 행을 읽어 패턴(노선 + 정류장 순서)에 바로 쌓는다 (시각만 int로 보관)
+ * 5. 컬럼을 버린 뒤 패턴별 시간표를 만든다 (반복 운행 패턴은 TimeShiftedTimeTable, 나머지는 ColumnarTimeTable)
+ * 6. 500m 이내 정류장 간 도보 환승(TransferIndex CSR로 바로), routesByStop을 만든다
+ *
+ * 결과는 TransitDataBuilder와 같은 규칙(패턴 = 노선 + 정류장 순서, 트립은 첫 출발 시각 순)을 따른다.
+ *
+ * 지원 범위:
+ * - calendar.txt는 요일 중 하루라도 운행하는 service_id만 남긴다 (날짜 범위는 보지 않음)
+ * - calendar_dates.txt(특정일 추가/제외)와 frequencies.txt(배차 간격 운행)는 읽지 않는다.
+ *   frequencies 기반 트립은 stop_times에 있는 한 번의 운행만 들어간다
+ * - 숫자 형식이 잘못된 행은 건너뛰되, 파일 행 수의 1%를 넘으면 빌드를 실패시킨다
+ */
+public class StreamingTransitDataBuilder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingTransitDataBuilder.class);
+
+    /** 빌드 결과 버전 (TransitDataSnapshot 지문에 포함, 출력 규칙이 바뀌면 올린다) */
+    public static final int VERSION = 1;
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+    private static final double WALK_SPEED_MPS = 1.2;             // 도보 속도 (KoreanRaptor와 동일)
+    private static final double TRANSFER_RADIUS_METERS = 500.0;   // 도보 환승 반경
+    private static final int TRANSFER_COST_PER_SECOND = 100;      // OTP c1 단위 (초 × 100)
+    private static final double MAX_MALFORMED_ROW_RATIO = 0.01;   // 파일별 형식 오류 행 허용 비율
+    private static final int MALFORMED_ROWS_TO_LOG = 10;          // 개별 로그를 남길 형식 오류 행 수
+
+    private final Path gtfsDir;
+    private final int threads;
+
+    public StreamingTransitDataBuilder(Path gtfsDir) {
+        this(gtfsDir, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StreamingTransitDataBuilder(Path gtfsDir, int threads) {
+        this.gtfsDir = gtfsDir;
+        this.threads = threads;
+    }
+
+    /**
+     * 노선 메타데이터 (routes.txt 한 행)
+     */
+    private record RouteInfo(String routeId, String shortName, String longName, int routeType) {
+    }
+
+    /**
+     * 패턴 키: 노선 순번 + 정류장 인덱스 순서
+     */
+    private record PatternKey(int route, int[] stops) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PatternKey other && route == other.route && Arrays.equals(stops, other.stops);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * route + Arrays.hashCode(stops);
+        }
+    }
+
+    /**
+     * 패턴별로 쌓이는 트립 (시각은 [도착, 출발] × 정류장 수를 이어서 보관)
+     */
+    private static final class PatternTrips {
+        final int route;
+        final int[] stops;
+        final List<String> tripIds = new ArrayList<>();
+        int[] times = new int[64];
+        int timeCount;
+
+        PatternTrips(int route, int[] stops) {
+            this.route = route;
+            this.stops = stops;
+        }
+
+        void add(String tripId, int[] arrivals, int[] departures) {
+            int n = stops.length;
+            if (timeCount + 2 * n > times.length) {
+                times = Arrays.copyOf(times, Math.max(times.length * 2, timeCount + 2 * n));
+            }
+            System.arraycopy(arrivals, 0, times, timeCount, n);
+            System.arraycopy(departures, 0, times, timeCount + n, n);
+            timeCount += 2 * n;
+            tripIds.add(tripId);
+        }
+    }
+
+    /**
+     * TransitData 빌드
+     */
+    public TransitData build() throws IOException {
+        long start = System.currentTimeMillis();
+
+        // 1. 정류장
+        Map<String, Integer> stopIndex = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<double[]> coords = new ArrayList<>();
+        forEachRow("stops.txt", new String[] {"stop_id", "stop_name", "stop_lat", "stop_lon"}, row -> {
+            // 좌표를 먼저 파싱 (형식 오류 행이 인덱스만 차지하지 않도록)
+            double[] coord = {Double.parseDouble(row[2]), Double.parseDouble(row[3])};
+            if (stopIndex.putIfAbsent(row[0], names.size()) == null) {
+                names.add(row[1]);
+                coords.add(coord);
+            }
+        });
+        int stopCount = names.size();
+
+        // 2. 노선
+        Map<String, Integer> routeIndex = new HashMap<>();
+        List<RouteInfo> routeInfos = new ArrayList<>();
+        forEachRow("routes.txt", new String[] {"route_id", "route_short_name", "route_long_name", "route_type"}, row -> {
+            if (routeIndex.putIfAbsent(row[0], routeInfos.size()) == null) {
+                routeInfos.add(new RouteInfo(row[0], row[1], row[2], parseRouteType(row[3])));
+            }
+        });
+
+        // 3. 운행 서비스 (calendar.txt가 없으면 전체 운행)
+        Set<String> activeServices = loadActiveServices();
+
+        // 4. 정차 시간 (컬럼)
+        StopTimeColumns columns = new StopTimesColumnarParser(threads).parse(gtfsDir.resolve("stop_times.txt"));
+        IdDictionary tripIds = columns.getTripIds();
+        long afterStopTimes = System.currentTimeMillis();
+
+        // 5. 트립 → 노선 (운행 서비스만)
+        int[] tripRoute = new int[tripIds.size()];
+        Arrays.fill(tripRoute, -1);
+        forEachRow("trips.txt", new String[] {"trip_id", "route_id", "service_id"}, row -> {
+            int trip = tripIds.ordinalOf(row[0]);
+            Integer route = routeIndex.get(row[1]);
+            if (trip >= 0 && route != null && (activeServices == null || activeServices.contains(row[2]))) {
+                tripRoute[trip] = route;
+            }
+        });
+
+        // 6. 트립 순서대로 패턴 그룹화
+        Map<PatternKey, PatternTrips> patterns = groupIntoPatterns(columns, tripRoute, stopIndex);
+        columns = null;  // 정차 행 컬럼은 더 이상 필요 없음 (패턴별 시각만 남김)
+
+        // 7. 패턴 → KoreanRoute
+        KoreanRoute[] routes = new KoreanRoute[patterns.size()];
+        int serviceStart = Integer.MAX_VALUE;
+        int serviceEnd = 0;
+        long tripCount = 0;
+        int patternIndex = 0;
+        Iterator<PatternTrips> pending = patterns.values().iterator();
+        while (pending.hasNext()) {
+            PatternTrips trips = pending.next();
+            pending.remove();  // 패턴 시각 버퍼는 KoreanTripSchedule로 옮긴 즉시 해제
+            routes[patternIndex] = buildRoute(patternIndex, trips, routeInfos.get(trips.route));
+            RaptorTimeTable<KoreanTripSchedule> timetable = routes[patternIndex].timetable();
+            int last = trips.stops.length - 1;
+            for (int t = 0; t < timetable.numberOfTripSchedules(); t++) {
+                KoreanTripSchedule schedule = timetable.getTripSchedule(t);
+                serviceStart = Math.min(serviceStart, schedule.departure(0));
+                serviceEnd = Math.max(serviceEnd, schedule.arrival(last));
+            }
+            tripCount += timetable.numberOfTripSchedules();
+            patternIndex++;
+        }
+
+        // 8. 도보 환승 + routesByStop
+        double[] lats = coords.stream().mapToDouble(p -> p[0]).toArray();
+        double[] lons = coords.stream().mapToDouble(p -> p[1]).toArray();
+        TransferIndex transfers = buildTransfers(lats, lons);
+
+        TransitData transitData = transfers.bind(new TransitData(
+            stopCount,
+            names.toArray(new String[0]),
+            lats,
+            lons,
+            routes,
+            transfers.transferListsFrom(),
+            transfers.transferListsTo(),
+            buildRoutesByStop(routes, stopCount),
+            tripCount == 0 ? 0 : serviceStart,
+            serviceEnd
+        ));
+
+        LOG.info("스트리밍 빌드 완료: 정류장 {}, 패턴 {}, 트립 {}, 환승 {} (정차 시간 {}ms, 전체 {}ms)",
+            stopCount, routes.length, tripCount, transfers.getTransferCount(),
+            afterStopTimes - start, System.currentTimeMillis() - start);
+        return transitData;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 패턴 그룹화
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 트립 순번 순서(= stop_times 등장 순서)로 정차 행을 읽어 패턴별로 쌓는다.
+     *
+     * stop_times가 trip_id로 모여 있으면(일반적인 경우) 행 범위를 그대로 쓰고,
+     * 섞여 있으면 트립 순번 기준 계수 정렬로 행 순서를 한 번 만든다.
+     */
+    private Map<PatternKey, PatternTrips> groupIntoPatterns(StopTimeColumns columns, int[] tripRoute,
+                                                            Map<String, Integer> stopIndex) {
+        int rows = columns.size();
+        int[] trips = columns.getTripOrdinals();
+        int[] stopOrdinals = columns.getStopOrdinals();
+        int[] arrivalColumn = columns.getArrivals();
+        int[] departureColumn = columns.getDepartures();
+        int[] sequences = columns.getSequences();
+        int tripCount = columns.getTripIds().size();
+
+        // 정류장 순번 → 정류장 인덱스
+        IdDictionary stopIds = columns.getStopIds();
+        int[] stopMapping = new int[stopIds.size()];
+        for (int i = 0; i < stopMapping.length; i++) {
+            stopMapping[i] = stopIndex.getOrDefault(stopIds.get(i), -1);
+        }
+
+        // 트립별 행 범위 (순번이 처음 등장 순서이므로, 모여 있으면 순번이 0 또는 1씩만 증가)
+        int[] offsets = new int[tripCount + 1];
+        for (int i = 0; i < rows; i++) {
+            offsets[trips[i] + 1]++;
+        }
+        for (int t = 0; t < tripCount; t++) {
+            offsets[t + 1] += offsets[t];
+        }
+        boolean contiguous = true;
+        for (int i = 1; i < rows && contiguous; i++) {
+            int step = trips[i] - trips[i - 1];
+            contiguous = step == 0 || step == 1;
+        }
+        int[] order = null;
+        if (!contiguous) {
+            order = new int[rows];
+            int[] cursor = Arrays.copyOf(offsets, tripCount);
+            for (int i = 0; i < rows; i++) {
+                order[cursor[trips[i]]++] = i;
+            }
+            LOG.info("stop_times가 trip_id로 모여 있지 않음 - 행 순서 재배열");
+        }
+
+        Map<PatternKey, PatternTrips> patterns = new LinkedHashMap<>();
+        int[] tripRows = new int[64];
+        int skippedTrips = 0;
+
+        for (int t = 0; t < tripCount; t++) {
+            int route = tripRoute[t];
+            if (route < 0) {
+                continue;
+            }
+            int from = offsets[t];
+            int length = offsets[t + 1] - from;
+            if (length < 2) {
+                skippedTrips++;
+                continue;
+            }
+
+            // 행 번호 (stop_sequence 순)
+            if (tripRows.length < length) {
+                tripRows = new int[Math.max(length, tripRows.length * 2)];
+            }
+            boolean sorted = true;
+            for (int i = 0; i < length; i++) {
+                tripRows[i] = order == null ? from + i : order[from + i];
+                if (i > 0 && sequences[tripRows[i]] < sequences[tripRows[i - 1]]) {
+                    sorted = false;
+                }
+            }
+            if (!sorted) {
+                sortBySequence(tripRows, length, sequences);
+            }
+
+            int[] stops = new int[length];
+            int[] arrivals = new int[length];
+            int[] departures = new int[length];
+            boolean valid = true;
+            for (int i = 0; i < length && valid; i++) {
+                int row = tripRows[i];
+                stops[i] = stopMapping[stopOrdinals[row]];
+                arrivals[i] = arrivalColumn[row];
+                departures[i] = departureColumn[row];
+                valid = stops[i] >= 0;
+            }
+            if (!valid || !interpolateMissingTimes(arrivals, departures)) {
+                skippedTrips++;
+                continue;
+            }
+
+            patterns.computeIfAbsent(new PatternKey(route, stops), key -> new PatternTrips(key.route(), key.stops()))
+                .add(columns.getTripIds().get(t), arrivals, departures);
+        }
+
+        if (skippedTrips > 0) {
+            LOG.warn("정류장 2개 미만/알 수 없는 정류장/시각 누락 트립 {}개 제외", skippedTrips);
+        }
+        return patterns;
+    }
+
+    private static void sortBySequence(int[] rows, int length, int[] sequences) {
+        for (int i = 1; i < length; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= 0 && sequences[rows[j]] > sequences[row]) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+
+    /**
+     * 시각이 비어 있는 정차(timepoint 아님)를 앞뒤 시각으로 선형 보간.
+     * 첫/마지막 정차 시각이 없으면 보간할 수 없으므로 false
+     */
+    private static boolean interpolateMissingTimes(int[] arrivals, int[] departures) {
+        int n = arrivals.length;
+        if (departures[0] == StopTimeColumns.NO_TIME || arrivals[n - 1] == StopTimeColumns.NO_TIME) {
+            return false;
+        }
+        int previous = 0;
+        for (int i = 1; i < n; i++) {
+            if (arrivals[i] == StopTimeColumns.NO_TIME) {
+                continue;
+            }
+            if (i - previous > 1) {
+                int fromTime = departures[previous];
+                int span = arrivals[i] - fromTime;
+                for (int k = previous + 1; k < i; k++) {
+                    int time = fromTime + span * (k - previous) / (i - previous);
+                    arrivals[k] = time;
+                    departures[k] = time;
+                }
+            }
+            previous = i;
+        }
+        return true;
+    }
+
+    private static KoreanRoute buildRoute(int patternIndex, PatternTrips trips, RouteInfo info) {
+        int n = trips.stops.length;
+        int tripCount = trips.tripIds.size();
+        KoreanTripPattern pattern = new KoreanTripPattern(
+            patternIndex, trips.stops, slackIndex(info.routeType()), info.shortName());
+
+        // 첫 출발 시각 순서 (버퍼에서 트립 t의 출발 시각 열은 t * 2n + n 부터)
+        Integer[] order = new Integer[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            order[t] = t;
+        }
+        Arrays.sort(order, Comparator.comparingInt(t -> trips.times[t * 2 * n + n]));
+
+        // 트립 우선 버퍼 → 정류장 위치 우선 컬럼
+        int[] arrivals = new int[n * tripCount];
+        int[] departures = new int[n * tripCount];
+        String[] tripIds = new String[tripCount];
+        String[] routeShortNames = new String[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            int base = order[t] * 2 * n;
+            for (int pos = 0; pos < n; pos++) {
+                arrivals[pos * tripCount + t] = trips.times[base + pos];
+                departures[pos * tripCount + t] = trips.times[base + n + pos];
+            }
+            tripIds[t] = trips.tripIds.get(order[t]);
+            routeShortNames[t] = info.shortName();
+        }
+
+        RaptorTimeTable<KoreanTripSchedule> timetable =
+            TimeShiftedTimeTable.encode(pattern, arrivals, departures, tripIds, routeShortNames);
+        return new KoreanRoute(pattern, timetable,
+            info.routeId(), info.shortName(), info.longName(), info.routeType());
+    }
+
+    /**
+     * route_type → slackIndex (확장 유형 포함, 예: 401 도시철도 / 102 철도는 0)
+     */
+    static int slackIndex(int routeType) {
+        return switch (TransitMode.of(routeType)) {
+            case TRAM, SUBWAY, RAIL -> 0;  // 트램/지하철/철도
+            default -> 1;                  // 버스/기타
+        };
+    }
+
+    private static int parseRouteType(String value) {
+        try {
+            return value.isEmpty() ? 3 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 3;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 환승 / 정류장별 노선
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 반경 내 모든 정류장 쌍에 도보 환승 생성 (격자 해시로 이웃 칸만 비교).
+     * 정류장별 List 없이 TransferIndex CSR로 바로 만든다.
+     */
+    private static TransferIndex buildTransfers(double[] lats, double[] lons) {
+        int stopCount = lats.length;
+        TransferIndex.Builder transfers = new TransferIndex.Builder(stopCount);
+
+        double metersPerLon = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(36.5));
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        long[] cellX = new long[stopCount];
+        long[] cellY = new long[stopCount];
+        for (int i = 0; i < stopCount; i++) {
+            cellX[i] = (long) Math.floor(lons[i] * metersPerLon / TRANSFER_RADIUS_METERS);
+            cellY[i] = (long) Math.floor(lats[i] * METERS_PER_DEGREE_LAT / TRANSFER_RADIUS_METERS);
+            cells.computeIfAbsent(cellKey(cellX[i], cellY[i]), k -> new ArrayList<>()).add(i);
+        }
+
+        for (int from = 0; from < stopCount; from++) {
+            for (long dx = -1; dx <= 1; dx++) {
+                for (long dy = -1; dy <= 1; dy++) {
+                    List<Integer> cell = cells.get(cellKey(cellX[from] + dx, cellY[from] + dy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int to : cell) {
+                        if (to == from) {
+                            continue;
+                        }
+                        double meters = StreetNetwork.haversineDistance(lats[from], lons[from], lats[to], lons[to]);
+                        if (meters > TRANSFER_RADIUS_METERS) {
+                            continue;
+                        }
+                        int seconds = Math.max(1, (int) Math.round(meters / WALK_SPEED_MPS));
+                        int cost = seconds * TRANSFER_COST_PER_SECOND;
+                        transfers.add(from, to, seconds, cost);
+                    }
+                }
+            }
+        }
+        return transfers.build();
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
+    }
+
+    private static int[][] buildRoutesByStop(KoreanRoute[] routes, int stopCount) {
+        int[] counts = new int[stopCount];
+        for (KoreanRoute route : routes) {
+            for (int stop : distinct(((KoreanTripPattern) route.pattern()).getStopIndexes())) {
+                counts[stop]++;
+            }
+        }
+
+        int[][] routesByStop = new int[stopCount][];
+        for (int s = 0; s < stopCount; s++) {
+            routesByStop[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int r = 0; r < routes.length; r++) {
+            for (int stop : distinct(((KoreanTripPattern) routes[r].pattern()).getStopIndexes())) {
+                routesByStop[stop][counts[stop]++] = r;
+            }
+        }
+        return routesByStop;
+    }
+
+    private static int[] distinct(int[] stops) {
+        return Arrays.stream(stops).distinct().toArray();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 작은 CSV 파일 (stops/routes/trips/calendar)
+    // ═══════════════════════════════════════════════════════════════
+
+    private interface RowHandler {
+        void accept(String[] row);
+    }
+
+    /**
+     * CSV를 한 줄씩 읽어 지정한 컬럼 값만 전달 (없는 컬럼은 빈 문자열)
+     *
+     * 숫자 형식 오류 행은 건너뛰고 세어 두었다가, 전체 행의 MAX_MALFORMED_ROW_RATIO를 넘으면
+     * 잘못된 파일(인코딩/컬럼 밀림 등)로 보고 IOException을 던진다.
+     */
+    private void forEachRow(String fileName, String[] columnNames, RowHandler handler) throws IOException {
+        Path file = gtfsDir.resolve(fileName);
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVReader csv = new CSVReader(reader)) {
+            String[] header = csv.readNext();
+            if (header == null) {
+                return;
+            }
+            int[] positions = new int[columnNames.length];
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < header.length; i++) {
+                String name = header[i].replace("\uFEFF", "").trim();
+                for (int c = 0; c < columnNames.length; c++) {
+                    if (columnNames[c].equals(name)) {
+                        positions[c] = i;
+                    }
+                }
+            }
+            if (positions[0] < 0) {
+                throw new IOException(fileName + "에 " + columnNames[0] + " 컬럼이 없습니다");
+            }
+
+            String[] values = new String[columnNames.length];
+            String[] line;
+            long rows = 0;
+            long malformed = 0;
+            while ((line = csv.readNext()) != null) {
+                if (line.length == 1 && line[0].isBlank()) {
+                    continue;
+                }
+                rows++;
+                for (int c = 0; c < positions.length; c++) {
+                    int p = positions[c];
+                    values[c] = p >= 0 && p < line.length ? line[p].trim() : "";
+                }
+                try {
+                    handler.accept(values);
+                } catch (NumberFormatException e) {
+                    if (++malformed <= MALFORMED_ROWS_TO_LOG) {
+                        LOG.warn("{} 형식 오류 행 건너뜀: {}", fileName, String.join(",", line));
+                    }
+                }
+            }
+            if (malformed > rows * MAX_MALFORMED_ROW_RATIO) {
+                throw new IOException(String.format("%s 형식 오류 행이 너무 많습니다: %d / %d행",
+                    fileName, malformed, rows));
+            }
+            if (malformed > 0) {
+                LOG.warn("{} 형식 오류 행 {}개 건너뜀 (전체 {}행)", fileName, malformed, rows);
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException(fileName + " 파싱 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 요일 중 하루라도 운행하는 service_id (calendar.txt가 없으면 null = 전체 운행)
+     */
+    private Set<String> loadActiveServices() throws IOException {
+        if (!Files.exists(gtfsDir.resolve("calendar.txt"))) {
+            return null;
+        }
+        Set<String> services = new HashSet<>();
+        String[] columns = {"service_id", "monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+        forEachRow("calendar.txt", columns, row -> {
+            for (int d = 1; d < row.length; d++) {
+                if (row[d].equals("1")) {
+                    services.add(row[0]);
+                    return;
+                }
+            }
+        });
+        return services;
+    }
+}
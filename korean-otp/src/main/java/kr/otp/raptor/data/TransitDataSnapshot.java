@@ -0,0 +1,680 @@
+package kr.otp.raptor.data;
+
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TimeShiftedTimeTable;
+import kr.otp.raptor.spi.TransferIndex;
+
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * TransitData 바이너리 스냅샷 (버전 관리, 메모리 매핑 로드).
+ *
+ * GTFS CSV 파싱 + TransitDataBuilder 빌드(약 12초)를 처음 한 번만 하고,
+ * 이후 시작 시에는 스냅샷 파일을 FileChannel.map으로 매핑해서 TransitData를 복원한다.
+ *
+ * 파일 구조 (리틀 엔디언, 모든 섹션 8바이트 정렬):
+ * <pre>
+ * [헤더]  magic "KRTD", 버전, GTFS 지문, 개수(정류장/노선/트립/정차시간/문자열), 운행 시간
+ * [섹션 목록] 섹션별 (오프셋, 바이트 길이)
+ * [섹션]  정류장 좌표/이름, 노선 정보, 패턴 정류장(CSR), 트립 정보, 도착/출발 시각,
+ *         환승 from/to (CSR), routesByStop (CSR), 문자열 풀
+ * </pre>
+ *
+ * 모든 문자열은 중복 제거된 문자열 풀의 인덱스로 저장된다 (트립의 노선명 등).
+ * 각 섹션은 기본형 배열 그대로이므로 복원은 매핑된 버퍼에서의 bulk get(메모리 복사)뿐이다.
+ * 시간표는 TimeShiftedTimeTable.encode()로 복원된다 (반복 운행 패턴은 오프셋 프로필, 나머지는 ColumnarTimeTable).
+ *
+ * 트립의 tripSortIndex는 저장하지 않는다. 복원된 트립은 첫 정류장 출발 시각을 정렬 키로 쓴다
+ * (빌더가 만든 값과 같다).
+ *
+ * 지문(GTFS 파일 크기 + 수정 시각, 빌더 종류/버전, 스냅샷 버전)이 다르면 로드하지 않는다 → 재빌드.
+ */
+public final class TransitDataSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransitDataSnapshot.class);
+
+    private static final int MAGIC = 0x4454524B;  // "KRTD" (리틀 엔디언)
+    public static final int VERSION = 2;
+
+    /** 노선당 정수 필드: patternIndex, slackIndex, routeType, routeId, shortName, longName, debugInfo */
+    private static final int ROUTE_FIELDS = 7;
+    /** 트립당 정수 필드: tripId, routeShortName */
+    private static final int TRIP_FIELDS = 2;
+    /** 환승당 정수 필드: stop, durationInSeconds, c1 */
+    private static final int TRANSFER_FIELDS = 3;
+
+    /**
+     * 섹션 (순서 = 파일 내 순서)
+     */
+    private enum Section {
+        STOP_LAT,
+        STOP_LON,
+        STOP_NAME,
+        ROUTE_INFO,
+        PATTERN_STOP_OFFSETS,
+        PATTERN_STOPS,
+        TRIP_OFFSETS,
+        TRIP_INFO,
+        ARRIVALS,
+        DEPARTURES,
+        TRANSFER_FROM_OFFSETS,
+        TRANSFER_FROM,
+        TRANSFER_TO_OFFSETS,
+        TRANSFER_TO,
+        ROUTES_BY_STOP_OFFSETS,
+        ROUTES_BY_STOP,
+        STRING_OFFSETS,
+        STRING_BYTES
+    }
+
+    // magic, version, fingerprint(long), stopCount, routeCount, tripCount, stopTimeCount(long),
+    // stringCount, serviceStart, serviceEnd, 예약 → 64바이트
+    private static final int FIXED_HEADER_BYTES = 64;
+    private static final int HEADER_BYTES = FIXED_HEADER_BYTES + Section.values().length * 16;
+
+    private TransitDataSnapshot() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 지문
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * GTFS 디렉토리 + 빌더 지문 (*.txt 파일명, 크기, 수정 시각 기반)
+     *
+     * 파일 내용을 읽지 않으므로 즉시 계산된다. 빌더가 바뀌거나(스트리밍 ↔ GtfsLoader)
+     * 빌더/스냅샷 형식 버전이 오르면 지문도 바뀌어 재빌드된다.
+     *
+     * @param builderId 빌더 종류와 버전 (예: "streaming-v1")
+     */
+    public static long fingerprint(Path gtfsDir, String builderId) throws IOException {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + VERSION;
+        hash = 31 * hash + builderId.hashCode();
+        try (Stream<Path> files = Files.list(gtfsDir)) {
+            List<Path> sorted = files
+                .filter(p -> p.getFileName().toString().endsWith(".txt"))
+                .sorted()
+                .toList();
+            for (Path file : sorted) {
+                hash = 31 * hash + file.getFileName().toString().hashCode();
+                hash = 31 * hash + Files.size(file);
+                hash = 31 * hash + Files.getLastModifiedTime(file).toMillis();
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 스냅샷이 존재하고 버전/지문이 일치하는지 확인 (헤더만 읽음)
+     */
+    public static boolean isValid(Path snapshotPath, long expectedFingerprint) {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            return header.getInt() == MAGIC
+                && header.getInt() == VERSION
+                && header.getLong() == expectedFingerprint;
+        } catch (IOException e) {
+            LOG.warn("스냅샷 헤더 읽기 실패: {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 쓰기
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * TransitData를 스냅샷 파일로 저장 (임시 파일에 쓴 뒤 원자적으로 교체)
+     *
+     * @param fingerprint GTFS 지문 (fingerprint(gtfsDir, builderId))
+     */
+    public static void write(TransitData data, long fingerprint, Path snapshotPath) throws IOException {
+        long start = System.currentTimeMillis();
+
+        int stopCount = data.getStopCount();
+        int routeCount = data.getRouteCount();
+        StringPool strings = new StringPool();
+
+        // 정류장
+        double[] lats = new double[stopCount];
+        double[] lons = new double[stopCount];
+        int[] names = new int[stopCount];
+        for (int s = 0; s < stopCount; s++) {
+            lats[s] = data.getStopLat(s);
+            lons[s] = data.getStopLon(s);
+            names[s] = strings.add(data.getStopName(s));
+        }
+
+        // 노선 / 패턴 / 트립 개수 (배열 크기 결정)
+        int[] patternStopOffsets = new int[routeCount + 1];
+        int[] tripOffsets = new int[routeCount + 1];
+        long stopTimeCount = 0;
+        for (int r = 0; r < routeCount; r++) {
+            KoreanRoute route = data.getRoute(r);
+            int stopsInPattern = route.pattern().numberOfStopsInPattern();
+            int trips = route.timetable().numberOfTripSchedules();
+            patternStopOffsets[r + 1] = patternStopOffsets[r] + stopsInPattern;
+            tripOffsets[r + 1] = tripOffsets[r] + trips;
+            stopTimeCount += (long) stopsInPattern * trips;
+        }
+        if (stopTimeCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("정차 시간 수가 너무 많습니다: " + stopTimeCount);
+        }
+
+        int tripCount = tripOffsets[routeCount];
+        int[] routeInfo = new int[routeCount * ROUTE_FIELDS];
+        int[] patternStops = new int[patternStopOffsets[routeCount]];
+        int[] tripInfo = new int[tripCount * TRIP_FIELDS];
+        int[] arrivals = new int[(int) stopTimeCount];
+        int[] departures = new int[(int) stopTimeCount];
+
+        int stopTimePos = 0;
+        for (int r = 0; r < routeCount; r++) {
+            KoreanRoute route = data.getRoute(r);
+            KoreanTripPattern pattern = (KoreanTripPattern) route.pattern();
+
+            int info = r * ROUTE_FIELDS;
+            routeInfo[info] = pattern.patternIndex();
+            routeInfo[info + 1] = pattern.slackIndex();
+            routeInfo[info + 2] = route.getRouteType();
+            routeInfo[info + 3] = strings.add(route.getRouteId());
+            routeInfo[info + 4] = strings.add(route.getRouteShortName());
+            routeInfo[info + 5] = strings.add(route.getRouteLongName());
+            routeInfo[info + 6] = strings.add(pattern.debugInfo());
+
+            int[] stops = pattern.getStopIndexes();
+            System.arraycopy(stops, 0, patternStops, patternStopOffsets[r], stops.length);
+
+            RaptorTimeTable<KoreanTripSchedule> timetable = route.timetable();
+            int trips = timetable.numberOfTripSchedules();
+            for (int t = 0; t < trips; t++) {
+                KoreanTripSchedule schedule = timetable.getTripSchedule(t);
+                int tripInfoPos = (tripOffsets[r] + t) * TRIP_FIELDS;
+                tripInfo[tripInfoPos] = strings.add(schedule.getTripId());
+                tripInfo[tripInfoPos + 1] = strings.add(schedule.getRouteShortName());
+
+                for (int p = 0; p < stops.length; p++) {
+                    arrivals[stopTimePos] = schedule.arrival(p);
+                    departures[stopTimePos] = schedule.departure(p);
+                    stopTimePos++;
+                }
+            }
+        }
+
+        // 환승 / routesByStop (CSR)
+        int[][] transfersFrom = transfersToCsr(stopCount, data::getTransfersFrom);
+        int[][] transfersTo = transfersToCsr(stopCount, data::getTransfersTo);
+
+        int[] routesByStopOffsets = new int[stopCount + 1];
+        for (int s = 0; s < stopCount; s++) {
+            routesByStopOffsets[s + 1] = routesByStopOffsets[s] + data.getRoutesByStop(s).length;
+        }
+        int[] routesByStop = new int[routesByStopOffsets[stopCount]];
+        for (int s = 0; s < stopCount; s++) {
+            int[] routes = data.getRoutesByStop(s);
+            System.arraycopy(routes, 0, routesByStop, routesByStopOffsets[s], routes.length);
+        }
+
+        // 파일 쓰기
+        Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter writer = new SectionWriter(channel);
+            writer.doubles(Section.STOP_LAT, lats);
+            writer.doubles(Section.STOP_LON, lons);
+            writer.ints(Section.STOP_NAME, names);
+            writer.ints(Section.ROUTE_INFO, routeInfo);
+            writer.ints(Section.PATTERN_STOP_OFFSETS, patternStopOffsets);
+            writer.ints(Section.PATTERN_STOPS, patternStops);
+            writer.ints(Section.TRIP_OFFSETS, tripOffsets);
+            writer.ints(Section.TRIP_INFO, tripInfo);
+            writer.ints(Section.ARRIVALS, arrivals);
+            writer.ints(Section.DEPARTURES, departures);
+            writer.ints(Section.TRANSFER_FROM_OFFSETS, transfersFrom[0]);
+            writer.ints(Section.TRANSFER_FROM, transfersFrom[1]);
+            writer.ints(Section.TRANSFER_TO_OFFSETS, transfersTo[0]);
+            writer.ints(Section.TRANSFER_TO, transfersTo[1]);
+            writer.ints(Section.ROUTES_BY_STOP_OFFSETS, routesByStopOffsets);
+            writer.ints(Section.ROUTES_BY_STOP, routesByStop);
+            writer.ints(Section.STRING_OFFSETS, strings.offsets());
+            writer.bytes(Section.STRING_BYTES, strings.bytes());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putLong(fingerprint);
+            header.putInt(stopCount);
+            header.putInt(routeCount);
+            header.putInt(tripCount);
+            header.putLong(stopTimeCount);
+            header.putInt(strings.size());
+            header.putInt(data.getServiceStartTime());
+            header.putInt(data.getServiceEndTime());
+            header.position(FIXED_HEADER_BYTES);
+            for (Section section : Section.values()) {
+                header.putLong(writer.offsets[section.ordinal()]);
+                header.putLong(writer.lengths[section.ordinal()]);
+            }
+            header.flip();
+            writeFully(channel, header, 0);
+            channel.force(false);
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        LOG.info("TransitData 스냅샷 저장: {} ({}MB, {}ms)", snapshotPath,
+            Files.size(snapshotPath) / (1024 * 1024), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 정류장별 환승 목록 → CSR (오프셋 배열, [stop, duration, c1] 평탄 배열)
+     */
+    private static int[][] transfersToCsr(int stopCount, IntFunction<Iterator<KoreanTransfer>> source) {
+        int[] offsets = new int[stopCount + 1];
+        IntArrayBuilder flat = new IntArrayBuilder();
+        for (int s = 0; s < stopCount; s++) {
+            Iterator<KoreanTransfer> it = source.apply(s);
+            int count = 0;
+            while (it.hasNext()) {
+                KoreanTransfer transfer = it.next();
+                flat.add(transfer.stop());
+                flat.add(transfer.durationInSeconds());
+                flat.add(transfer.c1());
+                count++;
+            }
+            offsets[s + 1] = offsets[s] + count;
+        }
+        return new int[][] {offsets, flat.toArray()};
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 읽기
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 스냅샷 파일을 매핑해서 TransitData 복원
+     *
+     * @throws IOException 파일 형식/버전이 맞지 않거나 읽기 실패 시
+     */
+    public static TransitData load(Path snapshotPath) throws IOException {
+        long start = System.currentTimeMillis();
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("TransitData 스냅샷 파일이 아닙니다: " + snapshotPath);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("스냅샷 버전 불일치: 파일=%d, 지원=%d", version, VERSION));
+            }
+            header.getLong();  // 지문 (isValid에서 확인)
+            int stopCount = header.getInt();
+            int routeCount = header.getInt();
+            int tripCount = header.getInt();
+            long stopTimeCount = header.getLong();
+            int stringCount = header.getInt();
+            int serviceStart = header.getInt();
+            int serviceEnd = header.getInt();
+
+            long[] offsets = new long[Section.values().length];
+            long[] lengths = new long[Section.values().length];
+            header.position(FIXED_HEADER_BYTES);
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = header.getLong();
+                lengths[i] = header.getLong();
+            }
+            SectionReader reader = new SectionReader(channel, offsets, lengths);
+
+            // 문자열 풀
+            String[] strings = readStrings(reader, stringCount);
+
+            // 정류장
+            double[] lats = reader.doubles(Section.STOP_LAT);
+            double[] lons = reader.doubles(Section.STOP_LON);
+            int[] nameIds = reader.ints(Section.STOP_NAME);
+            String[] names = new String[stopCount];
+            for (int s = 0; s < stopCount; s++) {
+                names[s] = string(strings, nameIds[s]);
+            }
+
+            // 노선 / 패턴 / 트립
+            int[] routeInfo = reader.ints(Section.ROUTE_INFO);
+            int[] patternStopOffsets = reader.ints(Section.PATTERN_STOP_OFFSETS);
+            IntBuffer patternStops = reader.intBuffer(Section.PATTERN_STOPS);
+            int[] tripOffsets = reader.ints(Section.TRIP_OFFSETS);
+            int[] tripInfo = reader.ints(Section.TRIP_INFO);
+            IntBuffer arrivals = reader.intBuffer(Section.ARRIVALS);
+            IntBuffer departures = reader.intBuffer(Section.DEPARTURES);
+
+            KoreanRoute[] routes = new KoreanRoute[routeCount];
+            int stopTimePos = 0;
+            for (int r = 0; r < routeCount; r++) {
+                int info = r * ROUTE_FIELDS;
+                int stopsInPattern = patternStopOffsets[r + 1] - patternStopOffsets[r];
+                int[] stops = new int[stopsInPattern];
+                patternStops.get(patternStopOffsets[r], stops);
+
+                KoreanTripPattern pattern = new KoreanTripPattern(
+                    routeInfo[info], stops, routeInfo[info + 1], string(strings, routeInfo[info + 6]));
+
+                // 파일은 트립 우선 배치 → 컬럼형 시간표(정류장 위치 우선)로 전치
+                int trips = tripOffsets[r + 1] - tripOffsets[r];
+                int[] arr = new int[stopsInPattern * trips];
+                int[] dep = new int[stopsInPattern * trips];
+                String[] tripIds = new String[trips];
+                String[] routeShortNames = new String[trips];
+                for (int t = 0; t < trips; t++) {
+                    int tripInfoPos = (tripOffsets[r] + t) * TRIP_FIELDS;
+                    for (int p = 0; p < stopsInPattern; p++) {
+                        arr[p * trips + t] = arrivals.get(stopTimePos + p);
+                        dep[p * trips + t] = departures.get(stopTimePos + p);
+                    }
+                    stopTimePos += stopsInPattern;
+                    tripIds[t] = string(strings, tripInfo[tripInfoPos]);
+                    routeShortNames[t] = string(strings, tripInfo[tripInfoPos + 1]);
+                }
+
+                RaptorTimeTable<KoreanTripSchedule> timetable =
+                    TimeShiftedTimeTable.encode(pattern, arr, dep, tripIds, routeShortNames);
+                routes[r] = new KoreanRoute(pattern, timetable,
+                    string(strings, routeInfo[info + 3]), string(strings, routeInfo[info + 4]),
+                    string(strings, routeInfo[info + 5]), routeInfo[info + 2]);
+            }
+            if (stopTimePos != stopTimeCount || tripOffsets[routeCount] != tripCount) {
+                throw new IOException("스냅샷 데이터 불일치 (정차 시간/트립 수): " + snapshotPath);
+            }
+
+            // 환승: 파일의 CSR을 그대로 TransferIndex로 (TransitData에는 인덱스의 정류장별 뷰)
+            int[] transferFromOffsets = reader.ints(Section.TRANSFER_FROM_OFFSETS);
+            int[] transferToOffsets = reader.ints(Section.TRANSFER_TO_OFFSETS);
+            TransferIndex transfers = TransferIndex.of(
+                transferFromOffsets, readTransfers(reader, transferFromOffsets, Section.TRANSFER_FROM),
+                transferToOffsets, readTransfers(reader, transferToOffsets, Section.TRANSFER_TO));
+
+            // routesByStop
+            int[] routesByStopOffsets = reader.ints(Section.ROUTES_BY_STOP_OFFSETS);
+            IntBuffer routesByStopFlat = reader.intBuffer(Section.ROUTES_BY_STOP);
+            int[][] routesByStop = new int[stopCount][];
+            for (int s = 0; s < stopCount; s++) {
+                routesByStop[s] = new int[routesByStopOffsets[s + 1] - routesByStopOffsets[s]];
+                routesByStopFlat.get(routesByStopOffsets[s], routesByStop[s]);
+            }
+
+            TransitData data = transfers.bind(new TransitData(stopCount, names, lats, lons, routes,
+                transfers.transferListsFrom(), transfers.transferListsTo(), routesByStop, serviceStart, serviceEnd));
+
+            LOG.info("TransitData 스냅샷 로드: {} 정류장, {} 노선, {} 트립, {} 정차 시간 ({}ms)",
+                stopCount, routeCount, tripCount, stopTimeCount, System.currentTimeMillis() - start);
+            return data;
+        }
+    }
+
+    private static String[] readStrings(SectionReader reader, int stringCount) throws IOException {
+        int[] offsets = reader.ints(Section.STRING_OFFSETS);
+        ByteBuffer bytes = reader.map(Section.STRING_BYTES);
+        byte[] all = new byte[bytes.remaining()];
+        bytes.get(all);
+
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            strings[i] = new String(all, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * 문자열 풀 조회 (-1 = null)
+     */
+    private static String string(String[] strings, int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    private static KoreanTransfer[] readTransfers(SectionReader reader, int[] offsets,
+                                                  Section dataSection) throws IOException {
+        IntBuffer flat = reader.intBuffer(dataSection);
+        KoreanTransfer[] transfers = new KoreanTransfer[offsets[offsets.length - 1]];
+        for (int i = 0; i < transfers.length; i++) {
+            int pos = i * TRANSFER_FIELDS;
+            transfers[i] = new KoreanTransfer(flat.get(pos), flat.get(pos + 1), flat.get(pos + 2));
+        }
+        return transfers;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 섹션 입출력
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 섹션 순차 기록 (헤더 영역 이후부터, 8바이트 정렬)
+     */
+    private static final class SectionWriter {
+        private static final int CHUNK = 1 << 20;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+        private final long[] offsets = new long[Section.values().length];
+        private final long[] lengths = new long[Section.values().length];
+        private long position = HEADER_BYTES;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void ints(Section section, int[] values) throws IOException {
+            begin(section, (long) values.length * Integer.BYTES);
+            int pos = 0;
+            while (pos < values.length) {
+                int n = Math.min(values.length - pos, CHUNK / Integer.BYTES);
+                buffer.clear();
+                buffer.asIntBuffer().put(values, pos, n);
+                buffer.limit(n * Integer.BYTES);
+                flush();
+                pos += n;
+            }
+            end();
+        }
+
+        void doubles(Section section, double[] values) throws IOException {
+            begin(section, (long) values.length * Double.BYTES);
+            int pos = 0;
+            while (pos < values.length) {
+                int n = Math.min(values.length - pos, CHUNK / Double.BYTES);
+                buffer.clear();
+                buffer.asDoubleBuffer().put(values, pos, n);
+                buffer.limit(n * Double.BYTES);
+                flush();
+                pos += n;
+            }
+            end();
+        }
+
+        void bytes(Section section, byte[] values) throws IOException {
+            begin(section, values.length);
+            int pos = 0;
+            while (pos < values.length) {
+                int n = Math.min(values.length - pos, CHUNK);
+                buffer.clear();
+                buffer.put(values, pos, n);
+                buffer.flip();
+                flush();
+                pos += n;
+            }
+            end();
+        }
+
+        private void begin(Section section, long length) {
+            offsets[section.ordinal()] = position;
+            lengths[section.ordinal()] = length;
+        }
+
+        private void flush() throws IOException {
+            position += writeFully(channel, buffer, position);
+        }
+
+        private void end() throws IOException {
+            int padding = (int) ((8 - (position & 7)) & 7);
+            if (padding > 0) {
+                buffer.clear();
+                buffer.put(new byte[padding]);
+                buffer.flip();
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 섹션별 메모리 매핑 (섹션마다 별도 매핑 → 2GB 제한은 섹션 단위로만 적용)
+     */
+    private static final class SectionReader {
+        private final FileChannel channel;
+        private final long[] offsets;
+        private final long[] lengths;
+
+        SectionReader(FileChannel channel, long[] offsets, long[] lengths) {
+            this.channel = channel;
+            this.offsets = offsets;
+            this.lengths = lengths;
+        }
+
+        MappedByteBuffer map(Section section) throws IOException {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                offsets[section.ordinal()], lengths[section.ordinal()]);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+
+        IntBuffer intBuffer(Section section) throws IOException {
+            return map(section).asIntBuffer();
+        }
+
+        int[] ints(Section section) throws IOException {
+            IntBuffer buffer = intBuffer(section);
+            int[] values = new int[buffer.remaining()];
+            buffer.get(values);
+            return values;
+        }
+
+        double[] doubles(Section section) throws IOException {
+            DoubleBuffer buffer = map(section).asDoubleBuffer();
+            double[] values = new double[buffer.remaining()];
+            buffer.get(values);
+            return values;
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 보조 구조
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 중복 제거 문자열 풀 (null은 풀에 넣지 않고 인덱스 -1로 기록)
+     */
+    private static final class StringPool {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final IntArrayBuilder offsets = new IntArrayBuilder();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        StringPool() {
+            offsets.add(0);
+        }
+
+        int add(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            int newId = ids.size();
+            bytes.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            offsets.add(bytes.size());
+            ids.put(value, newId);
+            return newId;
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        /**
+         * 문자열 i = bytes[offsets[i], offsets[i + 1])
+         */
+        int[] offsets() {
+            return offsets.toArray();
+        }
+
+        byte[] bytes() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * 가변 길이 int 배열
+     */
+    private static final class IntArrayBuilder {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package kr.otp.raptor.spi;
+
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 컬럼형 시간표 (패턴당 도착/출발 int[] 하나씩).
+ *
+ * KoreanTimeTable은 트립마다 KoreanTripSchedule + int[] 2개를 가지므로 전국 기준 배열 70만 개가
+ * 힙에 흩어지고, 트립 검색은 트립마다 다른 배열을 오간다.
+ * 이 시간표는 패턴의 시각을 정류장 위치 우선(stop-position-major)으로 한 배열에 모은다:
+ * <pre>
+ * departures[pos * tripCount + trip]   (arrivals도 같은 배치)
+ * </pre>
+ * 그래서 탑승 정류장의 출발 시각 열이 연속된 메모리가 되고, 트립 검색은 그 열을 이진 검색한다.
+ *
+ * getTripSchedule()은 시각 배열이 없는 ColumnarTripSchedule 뷰를 반환한다 (트립당 객체 1개, 배열 0개).
+ * RaptorTimeTable 계약은 KoreanTimeTable과 같다: 트립은 첫 출발 시각 순이고 추월이 없다.
+ */
+public class ColumnarTimeTable implements RaptorTimeTable<KoreanTripSchedule> {
+
+    private final KoreanTripPattern pattern;
+    private final int tripCount;
+    private final int[] arrivals;
+    private final int[] departures;
+    private final ColumnarTripSchedule[] schedules;
+
+    /**
+     * @param pattern         트립 패턴
+     * @param arrivals        도착 시각 (정류장 위치 우선: [pos * tripCount + trip])
+     * @param departures      출발 시각 (같은 배치)
+     * @param tripIds         트립 ID (트립 순서, 첫 출발 시각 순으로 정렬되어 있어야 함)
+     * @param routeShortNames 트립별 노선 번호
+     */
+    public ColumnarTimeTable(KoreanTripPattern pattern, int[] arrivals, int[] departures,
+                             String[] tripIds, String[] routeShortNames) {
+        int stops = pattern.numberOfStopsInPattern();
+        this.tripCount = tripIds.length;
+        if (arrivals.length != stops * tripCount || departures.length != stops * tripCount
+                || routeShortNames.length != tripCount) {
+            throw new IllegalArgumentException(String.format(
+                "시간표 크기 불일치: 정류장 %d × 트립 %d, 도착 %d, 출발 %d",
+                stops, tripCount, arrivals.length, departures.length));
+        }
+        this.pattern = pattern;
+        this.arrivals = arrivals;
+        this.departures = departures;
+        this.schedules = new ColumnarTripSchedule[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            schedules[t] = new ColumnarTripSchedule(this, t, pattern, tripIds[t], routeShortNames[t]);
+        }
+    }
+
+    /**
+     * 기존 트립 배열을 컬럼형으로 변환 (첫 출발 시각 순으로 정렬)
+     */
+    public static ColumnarTimeTable of(KoreanTripPattern pattern, KoreanTripSchedule[] schedules) {
+        KoreanTripSchedule[] sorted = schedules.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(KoreanTripSchedule::tripSortIndex));
+
+        int stops = pattern.numberOfStopsInPattern();
+        int trips = sorted.length;
+        int[] arrivals = new int[stops * trips];
+        int[] departures = new int[stops * trips];
+        String[] tripIds = new String[trips];
+        String[] routeShortNames = new String[trips];
+        for (int t = 0; t < trips; t++) {
+            KoreanTripSchedule schedule = sorted[t];
+            for (int pos = 0; pos < stops; pos++) {
+                arrivals[pos * trips + t] = schedule.arrival(pos);
+                departures[pos * trips + t] = schedule.departure(pos);
+            }
+            tripIds[t] = schedule.getTripId();
+            routeShortNames[t] = schedule.getRouteShortName();
+        }
+        return new ColumnarTimeTable(pattern, arrivals, departures, tripIds, routeShortNames);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // RaptorTimeTable
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public KoreanTripSchedule getTripSchedule(int index) {
+        return schedules[index];
+    }
+
+    @Override
+    public int numberOfTripSchedules() {
+        return tripCount;
+    }
+
+    /**
+     * 검색 객체는 상태(결과 이벤트)를 가지므로 호출마다 새로 만든다 (멀티스레드 검색 안전)
+     */
+    @Override
+    public RaptorTripScheduleSearch<KoreanTripSchedule> tripSearch(SearchDirection direction) {
+        return new ColumnarTripScheduleSearch(this, direction);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 컬럼 접근
+    // ═══════════════════════════════════════════════════════════════
+
+    public int arrival(int trip, int stopPositionInPattern) {
+        return arrivals[stopPositionInPattern * tripCount + trip];
+    }
+
+    public int departure(int trip, int stopPositionInPattern) {
+        return departures[stopPositionInPattern * tripCount + trip];
+    }
+
+    public KoreanTripPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 도착 시각 컬럼 (복사 없음, 수정 금지)
+     */
+    int[] arrivalColumns() {
+        return arrivals;
+    }
+
+    /**
+     * 출발 시각 컬럼 (복사 없음, 수정 금지)
+     */
+    int[] departureColumns() {
+        return departures;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ColumnarTimeTable[pattern=%d, stops=%d, trips=%d]",
+            pattern.patternIndex(), pattern.numberOfStopsInPattern(), tripCount);
+    }
+}
@@ -0,0 +1,28 @@
+package kr.otp.raptor.spi;
+
+/**
+ * ColumnarTimeTable의 트립 뷰 (flyweight).
+ *
+ * 시각 배열을 갖지 않고 시간표의 컬럼에서 (트립 순번, 정류장 위치)로 읽는다.
+ * 기존 코드(경로 출력, 시나리오, 스냅샷)는 KoreanTripSchedule로 그대로 다룰 수 있다.
+ */
+public final class ColumnarTripSchedule extends FlyweightTripSchedule {
+
+    private final ColumnarTimeTable timetable;
+
+    ColumnarTripSchedule(ColumnarTimeTable timetable, int tripIndex, KoreanTripPattern pattern,
+                         String tripId, String routeShortName) {
+        super(tripIndex, timetable.departure(tripIndex, 0), pattern, tripId, routeShortName);
+        this.timetable = timetable;
+    }
+
+    @Override
+    public int arrival(int stopPosInPattern) {
+        return timetable.arrival(getTripIndex(), stopPosInPattern);
+    }
+
+    @Override
+    public int departure(int stopPosInPattern) {
+        return timetable.departure(getTripIndex(), stopPosInPattern);
+    }
+}
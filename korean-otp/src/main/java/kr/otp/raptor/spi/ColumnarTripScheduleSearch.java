@@ -0,0 +1,129 @@
+package kr.otp.raptor.spi;
+
+import org.opentripplanner.raptor.api.model.RaptorTransferConstraint;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorBoardOrAlightEvent;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+/**
+ * ColumnarTimeTable 트립 검색.
+ *
+ * 탑승(정방향): 정류장 위치의 출발 시각 열에서 earliestBoardTime 이상인 첫 트립
+ * 하차(역방향): 정류장 위치의 도착 시각 열에서 earliestBoardTime 이하인 마지막 트립
+ *
+ * 열이 연속된 int 구간이므로 이진 검색이 트립 객체를 건너다니지 않는다.
+ * tripIndexLimit는 OTP 계약대로 배타적 경계다 (정방향은 위쪽, 역방향은 아래쪽).
+ * 결과 이벤트는 검색 객체 자신이다 (OTP TripScheduleBoardSearch와 같은 방식, 스레드 간 공유 금지).
+ */
+public final class ColumnarTripScheduleSearch
+    implements RaptorTripScheduleSearch<KoreanTripSchedule>, RaptorBoardOrAlightEvent<KoreanTripSchedule> {
+
+    private final ColumnarTimeTable timetable;
+    private final boolean forward;
+    private final int[] times;
+    private final int tripCount;
+
+    // 마지막 검색 결과
+    private int earliestBoardTime;
+    private int stopPositionInPattern;
+    private int tripIndex;
+
+    ColumnarTripScheduleSearch(ColumnarTimeTable timetable, SearchDirection direction) {
+        this.timetable = timetable;
+        this.forward = direction == SearchDirection.FORWARD;
+        this.times = forward ? timetable.departureColumns() : timetable.arrivalColumns();
+        this.tripCount = timetable.numberOfTripSchedules();
+    }
+
+    @Override
+    public RaptorBoardOrAlightEvent<KoreanTripSchedule> search(int earliestBoardTime, int stopPositionInPattern,
+                                                               int tripIndexLimit) {
+        int base = stopPositionInPattern * tripCount;
+        int found = forward
+            ? firstAtOrAfter(base, tripIndexLimit == UNBOUNDED_TRIP_INDEX ? tripCount : tripIndexLimit,
+                earliestBoardTime)
+            : lastAtOrBefore(base, tripIndexLimit == UNBOUNDED_TRIP_INDEX ? 0 : tripIndexLimit + 1,
+                earliestBoardTime);
+
+        if (found < 0) {
+            return RaptorBoardOrAlightEvent.empty(earliestBoardTime);
+        }
+        this.earliestBoardTime = earliestBoardTime;
+        this.stopPositionInPattern = stopPositionInPattern;
+        this.tripIndex = found;
+        return this;
+    }
+
+    /**
+     * [0, upper) 중 time 이상인 첫 트립 (없으면 -1)
+     */
+    private int firstAtOrAfter(int base, int upper, int time) {
+        int low = 0;
+        int high = upper;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[base + mid] >= time) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < upper ? low : -1;
+    }
+
+    /**
+     * [lower, tripCount) 중 time 이하인 마지막 트립 (없으면 -1)
+     */
+    private int lastAtOrBefore(int base, int lower, int time) {
+        int low = lower;
+        int high = tripCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[base + mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1 >= lower ? low - 1 : -1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // RaptorBoardOrAlightEvent (마지막 검색 결과)
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public int tripIndex() {
+        return tripIndex;
+    }
+
+    @Override
+    public KoreanTripSchedule trip() {
+        return timetable.getTripSchedule(tripIndex);
+    }
+
+    @Override
+    public int stopPositionInPattern() {
+        return stopPositionInPattern;
+    }
+
+    @Override
+    public int time() {
+        return times[stopPositionInPattern * tripCount + tripIndex];
+    }
+
+    @Override
+    public int earliestBoardTime() {
+        return earliestBoardTime;
+    }
+
+    @Override
+    public RaptorTransferConstraint transferConstraint() {
+        return RaptorTransferConstraint.REGULAR_TRANSFER;
+    }
+
+    @Override
+    public boolean empty() {
+        return false;
+    }
+}
@@ -0,0 +1,39 @@
+package kr.otp.raptor.spi;
+
+/**
+ * 시각 배열 없이 시간표에서 시각을 읽는 트립 뷰의 공통 부모 (flyweight).
+ *
+ * KoreanTripSchedule은 트립마다 도착/출발 int[]를 갖는 클래스라, 컬럼형/압축 시간표의 트립은
+ * 배열 자리를 null로 두고 arrival()/departure()를 시간표 조회로 덮어쓴다.
+ * null 배열을 넘기는 곳은 이 클래스 생성자 한 곳뿐이며, 하위 클래스는 시각 조회를 반드시 구현해야 한다.
+ * 첫 정류장 출발 시각을 tripSortIndex로 쓴다 (시간표가 첫 출발 시각 순이므로 순서가 같다).
+ */
+public abstract class FlyweightTripSchedule extends KoreanTripSchedule {
+
+    private final int tripIndex;
+
+    protected FlyweightTripSchedule(int tripIndex, int firstDeparture, KoreanTripPattern pattern,
+                                    String tripId, String routeShortName) {
+        super(firstDeparture, null, null, pattern, tripId, routeShortName);
+        this.tripIndex = tripIndex;
+    }
+
+    @Override
+    public abstract int arrival(int stopPosInPattern);
+
+    @Override
+    public abstract int departure(int stopPosInPattern);
+
+    /**
+     * 시간표 안에서의 트립 순번
+     */
+    public int getTripIndex() {
+        return tripIndex;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, trip=%d, dep=%d]",
+            getClass().getSimpleName(), getTripId(), tripIndex, departure(0));
+    }
+}
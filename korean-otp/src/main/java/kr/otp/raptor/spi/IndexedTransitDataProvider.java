@@ -0,0 +1,199 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+import org.opentripplanner.raptor.api.model.RaptorStopNameResolver;
+import org.opentripplanner.raptor.api.model.RaptorTransfer;
+import org.opentripplanner.raptor.spi.*;
+
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * 인덱스 기반 Raptor Transit Data Provider.
+ *
+ * KoreanTransitDataProvider를 감싸서 Raptor가 매 라운드 호출하는 조회를 미리 만든 인덱스로 처리한다.
+ * - 환승: TransferIndex (CSR, 스레드별 재사용 Iterator)
+ * - 노선: StopRouteIndex (CSR, 스레드별 재사용 비트셋 마커)
+ * 나머지(노선 객체, 비용, 슬랙, 서비스 시간)는 KoreanTransitDataProvider에 그대로 위임한다.
+ *
+ * 요청별 뷰는 인덱스를 공유하면서 노선을 미리 걸러낸다 (둘 다 걸면 교집합):
+ * - withSearchWindow(): 검색 창 밖 노선 제외 (RouteServiceSpans)
+ * - withModes(): 허용하지 않은 수단의 노선 제외 (RouteModeIndex)
+ *
+ * 인덱스는 읽기 전용이므로 여러 검색 스레드가 하나의 Provider를 공유해도 된다.
+ */
+public class IndexedTransitDataProvider implements RaptorTransitDataProvider<KoreanTripSchedule> {
+
+    private final KoreanTransitDataProvider delegate;
+    private final TransferIndex transfers;
+    private final StopRouteIndex routesByStop;
+    private final RouteServiceSpans serviceSpans;
+    private final RouteModeIndex modeIndex;
+
+    // 이 뷰에서 허용하는 노선 비트셋 (null이면 전체)
+    private final long[] allowedRoutes;
+
+    public IndexedTransitDataProvider(TransitData transitData) {
+        this(transitData, TransferIndex.of(transitData));
+    }
+
+    /**
+     * 이미 만든 환승 인덱스를 공유하는 생성자 (시나리오 모드: 환승은 원본과 같음)
+     */
+    public IndexedTransitDataProvider(TransitData transitData, TransferIndex transfers) {
+        if (transfers.getStopCount() != transitData.getStopCount()) {
+            throw new IllegalArgumentException(String.format(
+                "환승 인덱스 정류장 수 불일치: %d != %d", transfers.getStopCount(), transitData.getStopCount()));
+        }
+        this.delegate = new KoreanTransitDataProvider(transitData);
+        this.transfers = transfers;
+        this.routesByStop = StopRouteIndex.of(transitData);
+        this.serviceSpans = RouteServiceSpans.of(transitData);
+        this.modeIndex = RouteModeIndex.of(transitData);
+        this.allowedRoutes = null;
+    }
+
+    private IndexedTransitDataProvider(IndexedTransitDataProvider base, long[] allowedRoutes) {
+        this.delegate = base.delegate;
+        this.transfers = base.transfers;
+        this.routesByStop = base.routesByStop;
+        this.serviceSpans = base.serviceSpans;
+        this.modeIndex = base.modeIndex;
+        this.allowedRoutes = allowedRoutes;
+    }
+
+    /**
+     * 검색 창 [earliest, latest]에 운행할 가능성이 없는 노선을 빼는 요청별 뷰
+     *
+     * 정방향 검색은 (출발 시각, 도착 상한), 역방향은 (하한 없음, 도착 시각)을 넘긴다.
+     * 경계가 없으면 RouteServiceSpans.UNBOUNDED_EARLIEST / UNBOUNDED_LATEST.
+     */
+    public IndexedTransitDataProvider withSearchWindow(int earliest, int latest) {
+        if (earliest == RouteServiceSpans.UNBOUNDED_EARLIEST && latest == RouteServiceSpans.UNBOUNDED_LATEST) {
+            return this;
+        }
+        return restrict(serviceSpans.activeRoutes(earliest, latest));
+    }
+
+    /**
+     * 허용 수단의 노선만 스캔하는 요청별 뷰
+     *
+     * @param modes 허용 수단 (null이거나 모든 수단이면 this)
+     */
+    public IndexedTransitDataProvider withModes(Set<TransitMode> modes) {
+        long[] routes = modeIndex.allowedRoutes(modes);
+        return routes == null ? this : restrict(routes);
+    }
+
+    /**
+     * 현재 허용 노선과 routes의 교집합 뷰
+     */
+    private IndexedTransitDataProvider restrict(long[] routes) {
+        if (allowedRoutes != null) {
+            long[] merged = routes.clone();
+            for (int w = 0; w < merged.length; w++) {
+                merged[w] &= allowedRoutes[w];
+            }
+            routes = merged;
+        }
+        return new IndexedTransitDataProvider(this, routes);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 정류장 / 환승
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public int numberOfStops() {
+        return delegate.numberOfStops();
+    }
+
+    @Override
+    public Iterator<? extends RaptorTransfer> getTransfersFromStop(int fromStop) {
+        return transfers.transfersFrom(fromStop);
+    }
+
+    @Override
+    public Iterator<? extends RaptorTransfer> getTransfersToStop(int toStop) {
+        return transfers.transfersTo(toStop);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 노선
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public IntIterator routeIndexIterator(IntIterator stops) {
+        return routesByStop.routeIndexIterator(stops, allowedRoutes);
+    }
+
+    @Override
+    public RaptorRoute<KoreanTripSchedule> getRouteForIndex(int routeIndex) {
+        return delegate.getRouteForIndex(routeIndex);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 비용 & 슬랙 / 디버깅 / 제약 환승 (위임)
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public RaptorCostCalculator<KoreanTripSchedule> multiCriteriaCostCalculator() {
+        return delegate.multiCriteriaCostCalculator();
+    }
+
+    @Override
+    public RaptorSlackProvider slackProvider() {
+        return delegate.slackProvider();
+    }
+
+    @Override
+    public RaptorStopNameResolver stopNameResolver() {
+        return delegate.stopNameResolver();
+    }
+
+    @Override
+    public int getValidTransitDataStartTime() {
+        return delegate.getValidTransitDataStartTime();
+    }
+
+    @Override
+    public int getValidTransitDataEndTime() {
+        return delegate.getValidTransitDataEndTime();
+    }
+
+    @Override
+    public RaptorPathConstrainedTransferSearch<KoreanTripSchedule> transferConstraintsSearch() {
+        return delegate.transferConstraintsSearch();
+    }
+
+    @Override
+    public RaptorConstrainedBoardingSearch<KoreanTripSchedule> transferConstraintsForwardSearch(int routeIndex) {
+        return delegate.transferConstraintsForwardSearch(routeIndex);
+    }
+
+    @Override
+    public RaptorConstrainedBoardingSearch<KoreanTripSchedule> transferConstraintsReverseSearch(int routeIndex) {
+        return delegate.transferConstraintsReverseSearch(routeIndex);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 추가 메서드
+    // ═══════════════════════════════════════════════════════════════
+
+    public TransferIndex getTransferIndex() {
+        return transfers;
+    }
+
+    public RouteServiceSpans getServiceSpans() {
+        return serviceSpans;
+    }
+
+    public RouteModeIndex getModeIndex() {
+        return modeIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedTransitDataProvider{" + delegate + ", " + transfers + ", " + routesByStop + "}";
+    }
+}
@@ -0,0 +1,78 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+
+import java.util.Set;
+
+/**
+ * 수단별 노선 비트셋.
+ *
+ * 노선마다 TransitMode를 한 번 분류해 수단별 long[] 비트셋(비트 r = 노선 r)을 만들어 둔다.
+ * 수단 필터가 있는 검색은 허용 수단의 비트셋을 OR 해서 routeIndexIterator에 넘기므로,
+ * 걸러진 수단의 패턴은 아예 스캔하지 않는다 (검색 후 경로를 버리는 것과 달리 비용도 줄어든다).
+ */
+public class RouteModeIndex {
+
+    private final int routeCount;
+    private final long[][] routesByMode;
+
+    private RouteModeIndex(int routeCount, long[][] routesByMode) {
+        this.routeCount = routeCount;
+        this.routesByMode = routesByMode;
+    }
+
+    public static RouteModeIndex of(TransitData data) {
+        int routeCount = data.getRouteCount();
+        int words = (routeCount + 63) >>> 6;
+        long[][] routesByMode = new long[TransitMode.values().length][words];
+        for (int r = 0; r < routeCount; r++) {
+            TransitMode mode = TransitMode.of(data.getRoute(r).getRouteType());
+            routesByMode[mode.ordinal()][r >>> 6] |= 1L << r;
+        }
+        return new RouteModeIndex(routeCount, routesByMode);
+    }
+
+    /**
+     * 허용 수단의 노선 비트셋
+     *
+     * @param modes 허용 수단 (null이거나 모든 수단이면 제한 없음)
+     * @return 노선 비트셋, 제한이 없으면 null
+     */
+    public long[] allowedRoutes(Set<TransitMode> modes) {
+        int mask = TransitMode.mask(modes);
+        if (mask == TransitMode.ALL_MASK) {
+            return null;
+        }
+        long[] allowed = new long[(routeCount + 63) >>> 6];
+        for (TransitMode mode : modes) {
+            long[] routes = routesByMode[mode.ordinal()];
+            for (int w = 0; w < allowed.length; w++) {
+                allowed[w] |= routes[w];
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * 수단별 노선 수
+     */
+    public int getRouteCount(TransitMode mode) {
+        int count = 0;
+        for (long word : routesByMode[mode.ordinal()]) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RouteModeIndex[");
+        for (TransitMode mode : TransitMode.values()) {
+            if (mode.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(mode).append('=').append(getRouteCount(mode));
+        }
+        return sb.append(']').toString();
+    }
+}
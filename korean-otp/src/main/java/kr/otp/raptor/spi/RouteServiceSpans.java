@@ -0,0 +1,130 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+
+/**
+ * 노선별 운행 시간 범위.
+ *
+ * 노선(패턴)마다 첫 출발 시각, 마지막 도착 시각, 시간대별 운행 비트(1시간 단위)를 미리 계산한다.
+ * 심야/새벽 검색에서 이미 운행이 끝났거나 아직 시작하지 않은 노선을 routeIndexIterator에서
+ * 빼기 위한 것이다. 검색 창과 겹칠 가능성이 있는 노선은 모두 남기므로 결과는 바뀌지 않는다.
+ * <pre>
+ * firstDeparture[r] = 첫 트립의 첫 정류장 출발
+ * lastArrival[r]    = 모든 트립 중 마지막 정류장 최대 도착
+ * hourMask[r]       = 비트 h: [h시, h+1시) 사이에 운행 중인 트립이 있음 (63시 이후는 비트 63)
+ * </pre>
+ */
+public class RouteServiceSpans {
+
+    /** 검색 창 경계 없음 */
+    public static final int UNBOUNDED_EARLIEST = Integer.MIN_VALUE;
+    public static final int UNBOUNDED_LATEST = Integer.MAX_VALUE;
+
+    private static final int HOUR = 3600;
+    private static final int MAX_HOUR_BIT = 63;
+
+    private final int[] firstDeparture;
+    private final int[] lastArrival;
+    private final long[] hourMask;
+
+    private RouteServiceSpans(int[] firstDeparture, int[] lastArrival, long[] hourMask) {
+        this.firstDeparture = firstDeparture;
+        this.lastArrival = lastArrival;
+        this.hourMask = hourMask;
+    }
+
+    public static RouteServiceSpans of(TransitData data) {
+        int routeCount = data.getRouteCount();
+        int[] firstDeparture = new int[routeCount];
+        int[] lastArrival = new int[routeCount];
+        long[] hourMask = new long[routeCount];
+
+        for (int r = 0; r < routeCount; r++) {
+            KoreanRoute route = data.getRoute(r);
+            RaptorTimeTable<KoreanTripSchedule> timetable = route.timetable();
+            int last = route.pattern().numberOfStopsInPattern() - 1;
+            int first = Integer.MAX_VALUE;
+            int end = Integer.MIN_VALUE;
+            long mask = 0L;
+            for (int t = 0; t < timetable.numberOfTripSchedules(); t++) {
+                KoreanTripSchedule trip = timetable.getTripSchedule(t);
+                int departure = trip.departure(0);
+                int arrival = trip.arrival(last);
+                first = Math.min(first, departure);
+                end = Math.max(end, arrival);
+                mask |= hourBits(departure, arrival);
+            }
+            // 트립이 없는 노선은 어떤 검색 창에도 걸리지 않음
+            firstDeparture[r] = first;
+            lastArrival[r] = end;
+            hourMask[r] = mask;
+        }
+        return new RouteServiceSpans(firstDeparture, lastArrival, hourMask);
+    }
+
+    /**
+     * [earliest, latest] 검색 창에 운행할 가능성이 있는 노선 비트셋 (비트 r = 노선 r)
+     *
+     * @param earliest 가장 이른 탑승 시각 (UNBOUNDED_EARLIEST면 제한 없음)
+     * @param latest   가장 늦은 하차 시각 (UNBOUNDED_LATEST면 제한 없음)
+     */
+    public long[] activeRoutes(int earliest, int latest) {
+        int routeCount = firstDeparture.length;
+        long[] active = new long[(routeCount + 63) >>> 6];
+        long windowMask = hourBits(earliest, latest);
+        for (int r = 0; r < routeCount; r++) {
+            if (isActive(r, earliest, latest, windowMask)) {
+                active[r >>> 6] |= 1L << r;
+            }
+        }
+        return active;
+    }
+
+    public boolean isActive(int route, int earliest, int latest) {
+        return isActive(route, earliest, latest, hourBits(earliest, latest));
+    }
+
+    private boolean isActive(int route, int earliest, int latest, long windowMask) {
+        return lastArrival[route] >= earliest
+            && firstDeparture[route] <= latest
+            && (hourMask[route] & windowMask) != 0L;
+    }
+
+    public int getFirstDeparture(int route) {
+        return firstDeparture[route];
+    }
+
+    public int getLastArrival(int route) {
+        return lastArrival[route];
+    }
+
+    public int getRouteCount() {
+        return firstDeparture.length;
+    }
+
+    /**
+     * [from, to] 시간대 비트 (시 단위, 0~63으로 자름)
+     */
+    private static long hourBits(int from, int to) {
+        if (from > to) {
+            return 0L;
+        }
+        int fromHour = hourOf(from);
+        int toHour = hourOf(to);
+        long upTo = toHour == MAX_HOUR_BIT ? -1L : (1L << (toHour + 1)) - 1;
+        return upTo & (-1L << fromHour);
+    }
+
+    private static int hourOf(int time) {
+        if (time <= 0) {
+            return 0;
+        }
+        return Math.min(time / HOUR, MAX_HOUR_BIT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RouteServiceSpans[routes=%d]", firstDeparture.length);
+    }
+}
@@ -0,0 +1,185 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+import org.opentripplanner.raptor.spi.IntIterator;
+
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * 정류장 → 경유 노선 CSR 인덱스.
+ *
+ * <pre>
+ * routes[offsets[stop] .. offsets[stop + 1])   = stop을 지나는 노선 인덱스
+ * </pre>
+ * routeIndexIterator()는 Raptor가 라운드마다 부르는 가장 뜨거운 SPI 호출이다.
+ * 예전 구현은 호출마다 노선 수 크기의 BitSet을 새로 만들었는데, 여기서는 스레드마다
+ * 하나씩 있는 마커(long[] 비트셋)를 다시 쓴다. 마커는 표시된 워드 범위만 기억하고,
+ * Iterator가 워드를 읽으면서 바로 0으로 지우므로 다음 호출 전에 전체를 지울 필요가 없다.
+ *
+ * 노선은 인덱스 오름차순으로 나온다 (BitSetIntIterator와 같은 순서).
+ * 반환된 Iterator는 같은 스레드에서 다시 호출하기 전까지만 유효하다.
+ */
+public class StopRouteIndex {
+
+    private final int routeCount;
+    private final int[] offsets;
+    private final int[] routes;
+    private final ThreadLocal<RouteMarker> markers;
+
+    private StopRouteIndex(int routeCount, int[] offsets, int[] routes) {
+        this.routeCount = routeCount;
+        this.offsets = offsets;
+        this.routes = routes;
+        this.markers = ThreadLocal.withInitial(() -> new RouteMarker(routeCount));
+    }
+
+    /**
+     * TransitData의 routesByStop으로 인덱스 생성
+     */
+    public static StopRouteIndex of(TransitData data) {
+        return of(data.getStopCount(), data.getRouteCount(), data::getRoutesByStop);
+    }
+
+    /**
+     * @param stopCount    정류장 수
+     * @param routeCount   노선 수
+     * @param routesByStop 정류장별 노선 인덱스
+     */
+    public static StopRouteIndex of(int stopCount, int routeCount, IntFunction<int[]> routesByStop) {
+        int[] offsets = new int[stopCount + 1];
+        for (int s = 0; s < stopCount; s++) {
+            offsets[s + 1] = offsets[s] + routesByStop.apply(s).length;
+        }
+        int[] routes = new int[offsets[stopCount]];
+        for (int s = 0; s < stopCount; s++) {
+            int[] stopRoutes = routesByStop.apply(s);
+            System.arraycopy(stopRoutes, 0, routes, offsets[s], stopRoutes.length);
+        }
+        return new StopRouteIndex(routeCount, offsets, routes);
+    }
+
+    /**
+     * 표시된 정류장들을 지나는 노선 (중복 없음, 오름차순, 스레드별 재사용 Iterator)
+     */
+    public IntIterator routeIndexIterator(IntIterator stops) {
+        RouteMarker marker = markers.get();
+        marker.reset();
+        while (stops.hasNext()) {
+            int stop = stops.next();
+            for (int i = offsets[stop], end = offsets[stop + 1]; i < end; i++) {
+                marker.mark(routes[i]);
+            }
+        }
+        return marker.start();
+    }
+
+    /**
+     * 허용된 노선만 남기는 routeIndexIterator
+     *
+     * @param allowedRoutes 노선 비트셋 (비트 r = 노선 r 허용, null이면 전체 허용)
+     */
+    public IntIterator routeIndexIterator(IntIterator stops, long[] allowedRoutes) {
+        if (allowedRoutes == null) {
+            return routeIndexIterator(stops);
+        }
+        RouteMarker marker = markers.get();
+        marker.reset();
+        while (stops.hasNext()) {
+            int stop = stops.next();
+            for (int i = offsets[stop], end = offsets[stop + 1]; i < end; i++) {
+                int route = routes[i];
+                if ((allowedRoutes[route >>> 6] & (1L << route)) != 0L) {
+                    marker.mark(route);
+                }
+            }
+        }
+        return marker.start();
+    }
+
+    public int getStopCount() {
+        return offsets.length - 1;
+    }
+
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StopRouteIndex[stops=%d, routes=%d, entries=%d]",
+            getStopCount(), routeCount, routes.length);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 재사용 마커 (스레드 하나가 소유)
+    // ═══════════════════════════════════════════════════════════════
+
+    private static final class RouteMarker implements IntIterator {
+        private final long[] words;
+
+        // 표시된 워드 범위
+        private int minWord = Integer.MAX_VALUE;
+        private int maxWord = -1;
+
+        // 마지막으로 읽은 워드 (읽은 워드는 이미 0) / 그 워드에서 남은 비트
+        private int wordIndex = -1;
+        private long current;
+
+        RouteMarker(int routeCount) {
+            this.words = new long[(routeCount + 63) >>> 6];
+        }
+
+        /**
+         * 이전 Iterator가 끝까지 읽지 않은 워드만 지운다
+         */
+        void reset() {
+            for (int w = Math.max(wordIndex + 1, minWord); w <= maxWord; w++) {
+                words[w] = 0L;
+            }
+            minWord = Integer.MAX_VALUE;
+            maxWord = -1;
+            current = 0L;
+        }
+
+        void mark(int route) {
+            int w = route >>> 6;
+            words[w] |= 1L << route;
+            if (w < minWord) {
+                minWord = w;
+            }
+            if (w > maxWord) {
+                maxWord = w;
+            }
+        }
+
+        RouteMarker start() {
+            wordIndex = minWord - 1;
+            current = 0L;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == 0L) {
+                if (wordIndex >= maxWord) {
+                    return false;
+                }
+                wordIndex++;
+                current = words[wordIndex];
+                words[wordIndex] = 0L;
+            }
+            return true;
+        }
+
+        @Override
+        public int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int bit = Long.numberOfTrailingZeros(current);
+            current &= current - 1;
+            return (wordIndex << 6) + bit;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package kr.otp.raptor.spi;
+
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 시간 이동(time-shift) 압축 시간표.
+ *
+ * 한국 버스 패턴은 대부분 같은 구간 소요시간을 출발 시각만 바꿔 반복한다
+ * (AddRouteModification, HeadwayModification 보간 결과는 전부 그렇다).
+ * 그래서 트립마다 시각 배열을 두지 않고, 패턴 안의 서로 다른 "오프셋 프로필"만 한 번씩 저장한다:
+ * <pre>
+ * 트립 t의 시각 = startTimes[t] + profiles[profileIds[t]][pos]
+ * profiles[p * 2n + pos]      = 도착 오프셋 (첫 정류장 출발 기준)
+ * profiles[p * 2n + n + pos]  = 출발 오프셋
+ * </pre>
+ * 시각은 arrival()/departure() 호출 시점에 더해서 만든다.
+ *
+ * RaptorTimeTable 계약은 ColumnarTimeTable과 같다 (첫 출발 시각 순, 추월 없음).
+ * 프로필이 트립 수만큼 많아 이득이 없는 패턴은 {@link #encode}가 ColumnarTimeTable을 대신 돌려준다.
+ */
+public class TimeShiftedTimeTable implements RaptorTimeTable<KoreanTripSchedule> {
+
+    /**
+     * 압축 후 정차 시간 메모리가 컬럼형의 이 비율 이하일 때만 프로필 방식을 쓴다
+     * (디코딩 덧셈 비용을 감수할 만큼 줄어드는 경우)
+     */
+    private static final double MAX_ENCODED_RATIO = 0.5;
+
+    private final KoreanTripPattern pattern;
+    private final int stopCount;
+    private final int tripCount;
+    private final int[] startTimes;
+    private final int[] profileIds;
+    private final int[] profiles;
+    private final TimeShiftedTripSchedule[] schedules;
+
+    /**
+     * @param pattern         트립 패턴
+     * @param startTimes      트립별 첫 정류장 출발 시각 (오름차순)
+     * @param profileIds      트립별 프로필 번호
+     * @param profiles        프로필 오프셋 ([p * 2n + pos] 도착, [p * 2n + n + pos] 출발)
+     * @param tripIds         트립 ID
+     * @param routeShortNames 트립별 노선 번호
+     */
+    public TimeShiftedTimeTable(KoreanTripPattern pattern, int[] startTimes, int[] profileIds, int[] profiles,
+                                String[] tripIds, String[] routeShortNames) {
+        this.stopCount = pattern.numberOfStopsInPattern();
+        this.tripCount = startTimes.length;
+        if (profileIds.length != tripCount || tripIds.length != tripCount
+                || routeShortNames.length != tripCount || profiles.length % (2 * stopCount) != 0) {
+            throw new IllegalArgumentException(String.format(
+                "시간표 크기 불일치: 정류장 %d × 트립 %d, 프로필 번호 %d, 프로필 오프셋 %d",
+                stopCount, tripCount, profileIds.length, profiles.length));
+        }
+        this.pattern = pattern;
+        this.startTimes = startTimes;
+        this.profileIds = profileIds;
+        this.profiles = profiles;
+        this.schedules = new TimeShiftedTripSchedule[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            schedules[t] = new TimeShiftedTripSchedule(this, t, pattern, tripIds[t], routeShortNames[t]);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 인코딩
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 컬럼형 시각(정류장 위치 우선, 첫 출발 시각 순)을 프로필로 묶는다.
+     * 압축 이득이 작으면 ColumnarTimeTable을 그대로 만든다.
+     */
+    public static RaptorTimeTable<KoreanTripSchedule> encode(KoreanTripPattern pattern, int[] arrivals,
+                                                             int[] departures, String[] tripIds,
+                                                             String[] routeShortNames) {
+        int n = pattern.numberOfStopsInPattern();
+        int trips = tripIds.length;
+        if (trips < 2 || arrivals.length != n * trips || departures.length != n * trips) {
+            return new ColumnarTimeTable(pattern, arrivals, departures, tripIds, routeShortNames);
+        }
+
+        // 압축 후 크기가 한도를 넘으면 그 즉시 포기
+        long columnarSize = 2L * n * trips;
+        long maxProfiles = (long) (columnarSize * MAX_ENCODED_RATIO - 2L * trips) / (2L * n);
+
+        int[] startTimes = new int[trips];
+        int[] profileIds = new int[trips];
+        Map<ProfileKey, Integer> profileIndex = new HashMap<>();
+        int[] profiles = new int[2 * n * 4];
+        int profileCount = 0;
+
+        for (int t = 0; t < trips; t++) {
+            int start = departures[t];
+            int[] offsets = new int[2 * n];
+            for (int pos = 0; pos < n; pos++) {
+                offsets[pos] = arrivals[pos * trips + t] - start;
+                offsets[n + pos] = departures[pos * trips + t] - start;
+            }
+
+            ProfileKey key = new ProfileKey(offsets);
+            Integer id = profileIndex.get(key);
+            if (id == null) {
+                if (profileCount >= maxProfiles) {
+                    return new ColumnarTimeTable(pattern, arrivals, departures, tripIds, routeShortNames);
+                }
+                id = profileCount++;
+                profileIndex.put(key, id);
+                if (profileCount * 2 * n > profiles.length) {
+                    profiles = Arrays.copyOf(profiles, Math.max(profiles.length * 2, profileCount * 2 * n));
+                }
+                System.arraycopy(offsets, 0, profiles, id * 2 * n, 2 * n);
+            }
+            startTimes[t] = start;
+            profileIds[t] = id;
+        }
+
+        return new TimeShiftedTimeTable(pattern, startTimes, profileIds,
+            Arrays.copyOf(profiles, profileCount * 2 * n), tripIds, routeShortNames);
+    }
+
+    /**
+     * 기존 트립 배열을 인코딩 (첫 출발 시각 순으로 정렬)
+     */
+    public static RaptorTimeTable<KoreanTripSchedule> encode(KoreanTripPattern pattern,
+                                                             KoreanTripSchedule[] schedules) {
+        ColumnarTimeTable columnar = ColumnarTimeTable.of(pattern, schedules);
+        int trips = columnar.numberOfTripSchedules();
+        String[] tripIds = new String[trips];
+        String[] routeShortNames = new String[trips];
+        for (int t = 0; t < trips; t++) {
+            KoreanTripSchedule schedule = columnar.getTripSchedule(t);
+            tripIds[t] = schedule.getTripId();
+            routeShortNames[t] = schedule.getRouteShortName();
+        }
+        return encode(pattern, columnar.arrivalColumns(), columnar.departureColumns(), tripIds, routeShortNames);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // RaptorTimeTable
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public KoreanTripSchedule getTripSchedule(int index) {
+        return schedules[index];
+    }
+
+    @Override
+    public int numberOfTripSchedules() {
+        return tripCount;
+    }
+
+    /**
+     * 검색 객체는 상태(결과 이벤트)를 가지므로 호출마다 새로 만든다 (멀티스레드 검색 안전)
+     */
+    @Override
+    public RaptorTripScheduleSearch<KoreanTripSchedule> tripSearch(SearchDirection direction) {
+        return new TimeShiftedTripScheduleSearch(this, direction);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 디코딩
+    // ═══════════════════════════════════════════════════════════════
+
+    public int arrival(int trip, int stopPositionInPattern) {
+        return startTimes[trip] + profiles[profileIds[trip] * 2 * stopCount + stopPositionInPattern];
+    }
+
+    public int departure(int trip, int stopPositionInPattern) {
+        return startTimes[trip] + profiles[profileIds[trip] * 2 * stopCount + stopCount + stopPositionInPattern];
+    }
+
+    public KoreanTripPattern getPattern() {
+        return pattern;
+    }
+
+    public int getProfileCount() {
+        return profiles.length / (2 * stopCount);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimeShiftedTimeTable[pattern=%d, stops=%d, trips=%d, profiles=%d]",
+            pattern.patternIndex(), stopCount, tripCount, getProfileCount());
+    }
+
+    /**
+     * 프로필 중복 제거 키 (배열 내용 기준 비교)
+     */
+    private record ProfileKey(int[] offsets) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ProfileKey other && Arrays.equals(offsets, other.offsets);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(offsets);
+        }
+    }
+}
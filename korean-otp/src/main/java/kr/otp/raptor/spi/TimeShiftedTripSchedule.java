@@ -0,0 +1,27 @@
+package kr.otp.raptor.spi;
+
+/**
+ * TimeShiftedTimeTable의 트립 뷰 (flyweight).
+ *
+ * 시각은 시간표의 출발 시각 + 프로필 오프셋으로 호출할 때마다 계산한다.
+ */
+public final class TimeShiftedTripSchedule extends FlyweightTripSchedule {
+
+    private final TimeShiftedTimeTable timetable;
+
+    TimeShiftedTripSchedule(TimeShiftedTimeTable timetable, int tripIndex, KoreanTripPattern pattern,
+                            String tripId, String routeShortName) {
+        super(tripIndex, timetable.departure(tripIndex, 0), pattern, tripId, routeShortName);
+        this.timetable = timetable;
+    }
+
+    @Override
+    public int arrival(int stopPosInPattern) {
+        return timetable.arrival(getTripIndex(), stopPosInPattern);
+    }
+
+    @Override
+    public int departure(int stopPosInPattern) {
+        return timetable.departure(getTripIndex(), stopPosInPattern);
+    }
+}
@@ -0,0 +1,125 @@
+package kr.otp.raptor.spi;
+
+import org.opentripplanner.raptor.api.model.RaptorTransferConstraint;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorBoardOrAlightEvent;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+/**
+ * TimeShiftedTimeTable 트립 검색.
+ *
+ * ColumnarTripScheduleSearch와 같은 이진 검색이지만 시각을 출발 시각 + 프로필 오프셋으로 디코딩한다.
+ * 추월이 없으므로 프로필이 섞여 있어도 정류장 위치별 시각은 트립 순서대로 단조 증가한다.
+ * 결과 이벤트는 검색 객체 자신이다 (스레드 간 공유 금지).
+ */
+public final class TimeShiftedTripScheduleSearch
+    implements RaptorTripScheduleSearch<KoreanTripSchedule>, RaptorBoardOrAlightEvent<KoreanTripSchedule> {
+
+    private final TimeShiftedTimeTable timetable;
+    private final boolean forward;
+    private final int tripCount;
+
+    // 마지막 검색 결과
+    private int earliestBoardTime;
+    private int stopPositionInPattern;
+    private int tripIndex;
+
+    TimeShiftedTripScheduleSearch(TimeShiftedTimeTable timetable, SearchDirection direction) {
+        this.timetable = timetable;
+        this.forward = direction == SearchDirection.FORWARD;
+        this.tripCount = timetable.numberOfTripSchedules();
+    }
+
+    @Override
+    public RaptorBoardOrAlightEvent<KoreanTripSchedule> search(int earliestBoardTime, int stopPositionInPattern,
+                                                               int tripIndexLimit) {
+        int found = forward
+            ? firstAtOrAfter(stopPositionInPattern,
+                tripIndexLimit == UNBOUNDED_TRIP_INDEX ? tripCount : tripIndexLimit, earliestBoardTime)
+            : lastAtOrBefore(stopPositionInPattern,
+                tripIndexLimit == UNBOUNDED_TRIP_INDEX ? 0 : tripIndexLimit + 1, earliestBoardTime);
+
+        if (found < 0) {
+            return RaptorBoardOrAlightEvent.empty(earliestBoardTime);
+        }
+        this.earliestBoardTime = earliestBoardTime;
+        this.stopPositionInPattern = stopPositionInPattern;
+        this.tripIndex = found;
+        return this;
+    }
+
+    /**
+     * [0, upper) 중 출발 시각이 time 이상인 첫 트립 (없으면 -1)
+     */
+    private int firstAtOrAfter(int pos, int upper, int time) {
+        int low = 0;
+        int high = upper;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timetable.departure(mid, pos) >= time) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < upper ? low : -1;
+    }
+
+    /**
+     * [lower, tripCount) 중 도착 시각이 time 이하인 마지막 트립 (없으면 -1)
+     */
+    private int lastAtOrBefore(int pos, int lower, int time) {
+        int low = lower;
+        int high = tripCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timetable.arrival(mid, pos) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1 >= lower ? low - 1 : -1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // RaptorBoardOrAlightEvent (마지막 검색 결과)
+    // ═══════════════════════════════════════════════════════════════
+
+    @Override
+    public int tripIndex() {
+        return tripIndex;
+    }
+
+    @Override
+    public KoreanTripSchedule trip() {
+        return timetable.getTripSchedule(tripIndex);
+    }
+
+    @Override
+    public int stopPositionInPattern() {
+        return stopPositionInPattern;
+    }
+
+    @Override
+    public int time() {
+        return forward
+            ? timetable.departure(tripIndex, stopPositionInPattern)
+            : timetable.arrival(tripIndex, stopPositionInPattern);
+    }
+
+    @Override
+    public int earliestBoardTime() {
+        return earliestBoardTime;
+    }
+
+    @Override
+    public RaptorTransferConstraint transferConstraint() {
+        return RaptorTransferConstraint.REGULAR_TRANSFER;
+    }
+
+    @Override
+    public boolean empty() {
+        return false;
+    }
+}
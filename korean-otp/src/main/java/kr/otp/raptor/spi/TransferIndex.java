@@ -0,0 +1,268 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.WeakHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * 도보 환승 CSR 인덱스 (정방향/역방향).
+ *
+ * TransitData는 정류장마다 List&lt;KoreanTransfer&gt;를 두고, 조회할 때마다 Iterator를 새로 만든다.
+ * 이 인덱스는 환승을 정류장 순으로 한 배열에 모은다:
+ * <pre>
+ * transfers[offsets[stop] .. offsets[stop + 1])   = stop에서 출발(또는 도착)하는 환승
+ * </pre>
+ * 조회는 스레드마다 하나씩 있는 커서를 다시 쓰므로 Raptor 라운드마다 생기던 Iterator 할당이 없다.
+ *
+ * 원소는 원본 KoreanTransfer 객체를 그대로 공유한다. OTP Raptor는 받은 RaptorTransfer 참조를
+ * 도착 상태에 보관했다가 경로 복원에 쓰므로, 값을 바꿔 가며 재사용하는 원소는 돌려줄 수 없다.
+ *
+ * 반환된 Iterator는 같은 스레드에서 같은 방향을 다시 조회하기 전까지만 유효하다
+ * (Raptor는 정류장마다 환승을 끝까지 읽은 뒤 다음 정류장을 조회한다).
+ *
+ * 로더(스냅샷, 스트리밍 빌더, 지역 필터)는 {@link Builder}로 인덱스를 먼저 만들고
+ * TransitData에는 {@link #transferListsFrom()}/{@link #transferListsTo()} 뷰를 넘긴 뒤 {@link #bind}한다.
+ * 그러면 정류장별 ArrayList 없이 환승 객체 배열 하나만 남고, {@link #of(TransitData)}는 그 인덱스를 그대로 돌려준다.
+ */
+public class TransferIndex {
+
+    /** 로더가 만든 인덱스 (TransitData 인스턴스 기준, 같은 데이터로 CSR을 다시 만들지 않도록) */
+    private static final Map<TransitData, TransferIndex> BOUND = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Csr from;
+    private final Csr to;
+
+    private TransferIndex(Csr from, Csr to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * TransitData의 환승 인덱스 (로더가 bind한 인덱스가 있으면 그대로, 없으면 정류장별 목록으로 생성)
+     */
+    public static TransferIndex of(TransitData data) {
+        TransferIndex bound = BOUND.get(data);
+        if (bound != null) {
+            return bound;
+        }
+        int stopCount = data.getStopCount();
+        return new TransferIndex(
+            Csr.build(stopCount, data::getTransfersFrom),
+            Csr.build(stopCount, data::getTransfersTo)
+        );
+    }
+
+    /**
+     * 정방향/역방향 CSR 배열로 인덱스 생성 (스냅샷 로드용, 배열은 복사하지 않음)
+     */
+    public static TransferIndex of(int[] fromOffsets, KoreanTransfer[] fromTransfers,
+                                   int[] toOffsets, KoreanTransfer[] toTransfers) {
+        if (fromOffsets.length != toOffsets.length
+                || fromOffsets[fromOffsets.length - 1] != fromTransfers.length
+                || toOffsets[toOffsets.length - 1] != toTransfers.length) {
+            throw new IllegalArgumentException(String.format(
+                "환승 CSR 크기 불일치: 정방향 오프셋 %d / 환승 %d, 역방향 오프셋 %d / 환승 %d",
+                fromOffsets.length, fromTransfers.length, toOffsets.length, toTransfers.length));
+        }
+        return new TransferIndex(new Csr(fromOffsets, fromTransfers), new Csr(toOffsets, toTransfers));
+    }
+
+    /**
+     * data가 이 인덱스의 환승 목록 뷰로 만들어졌음을 기록 (이후 of(data)가 이 인덱스를 반환)
+     *
+     * @return data
+     */
+    public TransitData bind(TransitData data) {
+        BOUND.put(data, this);
+        return data;
+    }
+
+    /**
+     * fromStop에서 출발하는 환승 (스레드별 재사용 Iterator)
+     */
+    public Iterator<KoreanTransfer> transfersFrom(int fromStop) {
+        return from.iterator(fromStop);
+    }
+
+    /**
+     * toStop으로 도착하는 환승 (스레드별 재사용 Iterator)
+     */
+    public Iterator<KoreanTransfer> transfersTo(int toStop) {
+        return to.iterator(toStop);
+    }
+
+    /**
+     * 정류장별 출발 환승 목록 (TransitData 생성자용, CSR 배열을 공유하는 읽기 전용 뷰)
+     */
+    public List<KoreanTransfer>[] transferListsFrom() {
+        return from.lists();
+    }
+
+    /**
+     * 정류장별 도착 환승 목록 (TransitData 생성자용, CSR 배열을 공유하는 읽기 전용 뷰)
+     */
+    public List<KoreanTransfer>[] transferListsTo() {
+        return to.lists();
+    }
+
+    public int getStopCount() {
+        return from.offsets.length - 1;
+    }
+
+    public int getTransferCount() {
+        return from.transfers.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransferIndex[stops=%d, transfers=%d]", getStopCount(), getTransferCount());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 빌더 (간선 목록 → CSR)
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 환승 간선을 int 배열에 모았다가 한 번에 CSR로 만든다 (정류장별 List 없음).
+     * 역방향은 정방향 간선을 뒤집어 만들고, 정류장별 순서는 추가한 순서를 따른다.
+     */
+    public static final class Builder {
+        private final int stopCount;
+        private int[] edges = new int[4 * 64];   // [from, to, duration, c1] × 간선 수
+        private int count;
+
+        public Builder(int stopCount) {
+            this.stopCount = stopCount;
+        }
+
+        public Builder add(int fromStop, int toStop, int durationInSeconds, int c1) {
+            if (4 * (count + 1) > edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            int pos = 4 * count++;
+            edges[pos] = fromStop;
+            edges[pos + 1] = toStop;
+            edges[pos + 2] = durationInSeconds;
+            edges[pos + 3] = c1;
+            return this;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public TransferIndex build() {
+            return new TransferIndex(direction(0, 1), direction(1, 0));
+        }
+
+        /**
+         * owner 정류장 기준 CSR (원소의 stop()은 other 정류장)
+         */
+        private Csr direction(int owner, int other) {
+            int[] offsets = new int[stopCount + 1];
+            for (int e = 0; e < count; e++) {
+                offsets[edges[4 * e + owner] + 1]++;
+            }
+            for (int s = 0; s < stopCount; s++) {
+                offsets[s + 1] += offsets[s];
+            }
+            int[] cursor = Arrays.copyOf(offsets, stopCount);
+            KoreanTransfer[] transfers = new KoreanTransfer[count];
+            for (int e = 0; e < count; e++) {
+                int pos = 4 * e;
+                transfers[cursor[edges[pos + owner]]++] =
+                    new KoreanTransfer(edges[pos + other], edges[pos + 2], edges[pos + 3]);
+            }
+            return new Csr(offsets, transfers);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // CSR (한 방향)
+    // ═══════════════════════════════════════════════════════════════
+
+    private static final class Csr {
+        final int[] offsets;
+        final KoreanTransfer[] transfers;
+        final ThreadLocal<Cursor> cursors;
+
+        Csr(int[] offsets, KoreanTransfer[] transfers) {
+            this.offsets = offsets;
+            this.transfers = transfers;
+            this.cursors = ThreadLocal.withInitial(() -> new Cursor(transfers));
+        }
+
+        static Csr build(int stopCount, IntFunction<Iterator<KoreanTransfer>> source) {
+            int[] offsets = new int[stopCount + 1];
+            for (int s = 0; s < stopCount; s++) {
+                int count = 0;
+                for (Iterator<KoreanTransfer> it = source.apply(s); it.hasNext(); it.next()) {
+                    count++;
+                }
+                offsets[s + 1] = offsets[s] + count;
+            }
+
+            KoreanTransfer[] transfers = new KoreanTransfer[offsets[stopCount]];
+            for (int s = 0; s < stopCount; s++) {
+                int pos = offsets[s];
+                for (Iterator<KoreanTransfer> it = source.apply(s); it.hasNext(); ) {
+                    transfers[pos++] = it.next();
+                }
+            }
+            return new Csr(offsets, transfers);
+        }
+
+        Iterator<KoreanTransfer> iterator(int stop) {
+            return cursors.get().reset(offsets[stop], offsets[stop + 1]);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] lists() {
+            List<KoreanTransfer> all = Collections.unmodifiableList(Arrays.asList(transfers));
+            List<KoreanTransfer>[] lists = new List[offsets.length - 1];
+            for (int s = 0; s < lists.length; s++) {
+                lists[s] = all.subList(offsets[s], offsets[s + 1]);
+            }
+            return lists;
+        }
+    }
+
+    /**
+     * 재사용 Iterator (스레드 하나가 소유)
+     */
+    private static final class Cursor implements Iterator<KoreanTransfer> {
+        private final KoreanTransfer[] transfers;
+        private int pos;
+        private int end;
+
+        Cursor(KoreanTransfer[] transfers) {
+            this.transfers = transfers;
+        }
+
+        Cursor reset(int start, int end) {
+            this.pos = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pos < end;
+        }
+
+        @Override
+        public KoreanTransfer next() {
+            if (pos >= end) {
+                throw new NoSuchElementException();
+            }
+            return transfers[pos++];
+        }
+    }
+}
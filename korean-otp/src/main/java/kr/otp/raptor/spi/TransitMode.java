@@ -0,0 +1,86 @@
+package kr.otp.raptor.spi;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 대중교통 수단 (GTFS route_type 범위로 분류).
+ *
+ * 기본 유형(0~3)과 확장 유형(100번대 철도, 400번대 도시철도, 700번대 버스)을 같은 수단으로 묶는다.
+ * 나머지 유형(페리, 케이블카 등)은 OTHER.
+ */
+public enum TransitMode {
+    TRAM("트램"),
+    SUBWAY("지하철"),
+    RAIL("철도"),
+    BUS("버스"),
+    OTHER("기타");
+
+    /** 모든 수단 허용 마스크 */
+    public static final int ALL_MASK = (1 << values().length) - 1;
+
+    private final String label;
+
+    TransitMode(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * GTFS route_type → 수단
+     */
+    public static TransitMode of(int routeType) {
+        if (routeType == 0) {
+            return TRAM;
+        }
+        if (routeType == 1 || (routeType >= 400 && routeType < 500)) {
+            return SUBWAY;
+        }
+        if (routeType == 2 || (routeType >= 100 && routeType < 200)) {
+            return RAIL;
+        }
+        if (routeType == 3 || (routeType >= 700 && routeType < 800)) {
+            return BUS;
+        }
+        return OTHER;
+    }
+
+    /**
+     * 수단 집합 → 비트 마스크 (null이면 ALL_MASK)
+     */
+    public static int mask(Set<TransitMode> modes) {
+        if (modes == null) {
+            return ALL_MASK;
+        }
+        int mask = 0;
+        for (TransitMode mode : modes) {
+            mask |= 1 << mode.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * 쉼표 구분 수단 목록 파싱 (예: "subway,bus", 대소문자 무시)
+     *
+     * @throws IllegalArgumentException 알 수 없는 수단
+     */
+    public static EnumSet<TransitMode> parse(String csv) {
+        EnumSet<TransitMode> modes = EnumSet.noneOf(TransitMode.class);
+        for (String token : csv.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                modes.add(valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("알 수 없는 교통수단: " + name + " (tram, subway, rail, bus, other)");
+            }
+        }
+        return modes;
+    }
+}
@@ -0,0 +1,293 @@
+package kr.otp.region;
+
+import kr.otp.osm.StreetNetwork;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 지역 필터 (bbox 또는 폴리곤 + 버퍼).
+ *
+ * 지역 단위 배포(수도권, 부산권 등)에서 정류장/패턴/도로망을 지역 밖으로 잘라내는 데 사용한다.
+ * 버퍼는 경계 근처 정류장과 도로를 살리기 위한 여유 거리(m)다.
+ *
+ * 문자열 형식 (parse):
+ * <pre>
+ * seoul | busan                                      미리 정의된 지역
+ * bbox:최소위도,최소경도,최대위도,최대경도
+ * polygon:위도 경도;위도 경도;위도 경도;...
+ * 위 형식 뒤에 @버퍼(m)                              예) seoul@2000, bbox:37.4,126.8,37.7,127.2@1000
+ * </pre>
+ */
+public final class Region {
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private final String name;
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+    private final double[] polygonLats;  // null이면 bbox
+    private final double[] polygonLons;
+    private final double bufferMeters;
+
+    // 버퍼를 포함한 bbox (빠른 제외용)
+    private final double outerMinLat;
+    private final double outerMinLon;
+    private final double outerMaxLat;
+    private final double outerMaxLon;
+
+    private Region(String name, double minLat, double minLon, double maxLat, double maxLon,
+                   double[] polygonLats, double[] polygonLons, double bufferMeters) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException(String.format(
+                "잘못된 지역 범위: (%.4f, %.4f) ~ (%.4f, %.4f)", minLat, minLon, maxLat, maxLon));
+        }
+        if (bufferMeters < 0) {
+            throw new IllegalArgumentException("버퍼는 0 이상이어야 합니다: " + bufferMeters);
+        }
+        this.name = name;
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+        this.polygonLats = polygonLats;
+        this.polygonLons = polygonLons;
+        this.bufferMeters = bufferMeters;
+
+        double bufferLat = bufferMeters / METERS_PER_DEGREE_LAT;
+        double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat)) + bufferLat;
+        double bufferLon = bufferMeters / (METERS_PER_DEGREE_LAT * Math.max(0.1, Math.cos(Math.toRadians(widestLat))));
+        this.outerMinLat = minLat - bufferLat;
+        this.outerMaxLat = maxLat + bufferLat;
+        this.outerMinLon = minLon - bufferLon;
+        this.outerMaxLon = maxLon + bufferLon;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 생성
+    // ═══════════════════════════════════════════════════════════════
+
+    public static Region bbox(double minLat, double minLon, double maxLat, double maxLon) {
+        return new Region(String.format(Locale.ROOT, "bbox:%s,%s,%s,%s", minLat, minLon, maxLat, maxLon),
+            minLat, minLon, maxLat, maxLon, null, null, 0);
+    }
+
+    /**
+     * 폴리곤 지역 (꼭짓점 순서대로, 닫지 않아도 됨)
+     */
+    public static Region polygon(double[] lats, double[] lons) {
+        if (lats.length != lons.length || lats.length < 3) {
+            throw new IllegalArgumentException("폴리곤은 3개 이상의 (위도, 경도) 꼭짓점이 필요합니다");
+        }
+        StringBuilder name = new StringBuilder("polygon:");
+        for (int i = 0; i < lats.length; i++) {
+            if (i > 0) {
+                name.append(';');
+            }
+            name.append(lats[i]).append(' ').append(lons[i]);
+        }
+        return new Region(name.toString(),
+            Arrays.stream(lats).min().getAsDouble(), Arrays.stream(lons).min().getAsDouble(),
+            Arrays.stream(lats).max().getAsDouble(), Arrays.stream(lons).max().getAsDouble(),
+            lats.clone(), lons.clone(), 0);
+    }
+
+    /**
+     * 수도권 (서울/인천/경기)
+     */
+    public static Region seoulMetro() {
+        return new Region("seoul", 36.89, 126.35, 38.30, 127.85, null, null, 0);
+    }
+
+    /**
+     * 부산권 (부산/울산/김해/양산/창원)
+     */
+    public static Region busan() {
+        return new Region("busan", 34.95, 128.55, 35.72, 129.48, null, null, 0);
+    }
+
+    /**
+     * 버퍼 적용 (m)
+     */
+    public Region withBuffer(double meters) {
+        String baseName = name.contains("@") ? name.substring(0, name.indexOf('@')) : name;
+        String newName = meters > 0 ? baseName + "@" + (long) meters : baseName;
+        return new Region(newName, minLat, minLon, maxLat, maxLon, polygonLats, polygonLons, meters);
+    }
+
+    /**
+     * 문자열에서 생성 (클래스 설명의 형식)
+     */
+    public static Region parse(String spec) {
+        String value = spec.trim();
+        double buffer = 0;
+        int at = value.lastIndexOf('@');
+        if (at >= 0) {
+            buffer = parseNumber(value.substring(at + 1), spec);
+            value = value.substring(0, at);
+        }
+
+        Region region;
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.equals("seoul")) {
+            region = seoulMetro();
+        } else if (lower.equals("busan")) {
+            region = busan();
+        } else if (lower.startsWith("bbox:")) {
+            String[] parts = value.substring(5).split(",");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("bbox 형식: bbox:최소위도,최소경도,최대위도,최대경도 - " + spec);
+            }
+            region = bbox(parseNumber(parts[0], spec), parseNumber(parts[1], spec),
+                parseNumber(parts[2], spec), parseNumber(parts[3], spec));
+        } else if (lower.startsWith("polygon:")) {
+            String[] points = value.substring(8).split(";");
+            double[] lats = new double[points.length];
+            double[] lons = new double[points.length];
+            for (int i = 0; i < points.length; i++) {
+                String[] latLon = points[i].trim().split("[\\s,]+");
+                if (latLon.length != 2) {
+                    throw new IllegalArgumentException("폴리곤 꼭짓점 형식: 위도 경도 - " + points[i]);
+                }
+                lats[i] = parseNumber(latLon[0], spec);
+                lons[i] = parseNumber(latLon[1], spec);
+            }
+            region = polygon(lats, lons);
+        } else {
+            throw new IllegalArgumentException("알 수 없는 지역 형식: " + spec);
+        }
+        return buffer > 0 ? region.withBuffer(buffer) : region;
+    }
+
+    private static double parseNumber(String value, String spec) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("지역 형식의 숫자 오류: " + value + " (" + spec + ")");
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 판정
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 좌표가 지역(버퍼 포함) 안에 있는지
+     */
+    public boolean contains(double lat, double lon) {
+        if (lat < outerMinLat || lat > outerMaxLat || lon < outerMinLon || lon > outerMaxLon) {
+            return false;
+        }
+        if (polygonLats == null) {
+            if (lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon) {
+                return true;
+            }
+            return bufferMeters > 0 && distanceToBoxMeters(lat, lon) <= bufferMeters;
+        }
+        if (insidePolygon(lat, lon)) {
+            return true;
+        }
+        return bufferMeters > 0 && distanceToPolygonMeters(lat, lon) <= bufferMeters;
+    }
+
+    private double distanceToBoxMeters(double lat, double lon) {
+        double nearestLat = Math.max(minLat, Math.min(maxLat, lat));
+        double nearestLon = Math.max(minLon, Math.min(maxLon, lon));
+        return StreetNetwork.haversineDistance(lat, lon, nearestLat, nearestLon);
+    }
+
+    /**
+     * 짝수-홀수 규칙 (ray casting)
+     */
+    private boolean insidePolygon(double lat, double lon) {
+        boolean inside = false;
+        int n = polygonLats.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double latI = polygonLats[i];
+            double latJ = polygonLats[j];
+            if ((latI > lat) != (latJ > lat)) {
+                double crossLon = polygonLons[i] + (lat - latI) / (latJ - latI) * (polygonLons[j] - polygonLons[i]);
+                if (lon < crossLon) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * 폴리곤 경계까지 거리 (국지 평면 근사, 버퍼 판정용)
+     */
+    private double distanceToPolygonMeters(double lat, double lon) {
+        double metersPerLon = METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat));
+        double best = Double.POSITIVE_INFINITY;
+        int n = polygonLats.length;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double ax = (polygonLons[j] - lon) * metersPerLon;
+            double ay = (polygonLats[j] - lat) * METERS_PER_DEGREE_LAT;
+            double bx = (polygonLons[i] - lon) * metersPerLon;
+            double by = (polygonLats[i] - lat) * METERS_PER_DEGREE_LAT;
+            double dx = bx - ax;
+            double dy = by - ay;
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSquared));
+            double px = ax + t * dx;
+            double py = ay + t * dy;
+            best = Math.min(best, Math.sqrt(px * px + py * py));
+        }
+        return best;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 조회
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 지역 식별 문자열 (parse()로 다시 읽을 수 있음, 캐시 파일 이름/지문에 사용)
+     */
+    public String getName() {
+        return name;
+    }
+
+    public double getBufferMeters() {
+        return bufferMeters;
+    }
+
+    /**
+     * 원본 데이터 지문에 지역을 반영한 지문 (지역별 캐시 파일 검증용)
+     *
+     * 이름이 아니라 실제 범위, 폴리곤 꼭짓점, 버퍼 값으로 계산한다
+     * (이름에는 버퍼가 정수로만 남고, 문자열 해시는 32비트라 충돌할 수 있다).
+     */
+    public long fingerprint(long sourceFingerprint) {
+        long hash = 31 * sourceFingerprint + Double.doubleToLongBits(minLat);
+        hash = 31 * hash + Double.doubleToLongBits(minLon);
+        hash = 31 * hash + Double.doubleToLongBits(maxLat);
+        hash = 31 * hash + Double.doubleToLongBits(maxLon);
+        hash = 31 * hash + Double.doubleToLongBits(bufferMeters);
+        if (polygonLats != null) {
+            hash = 31 * hash + polygonLats.length;
+            for (int i = 0; i < polygonLats.length; i++) {
+                hash = 31 * hash + Double.doubleToLongBits(polygonLats[i]);
+                hash = 31 * hash + Double.doubleToLongBits(polygonLons[i]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 캐시 파일 이름에 쓸 수 있는 짧은 키 (영역 지문 기반)
+     */
+    public String fileKey() {
+        String base = name.contains(":") ? name.substring(0, name.indexOf(':')) : name.replace("@", "-");
+        return base + "-" + Long.toHexString(fingerprint(0));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Region[%s, (%.4f, %.4f) ~ (%.4f, %.4f), buffer=%.0fm]",
+            name, minLat, minLon, maxLat, maxLon, bufferMeters);
+    }
+}
@@ -0,0 +1,210 @@
+package kr.otp.region;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TimeShiftedTimeTable;
+import kr.otp.raptor.spi.TransferIndex;
+
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * TransitData 지역 필터.
+ *
+ * 지역(버퍼 포함) 밖의 정류장을 제거하고 인덱스를 다시 매긴다.
+ * - 패턴: 지역 안 정류장이 연속된 구간만 남긴다. 지역을 나갔다 다시 들어오는 노선은
+ *   구간마다 별도 패턴이 되고, 정류장이 2개 미만인 구간은 버린다.
+ * - 트립: 남은 구간의 도착/출발 시각만 잘라서 컬럼형 시각으로 복사한 뒤 TimeShiftedTimeTable.encode()로 시간표를 만든다.
+ * - 환승: 양 끝 정류장이 모두 남은 경우만 유지한다 (TransferIndex CSR로 바로 만들고 TransitData에는 그 뷰를 넘긴다).
+ * - routesByStop: 새 패턴 기준으로 다시 계산한다.
+ *
+ * 메모리와 검색 시간이 지역 크기에 비례해서 줄어든다.
+ */
+public class RegionalTransitDataFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegionalTransitDataFilter.class);
+
+    private final Region region;
+
+    public RegionalTransitDataFilter(Region region) {
+        this.region = region;
+    }
+
+    /**
+     * 지역 필터 적용
+     */
+    public TransitData filter(TransitData source) {
+        long start = System.currentTimeMillis();
+
+        // 1. 정류장 선택 + 인덱스 압축
+        int sourceStopCount = source.getStopCount();
+        int[] stopMapping = new int[sourceStopCount];
+        int stopCount = 0;
+        for (int s = 0; s < sourceStopCount; s++) {
+            stopMapping[s] = region.contains(source.getStopLat(s), source.getStopLon(s)) ? stopCount++ : -1;
+        }
+
+        String[] names = new String[stopCount];
+        double[] lats = new double[stopCount];
+        double[] lons = new double[stopCount];
+        for (int s = 0; s < sourceStopCount; s++) {
+            int mapped = stopMapping[s];
+            if (mapped >= 0) {
+                names[mapped] = source.getStopName(s);
+                lats[mapped] = source.getStopLat(s);
+                lons[mapped] = source.getStopLon(s);
+            }
+        }
+
+        // 2. 패턴 구간 분할
+        List<KoreanRoute> routes = new ArrayList<>();
+        for (int r = 0; r < source.getRouteCount(); r++) {
+            KoreanRoute route = source.getRoute(r);
+            int[] stops = ((KoreanTripPattern) route.pattern()).getStopIndexes();
+
+            int p = 0;
+            while (p < stops.length) {
+                if (stopMapping[stops[p]] < 0) {
+                    p++;
+                    continue;
+                }
+                int from = p;
+                while (p < stops.length && stopMapping[stops[p]] >= 0) {
+                    p++;
+                }
+                if (p - from >= 2) {
+                    routes.add(slice(route, from, p, stopMapping, routes.size()));
+                }
+            }
+        }
+
+        // 3. 환승
+        TransferIndex transfers = filterTransfers(source, stopMapping, stopCount);
+
+        // 4. routesByStop
+        int[][] routesByStop = buildRoutesByStop(routes, stopCount);
+
+        TransitData filtered = transfers.bind(new TransitData(
+            stopCount,
+            names,
+            lats,
+            lons,
+            routes.toArray(new KoreanRoute[0]),
+            transfers.transferListsFrom(),
+            transfers.transferListsTo(),
+            routesByStop,
+            source.getServiceStartTime(),
+            source.getServiceEndTime()
+        ));
+
+        LOG.info("지역 필터 {}: 정류장 {} → {}, 패턴 {} → {}, 트립 {} → {} ({}ms)",
+            region.getName(), sourceStopCount, stopCount,
+            source.getRouteCount(), routes.size(),
+            source.getTotalTripCount(), filtered.getTotalTripCount(),
+            System.currentTimeMillis() - start);
+        return filtered;
+    }
+
+    /**
+     * 노선의 [from, to) 정차 구간을 새 패턴으로 복사
+     */
+    private static KoreanRoute slice(KoreanRoute route, int from, int to, int[] stopMapping, int patternIndex) {
+        KoreanTripPattern sourcePattern = (KoreanTripPattern) route.pattern();
+        int[] sourceStops = sourcePattern.getStopIndexes();
+        int length = to - from;
+
+        int[] stops = new int[length];
+        for (int i = 0; i < length; i++) {
+            stops[i] = stopMapping[sourceStops[from + i]];
+        }
+        KoreanTripPattern pattern = new KoreanTripPattern(
+            patternIndex, stops, sourcePattern.slackIndex(), sourcePattern.debugInfo());
+
+        // 잘린 구간의 첫 출발 시각 기준으로 다시 정렬
+        RaptorTimeTable<KoreanTripSchedule> timetable = route.timetable();
+        int tripCount = timetable.numberOfTripSchedules();
+        Integer[] order = new Integer[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            order[t] = t;
+        }
+        Arrays.sort(order, Comparator.comparingInt(t -> timetable.getTripSchedule(t).departure(from)));
+
+        int[] arrivals = new int[length * tripCount];
+        int[] departures = new int[length * tripCount];
+        String[] tripIds = new String[tripCount];
+        String[] routeShortNames = new String[tripCount];
+        for (int t = 0; t < tripCount; t++) {
+            KoreanTripSchedule source = timetable.getTripSchedule(order[t]);
+            for (int i = 0; i < length; i++) {
+                arrivals[i * tripCount + t] = source.arrival(from + i);
+                departures[i * tripCount + t] = source.departure(from + i);
+            }
+            tripIds[t] = source.getTripId();
+            routeShortNames[t] = source.getRouteShortName();
+        }
+
+        RaptorTimeTable<KoreanTripSchedule> sliced =
+            TimeShiftedTimeTable.encode(pattern, arrivals, departures, tripIds, routeShortNames);
+        return new KoreanRoute(pattern, sliced,
+            route.getRouteId(), route.getRouteShortName(), route.getRouteLongName(), route.getRouteType());
+    }
+
+    /**
+     * 양 끝이 남은 정방향 환승만 새 인덱스로 (역방향은 정방향을 뒤집어 만든다)
+     */
+    private static TransferIndex filterTransfers(TransitData source, int[] stopMapping, int stopCount) {
+        TransferIndex.Builder transfers = new TransferIndex.Builder(stopCount);
+        for (int s = 0; s < stopMapping.length; s++) {
+            int mapped = stopMapping[s];
+            if (mapped < 0) {
+                continue;
+            }
+            Iterator<KoreanTransfer> it = source.getTransfersFrom(s);
+            while (it.hasNext()) {
+                KoreanTransfer transfer = it.next();
+                int target = stopMapping[transfer.stop()];
+                if (target >= 0) {
+                    transfers.add(mapped, target, transfer.durationInSeconds(), transfer.c1());
+                }
+            }
+        }
+        return transfers.build();
+    }
+
+    /**
+     * 정류장별 경유 패턴 (순환 노선처럼 한 패턴이 같은 정류장을 두 번 지나도 한 번만)
+     */
+    private static int[][] buildRoutesByStop(List<KoreanRoute> routes, int stopCount) {
+        int[] counts = new int[stopCount];
+        for (KoreanRoute route : routes) {
+            for (int stop : distinct(((KoreanTripPattern) route.pattern()).getStopIndexes())) {
+                counts[stop]++;
+            }
+        }
+        int[][] routesByStop = new int[stopCount][];
+        for (int s = 0; s < stopCount; s++) {
+            routesByStop[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int r = 0; r < routes.size(); r++) {
+            for (int stop : distinct(((KoreanTripPattern) routes.get(r).pattern()).getStopIndexes())) {
+                routesByStop[stop][counts[stop]++] = r;
+            }
+        }
+        return routesByStop;
+    }
+
+    private static int[] distinct(int[] stops) {
+        return Arrays.stream(stops).distinct().toArray();
+    }
+}
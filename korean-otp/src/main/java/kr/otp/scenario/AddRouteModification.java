@@ -1,9 +1,11 @@
 package kr.otp.scenario;
 
 import kr.otp.raptor.spi.KoreanRoute;
-import kr.otp.raptor.spi.KoreanTimeTable;
 import kr.otp.raptor.spi.KoreanTripPattern;
 import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TimeShiftedTimeTable;
+
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -179,8 +181,9 @@ public class AddRouteModification implements Modification {
             tripIndex++;
         }
 
-        // 3. 시간표 생성
-        KoreanTimeTable timeTable = new KoreanTimeTable(
+        // 3. 시간표 생성 (모든 트립이 같은 소요시간이므로 오프셋 프로필 1개로 압축됨)
+        RaptorTimeTable<KoreanTripSchedule> timeTable = TimeShiftedTimeTable.encode(
+            pattern,
             schedules.toArray(new KoreanTripSchedule[0])
         );
 
@@ -2,9 +2,11 @@ package kr.otp.scenario;
 
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.spi.KoreanRoute;
-import kr.otp.raptor.spi.KoreanTimeTable;
 import kr.otp.raptor.spi.KoreanTripPattern;
 import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TimeShiftedTimeTable;
+
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -100,7 +102,7 @@ public class HeadwayModification implements Modification {
      * @return 수정된 노선
      */
     public KoreanRoute applyToRoute(KoreanRoute originalRoute, int newPatternIndex) {
-        KoreanTimeTable originalTimeTable = (KoreanTimeTable) originalRoute.timetable();
+        RaptorTimeTable<KoreanTripSchedule> originalTimeTable = originalRoute.timetable();
         KoreanTripPattern originalPattern = (KoreanTripPattern) originalRoute.pattern();
 
         // 새 패턴 생성 (인덱스만 변경)
@@ -122,7 +124,7 @@ public class HeadwayModification implements Modification {
             newSchedules = interpolateTrips(originalTimeTable, newPattern, factor);
         }
 
-        KoreanTimeTable newTimeTable = new KoreanTimeTable(newSchedules);
+        RaptorTimeTable<KoreanTripSchedule> newTimeTable = TimeShiftedTimeTable.encode(newPattern, newSchedules);
 
         return new KoreanRoute(
             newPattern,
@@ -139,7 +141,7 @@ public class HeadwayModification implements Modification {
      *
      * 예: factor=2.0이면 트립 수 절반 (매 2번째 트립만 선택)
      */
-    private KoreanTripSchedule[] reduceTrips(KoreanTimeTable timeTable,
+    private KoreanTripSchedule[] reduceTrips(RaptorTimeTable<KoreanTripSchedule> timeTable,
                                               KoreanTripPattern newPattern,
                                               double factor) {
         int originalCount = timeTable.numberOfTripSchedules();
@@ -167,7 +169,7 @@ public class HeadwayModification implements Modification {
      *
      * 예: factor=0.5이면 트립 수 2배 (기존 트립 사이에 보간)
      */
-    private KoreanTripSchedule[] interpolateTrips(KoreanTimeTable timeTable,
+    private KoreanTripSchedule[] interpolateTrips(RaptorTimeTable<KoreanTripSchedule> timeTable,
                                                    KoreanTripPattern newPattern,
                                                    double factor) {
         int originalCount = timeTable.numberOfTripSchedules();
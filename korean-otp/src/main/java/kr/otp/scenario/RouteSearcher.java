@@ -2,6 +2,7 @@ package kr.otp.scenario;
 
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.TransitMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -136,13 +137,13 @@ public class RouteSearcher {
     private boolean matchesType(int actualType, int expectedType) {
         switch (expectedType) {
             case TYPE_SUBWAY:
-                return actualType == 1 || (actualType >= 400 && actualType < 500);
+                return TransitMode.of(actualType) == TransitMode.SUBWAY;
             case TYPE_BUS:
-                return actualType == 3 || (actualType >= 700 && actualType < 800);
+                return TransitMode.of(actualType) == TransitMode.BUS;
             case TYPE_RAIL:
-                return actualType == 2 || (actualType >= 100 && actualType < 200);
+                return TransitMode.of(actualType) == TransitMode.RAIL;
             case TYPE_TRAM:
-                return actualType == 0;
+                return TransitMode.of(actualType) == TransitMode.TRAM;
             default:
                 return actualType == expectedType;
         }
@@ -2,9 +2,12 @@ package kr.otp.scenario;
 
 import kr.otp.core.AccessEgressFinder;
 import kr.otp.core.KoreanRaptor;
+import kr.otp.core.RaptorRuntime;
+import kr.otp.core.RouteCache;
 import kr.otp.osm.StreetNetwork;
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TransferIndex;
 
 import org.opentripplanner.raptor.api.path.PathLeg;
 import org.opentripplanner.raptor.api.path.RaptorPath;
@@ -34,6 +37,7 @@ public class ScenarioCli {
 
     // 시나리오 적용된 Raptor (null이면 미적용)
     private KoreanRaptor scenarioRaptor;
+    private RouteCache scenarioCache;  // 시나리오 엔진 결과 캐시 (원본 캐시 설정 복사)
 
     // 검색 설정
     private int maxResults = 5;
@@ -47,7 +51,8 @@ public class ScenarioCli {
         this.streetNetwork = streetNetwork;
         this.reader = reader;
         this.originalRaptor = originalRaptor;
-        this.manager = new ScenarioManager(transitData);
+        this.manager = new ScenarioManager(transitData,
+            originalRaptor != null ? originalRaptor.getTransferIndex() : null);
     }
 
     /**
@@ -379,14 +384,25 @@ public class ScenarioCli {
         long start = System.currentTimeMillis();
 
         ScenarioTransitData scenarioData = manager.apply();
-        TransitData wrappedData = createTransitDataWrapper(scenarioData);
 
-        // 기존 AccessEgressFinder 재사용 (OSM 매핑 재계산 방지)
+        // 기존 AccessEgressFinder + RaptorService 재사용 (OSM 매핑/스레드 풀 재생성 방지)
+        // 환승은 원본 TransferIndex를 공유 (래퍼 TransitData의 환승 목록도 같은 배열의 뷰)
+        TransferIndex transfers = scenarioData.getTransferIndex();
+        TransitData wrappedData = createTransitDataWrapper(scenarioData, transfers);
         if (originalRaptor != null) {
             AccessEgressFinder existingFinder = originalRaptor.getAccessEgressFinder();
-            scenarioRaptor = new KoreanRaptor(wrappedData, existingFinder);
+            scenarioRaptor = new KoreanRaptor(
+                wrappedData, existingFinder, originalRaptor.getRaptorRuntime(), transfers);
         } else {
-            scenarioRaptor = new KoreanRaptor(wrappedData, streetNetwork);
+            scenarioRaptor = new KoreanRaptor(wrappedData, streetNetwork, RaptorRuntime.createDefault(), transfers);
+        }
+
+        // 결과 캐시: 원본과 별도 캐시 사용, 재적용 시 TransitData가 바뀌므로 자동 무효화
+        if (originalRaptor != null && originalRaptor.getRouteCache() != null) {
+            if (scenarioCache == null) {
+                scenarioCache = originalRaptor.getRouteCache().copySettings();
+            }
+            scenarioRaptor.setRouteCache(scenarioCache);
         }
 
         long elapsed = System.currentTimeMillis() - start;
@@ -396,8 +412,11 @@ public class ScenarioCli {
 
     /**
      * ScenarioTransitData를 TransitData처럼 사용하기 위한 래퍼
+     *
+     * 환승 목록은 복사하지 않고 TransferIndex의 읽기 전용 뷰를 둔다.
+     * 래퍼로 TransferIndex/KoreanRaptor를 새로 만들어도 원본과 같은 환승을 본다.
      */
-    private TransitData createTransitDataWrapper(ScenarioTransitData scenario) {
+    private TransitData createTransitDataWrapper(ScenarioTransitData scenario, TransferIndex transfers) {
         // ScenarioTransitData의 데이터로 새 TransitData 생성
         int stopCount = scenario.getStopCount();
         String[] stopNames = new String[stopCount];
@@ -416,25 +435,9 @@ public class ScenarioCli {
             routes[i] = scenario.getRoute(i);
         }
 
-        // 환승 정보는 원본에서 가져옴
-        @SuppressWarnings("unchecked")
-        List<kr.otp.raptor.spi.KoreanTransfer>[] transfersFrom = new List[stopCount];
-        @SuppressWarnings("unchecked")
-        List<kr.otp.raptor.spi.KoreanTransfer>[] transfersTo = new List[stopCount];
-
-        for (int i = 0; i < stopCount; i++) {
-            transfersFrom[i] = new ArrayList<>();
-            var iter = scenario.getTransfersFrom(i);
-            while (iter.hasNext()) {
-                transfersFrom[i].add(iter.next());
-            }
-
-            transfersTo[i] = new ArrayList<>();
-            var iter2 = scenario.getTransfersTo(i);
-            while (iter2.hasNext()) {
-                transfersTo[i].add(iter2.next());
-            }
-        }
+        // 환승: 원본 TransferIndex 배열의 정류장별 뷰 (환승 객체 복사 없음)
+        List<kr.otp.raptor.spi.KoreanTransfer>[] transfersFrom = transfers.transferListsFrom();
+        List<kr.otp.raptor.spi.KoreanTransfer>[] transfersTo = transfers.transferListsTo();
 
         // routesByStop 계산
         int[][] routesByStop = new int[stopCount][];
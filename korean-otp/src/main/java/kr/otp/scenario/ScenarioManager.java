@@ -2,6 +2,7 @@ package kr.otp.scenario;
 
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.TransferIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,8 +39,19 @@ public class ScenarioManager {
     // 적용된 시나리오 데이터 (캐시)
     private ScenarioTransitData appliedScenario;
 
+    // 환승 인덱스 (시나리오를 다시 적용해도 공유)
+    private TransferIndex transferIndex;
+
     public ScenarioManager(TransitData transitData) {
+        this(transitData, null);
+    }
+
+    /**
+     * @param transferIndex 원본 엔진의 환승 인덱스 (null이면 첫 적용 때 생성)
+     */
+    public ScenarioManager(TransitData transitData, TransferIndex transferIndex) {
         this.originalData = transitData;
+        this.transferIndex = transferIndex;
         this.routeSearcher = new RouteSearcher(transitData);
         this.stopSearcher = new StopSearcher(transitData);
         this.modifications = new ArrayList<>();
@@ -171,7 +183,8 @@ public class ScenarioManager {
             return appliedScenario;
         }
 
-        appliedScenario = new ScenarioTransitData(originalData);
+        appliedScenario = new ScenarioTransitData(originalData, transferIndex);
+        transferIndex = appliedScenario.getTransferIndex();
 
         int newPatternIndex = originalData.getRouteCount();
 
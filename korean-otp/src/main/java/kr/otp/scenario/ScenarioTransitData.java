@@ -3,6 +3,7 @@ package kr.otp.scenario;
 import kr.otp.raptor.data.TransitData;
 import kr.otp.raptor.spi.KoreanRoute;
 import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.TransferIndex;
 
 import java.util.*;
 
@@ -35,8 +36,21 @@ public class ScenarioTransitData {
     // 전체 노선 배열 (원본 + 수정 + 추가)
     private KoreanRoute[] allRoutes;
 
+    // 환승 CSR 인덱스 (원본 환승 그대로, 노선 수정과 무관하므로 무효화하지 않음)
+    private volatile TransferIndex transferIndex;
+
     public ScenarioTransitData(TransitData originalData) {
+        this(originalData, null);
+    }
+
+    /**
+     * 원본 엔진의 환승 인덱스를 공유하는 생성자
+     *
+     * @param transferIndex 원본 TransitData로 만든 환승 인덱스 (null이면 처음 조회할 때 생성)
+     */
+    public ScenarioTransitData(TransitData originalData, TransferIndex transferIndex) {
         this.originalData = originalData;
+        this.transferIndex = transferIndex;
         this.disabledRouteIndices = new HashSet<>();
         this.modifiedRoutes = new HashMap<>();
         this.addedRoutes = new ArrayList<>();
@@ -162,6 +176,23 @@ public class ScenarioTransitData {
         return originalData.getTransfersTo(stopIndex);
     }
 
+    /**
+     * 환승 CSR 인덱스 (원본 기준, 처음 조회할 때 한 번 생성)
+     */
+    public TransferIndex getTransferIndex() {
+        TransferIndex index = transferIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = transferIndex;
+                if (index == null) {
+                    index = TransferIndex.of(originalData);
+                    transferIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     /**
      * 정류장별 경유 노선 인덱스 (재계산)
      */
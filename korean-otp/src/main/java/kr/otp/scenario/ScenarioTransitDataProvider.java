@@ -1,12 +1,10 @@
 package kr.otp.scenario;
 
 import kr.otp.raptor.spi.*;
-import kr.otp.util.BitSetIntIterator;
 import org.opentripplanner.raptor.api.model.RaptorStopNameResolver;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.spi.*;
 
-import java.util.BitSet;
 import java.util.Iterator;
 
 /**
@@ -19,11 +17,15 @@ public class ScenarioTransitDataProvider
     implements RaptorTransitDataProvider<KoreanTripSchedule> {
 
     private final ScenarioTransitData data;
+    private final TransferIndex transfers;
+    private final StopRouteIndex routesByStop;
     private final KoreanCostCalculator costCalculator;
     private final KoreanSlackProvider slackProvider;
 
     public ScenarioTransitDataProvider(ScenarioTransitData data) {
         this.data = data;
+        this.transfers = data.getTransferIndex();
+        this.routesByStop = StopRouteIndex.of(data.getStopCount(), data.getRouteCount(), data::getRoutesByStop);
         this.costCalculator = new KoreanCostCalculator();
         this.slackProvider = new KoreanSlackProvider();
     }
@@ -43,12 +45,12 @@ public class ScenarioTransitDataProvider
 
     @Override
     public Iterator<? extends RaptorTransfer> getTransfersFromStop(int fromStop) {
-        return data.getTransfersFrom(fromStop);
+        return transfers.transfersFrom(fromStop);
     }
 
     @Override
     public Iterator<? extends RaptorTransfer> getTransfersToStop(int toStop) {
-        return data.getTransfersTo(toStop);
+        return transfers.transfersTo(toStop);
     }
 
     // ═══════════════════════════════════════════════════════════════
@@ -57,14 +59,7 @@ public class ScenarioTransitDataProvider
 
     @Override
     public IntIterator routeIndexIterator(IntIterator stops) {
-        BitSet activeRoutes = new BitSet();
-        while (stops.hasNext()) {
-            int stopIndex = stops.next();
-            for (int routeIdx : data.getRoutesByStop(stopIndex)) {
-                activeRoutes.set(routeIdx);
-            }
-        }
-        return new BitSetIntIterator(activeRoutes);
+        return routesByStop.routeIndexIterator(stops);
     }
 
     @Override
@@ -0,0 +1,345 @@
+package kr.otp.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import kr.otp.core.KoreanRaptor;
+import kr.otp.json.PathJsonFormatter;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TransitMode;
+
+import org.opentripplanner.raptor.api.path.RaptorPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 상주형 HTTP 경로탐색 서버.
+ *
+ * 초기화(GTFS/OSM 로드, 약 60초)를 한 번만 하고 KoreanRaptor를 계속 유지한다.
+ * JDK 내장 HttpServer + 가상 스레드(요청당 1개)로 동작하며,
+ * 모든 요청이 불변 TransitData / StreetNetwork를 공유한다.
+ *
+ * 서버는 데이터 로드 전에 먼저 시작할 수 있으며, setRaptor() 호출 전까지
+ * /ready와 검색 API는 503을 반환한다 (오토스케일링 readiness probe용).
+ * /metrics는 준비 전에도 200으로 응답한다 (korean_raptor_ready 0, 로딩 중 스크레이프 실패 방지).
+ *
+ * 엔드포인트 (모두 GET, JSON 응답):
+ * <pre>
+ * /health                                   생존 여부 (항상 200)
+ * /ready                                    엔진 준비 여부 (200 / 503)
+ * /route?fromLat=&fromLon=&toLat=&toLon=&time=09:00[&arriveBy=true][&limit=5][&modes=subway,bus]
+ * /route/mc?fromLat=&fromLon=&toLat=&toLon=&time=09:00[&limit=5][&excludeModes=rail]
+ * /route/stops?from=123&to=456&time=09:00[&limit=5]
+ * /metrics                                  Prometheus 텍스트 형식 메트릭
+ * </pre>
+ * modes / excludeModes: tram, subway, rail, bus, other (쉼표 구분, 둘 중 하나만)
+ */
+public class RoutingServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RoutingServer.class);
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile KoreanRaptor raptor;
+
+    public RoutingServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(executor);
+
+        server.createContext("/health", exchange -> respond(exchange, 200, JSON, "{\"status\":\"UP\"}"));
+        server.createContext("/ready", this::handleReady);
+        server.createContext("/route/mc", handler(JSON, this::handleMultiCriteria));
+        server.createContext("/route/stops", handler(JSON, this::handleStopIndex));
+        server.createContext("/route", handler(JSON, this::handleRoute));
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    public void start() {
+        server.start();
+        LOG.info("HTTP 서버 시작: 포트 {}", server.getAddress().getPort());
+    }
+
+    /**
+     * 엔진 설정 (이후 readiness = READY)
+     */
+    public void setRaptor(KoreanRaptor raptor) {
+        this.raptor = raptor;
+        LOG.info("HTTP 서버 준비 완료: {}", raptor);
+    }
+
+    public boolean isReady() {
+        return raptor != null;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 서버 종료 (진행 중 요청은 최대 delaySeconds 동안 대기)
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        LOG.info("HTTP 서버 종료");
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 핸들러
+    // ═══════════════════════════════════════════════════════════════
+
+    private void handleReady(HttpExchange exchange) throws IOException {
+        if (isReady()) {
+            respond(exchange, 200, JSON, "{\"status\":\"READY\"}");
+        } else {
+            respond(exchange, 503, JSON, "{\"status\":\"LOADING\"}");
+        }
+    }
+
+    /**
+     * 메트릭은 준비 여부와 관계없이 응답 (로딩 중에는 readiness 게이지만)
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, JSON, "{\"error\":\"GET만 지원합니다\"}");
+            return;
+        }
+        KoreanRaptor current = raptor;
+        String readiness = "# TYPE korean_raptor_ready gauge\nkorean_raptor_ready " + (current != null ? 1 : 0) + "\n";
+        respond(exchange, 200, PROMETHEUS_TEXT,
+            current != null ? readiness + current.getMetrics().toPrometheusText() : readiness);
+    }
+
+    private String handleRoute(KoreanRaptor raptor, Map<String, String> params) {
+        double fromLat = doubleParam(params, "fromLat");
+        double fromLon = doubleParam(params, "fromLon");
+        double toLat = doubleParam(params, "toLat");
+        double toLon = doubleParam(params, "toLon");
+        int time = timeParam(params, "time");
+        boolean arriveBy = Boolean.parseBoolean(params.getOrDefault("arriveBy", "false"));
+        Set<TransitMode> modes = modesParam(params);
+
+        long start = System.currentTimeMillis();
+        List<RaptorPath<KoreanTripSchedule>> paths = arriveBy
+            ? raptor.routeArriveBy(fromLat, fromLon, toLat, toLon, time, modes)
+            : raptor.route(fromLat, fromLon, toLat, toLon, time, modes);
+        return formatPaths(raptor, paths, params, System.currentTimeMillis() - start);
+    }
+
+    private String handleMultiCriteria(KoreanRaptor raptor, Map<String, String> params) {
+        Set<TransitMode> modes = modesParam(params);
+        long start = System.currentTimeMillis();
+        List<RaptorPath<KoreanTripSchedule>> paths = raptor.routeMultiCriteria(
+            doubleParam(params, "fromLat"), doubleParam(params, "fromLon"),
+            doubleParam(params, "toLat"), doubleParam(params, "toLon"),
+            timeParam(params, "time"), modes);
+        return formatPaths(raptor, paths, params, System.currentTimeMillis() - start);
+    }
+
+    private String handleStopIndex(KoreanRaptor raptor, Map<String, String> params) {
+        int from = intParam(params, "from");
+        int to = intParam(params, "to");
+        if (from < 0 || from >= raptor.getStopCount() || to < 0 || to >= raptor.getStopCount()) {
+            throw new BadRequestException("정류장 인덱스 범위 초과 (0 ~ " + (raptor.getStopCount() - 1) + ")");
+        }
+
+        long start = System.currentTimeMillis();
+        List<RaptorPath<KoreanTripSchedule>> paths = raptor.routeByStopIndex(from, to, timeParam(params, "time"));
+        return formatPaths(raptor, paths, params, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 검색 핸들러 공통 처리: 준비 확인, 파라미터 파싱, 오류 → 400/500
+     *
+     * 400은 요청 파라미터 오류(BadRequestException)에만 쓰고, 탐색 중 발생한 예외는
+     * IllegalArgumentException이라도 서버 오류(500)로 기록한다.
+     *
+     * @param contentType 성공 응답의 Content-Type
+     */
+    private HttpHandler handler(String contentType, RequestHandler delegate) {
+        return exchange -> {
+            KoreanRaptor current = raptor;
+            if (current == null) {
+                respond(exchange, 503, JSON, "{\"error\":\"엔진 초기화 중\"}");
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, JSON, "{\"error\":\"GET만 지원합니다\"}");
+                return;
+            }
+
+            try {
+                Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+                String body = delegate.handle(current, params);
+                respond(exchange, 200, contentType, body);
+            } catch (BadRequestException e) {
+                respond(exchange, 400, JSON, errorJson(e.getMessage()));
+            } catch (Exception e) {
+                LOG.error("요청 처리 실패: {}", exchange.getRequestURI(), e);
+                respond(exchange, 500, JSON, errorJson(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface RequestHandler {
+        String handle(KoreanRaptor raptor, Map<String, String> params);
+    }
+
+    /**
+     * 잘못된 요청 파라미터 (400 응답)
+     */
+    static final class BadRequestException extends RuntimeException {
+        BadRequestException(String message) {
+            super(message);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 응답 / 파라미터 유틸리티
+    // ═══════════════════════════════════════════════════════════════
+
+    private static String formatPaths(KoreanRaptor raptor, List<RaptorPath<KoreanTripSchedule>> paths,
+                                      Map<String, String> params, long elapsedMillis) {
+        int limit = params.containsKey("limit") ? intParam(params, "limit") : paths.size();
+        List<RaptorPath<KoreanTripSchedule>> limited = paths.subList(0, Math.max(0, Math.min(limit, paths.size())));
+
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("{\"status\":\"").append(paths.isEmpty() ? "NO_PATH" : "OK").append('"');
+        sb.append(",\"elapsedMs\":").append(elapsedMillis);
+        sb.append(",\"paths\":");
+        PathJsonFormatter.appendPaths(sb, limited, raptor);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private static String errorJson(String message) {
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        PathJsonFormatter.appendString(sb, message);
+        return sb.append('}').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            try {
+                params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("쿼리 인코딩 오류: " + pair);
+            }
+        }
+        return params;
+    }
+
+    private static String requireParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new BadRequestException("필수 파라미터 누락: " + name);
+        }
+        return value;
+    }
+
+    private static double doubleParam(Map<String, String> params, String name) {
+        String value = requireParam(params, name);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("숫자 형식 오류: " + name + "=" + value);
+        }
+    }
+
+    private static int intParam(Map<String, String> params, String name) {
+        String value = requireParam(params, name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("정수 형식 오류: " + name + "=" + value);
+        }
+    }
+
+    /**
+     * 교통수단 파라미터 (modes=허용 목록 또는 excludeModes=제외 목록, 없으면 null = 전체)
+     */
+    static Set<TransitMode> modesParam(Map<String, String> params) {
+        String include = params.get("modes");
+        String exclude = params.get("excludeModes");
+        if (include != null && exclude != null) {
+            throw new BadRequestException("modes와 excludeModes는 함께 쓸 수 없음");
+        }
+        if (include != null) {
+            EnumSet<TransitMode> modes = parseModes(include);
+            if (modes.isEmpty()) {
+                throw new BadRequestException("교통수단 목록이 비어 있음: modes");
+            }
+            return modes;
+        }
+        if (exclude != null) {
+            EnumSet<TransitMode> modes = EnumSet.complementOf(parseModes(exclude));
+            if (modes.isEmpty()) {
+                throw new BadRequestException("모든 교통수단을 제외할 수 없음: excludeModes");
+            }
+            return modes;
+        }
+        return null;
+    }
+
+    private static EnumSet<TransitMode> parseModes(String csv) {
+        try {
+            return TransitMode.parse(csv);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * 시간 파라미터 (HH:MM, HH:MM:SS 또는 자정 기준 초)
+     */
+    private static int timeParam(Map<String, String> params, String name) {
+        String value = requireParam(params, name);
+        try {
+            if (!value.contains(":")) {
+                return Integer.parseInt(value);
+            }
+            String[] parts = value.split(":");
+            int h = Integer.parseInt(parts[0]);
+            int m = parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            int s = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+            return h * 3600 + m * 60 + s;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("시간 형식 오류: " + name + "=" + value);
+        }
+    }
+}
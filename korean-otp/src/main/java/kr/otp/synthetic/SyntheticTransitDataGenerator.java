@@ -0,0 +1,580 @@
+package kr.otp.synthetic;
+
+import kr.otp.osm.StreetEdge;
+import kr.otp.osm.StreetNetwork;
+import kr.otp.osm.StreetNode;
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTimeTable;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 스케일 테스트용 합성 TransitData 생성기.
+ *
+ * 실제 데이터(정류장 21만, 패턴 3.2만, 트립 35만, 환승 200만)는 CI에 넣을 수 없으므로
+ * 같은 구조를 가진 가상의 전국 네트워크를 결정적으로(seed 고정) 생성한다.
+ *
+ * 구성:
+ * - 도시: 격자형 버스 정류장 + 행/열마다 양방향 버스 노선
+ * - 대도시: 도심을 지나는 방사형 지하철 노선
+ * - 도시 간: 가장 가까운 도시들을 잇는 간선 철도
+ * - 환승: 반경 내 정류장 간 도보 환승 (격자 해시 인덱스)
+ * - (선택) 버스 정류장 격자를 따라가는 합성 도로망 (StreetNetwork)
+ *
+ * 첫 번째 도시는 서울 도심, 두 번째는 부산 도심에 배치되므로
+ * 서울 좌표 기반 OD 샘플을 그대로 사용할 수 있다.
+ *
+ * 사용법:
+ * <pre>
+ * SyntheticNetwork network = new SyntheticTransitDataGenerator(Config.korea(2.0)).generate();
+ * KoreanRaptor raptor = new KoreanRaptor(network.transitData(), network.streetNetwork());
+ * </pre>
+ */
+public class SyntheticTransitDataGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyntheticTransitDataGenerator.class);
+
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+    private static final double WALK_SPEED_MPS = 1.2;            // 도보 속도 (KoreanRaptor와 동일)
+    private static final int TRANSFER_COST_PER_SECOND = 100;     // OTP c1 단위 (초 × 100)
+
+    // 노선 유형 (GTFS route_type)
+    private static final int ROUTE_TYPE_SUBWAY = 1;
+    private static final int ROUTE_TYPE_RAIL = 2;
+    private static final int ROUTE_TYPE_BUS = 3;
+
+    // slackIndex (AddRouteModification과 동일)
+    private static final int SLACK_SUBWAY = 0;
+    private static final int SLACK_BUS = 1;
+
+    // 차량 속도 (m/s) 및 정차 시간 (초)
+    private static final double BUS_SPEED_MPS = 6.0;       // 약 22km/h
+    private static final double SUBWAY_SPEED_MPS = 10.0;   // 약 36km/h (정차 포함 표정속도)
+    private static final double RAIL_SPEED_MPS = 40.0;     // 약 144km/h
+    private static final int BUS_DWELL_SECONDS = 20;
+    private static final int SUBWAY_DWELL_SECONDS = 30;
+    private static final int RAIL_DWELL_SECONDS = 120;
+
+    // 기준 도시 (서울, 부산) 및 나머지 도시 배치 범위 (한반도 남부)
+    private static final double[][] ANCHOR_CITIES = {
+        {37.5665, 126.9780},
+        {35.1796, 129.0756},
+    };
+    private static final double MIN_LAT = 34.8, MAX_LAT = 37.9;
+    private static final double MIN_LON = 126.6, MAX_LON = 129.2;
+    // 배치 범위가 기준 크기인 도시 수 (korea(1.0)). 이보다 많으면 면적을 도시 수에 비례해 넓혀 밀도 유지
+    private static final int BASE_CITY_COUNT = 40;
+
+    private final Config config;
+
+    // 생성 중 상태
+    private final List<String> stopNames = new ArrayList<>();
+    private final List<double[]> stopCoords = new ArrayList<>();
+    private final List<KoreanRoute> routes = new ArrayList<>();
+    private long tripCount = 0;
+
+    public SyntheticTransitDataGenerator(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * 생성 설정
+     *
+     * @param seed                  난수 시드 (같은 시드 → 같은 네트워크)
+     * @param cityCount             도시 수
+     * @param gridSize              도시당 버스 정류장 격자 한 변의 정류장 수
+     * @param stopSpacingMeters     버스 정류장 간격 (m)
+     * @param subwayCityCount       지하철이 있는 도시 수 (앞에서부터)
+     * @param subwayLinesPerCity    도시당 방사형 지하철 노선 수
+     * @param railLinksPerCity      도시당 간선 철도 연결 수 (가까운 도시 순)
+     * @param busHeadwaySeconds     버스 배차 간격 (초)
+     * @param subwayHeadwaySeconds  지하철 배차 간격 (초)
+     * @param railHeadwaySeconds    철도 배차 간격 (초)
+     * @param transferRadiusMeters  도보 환승 반경 (m)
+     * @param withStreetNetwork     합성 도로망 생성 여부
+     */
+    public record Config(
+        long seed,
+        int cityCount,
+        int gridSize,
+        double stopSpacingMeters,
+        int subwayCityCount,
+        int subwayLinesPerCity,
+        int railLinksPerCity,
+        int busHeadwaySeconds,
+        int subwayHeadwaySeconds,
+        int railHeadwaySeconds,
+        double transferRadiusMeters,
+        boolean withStreetNetwork
+    ) {
+        public static final int SERVICE_START = 5 * 3600;   // 05:00
+        public static final int SERVICE_END = 24 * 3600;    // 24:00 (마지막 출발)
+
+        public Config {
+            if (cityCount < 1 || gridSize < 2 || stopSpacingMeters <= 0
+                    || busHeadwaySeconds < 1 || subwayHeadwaySeconds < 1 || railHeadwaySeconds < 1) {
+                throw new IllegalArgumentException("잘못된 합성 데이터 설정: cityCount=" + cityCount
+                    + ", gridSize=" + gridSize + ", stopSpacingMeters=" + stopSpacingMeters);
+            }
+        }
+
+        /**
+         * 전국 규모 설정 (scale=1.0이면 실제 데이터와 비슷한 규모)
+         *
+         * 1.0x: 도시 40개 × 정류장 73×73 ≈ 정류장 21만, 패턴 1.2만, 트립 67만, 환승 약 170만
+         *
+         * @param scale 규모 배수 (도시 수에 비례, 예: 1.0, 2.0, 5.0)
+         */
+        public static Config korea(double scale) {
+            int cities = Math.max(2, (int) Math.round(40 * scale));
+            return new Config(20240101L, cities, 73, 400.0,
+                Math.max(1, (int) Math.round(6 * scale)), 6, 2,
+                1200, 300, 3600, 700.0, false);
+        }
+
+        /**
+         * 소규모 설정 (빠른 로컬 테스트용, 정류장 약 1,600개)
+         */
+        public static Config small() {
+            return new Config(20240101L, 4, 20, 400.0, 1, 4, 2, 1200, 300, 3600, 700.0, false);
+        }
+
+        public Config withStreetNetwork(boolean enabled) {
+            return new Config(seed, cityCount, gridSize, stopSpacingMeters, subwayCityCount,
+                subwayLinesPerCity, railLinksPerCity, busHeadwaySeconds, subwayHeadwaySeconds,
+                railHeadwaySeconds, transferRadiusMeters, enabled);
+        }
+
+        public Config withSeed(long newSeed) {
+            return new Config(newSeed, cityCount, gridSize, stopSpacingMeters, subwayCityCount,
+                subwayLinesPerCity, railLinksPerCity, busHeadwaySeconds, subwayHeadwaySeconds,
+                railHeadwaySeconds, transferRadiusMeters, withStreetNetwork);
+        }
+    }
+
+    /**
+     * 생성 결과
+     *
+     * @param transitData   대중교통 데이터
+     * @param streetNetwork 합성 도로망 (설정에서 끈 경우 null)
+     */
+    public record SyntheticNetwork(TransitData transitData, StreetNetwork streetNetwork) {}
+
+    /**
+     * 네트워크 생성 (같은 설정이면 항상 같은 결과)
+     */
+    public SyntheticNetwork generate() {
+        long start = System.currentTimeMillis();
+        Random random = new Random(config.seed());
+        stopNames.clear();
+        stopCoords.clear();
+        routes.clear();
+        tripCount = 0;
+
+        // 1. 도시 배치
+        double[][] cities = placeCities(random);
+
+        // 2. 도시별 버스 격자 + 지하철
+        int[] centralStation = new int[cities.length];
+        for (int c = 0; c < cities.length; c++) {
+            buildBusGrid(c, cities[c], random);
+            if (c < config.subwayCityCount()) {
+                buildSubway(c, cities[c], random);
+            }
+            centralStation[c] = addStop(String.format("도시%d역", c), cities[c][0], cities[c][1]);
+        }
+
+        // 3. 도시 간 철도
+        buildIntercityRail(cities, centralStation, random);
+
+        // 4. 도보 환승
+        int stopCount = stopNames.size();
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] transfersFrom = new List[stopCount];
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] transfersTo = new List[stopCount];
+        long transferCount = buildTransfers(transfersFrom, transfersTo);
+
+        // 5. TransitData 조립
+        TransitData transitData = new TransitData(
+            stopCount,
+            stopNames.toArray(new String[0]),
+            stopCoords.stream().mapToDouble(p -> p[0]).toArray(),
+            stopCoords.stream().mapToDouble(p -> p[1]).toArray(),
+            routes.toArray(new KoreanRoute[0]),
+            transfersFrom,
+            transfersTo,
+            buildRoutesByStop(stopCount),
+            Config.SERVICE_START,
+            Config.SERVICE_END + 6 * 3600  // 마지막 출발 이후 운행 여유
+        );
+
+        // 6. (선택) 합성 도로망
+        StreetNetwork streetNetwork = config.withStreetNetwork()
+            ? buildStreetNetwork(cities)
+            : null;
+
+        LOG.info("합성 데이터 생성 완료: 정류장 {}, 패턴 {}, 트립 {}, 환승 {} ({}ms)",
+            stopCount, routes.size(), tripCount, transferCount, System.currentTimeMillis() - start);
+
+        return new SyntheticNetwork(transitData, streetNetwork);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 도시 / 노선 생성
+    // ═══════════════════════════════════════════════════════════════
+
+    private double[][] placeCities(Random random) {
+        double[][] cities = new double[config.cityCount()][];
+        double minDistance = config.gridSize() * config.stopSpacingMeters();  // 도시 격자가 겹치지 않도록
+
+        // 면적 ∝ 도시 수 → 한 변 ∝ √도시 수 (범위 중심 기준으로 확장, 기준 도시 위치는 그대로)
+        double extent = Math.sqrt(Math.max(1.0, (double) config.cityCount() / BASE_CITY_COUNT));
+        double latSpan = (MAX_LAT - MIN_LAT) * extent;
+        double lonSpan = (MAX_LON - MIN_LON) * extent;
+        double minLat = (MIN_LAT + MAX_LAT) / 2 - latSpan / 2;
+        double minLon = (MIN_LON + MAX_LON) / 2 - lonSpan / 2;
+
+        for (int c = 0; c < cities.length; c++) {
+            if (c < ANCHOR_CITIES.length) {
+                cities[c] = ANCHOR_CITIES[c].clone();
+                continue;
+            }
+            // 다른 도시와 충분히 떨어진 위치를 찾을 때까지 (최대 1000회, 이후 겹침 허용)
+            double[] candidate = null;
+            for (int attempt = 0; attempt < 1000; attempt++) {
+                candidate = new double[] {
+                    minLat + random.nextDouble() * latSpan,
+                    minLon + random.nextDouble() * lonSpan
+                };
+                if (isFarFromAll(candidate, cities, c, minDistance)) {
+                    break;
+                }
+            }
+            cities[c] = candidate;
+        }
+        return cities;
+    }
+
+    private static boolean isFarFromAll(double[] p, double[][] cities, int count, double minDistance) {
+        for (int i = 0; i < count; i++) {
+            if (StreetNetwork.haversineDistance(p[0], p[1], cities[i][0], cities[i][1]) < minDistance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 격자형 버스 정류장 + 행/열 양방향 노선
+     *
+     * 정류장 (row, col) 인덱스 = 도시의 첫 정류장 인덱스 + row * gridSize + col
+     */
+    private void buildBusGrid(int city, double[] center, Random random) {
+        int n = config.gridSize();
+        double spacing = config.stopSpacingMeters();
+        double half = (n - 1) / 2.0;
+        int base = stopNames.size();
+
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                double[] p = offset(center, (row - half) * spacing, (col - half) * spacing);
+                addStop(String.format("도시%d 버스(%d,%d)", city, row, col), p[0], p[1]);
+            }
+        }
+
+        int segmentSeconds = (int) Math.round(spacing / BUS_SPEED_MPS);
+        int[] line = new int[n];
+        for (int i = 0; i < n; i++) {
+            // 가로 노선 (row i)
+            for (int col = 0; col < n; col++) {
+                line[col] = base + i * n + col;
+            }
+            addBothDirections(line, ROUTE_TYPE_BUS, SLACK_BUS,
+                String.format("C%d-H%d", city, i), segmentSeconds, BUS_DWELL_SECONDS,
+                config.busHeadwaySeconds(), random);
+
+            // 세로 노선 (col i)
+            for (int row = 0; row < n; row++) {
+                line[row] = base + row * n + i;
+            }
+            addBothDirections(line, ROUTE_TYPE_BUS, SLACK_BUS,
+                String.format("C%d-V%d", city, i), segmentSeconds, BUS_DWELL_SECONDS,
+                config.busHeadwaySeconds(), random);
+        }
+    }
+
+    /**
+     * 도심을 지나는 방사형 지하철 (노선마다 다른 방향, 도심역은 노선별로 별도 정류장)
+     */
+    private void buildSubway(int city, double[] center, Random random) {
+        double stationSpacing = config.stopSpacingMeters() * 2.5;
+        double radius = config.gridSize() * config.stopSpacingMeters() / 2.0;
+        int stationsPerSide = Math.max(1, (int) (radius / stationSpacing));
+        int stationCount = stationsPerSide * 2 + 1;
+        int segmentSeconds = (int) Math.round(stationSpacing / SUBWAY_SPEED_MPS);
+
+        for (int l = 0; l < config.subwayLinesPerCity(); l++) {
+            double angle = Math.PI * l / config.subwayLinesPerCity();
+            double dy = Math.cos(angle), dx = Math.sin(angle);
+
+            int[] stations = new int[stationCount];
+            for (int k = 0; k < stationCount; k++) {
+                double along = (k - stationsPerSide) * stationSpacing;
+                double[] p = offset(center, along * dy, along * dx);
+                stations[k] = addStop(String.format("도시%d %d호선 %d", city, l + 1, k), p[0], p[1]);
+            }
+            addBothDirections(stations, ROUTE_TYPE_SUBWAY, SLACK_SUBWAY,
+                String.format("C%d-L%d", city, l + 1), segmentSeconds, SUBWAY_DWELL_SECONDS,
+                config.subwayHeadwaySeconds(), random);
+        }
+    }
+
+    /**
+     * 도시마다 가장 가까운 railLinksPerCity개 도시와 간선 철도 연결
+     * (상대 도시가 먼저 연결한 구간은 건너뛰고 새 연결만 센다)
+     */
+    private void buildIntercityRail(double[][] cities, int[] centralStation, Random random) {
+        boolean[][] linked = new boolean[cities.length][cities.length];
+        Integer[] order = new Integer[cities.length];
+
+        for (int a = 0; a < cities.length; a++) {
+            final int from = a;
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> Double.compare(
+                distance(cities[from], cities[x]), distance(cities[from], cities[y])));
+
+            int links = 0;
+            for (int i = 1; i < order.length && links < config.railLinksPerCity(); i++) {
+                int b = order[i];
+                if (linked[a][b]) {
+                    continue;  // 이미 b 쪽에서 연결됨 → 다음으로 가까운 도시를 본다
+                }
+                linked[a][b] = linked[b][a] = true;
+                links++;
+
+                int segmentSeconds = (int) Math.round(distance(cities[a], cities[b]) / RAIL_SPEED_MPS);
+                addBothDirections(new int[] {centralStation[a], centralStation[b]},
+                    ROUTE_TYPE_RAIL, SLACK_SUBWAY, String.format("R%d-%d", a, b),
+                    segmentSeconds, RAIL_DWELL_SECONDS, config.railHeadwaySeconds(), random);
+            }
+        }
+    }
+
+    private void addBothDirections(int[] stops, int routeType, int slackIndex, String name,
+                                   int segmentSeconds, int dwellSeconds, int headwaySeconds, Random random) {
+        addRoute(stops.clone(), routeType, slackIndex, name + "-A", segmentSeconds, dwellSeconds, headwaySeconds, random);
+
+        int[] reversed = new int[stops.length];
+        for (int i = 0; i < stops.length; i++) {
+            reversed[i] = stops[stops.length - 1 - i];
+        }
+        addRoute(reversed, routeType, slackIndex, name + "-B", segmentSeconds, dwellSeconds, headwaySeconds, random);
+    }
+
+    private void addRoute(int[] stops, int routeType, int slackIndex, String name,
+                          int segmentSeconds, int dwellSeconds, int headwaySeconds, Random random) {
+        int patternIndex = routes.size();
+        KoreanTripPattern pattern = new KoreanTripPattern(patternIndex, stops, slackIndex, name);
+
+        // 노선마다 첫차 시각을 배차 간격 내에서 분산 (모든 노선이 같은 분에 출발하지 않도록)
+        int firstDeparture = Config.SERVICE_START + random.nextInt(headwaySeconds);
+        int tripTotal = (Config.SERVICE_END - firstDeparture) / headwaySeconds + 1;
+
+        KoreanTripSchedule[] schedules = new KoreanTripSchedule[tripTotal];
+        for (int t = 0; t < tripTotal; t++) {
+            int departure = firstDeparture + t * headwaySeconds;
+            int[] arrivals = new int[stops.length];
+            int[] departures = new int[stops.length];
+
+            arrivals[0] = departure;
+            departures[0] = departure;
+            for (int s = 1; s < stops.length; s++) {
+                arrivals[s] = departures[s - 1] + segmentSeconds;
+                departures[s] = arrivals[s] + (s < stops.length - 1 ? dwellSeconds : 0);
+            }
+
+            schedules[t] = new KoreanTripSchedule(departure, arrivals, departures, pattern, name + "_" + t, name);
+        }
+
+        routes.add(new KoreanRoute(pattern, new KoreanTimeTable(schedules), name, name, name, routeType));
+        tripCount += tripTotal;
+    }
+
+    private int addStop(String name, double lat, double lon) {
+        stopNames.add(name);
+        stopCoords.add(new double[] {lat, lon});
+        return stopNames.size() - 1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 환승 / 정류장별 노선
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 반경 내 모든 정류장 쌍에 도보 환승 생성 (격자 해시로 이웃 칸만 비교)
+     *
+     * @return 생성된 환승 수 (단방향 기준)
+     */
+    private long buildTransfers(List<KoreanTransfer>[] transfersFrom, List<KoreanTransfer>[] transfersTo) {
+        int stopCount = stopNames.size();
+        double radius = config.transferRadiusMeters();
+
+        for (int i = 0; i < stopCount; i++) {
+            transfersFrom[i] = new ArrayList<>();
+            transfersTo[i] = new ArrayList<>();
+        }
+        if (radius <= 0) {
+            return 0;
+        }
+
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int i = 0; i < stopCount; i++) {
+            cells.computeIfAbsent(cellKey(cellX(i, radius), cellY(i, radius)), k -> new ArrayList<>()).add(i);
+        }
+
+        long count = 0;
+        for (int from = 0; from < stopCount; from++) {
+            long cx = cellX(from, radius), cy = cellY(from, radius);
+            double[] p = stopCoords.get(from);
+
+            for (long dx = -1; dx <= 1; dx++) {
+                for (long dy = -1; dy <= 1; dy++) {
+                    List<Integer> cell = cells.get(cellKey(cx + dx, cy + dy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int to : cell) {
+                        if (to == from) {
+                            continue;
+                        }
+                        double[] q = stopCoords.get(to);
+                        double meters = StreetNetwork.haversineDistance(p[0], p[1], q[0], q[1]);
+                        if (meters > radius) {
+                            continue;
+                        }
+                        int seconds = Math.max(1, (int) Math.round(meters / WALK_SPEED_MPS));
+                        int cost = seconds * TRANSFER_COST_PER_SECOND;
+                        transfersFrom[from].add(new KoreanTransfer(to, seconds, cost));
+                        transfersTo[to].add(new KoreanTransfer(from, seconds, cost));
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private long cellX(int stop, double cellMeters) {
+        double[] p = stopCoords.get(stop);
+        return (long) Math.floor(p[1] * METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(36.5)) / cellMeters);
+    }
+
+    private long cellY(int stop, double cellMeters) {
+        return (long) Math.floor(stopCoords.get(stop)[0] * METERS_PER_DEGREE_LAT / cellMeters);
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
+    }
+
+    private int[][] buildRoutesByStop(int stopCount) {
+        int[] counts = new int[stopCount];
+        for (KoreanRoute route : routes) {
+            for (int stop : distinct(((KoreanTripPattern) route.pattern()).getStopIndexes())) {
+                counts[stop]++;
+            }
+        }
+
+        int[][] routesByStop = new int[stopCount][];
+        for (int s = 0; s < stopCount; s++) {
+            routesByStop[s] = new int[counts[s]];
+            counts[s] = 0;
+        }
+        for (int r = 0; r < routes.size(); r++) {
+            for (int stop : distinct(((KoreanTripPattern) routes.get(r).pattern()).getStopIndexes())) {
+                routesByStop[stop][counts[stop]++] = r;
+            }
+        }
+        return routesByStop;
+    }
+
+    private static int[] distinct(int[] stops) {
+        return Arrays.stream(stops).distinct().toArray();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 합성 도로망
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 도시별 격자 도로망 (버스 정류장 간격의 절반 해상도, 4방향 양방향 도로)
+     */
+    private StreetNetwork buildStreetNetwork(double[][] cities) {
+        StreetNetwork network = new StreetNetwork();
+        int n = config.gridSize() * 2 - 1;
+        double spacing = config.stopSpacingMeters() / 2.0;
+        double half = (n - 1) / 2.0;
+        long nextId = 1;
+
+        for (double[] center : cities) {
+            StreetNode[] nodes = new StreetNode[n * n];
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    double[] p = offset(center, (row - half) * spacing, (col - half) * spacing);
+                    StreetNode node = new StreetNode(nextId++, p[0], p[1]);
+                    nodes[row * n + col] = node;
+                    network.addNode(node);
+                }
+            }
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    StreetNode node = nodes[row * n + col];
+                    if (col + 1 < n) {
+                        connect(node, nodes[row * n + col + 1], spacing);
+                    }
+                    if (row + 1 < n) {
+                        connect(node, nodes[(row + 1) * n + col], spacing);
+                    }
+                }
+            }
+        }
+        return network;
+    }
+
+    private static void connect(StreetNode a, StreetNode b, double meters) {
+        a.addEdge(new StreetEdge(a, b, meters));
+        b.addEdge(new StreetEdge(b, a, meters));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // 좌표 유틸리티
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * 중심에서 (북쪽 m, 동쪽 m) 만큼 떨어진 좌표
+     */
+    private static double[] offset(double[] center, double northMeters, double eastMeters) {
+        double lat = center[0] + northMeters / METERS_PER_DEGREE_LAT;
+        double lon = center[1] + eastMeters / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(center[0])));
+        return new double[] {lat, lon};
+    }
+
+    private static double distance(double[] a, double[] b) {
+        return StreetNetwork.haversineDistance(a[0], a[1], b[0], b[1]);
+    }
+}
@@ -0,0 +1,71 @@
+package kr.otp.batch;
+
+import kr.otp.core.OdRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OdCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void skipsHeaderAfterBomAndComments() throws IOException {
+        List<OdRequest> requests = read(
+            "\uFEFF# 출발/도착 OD",
+            "",
+            "id,from_lat,from_lon,to_lat,to_lon,time,mode",
+            "od1,37.5547,126.9707,37.4979,127.0276,09:00,mc",
+            "od2,37.5,127.0,37.6,127.1,32400");
+
+        assertEquals(2, requests.size());
+        assertEquals("od1", requests.get(0).id());
+        assertEquals(OdRequest.Mode.MULTI_CRITERIA, requests.get(0).mode());
+        assertEquals(32400, requests.get(1).departureTime());
+        assertEquals(OdRequest.Mode.STANDARD, requests.get(1).mode());
+    }
+
+    @Test
+    void countsMalformedRowsAfterFirstDataRow() throws IOException {
+        Path csv = write(
+            "37.5,127.0,37.6,127.1,09:00",
+            "37.5,127.0,bad,127.1,09:00",
+            "37.5,127.0,37.6,127.1,08:30:15,ab");
+
+        try (OdCsvReader reader = new OdCsvReader(csv, OdRequest.Mode.STANDARD)) {
+            List<OdRequest> requests = drain(reader);
+            assertEquals(2, requests.size());
+            assertEquals("1", requests.get(0).id());
+            assertEquals(8 * 3600 + 30 * 60 + 15, requests.get(1).departureTime());
+            assertEquals(OdRequest.Mode.ARRIVE_BY, requests.get(1).mode());
+            assertEquals(1, reader.getSkippedRows());
+        }
+    }
+
+    private List<OdRequest> read(String... lines) throws IOException {
+        try (OdCsvReader reader = new OdCsvReader(write(lines), OdRequest.Mode.STANDARD)) {
+            return drain(reader);
+        }
+    }
+
+    private Path write(String... lines) throws IOException {
+        Path csv = tempDir.resolve("od.csv");
+        Files.write(csv, List.of(lines), StandardCharsets.UTF_8);
+        return csv;
+    }
+
+    private static List<OdRequest> drain(OdCsvReader reader) {
+        List<OdRequest> requests = new ArrayList<>();
+        reader.forEachRemaining(requests::add);
+        return requests;
+    }
+}
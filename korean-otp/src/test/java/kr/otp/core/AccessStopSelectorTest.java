@@ -0,0 +1,91 @@
+package kr.otp.core;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanAccessEgress;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AccessStopSelectorTest {
+
+    /**
+     * 정류장 s의 경유 노선 (후보는 정류장 번호 = 도보 거리 순)
+     */
+    private static final int[][] ROUTES_BY_STOP = {
+        {0, 1},     // 0
+        {1, 0},     // 1: 0과 같은 노선 집합
+        {2},        // 2
+        {0},        // 3: 새 노선 없음 (가까운 5개 안)
+        {},         // 4: 노선 없음 (가까운 5개 안)
+        {1},        // 5: 새 노선 없음 (가까운 5개 안)
+        {0, 2},     // 6: 새 노선 없음 (가까운 5개 밖)
+        {3},        // 7
+        {4},        // 8
+        {5},        // 9
+        {6},        // 10: 최대 개수 초과
+    };
+
+    private static AccessStopSelector selector() {
+        int stopCount = ROUTES_BY_STOP.length;
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] noTransfers = new List[stopCount];
+        for (int s = 0; s < stopCount; s++) {
+            noTransfers[s] = List.of();
+        }
+        TransitData data = new TransitData(stopCount, new String[stopCount], new double[stopCount],
+            new double[stopCount], new KoreanRoute[0], noTransfers, noTransfers, ROUTES_BY_STOP, 0, 0);
+        return new AccessStopSelector(data, 5, 8);
+    }
+
+    private static List<RaptorAccessEgress> candidates(int count) {
+        List<RaptorAccessEgress> candidates = new ArrayList<>();
+        for (int s = 0; s < count; s++) {
+            candidates.add(new KoreanAccessEgress(s, 60 * (s + 1), 80.0 * (s + 1)));
+        }
+        return candidates;
+    }
+
+    private static List<Integer> stops(List<RaptorAccessEgress> selected) {
+        return selected.stream().map(RaptorAccessEgress::stop).toList();
+    }
+
+    @Test
+    void dedupesRouteSetsKeepsNearestAndStopsAtCap() {
+        List<RaptorAccessEgress> selected = selector().select(candidates(ROUTES_BY_STOP.length));
+
+        // 1: 노선 집합 중복, 6: 새 노선 없음, 10: 최대 8개
+        assertEquals(List.of(0, 2, 3, 4, 5, 7, 8, 9), stops(selected));
+    }
+
+    @Test
+    void returnsSmallCandidateListUnchanged() {
+        List<RaptorAccessEgress> candidates = candidates(5);
+
+        assertSame(candidates, selector().select(candidates));
+    }
+
+    @Test
+    void ignoresDisallowedRoutesInCoverageAndDedupe() {
+        long[] allowedRoutes = {1L << 2 | 1L << 3};
+
+        // 허용 노선이 없는 정류장은 가까워도 제외, 6은 허용 노선만 보면 2와 같은 집합
+        assertEquals(List.of(2, 7), stops(selector().select(candidates(ROUTES_BY_STOP.length), allowedRoutes)));
+        assertEquals(List.of(2), stops(selector().select(candidates(3), allowedRoutes)));
+    }
+
+    @Test
+    void nullFilterMatchesUnfilteredSelection() {
+        AccessStopSelector selector = selector();
+        List<RaptorAccessEgress> candidates = candidates(ROUTES_BY_STOP.length);
+
+        assertEquals(stops(selector.select(candidates)), stops(selector.select(candidates, null)));
+    }
+}
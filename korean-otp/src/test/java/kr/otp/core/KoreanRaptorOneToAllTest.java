@@ -0,0 +1,71 @@
+package kr.otp.core;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanAccessEgress;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.synthetic.SyntheticTransitDataGenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KoreanRaptorOneToAllTest {
+
+    private final TransitData data = new SyntheticTransitDataGenerator(SyntheticTransitDataGenerator.Config.small())
+        .generate().transitData();
+    private final KoreanRaptor raptor = new KoreanRaptor(data);
+
+    @Test
+    void reachesDownstreamStopOfFirstTripWithoutTransfer() {
+        KoreanRoute route = data.getRoute(0);
+        int[] stops = ((KoreanTripPattern) route.pattern()).getStopIndexes();
+        KoreanTripSchedule trip = route.timetable().getTripSchedule(0);
+        int departureTime = trip.departure(0) - 600;
+
+        OneToAllResult result = raptor.routeOneToAll(
+            List.of(new KoreanAccessEgress(stops[0], 0, 0)), departureTime, 2 * 3600);
+
+        assertEquals(data.getStopCount(), result.getStopCount());
+        assertEquals(data.getStopCount(), result.getNumberOfTransfers().length);
+        assertEquals(departureTime, result.getDepartureTime());
+
+        int next = stops[1];
+        assertTrue(result.isReached(next), "첫 트립의 다음 정류장 도달");
+        assertTrue(result.arrivalTime(next) > departureTime);
+        assertTrue(result.arrivalTime(next) <= trip.arrival(1) + 300,
+            "첫 트립 이하 도착: " + result.arrivalTime(next) + " > " + trip.arrival(1));
+        assertEquals(0, result.transfers(next));
+        assertTrue(result.getReachedStopCount() >= 2);
+    }
+
+    @Test
+    void unreachedStopsHaveNoArrivalOrTransfers() {
+        int origin = ((KoreanTripPattern) data.getRoute(0).pattern()).getStopIndexes()[0];
+        int departureTime = data.getServiceStartTime();
+
+        OneToAllResult result = raptor.routeOneToAll(
+            List.of(new KoreanAccessEgress(origin, 0, 0)), departureTime, 1800);
+
+        for (int stop = 0; stop < result.getStopCount(); stop++) {
+            if (result.isReached(stop)) {
+                assertTrue(result.arrivalTime(stop) >= departureTime, "출발 이후 도착: " + stop);
+            } else {
+                assertEquals(OneToAllResult.UNREACHED, result.travelTime(stop));
+                assertEquals(OneToAllResult.UNREACHED, result.transfers(stop));
+            }
+        }
+    }
+
+    @Test
+    void originWithoutNearbyStopsReachesNothing() {
+        OneToAllResult result = raptor.routeOneToAll(0.0, 0.0, data.getServiceStartTime());
+
+        assertEquals(data.getStopCount(), result.getStopCount());
+        assertEquals(0, result.getReachedStopCount());
+    }
+}
@@ -0,0 +1,64 @@
+package kr.otp.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OneToAllResultTest {
+
+    private static final int EIGHT = 8 * 3600;
+    private static final int UNREACHED = OneToAllResult.UNREACHED;
+
+    @Test
+    void reportsTravelTimesAndTransfersPerStop() {
+        int[] arrivals = {EIGHT + 120, UNREACHED, EIGHT + 900, EIGHT + 2400};
+        int[] transfers = {0, UNREACHED, 0, 2};
+        OneToAllResult result = new OneToAllResult(EIGHT, arrivals, transfers);
+
+        assertEquals(4, result.getStopCount());
+        assertEquals(3, result.getReachedStopCount());
+        assertEquals(EIGHT, result.getDepartureTime());
+
+        assertTrue(result.isReached(0));
+        assertEquals(EIGHT + 120, result.arrivalTime(0));
+        assertEquals(120, result.travelTime(0));
+        assertEquals(0, result.transfers(0));
+
+        assertEquals(2400, result.travelTime(3));
+        assertEquals(2, result.transfers(3));
+
+        // 배열은 복사 없이 그대로 노출
+        assertSame(arrivals, result.getArrivalTimes());
+        assertSame(transfers, result.getNumberOfTransfers());
+    }
+
+    @Test
+    void unreachedStopsReportMinusOne() {
+        OneToAllResult result = new OneToAllResult(EIGHT,
+            new int[] {EIGHT, UNREACHED}, new int[] {0, UNREACHED});
+
+        assertFalse(result.isReached(1));
+        assertEquals(UNREACHED, result.arrivalTime(1));
+        assertEquals(UNREACHED, result.travelTime(1));  // 도착 시간 - 출발 시간으로 계산하지 않음
+        assertEquals(UNREACHED, result.transfers(1));
+    }
+
+    @Test
+    void unreachedResultIsSizedToStopCount() {
+        OneToAllResult result = OneToAllResult.unreached(5, EIGHT);
+
+        assertEquals(5, result.getStopCount());
+        assertEquals(5, result.getArrivalTimes().length);
+        assertEquals(5, result.getNumberOfTransfers().length);
+        assertEquals(0, result.getReachedStopCount());
+        assertEquals(EIGHT, result.getDepartureTime());
+        assertArrayEquals(new int[] {UNREACHED, UNREACHED, UNREACHED, UNREACHED, UNREACHED}, result.getArrivalTimes());
+        assertArrayEquals(new int[] {UNREACHED, UNREACHED, UNREACHED, UNREACHED, UNREACHED}, result.getNumberOfTransfers());
+
+        assertEquals(0, OneToAllResult.unreached(0, EIGHT).getStopCount());
+    }
+}
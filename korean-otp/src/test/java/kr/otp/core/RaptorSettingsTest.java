@@ -0,0 +1,58 @@
+package kr.otp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RaptorSettingsTest {
+
+    @Test
+    void loadsDocumentedSample() throws IOException {
+        RaptorSettings settings = RaptorSettings.fromProperties(properties("""
+            # config/raptor.properties
+            # 최대 라운드(환승) 수
+            raptor.maxNumberOfTransfers=10
+            # 트립 이진 탐색 전환 기준
+            raptor.scheduledTripBinarySearchThreshold=40
+            # Range Raptor 반복 간격 (초)
+            raptor.iterationDepartureStepInSeconds=120
+            # 검색 스레드 풀 (0 = 단일 스레드)
+            raptor.searchThreadPoolSize=4
+            """));
+
+        assertEquals(10, settings.maxNumberOfTransfers());
+        assertEquals(40, settings.scheduledTripBinarySearchThreshold());
+        assertEquals(120, settings.iterationDepartureStepInSeconds());
+        assertEquals(4, settings.searchThreadPoolSize());
+    }
+
+    @Test
+    void trimsValuesAndKeepsDefaultsForMissingKeys() throws IOException {
+        RaptorSettings defaults = RaptorSettings.defaults();
+        RaptorSettings settings = RaptorSettings.fromProperties(properties("raptor.searchThreadPoolSize=  2  \n"));
+
+        assertEquals(2, settings.searchThreadPoolSize());
+        assertEquals(defaults.maxNumberOfTransfers(), settings.maxNumberOfTransfers());
+    }
+
+    @Test
+    void reportsKeyOfInvalidValue() throws IOException {
+        Properties props = properties("raptor.maxNumberOfTransfers=12   # 최대 라운드\n");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> RaptorSettings.fromProperties(props));
+        assertTrue(e.getMessage().contains("raptor.maxNumberOfTransfers"), e.getMessage());
+    }
+
+    private static Properties properties(String text) throws IOException {
+        Properties props = new Properties();
+        props.load(new StringReader(text));
+        return props;
+    }
+}
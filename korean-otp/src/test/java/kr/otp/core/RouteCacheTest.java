@@ -0,0 +1,145 @@
+package kr.otp.core;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.raptor.spi.TransitMode;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.path.RaptorPath;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RouteCacheTest {
+
+    private static final int NINE = 9 * 3600;
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    private static TransitData transitData() {
+        return new TransitData(0, new String[0], new double[0], new double[0], new KoreanRoute[0],
+            new List[0], new List[0], new int[0][], 0, 0);
+    }
+
+    /**
+     * 호출마다 새 결과 목록을 만드는 탐색 (같은 인스턴스가 돌아오면 캐시 적중)
+     */
+    private Supplier<List<RaptorPath<KoreanTripSchedule>>> search() {
+        return () -> {
+            searches.incrementAndGet();
+            return new ArrayList<>();
+        };
+    }
+
+    @Test
+    void snapsNearbyRequestsToTheSameKey() {
+        RouteCache cache = new RouteCache(10, 60_000, 100.0, 60);
+        RouteCache.Key key = cache.key(37.50000, 127.00000, 37.60000, 127.10000, NINE, OdRequest.Mode.STANDARD);
+
+        assertEquals(key, cache.key(37.50010, 127.00010, 37.60010, 127.10010, NINE + 30, OdRequest.Mode.STANDARD));
+        assertNotEquals(key, cache.key(37.50200, 127.00000, 37.60000, 127.10000, NINE, OdRequest.Mode.STANDARD));
+        assertNotEquals(key, cache.key(37.50000, 127.00000, 37.60000, 127.10000, NINE + 60, OdRequest.Mode.STANDARD));
+        assertNotEquals(key, cache.key(37.50000, 127.00000, 37.60000, 127.10000, NINE, OdRequest.Mode.ARRIVE_BY));
+        assertNotEquals(key, cache.key(37.50000, 127.00000, 37.60000, 127.10000, NINE, OdRequest.Mode.STANDARD,
+            TransitMode.mask(EnumSet.of(TransitMode.SUBWAY))));
+        assertEquals(key, cache.key(37.50000, 127.00000, 37.60000, 127.10000, NINE, OdRequest.Mode.STANDARD,
+            TransitMode.mask(null)));
+    }
+
+    @Test
+    void separatesMultiStageFromFullMultiCriteria() {
+        RouteCache cache = new RouteCache(10, 60_000, 100.0, 60);
+        RouteCache.Key full = cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.MULTI_CRITERIA,
+            TransitMode.ALL_MASK);
+
+        assertEquals(full, cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.MULTI_CRITERIA,
+            TransitMode.ALL_MASK, false));
+        assertNotEquals(full, cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.MULTI_CRITERIA,
+            TransitMode.ALL_MASK, true));
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        RouteCache cache = new RouteCache(10, 60_000, 100.0, 60);
+        TransitData data = transitData();
+        RouteCache.Key key = cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.STANDARD);
+
+        List<RaptorPath<KoreanTripSchedule>> first = cache.getOrCompute(data, key, search());
+        assertSame(first, cache.getOrCompute(data, key, search()));
+        assertSame(first, cache.getOrCompute(data, key, search()));
+
+        assertEquals(1, searches.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        RouteCache cache = new RouteCache(2, 60_000, 100.0, 60);
+        TransitData data = transitData();
+        RouteCache.Key a = cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.STANDARD);
+        RouteCache.Key b = cache.key(37.5, 127.0, 37.6, 127.1, NINE + 600, OdRequest.Mode.STANDARD);
+        RouteCache.Key c = cache.key(37.5, 127.0, 37.6, 127.1, NINE + 1200, OdRequest.Mode.STANDARD);
+
+        cache.getOrCompute(data, a, search());
+        cache.getOrCompute(data, b, search());
+        cache.getOrCompute(data, a, search());  // a 사용 → b가 가장 오래됨
+        cache.getOrCompute(data, c, search());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.getOrCompute(data, a, search());
+        assertEquals(3, searches.get());
+        cache.getOrCompute(data, b, search());
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        RouteCache cache = new RouteCache(10, 20, 100.0, 60);
+        TransitData data = transitData();
+        RouteCache.Key key = cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.STANDARD);
+
+        List<RaptorPath<KoreanTripSchedule>> first = cache.getOrCompute(data, key, search());
+        Thread.sleep(50);
+        assertNotSame(first, cache.getOrCompute(data, key, search()));
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void invalidatesWhenTransitDataChanges() {
+        RouteCache cache = new RouteCache(10, 60_000, 100.0, 60);
+        RouteCache.Key key = cache.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.STANDARD);
+
+        List<RaptorPath<KoreanTripSchedule>> original = cache.getOrCompute(transitData(), key, search());
+        TransitData scenario = transitData();
+        assertNotSame(original, cache.getOrCompute(scenario, key, search()));
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(1, cache.size());
+
+        RouteCache copy = cache.copySettings();
+        assertEquals(0, copy.size());
+        assertEquals(copy.key(37.5, 127.0, 37.6, 127.1, NINE, OdRequest.Mode.STANDARD), key);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(0, 1000, 100.0, 60));
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(10, 0, 100.0, 60));
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(10, 1000, 0.0, 60));
+        assertThrows(IllegalArgumentException.class, () -> new RouteCache(10, 1000, 100.0, 0));
+    }
+}
@@ -0,0 +1,78 @@
+package kr.otp.gtfs.loader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StopTimesColumnarParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parsesQuotedFieldsBomCrlfAndMissingTimes() throws Exception {
+        Path file = tempDir.resolve("stop_times.txt");
+        Files.writeString(file, "\uFEFFtrip_id,arrival_time,departure_time,stop_id,stop_sequence\r\n"
+            + "T1,08:00:00,08:00:30,S1,1\r\n"
+            + "\r\n"
+            + "T1,,08:05:00,\"S,2\",2\r\n"
+            + "\"T2\",25:10:00,25:10:00, S1 ,1\n"
+            + "T2,25:20:00,,\"S\"\"3\",2");
+
+        StopTimeColumns columns = new StopTimesColumnarParser(2).parse(file);
+
+        assertEquals(4, columns.size());
+        assertArrayEquals(new int[] {0, 0, 1, 1}, columns.getTripOrdinals());
+        assertArrayEquals(new int[] {0, 1, 0, 2}, columns.getStopOrdinals());
+        assertEquals("S,2", columns.getStopIds().get(1));
+        assertEquals("S\"3", columns.getStopIds().get(2));
+        assertArrayEquals(new int[] {28800, 29100, 90600, 91200}, columns.getArrivals());
+        assertArrayEquals(new int[] {28830, 29100, 90600, 91200}, columns.getDepartures());
+        assertArrayEquals(new int[] {1, 2, 1, 2}, columns.getSequences());
+    }
+
+    @Test
+    void resultIsIndependentOfChunkingAndThreads() throws Exception {
+        Path file = tempDir.resolve("stop_times.txt");
+        StringBuilder sb = new StringBuilder("trip_id,arrival_time,departure_time,stop_id,stop_sequence,shape_dist_traveled\n");
+        for (int trip = 0; sb.length() < 3 << 20; trip++) {
+            for (int seq = 1; seq <= 20; seq++) {
+                int time = 5 * 3600 + trip * 60 + seq * 90;
+                String hms = String.format("%02d:%02d:%02d", time / 3600, time / 60 % 60, time % 60);
+                sb.append("trip_").append(trip).append(',').append(hms).append(',').append(hms)
+                    .append(",stop_").append((trip * 7 + seq) % 997).append(',').append(seq).append(",0.0\n");
+            }
+        }
+        Files.writeString(file, sb);
+
+        StopTimeColumns single = new StopTimesColumnarParser(1).parse(file);
+        StopTimeColumns parallel = new StopTimesColumnarParser(8).parse(file);
+
+        assertEquals(single.size(), parallel.size());
+        assertArrayEquals(single.getTripOrdinals(), parallel.getTripOrdinals());
+        assertArrayEquals(single.getStopOrdinals(), parallel.getStopOrdinals());
+        assertArrayEquals(single.getArrivals(), parallel.getArrivals());
+        assertArrayEquals(single.getSequences(), parallel.getSequences());
+        for (int i = 0; i < single.getStopIds().size(); i++) {
+            assertEquals(single.getStopIds().get(i), parallel.getStopIds().get(i));
+        }
+    }
+
+    @Test
+    void rejectsMissingColumnsAndBadTimes() throws Exception {
+        Path noSequence = tempDir.resolve("no_sequence.txt");
+        Files.writeString(noSequence, "trip_id,arrival_time,stop_id\nT1,08:00:00,S1\n");
+        assertThrows(IOException.class, () -> new StopTimesColumnarParser(1).parse(noSequence));
+
+        Path badTime = tempDir.resolve("bad_time.txt");
+        Files.writeString(badTime, "trip_id,arrival_time,departure_time,stop_id,stop_sequence\nT1,8h,8h,S1,1\n");
+        assertThrows(IOException.class, () -> new StopTimesColumnarParser(1).parse(badTime));
+    }
+}
@@ -0,0 +1,94 @@
+package kr.otp.matrix;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TravelTimeMatrixTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final int EIGHT = 8 * 3600;
+
+    /**
+     * 출발 존 3개 × 도착 존 2개 (비정렬 ID, 한글 ID, 도달 불가 칸 포함)
+     */
+    private static TravelTimeMatrix sample() {
+        return new TravelTimeMatrix(
+            new String[] {"Z30", "Z10", "강남"},
+            new String[] {"Z20", "서울역"},
+            EIGHT,
+            new int[] {
+                600, TravelTimeMatrix.UNREACHABLE,
+                0, 1800,
+                TravelTimeMatrix.UNREACHABLE, TravelTimeMatrix.UNREACHABLE
+            });
+    }
+
+    @Test
+    void writeAndReadRoundTrip() throws Exception {
+        TravelTimeMatrix matrix = sample();
+        Path file = tempDir.resolve("matrix.bin");
+
+        matrix.write(file);
+        TravelTimeMatrix loaded = TravelTimeMatrix.read(file);
+
+        assertEquals(EIGHT, loaded.getDepartureTime());
+        assertEquals(3, loaded.getOriginCount());
+        assertEquals(2, loaded.getDestinationCount());
+        assertArrayEquals(matrix.getTravelTimes(), loaded.getTravelTimes());
+        assertEquals(3, loaded.getReachableCount());
+    }
+
+    @Test
+    void keepsZoneOrderAndRowMajorCells() throws Exception {
+        Path file = tempDir.resolve("matrix.bin");
+        sample().write(file);
+        TravelTimeMatrix loaded = TravelTimeMatrix.read(file);
+
+        // 입력 순서 그대로 (정렬하지 않음)
+        assertEquals("Z30", loaded.getOriginId(0));
+        assertEquals("Z10", loaded.getOriginId(1));
+        assertEquals("강남", loaded.getOriginId(2));
+        assertEquals("Z20", loaded.getDestinationId(0));
+        assertEquals("서울역", loaded.getDestinationId(1));
+
+        assertEquals(600, loaded.get(0, 0));
+        assertEquals(TravelTimeMatrix.UNREACHABLE, loaded.get(0, 1));
+        assertEquals(0, loaded.get(1, 0));
+        assertEquals(1800, loaded.get(1, 1));
+        assertEquals(TravelTimeMatrix.UNREACHABLE, loaded.get(2, 0));
+        assertEquals(TravelTimeMatrix.UNREACHABLE, loaded.get(2, 1));
+    }
+
+    @Test
+    void roundTripsEmptyMatrix() throws Exception {
+        Path file = tempDir.resolve("empty.bin");
+        new TravelTimeMatrix(new String[] {"Z1"}, new String[0], EIGHT, new int[0]).write(file);
+
+        TravelTimeMatrix loaded = TravelTimeMatrix.read(file);
+        assertEquals(1, loaded.getOriginCount());
+        assertEquals(0, loaded.getDestinationCount());
+        assertEquals(0, loaded.getReachableCount());
+    }
+
+    @Test
+    void rejectsWrongSizeAndForeignFiles() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+            () -> new TravelTimeMatrix(new String[] {"A", "B"}, new String[] {"C"}, EIGHT, new int[3]));
+
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[] {'K', 'R', 'S', 'S', 0, 0, 0, 1});
+        IOException e = assertThrows(IOException.class, () -> TravelTimeMatrix.read(file));
+        assertTrue(e.getMessage().contains(file.toString()), e.getMessage());
+    }
+}
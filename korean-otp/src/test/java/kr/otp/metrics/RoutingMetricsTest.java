@@ -0,0 +1,42 @@
+package kr.otp.metrics;
+
+import kr.otp.core.OdRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingMetricsTest {
+
+    @Test
+    void countsEveryOutcomeIncludingErrors() {
+        RoutingMetrics metrics = new RoutingMetrics();
+        metrics.recordPhase(OdRequest.Mode.STANDARD, RoutingMetrics.Phase.TOTAL, 2_000_000);
+        metrics.recordOutcome(OdRequest.Mode.STANDARD, RoutingMetrics.Outcome.NO_ACCESS);
+        metrics.recordPhase(OdRequest.Mode.STANDARD, RoutingMetrics.Phase.TOTAL, 5_000_000);
+        metrics.recordOutcome(OdRequest.Mode.STANDARD, RoutingMetrics.Outcome.ERROR);
+
+        assertEquals(2, metrics.getRequestCount(OdRequest.Mode.STANDARD));
+        assertEquals(2, metrics.getPhaseHistogram(OdRequest.Mode.STANDARD, RoutingMetrics.Phase.TOTAL).getCount());
+        assertEquals(0, metrics.getRequestCount(OdRequest.Mode.ARRIVE_BY));
+    }
+
+    @Test
+    void exportsDirectQueries() {
+        RoutingMetrics metrics = new RoutingMetrics();
+        metrics.recordDirectQuery(RoutingMetrics.DirectQuery.ONE_TO_ALL, RoutingMetrics.Outcome.FOUND, 3_000_000);
+        metrics.recordDirectQuery(RoutingMetrics.DirectQuery.STOP_INDEX, RoutingMetrics.Outcome.NO_CONNECTION, 1_000_000);
+
+        assertEquals(1, metrics.getDirectQueryCount(RoutingMetrics.DirectQuery.ONE_TO_ALL));
+        assertEquals(0, metrics.getDirectQueryCount(RoutingMetrics.DirectQuery.ARRIVE_BY_STOP_INDEX));
+
+        String text = metrics.toPrometheusText();
+        assertTrue(text.contains("korean_raptor_direct_requests_total{query=\"one_to_all\",outcome=\"found\"} 1"), text);
+        assertTrue(text.contains("query=\"stop_index\""), text);
+        assertFalse(text.contains("arrive_by_stop_index"), text);
+
+        metrics.reset();
+        assertEquals(0, metrics.getDirectQueryCount(RoutingMetrics.DirectQuery.ONE_TO_ALL));
+    }
+}
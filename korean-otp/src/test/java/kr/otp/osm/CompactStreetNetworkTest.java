@@ -0,0 +1,81 @@
+package kr.otp.osm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactStreetNetworkTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 3x3 격자 (100m 간격, 양방향 도로)
+     */
+    private static StreetNetwork grid() {
+        StreetNetwork network = new StreetNetwork();
+        StreetNode[] nodes = new StreetNode[9];
+        for (int i = 0; i < 9; i++) {
+            nodes[i] = new StreetNode(1000 + i, 37.5 + (i / 3) * 0.0009, 127.0 + (i % 3) * 0.00113);
+            network.addNode(nodes[i]);
+        }
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 < 2) {
+                connect(nodes[i], nodes[i + 1]);
+            }
+            if (i < 6) {
+                connect(nodes[i], nodes[i + 3]);
+            }
+        }
+        return network;
+    }
+
+    private static void connect(StreetNode a, StreetNode b) {
+        a.addEdge(new StreetEdge(a, b, 100.0));
+        b.addEdge(new StreetEdge(b, a, 100.0));
+    }
+
+    @Test
+    void saveAndLoadRoundTrip() throws Exception {
+        CompactStreetNetwork compact = CompactStreetNetwork.from(grid(), 7L);
+        Path file = tempDir.resolve("street.csr");
+
+        compact.save(file);
+        assertTrue(CompactStreetNetwork.isValid(file, 7L));
+        CompactStreetNetwork loaded = CompactStreetNetwork.load(file);
+
+        assertEquals(9, loaded.getNodeCount());
+        assertEquals(24, loaded.getEdgeCount());
+        for (int node = 0; node < 9; node++) {
+            assertEquals(compact.getOsmId(node), loaded.getOsmId(node));
+            assertEquals(compact.getLat(node), loaded.getLat(node), 1e-7);
+            assertEquals(compact.edgeEnd(node) - compact.edgeStart(node), loaded.edgeEnd(node) - loaded.edgeStart(node));
+            for (int e = loaded.edgeStart(node); e < loaded.edgeEnd(node); e++) {
+                assertEquals(compact.edgeTarget(e), loaded.edgeTarget(e));
+                assertEquals(100.0f, loaded.edgeLength(e));
+            }
+        }
+        assertEquals(loaded.indexOf(1004), loaded.findNearestNodeIndex(37.5009, 127.00113, 50));
+    }
+
+    @Test
+    void viewReusesNodeAndEdgeFlyweights() {
+        StreetNetwork view = CompactStreetNetwork.from(grid(), 0L).asStreetNetwork();
+        StreetNode center = view.findNearestNode(37.5009, 127.00113, 50);
+
+        List<StreetEdge> edges = center.getOutgoingEdges();
+        assertEquals(4, edges.size());
+        assertSame(edges, center.getOutgoingEdges());
+
+        StreetNode neighbor = edges.get(0).getToNode();
+        assertSame(neighbor, edges.get(0).getToNode());
+        assertSame(center, edges.get(0).getFromNode());
+        assertEquals(100.0, edges.get(0).getLengthMeters(), 1e-6);
+    }
+}
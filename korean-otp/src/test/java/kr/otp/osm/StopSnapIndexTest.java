@@ -0,0 +1,167 @@
+package kr.otp.osm;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StopSnapIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    // 격자 중앙 노드 (37.5009, 127.00113)에서 약 11m
+    private static final double NEAR_LAT = 37.5010;
+    private static final double NEAR_LON = 127.00113;
+    // 격자 북쪽 끝 (37.5018)에서 약 500m
+    private static final double MID_LAT = 37.5063;
+    private static final double MID_LON = 127.00113;
+    // 격자에서 5km 이상 (SNAP_RADIUS_METERS 밖)
+    private static final double FAR_LAT = 37.5500;
+    private static final double FAR_LON = 127.0000;
+
+    /**
+     * 3x3 격자 (100m 간격, 양방향 도로)
+     */
+    private static StreetNetwork grid() {
+        StreetNetwork network = new StreetNetwork();
+        StreetNode[] nodes = new StreetNode[9];
+        for (int i = 0; i < 9; i++) {
+            nodes[i] = new StreetNode(1000 + i, 37.5 + (i / 3) * 0.0009, 127.0 + (i % 3) * 0.00113);
+            network.addNode(nodes[i]);
+        }
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 < 2) {
+                connect(nodes[i], nodes[i + 1]);
+            }
+            if (i < 6) {
+                connect(nodes[i], nodes[i + 3]);
+            }
+        }
+        return network;
+    }
+
+    private static void connect(StreetNode a, StreetNode b) {
+        a.addEdge(new StreetEdge(a, b, 100.0));
+        b.addEdge(new StreetEdge(b, a, 100.0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TransitData stops(double[] lats, double[] lons) {
+        int n = lats.length;
+        List<KoreanTransfer>[] empty = new List[n];
+        for (int s = 0; s < n; s++) {
+            empty[s] = List.of();
+        }
+        String[] names = new String[n];
+        for (int s = 0; s < n; s++) {
+            names[s] = "S" + s;
+        }
+        return new TransitData(n, names, lats, lons, new KoreanRoute[0], empty, empty, new int[n][0], 0, 0);
+    }
+
+    private static TransitData sample() {
+        return stops(new double[] {NEAR_LAT, MID_LAT, FAR_LAT}, new double[] {NEAR_LON, MID_LON, FAR_LON});
+    }
+
+    @Test
+    void saveAndLoadRoundTrip() throws Exception {
+        TransitData data = sample();
+        CompactStreetNetwork network = CompactStreetNetwork.from(grid(), 7L);
+        StopSnapIndex computed = StopSnapIndex.compute(data, network);
+        Path file = tempDir.resolve("stop-snaps.bin");
+
+        computed.save(file);
+        StopSnapIndex loaded = StopSnapIndex.load(file, StopSnapIndex.checksum(data), 7L);
+
+        assertNotNull(loaded);
+        assertEquals(3, loaded.getStopCount());
+        assertEquals(network.indexOf(1004), loaded.getNode(0));
+        assertEquals(network.indexOf(1007), loaded.getNode(1));
+        assertEquals(-1, loaded.getNode(2));
+        for (int stop = 0; stop < 3; stop++) {
+            assertEquals(computed.getNode(stop), loaded.getNode(stop));
+            assertEquals(computed.getDistance(stop), loaded.getDistance(stop));
+        }
+        assertEquals(Double.POSITIVE_INFINITY, loaded.getDistance(2));
+        assertEquals(network.indexOf(1004), loaded.lookup(NEAR_LAT, NEAR_LON, 50));
+    }
+
+    @Test
+    void mismatchedChecksumOrFingerprintIsNotLoaded() throws Exception {
+        TransitData data = sample();
+        Path file = tempDir.resolve("stop-snaps.bin");
+        StopSnapIndex.compute(data, CompactStreetNetwork.from(grid(), 7L)).save(file);
+        long checksum = StopSnapIndex.checksum(data);
+
+        assertNull(StopSnapIndex.load(file, checksum + 1, 7L));
+        assertNull(StopSnapIndex.load(file, checksum, 8L));
+        assertNull(StopSnapIndex.load(tempDir.resolve("missing.bin"), checksum, 7L));
+
+        // 정류장 좌표가 바뀌면 체크섬도 바뀐다
+        TransitData moved = stops(new double[] {NEAR_LAT, MID_LAT, FAR_LAT + 0.0001},
+            new double[] {NEAR_LON, MID_LON, FAR_LON});
+        assertNotEquals(checksum, StopSnapIndex.checksum(moved));
+    }
+
+    @Test
+    void loadOrComputeRecomputesAndRewritesStaleSidecar() throws Exception {
+        Path file = tempDir.resolve("stop-snaps.bin");
+        TransitData data = sample();
+        StopSnapIndex.loadOrCompute(file, data, CompactStreetNetwork.from(grid(), 7L));
+        assertTrue(Files.isRegularFile(file));
+
+        // OSM 지문이 다르면 다시 계산해 새 지문으로 저장
+        CompactStreetNetwork rebuilt = CompactStreetNetwork.from(grid(), 8L);
+        StopSnapIndex recomputed = StopSnapIndex.loadOrCompute(file, data, rebuilt);
+        assertEquals(rebuilt.indexOf(1004), recomputed.getNode(0));
+        assertNull(StopSnapIndex.load(file, StopSnapIndex.checksum(data), 7L));
+        assertNotNull(StopSnapIndex.load(file, StopSnapIndex.checksum(data), 8L));
+
+        // 정류장이 옮겨지면 옮긴 좌표로 다시 계산
+        TransitData moved = stops(new double[] {37.5000, MID_LAT, FAR_LAT}, new double[] {127.0000, MID_LON, FAR_LON});
+        StopSnapIndex movedIndex = StopSnapIndex.loadOrCompute(file, moved, rebuilt);
+        assertEquals(rebuilt.indexOf(1000), movedIndex.getNode(0));
+        assertEquals(rebuilt.indexOf(1000), movedIndex.lookup(37.5000, 127.0000, 50));
+        assertEquals(StopSnapIndex.MISS, movedIndex.lookup(NEAR_LAT, NEAR_LON, 50));
+    }
+
+    @Test
+    void lookupDistinguishesNoneFromMissAroundSnapRadius() {
+        StopSnapIndex index = StopSnapIndex.compute(sample(), CompactStreetNetwork.from(grid(), 7L));
+        double radius = StopSnapIndex.SNAP_RADIUS_METERS;
+
+        // 노드가 있는 정류장: 거리 이내면 노드, 아니면 NONE (더 넓혀도 가까운 노드는 없음)
+        int midNode = index.getNode(1);
+        assertTrue(index.getDistance(1) > 400 && index.getDistance(1) < 600, "약 500m: " + index.getDistance(1));
+        assertEquals(StopSnapIndex.NONE, index.lookup(MID_LAT, MID_LON, 100));
+        assertEquals(midNode, index.lookup(MID_LAT, MID_LON, radius));
+        assertEquals(midNode, index.lookup(MID_LAT, MID_LON, radius * 2));
+
+        // 반경 안에 노드가 없는 정류장: 반경 이하 질의는 NONE, 반경을 넘는 질의는 MISS (격자 탐색)
+        assertEquals(StopSnapIndex.NONE, index.lookup(FAR_LAT, FAR_LON, 100));
+        assertEquals(StopSnapIndex.NONE, index.lookup(FAR_LAT, FAR_LON, radius));
+        assertEquals(StopSnapIndex.MISS, index.lookup(FAR_LAT, FAR_LON, radius + 1));
+    }
+
+    @Test
+    void lookupMissesForNonStopCoordinates() {
+        StopSnapIndex index = StopSnapIndex.compute(sample(), CompactStreetNetwork.from(grid(), 7L));
+
+        assertEquals(StopSnapIndex.MISS, index.lookup(37.5009, 127.00113, 50));     // 노드 좌표이지만 정류장 아님
+        assertEquals(StopSnapIndex.MISS, index.lookup(NEAR_LAT + 1e-9, NEAR_LON, 50));  // 정류장 좌표와 근소하게 다름
+        assertEquals(StopSnapIndex.MISS, index.lookup(NEAR_LON, NEAR_LAT, 50));     // 위도/경도 뒤바뀜
+    }
+}
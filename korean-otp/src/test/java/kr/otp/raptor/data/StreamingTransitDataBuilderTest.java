@@ -0,0 +1,164 @@
+package kr.otp.raptor.data;
+
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingTransitDataBuilderTest {
+
+    @TempDir
+    Path gtfsDir;
+
+    /**
+     * 정류장 A-B는 약 220m (환승 반경 안), C는 2km 이상 떨어짐.
+     * R1(버스) A→B→C 평일 2회 + 운휴 1회, R2(지하철) C→A→C 순환 1회
+     */
+    private void writeFixture(String stops) throws IOException {
+        write("stops.txt", stops);
+        write("routes.txt", """
+            route_id,agency_id,route_short_name,route_long_name,route_type
+            R1,A,1번,버스 1,3
+            R2,A,2호선,지하철 2,1
+            """);
+        write("calendar.txt", """
+            service_id,monday,tuesday,wednesday,thursday,friday,saturday,sunday,start_date,end_date
+            WK,1,1,1,1,1,0,0,20240101,20251231
+            OFF,0,0,0,0,0,0,0,20240101,20251231
+            """);
+        write("trips.txt", """
+            route_id,service_id,trip_id
+            R1,WK,T1
+            R1,WK,T2
+            R1,OFF,T3
+            R2,WK,T4
+            """);
+        write("stop_times.txt", """
+            trip_id,arrival_time,departure_time,stop_id,stop_sequence
+            T2,08:10:00,08:10:00,A,1
+            T2,08:15:00,08:15:00,B,2
+            T2,08:25:00,08:25:00,C,3
+            T1,08:00:00,08:00:00,A,1
+            T1,08:05:00,08:05:00,B,2
+            T1,08:15:00,08:15:00,C,3
+            T3,07:00:00,07:00:00,A,1
+            T3,07:05:00,07:05:00,B,2
+            T3,07:15:00,07:15:00,C,3
+            T4,09:00:00,09:00:00,C,1
+            T4,09:10:00,09:10:00,A,2
+            T4,09:20:00,09:20:00,C,3
+            """);
+    }
+
+    private static final String STOPS = """
+        stop_id,stop_name,stop_lat,stop_lon
+        A,정류장A,37.5000,127.0000
+        B,정류장B,37.5020,127.0000
+        C,정류장C,37.5200,127.0000
+        """;
+
+    private void write(String name, String content) throws IOException {
+        Files.writeString(gtfsDir.resolve(name), content);
+    }
+
+    @Test
+    void buildsPatternsTripsAndRoutesByStop() throws Exception {
+        writeFixture(STOPS);
+
+        TransitData data = new StreamingTransitDataBuilder(gtfsDir, 2).build();
+
+        assertEquals(3, data.getStopCount());
+        assertEquals("정류장A", data.getStopName(0));
+        assertEquals(2, data.getRouteCount());
+        assertEquals(3, data.getTotalTripCount());  // 운휴 서비스 T3 제외
+
+        KoreanRoute bus = data.getRoute(0);
+        assertEquals("R1", bus.getRouteId());
+        assertArrayEquals(new int[] {0, 1, 2}, ((KoreanTripPattern) bus.pattern()).getStopIndexes());
+        assertEquals("T1", bus.timetable().getTripSchedule(0).getTripId());  // 첫 출발 시각 순
+        assertEquals(8 * 3600, bus.timetable().getTripSchedule(0).departure(0));
+        assertEquals(8 * 3600 + 25 * 60, bus.timetable().getTripSchedule(1).arrival(2));
+
+        KoreanRoute subway = data.getRoute(1);
+        assertEquals("R2", subway.getRouteId());
+        assertArrayEquals(new int[] {2, 0, 2}, ((KoreanTripPattern) subway.pattern()).getStopIndexes());
+
+        // 순환 노선은 정류장별로 한 번만
+        assertArrayEquals(new int[] {0, 1}, data.getRoutesByStop(0));
+        assertArrayEquals(new int[] {0}, data.getRoutesByStop(1));
+        assertArrayEquals(new int[] {0, 1}, data.getRoutesByStop(2));
+
+        assertEquals(8 * 3600, data.getServiceStartTime());
+        assertEquals(9 * 3600 + 20 * 60, data.getServiceEndTime());
+    }
+
+    @Test
+    void buildsWalkTransfersWithinRadiusOnly() throws Exception {
+        writeFixture(STOPS);
+
+        TransitData data = new StreamingTransitDataBuilder(gtfsDir, 1).build();
+
+        List<KoreanTransfer> fromA = toList(data.getTransfersFrom(0));
+        assertEquals(1, fromA.size());
+        assertEquals(1, fromA.get(0).stop());
+        int seconds = fromA.get(0).durationInSeconds();
+        assertTrue(seconds > 150 && seconds < 220, "약 222m 도보: " + seconds);
+        assertEquals(seconds * 100, fromA.get(0).c1());
+
+        List<KoreanTransfer> toA = toList(data.getTransfersTo(0));
+        assertEquals(1, toA.size());
+        assertEquals(1, toA.get(0).stop());
+        assertTrue(toList(data.getTransfersFrom(2)).isEmpty());
+        assertTrue(toList(data.getTransfersTo(2)).isEmpty());
+    }
+
+    @Test
+    void skipsFewMalformedRowsButFailsAboveThreshold() throws Exception {
+        StringBuilder stops = new StringBuilder(STOPS);
+        for (int i = 0; i < 200; i++) {
+            stops.append("X").append(i).append(",먼 정류장,").append(36.0 + i * 0.01).append(",128.0\n");
+        }
+        stops.append("BAD,형식 오류,abc,127.0\n");
+        writeFixture(stops.toString());
+
+        TransitData data = new StreamingTransitDataBuilder(gtfsDir, 1).build();
+        assertEquals(203, data.getStopCount());
+        assertArrayEquals(new int[] {0, 1}, data.getRoutesByStop(0));
+
+        writeFixture(STOPS + "BAD1,형식 오류,abc,127.0\nBAD2,형식 오류,37.5,xyz\n");
+        IOException e = assertThrows(IOException.class,
+            () -> new StreamingTransitDataBuilder(gtfsDir, 1).build());
+        assertTrue(e.getMessage().contains("stops.txt"), e.getMessage());
+    }
+
+    @Test
+    void slackIndexFollowsModeIncludingExtendedRouteTypes() {
+        assertEquals(0, StreamingTransitDataBuilder.slackIndex(0));    // 트램
+        assertEquals(0, StreamingTransitDataBuilder.slackIndex(1));    // 지하철
+        assertEquals(0, StreamingTransitDataBuilder.slackIndex(401));  // 도시철도 (확장)
+        assertEquals(0, StreamingTransitDataBuilder.slackIndex(102));  // 철도 (확장)
+        assertEquals(1, StreamingTransitDataBuilder.slackIndex(3));    // 버스
+        assertEquals(1, StreamingTransitDataBuilder.slackIndex(702));  // 버스 (확장)
+        assertEquals(1, StreamingTransitDataBuilder.slackIndex(4));    // 페리 (기타)
+    }
+
+    private static List<KoreanTransfer> toList(Iterator<KoreanTransfer> it) {
+        List<KoreanTransfer> list = new ArrayList<>();
+        it.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,83 @@
+package kr.otp.raptor.data;
+
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import kr.otp.synthetic.SyntheticTransitDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransitDataSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripKeepsSchedulesAndTransfers() throws Exception {
+        TransitData original = new SyntheticTransitDataGenerator(
+            new SyntheticTransitDataGenerator.Config(3L, 2, 5, 400.0, 1, 2, 1, 3600, 1800, 7200, 700.0, false))
+            .generate().transitData();
+        Path snapshot = tempDir.resolve("transit.snapshot");
+
+        TransitDataSnapshot.write(original, 42L, snapshot);
+        assertTrue(TransitDataSnapshot.isValid(snapshot, 42L));
+        assertFalse(TransitDataSnapshot.isValid(snapshot, 43L));
+
+        TransitData loaded = TransitDataSnapshot.load(snapshot);
+        assertEquals(original.getStopCount(), loaded.getStopCount());
+        assertEquals(original.getRouteCount(), loaded.getRouteCount());
+        assertEquals(original.getTotalTripCount(), loaded.getTotalTripCount());
+
+        for (int r = 0; r < original.getRouteCount(); r++) {
+            KoreanRoute a = original.getRoute(r);
+            KoreanRoute b = loaded.getRoute(r);
+            assertArrayEquals(((KoreanTripPattern) a.pattern()).getStopIndexes(),
+                ((KoreanTripPattern) b.pattern()).getStopIndexes());
+            int stops = a.pattern().numberOfStopsInPattern();
+            for (int t = 0; t < a.getTripCount(); t++) {
+                KoreanTripSchedule x = a.timetable().getTripSchedule(t);
+                KoreanTripSchedule y = b.timetable().getTripSchedule(t);
+                assertEquals(x.getTripId(), y.getTripId());
+                assertEquals(x.departure(0), y.tripSortIndex());
+                for (int p = 0; p < stops; p++) {
+                    assertEquals(x.arrival(p), y.arrival(p));
+                    assertEquals(x.departure(p), y.departure(p));
+                }
+            }
+        }
+        for (int s = 0; s < original.getStopCount(); s++) {
+            assertArrayEquals(original.getRoutesByStop(s), loaded.getRoutesByStop(s));
+            Iterator<KoreanTransfer> a = original.getTransfersFrom(s);
+            Iterator<KoreanTransfer> b = loaded.getTransfersFrom(s);
+            while (a.hasNext()) {
+                KoreanTransfer x = a.next();
+                KoreanTransfer y = b.next();
+                assertEquals(x.stop(), y.stop());
+                assertEquals(x.durationInSeconds(), y.durationInSeconds());
+            }
+            assertFalse(b.hasNext());
+        }
+    }
+
+    @Test
+    void fingerprintDependsOnBuilder() throws Exception {
+        Path gtfs = Files.createDirectory(tempDir.resolve("gtfs"));
+        Files.writeString(gtfs.resolve("stops.txt"), "stop_id,stop_name,stop_lat,stop_lon\n");
+
+        assertEquals(TransitDataSnapshot.fingerprint(gtfs, "streaming-v1"),
+            TransitDataSnapshot.fingerprint(gtfs, "streaming-v1"));
+        assertNotEquals(TransitDataSnapshot.fingerprint(gtfs, "streaming-v1"),
+            TransitDataSnapshot.fingerprint(gtfs, "gtfs-loader"));
+    }
+}
@@ -0,0 +1,140 @@
+package kr.otp.raptor.spi;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorBoardOrAlightEvent;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarTimeTableTest {
+
+    private static final KoreanTripPattern PATTERN = new KoreanTripPattern(7, new int[] {10, 11, 12}, 1, "테스트");
+
+    /**
+     * 정렬되지 않은 입력 (첫 출발 08:20, 08:00, 08:10, 08:30), 정차 시간이 있는 트립 포함
+     */
+    private static KoreanTripSchedule[] unsortedTrips() {
+        return new KoreanTripSchedule[] {
+            trip("T20", 8 * 3600 + 1200, 300, 60),
+            trip("T00", 8 * 3600, 300, 0),
+            trip("T10", 8 * 3600 + 600, 360, 30),
+            trip("T30", 8 * 3600 + 1800, 300, 0),
+        };
+    }
+
+    private static KoreanTripSchedule trip(String tripId, int start, int runTime, int dwell) {
+        int[] arrivals = new int[3];
+        int[] departures = new int[3];
+        int time = start;
+        for (int pos = 0; pos < 3; pos++) {
+            arrivals[pos] = pos == 0 ? start : time;
+            departures[pos] = pos == 0 ? start : time + dwell;
+            time = departures[pos] + runTime;
+        }
+        return new KoreanTripSchedule(start, arrivals, departures, PATTERN, tripId, "1번");
+    }
+
+    @Test
+    void ofSortsByFirstDepartureAndKeepsTimes() {
+        KoreanTripSchedule[] source = unsortedTrips();
+        ColumnarTimeTable timetable = ColumnarTimeTable.of(PATTERN, source);
+
+        assertEquals(4, timetable.numberOfTripSchedules());
+        String[] expectedOrder = {"T00", "T10", "T20", "T30"};
+        for (int t = 0; t < 4; t++) {
+            KoreanTripSchedule schedule = timetable.getTripSchedule(t);
+            assertEquals(expectedOrder[t], schedule.getTripId());
+            assertInstanceOf(FlyweightTripSchedule.class, schedule);
+            assertEquals(t, ((FlyweightTripSchedule) schedule).getTripIndex());
+            assertSame(PATTERN, schedule.pattern());
+            assertEquals(schedule.departure(0), schedule.tripSortIndex());
+
+            KoreanTripSchedule original = findTrip(source, schedule.getTripId());
+            for (int pos = 0; pos < 3; pos++) {
+                assertEquals(original.arrival(pos), schedule.arrival(pos));
+                assertEquals(original.departure(pos), schedule.departure(pos));
+                assertEquals(original.arrival(pos), timetable.arrival(t, pos));
+                assertEquals(original.departure(pos), timetable.departure(t, pos));
+            }
+        }
+        assertTrue(timetable.getTripSchedule(1).toString().contains("T10"));
+    }
+
+    @Test
+    void forwardSearchMatchesLinearScan() {
+        ColumnarTimeTable timetable = ColumnarTimeTable.of(PATTERN, unsortedTrips());
+        RaptorTripScheduleSearch<KoreanTripSchedule> search = timetable.tripSearch(SearchDirection.FORWARD);
+
+        for (int pos = 0; pos < 3; pos++) {
+            for (int limit = RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX; limit <= 4; limit++) {
+                for (int time = 8 * 3600 - 60; time <= 9 * 3600; time += 30) {
+                    int upper = limit == RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX ? 4 : limit;
+                    int expected = -1;
+                    for (int t = 0; t < upper && expected < 0; t++) {
+                        if (timetable.departure(t, pos) >= time) {
+                            expected = t;
+                        }
+                    }
+                    int expectedTime = expected < 0 ? -1 : timetable.departure(expected, pos);
+                    assertEvent(search.search(time, pos, limit), expected, pos, time, expectedTime);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reverseSearchMatchesLinearScan() {
+        ColumnarTimeTable timetable = ColumnarTimeTable.of(PATTERN, unsortedTrips());
+        RaptorTripScheduleSearch<KoreanTripSchedule> search = timetable.tripSearch(SearchDirection.REVERSE);
+
+        for (int pos = 0; pos < 3; pos++) {
+            for (int limit = RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX; limit < 4; limit++) {
+                for (int time = 8 * 3600 - 60; time <= 9 * 3600; time += 30) {
+                    int lower = limit == RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX ? 0 : limit + 1;
+                    int expected = -1;
+                    for (int t = 3; t >= lower && expected < 0; t--) {
+                        if (timetable.arrival(t, pos) <= time) {
+                            expected = t;
+                        }
+                    }
+                    int expectedTime = expected < 0 ? -1 : timetable.arrival(expected, pos);
+                    assertEvent(search.search(time, pos, limit), expected, pos, time, expectedTime);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsMismatchedColumns() {
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarTimeTable(
+            PATTERN, new int[5], new int[6], new String[] {"A", "B"}, new String[] {"1", "1"}));
+    }
+
+    static void assertEvent(RaptorBoardOrAlightEvent<KoreanTripSchedule> event, int expectedTrip,
+                            int pos, int earliestBoardTime, int expectedTime) {
+        if (expectedTrip < 0) {
+            assertTrue(event.empty(), "트립이 없어야 함: pos=" + pos + ", time=" + earliestBoardTime);
+            return;
+        }
+        assertEquals(false, event.empty());
+        assertEquals(expectedTrip, event.tripIndex());
+        assertEquals(expectedTrip, ((FlyweightTripSchedule) event.trip()).getTripIndex());
+        assertEquals(pos, event.stopPositionInPattern());
+        assertEquals(earliestBoardTime, event.earliestBoardTime());
+        assertEquals(expectedTime, event.time());
+    }
+
+    private static KoreanTripSchedule findTrip(KoreanTripSchedule[] schedules, String tripId) {
+        for (KoreanTripSchedule schedule : schedules) {
+            if (schedule.getTripId().equals(tripId)) {
+                return schedule;
+            }
+        }
+        throw new AssertionError(tripId);
+    }
+}
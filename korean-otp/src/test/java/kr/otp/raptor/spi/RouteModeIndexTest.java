@@ -0,0 +1,80 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RouteModeIndexTest {
+
+    /**
+     * 노선 r의 route_type = TYPES[r % 6] (70개라 비트셋 워드 2개)
+     * 0 트램, 1 지하철, 2 철도, 3 버스, 4 페리(기타), 401 확장 지하철
+     */
+    private static final int[] TYPES = {0, 1, 2, 3, 4, 401};
+    private static final int ROUTES = 70;
+
+    private static TransitData sample() {
+        KoreanRoute[] routes = new KoreanRoute[ROUTES];
+        for (int r = 0; r < ROUTES; r++) {
+            KoreanTripPattern pattern = new KoreanTripPattern(r, new int[] {0, 1}, 1, "노선" + r);
+            routes[r] = new KoreanRoute(pattern, ColumnarTimeTable.of(pattern, new KoreanTripSchedule[0]),
+                "R" + r, "" + r, "", TYPES[r % TYPES.length]);
+        }
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] noTransfers = new List[] {List.of(), List.of()};
+        return new TransitData(2, new String[] {"A", "B"}, new double[2], new double[2], routes,
+            noTransfers, noTransfers, new int[2][0], 0, 0);
+    }
+
+    @Test
+    void countsRoutesPerMode() {
+        RouteModeIndex index = RouteModeIndex.of(sample());
+
+        assertEquals(12, index.getRouteCount(TransitMode.TRAM));
+        assertEquals(23, index.getRouteCount(TransitMode.SUBWAY));  // 1번 + 401번 유형
+        assertEquals(12, index.getRouteCount(TransitMode.RAIL));
+        assertEquals(12, index.getRouteCount(TransitMode.BUS));
+        assertEquals(11, index.getRouteCount(TransitMode.OTHER));
+    }
+
+    @Test
+    void allowedRoutesOrsModeBitsets() {
+        RouteModeIndex index = RouteModeIndex.of(sample());
+
+        long[] allowed = index.allowedRoutes(EnumSet.of(TransitMode.BUS, TransitMode.OTHER));
+        assertEquals(2, allowed.length);
+        for (int r = 0; r < ROUTES; r++) {
+            int type = TYPES[r % TYPES.length];
+            boolean expected = type == 3 || type == 4;
+            assertEquals(expected, (allowed[r >>> 6] & (1L << r)) != 0L, "노선 " + r);
+        }
+        assertArrayEquals(new long[2], index.allowedRoutes(EnumSet.noneOf(TransitMode.class)));
+    }
+
+    @Test
+    void allModesMeanNoRestriction() {
+        RouteModeIndex index = RouteModeIndex.of(sample());
+
+        assertNull(index.allowedRoutes(null));
+        assertNull(index.allowedRoutes(EnumSet.allOf(TransitMode.class)));
+    }
+
+    @Test
+    void classifiesExtendedRouteTypes() {
+        assertEquals(TransitMode.TRAM, TransitMode.of(0));
+        assertEquals(TransitMode.SUBWAY, TransitMode.of(402));
+        assertEquals(TransitMode.RAIL, TransitMode.of(102));
+        assertEquals(TransitMode.BUS, TransitMode.of(704));
+        assertEquals(TransitMode.OTHER, TransitMode.of(1000));
+        assertEquals(EnumSet.of(TransitMode.RAIL, TransitMode.BUS), TransitMode.parse("Rail,,bus "));
+        assertThrows(IllegalArgumentException.class, () -> TransitMode.parse("ferry"));
+    }
+}
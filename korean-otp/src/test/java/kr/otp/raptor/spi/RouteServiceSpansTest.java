@@ -0,0 +1,88 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteServiceSpansTest {
+
+    private static final int H = 3600;
+
+    /**
+     * 노선 0: 06:00~06:40, 22:00~22:40 / 1: 심야 25:00~25:30 / 2: 트립 없음
+     * 3: 07:50~09:10 (시간대 3개에 걸침) / 4: 70:00~70:30 (63시 이후는 비트 63)
+     */
+    private static TransitData sample() {
+        KoreanRoute[] routes = {
+            route(0, new int[][] {{6 * H, 6 * H + 2400}, {22 * H, 22 * H + 2400}}),
+            route(1, new int[][] {{25 * H, 25 * H + 1800}}),
+            route(2, new int[][] {}),
+            route(3, new int[][] {{7 * H + 3000, 9 * H + 600}}),
+            route(4, new int[][] {{70 * H, 70 * H + 1800}}),
+        };
+        @SuppressWarnings("unchecked")
+        List<KoreanTransfer>[] noTransfers = new List[] {List.of(), List.of()};
+        return new TransitData(2, new String[] {"A", "B"}, new double[2], new double[2], routes,
+            noTransfers, noTransfers, new int[][] {{0, 1, 2, 3, 4}, {0, 1, 2, 3, 4}}, 6 * H, 70 * H + 1800);
+    }
+
+    private static KoreanRoute route(int index, int[][] trips) {
+        KoreanTripPattern pattern = new KoreanTripPattern(index, new int[] {0, 1}, 1, "노선" + index);
+        KoreanTripSchedule[] schedules = new KoreanTripSchedule[trips.length];
+        for (int t = 0; t < trips.length; t++) {
+            int[] times = trips[t];
+            schedules[t] = new KoreanTripSchedule(times[0], times, times, pattern, index + "-" + t, "" + index);
+        }
+        return new KoreanRoute(pattern, ColumnarTimeTable.of(pattern, schedules), "R" + index, "" + index, "", 3);
+    }
+
+    @Test
+    void computesFirstDepartureAndLastArrival() {
+        RouteServiceSpans spans = RouteServiceSpans.of(sample());
+
+        assertEquals(5, spans.getRouteCount());
+        assertEquals(6 * H, spans.getFirstDeparture(0));
+        assertEquals(22 * H + 2400, spans.getLastArrival(0));
+        assertEquals(25 * H, spans.getFirstDeparture(1));
+        assertEquals(Integer.MAX_VALUE, spans.getFirstDeparture(2));
+        assertEquals(Integer.MIN_VALUE, spans.getLastArrival(2));
+    }
+
+    @Test
+    void skipsRoutesOutsideWindowAndHourGaps() {
+        RouteServiceSpans spans = RouteServiceSpans.of(sample());
+
+        // 노선 0은 첫차~막차 범위 안이지만 12~13시에는 운행하지 않는다
+        assertArrayEquals(new long[] {0L}, spans.activeRoutes(12 * H, 13 * H));
+        assertArrayEquals(new long[] {1L << 3}, spans.activeRoutes(8 * H + 1800, 8 * H + 2400));
+        assertArrayEquals(new long[] {1L | 1L << 3}, spans.activeRoutes(6 * H + 1200, 8 * H));
+        assertArrayEquals(new long[] {1L << 1}, spans.activeRoutes(24 * H + 3000, 26 * H));
+        assertArrayEquals(new long[] {1L << 4}, spans.activeRoutes(65 * H, RouteServiceSpans.UNBOUNDED_LATEST));
+    }
+
+    @Test
+    void windowBoundsAreInclusive() {
+        RouteServiceSpans spans = RouteServiceSpans.of(sample());
+
+        assertTrue(spans.isActive(0, 22 * H + 2400, 23 * H));
+        assertFalse(spans.isActive(0, 22 * H + 2401, 23 * H));
+        assertTrue(spans.isActive(1, 24 * H, 25 * H));
+        assertFalse(spans.isActive(1, 24 * H, 25 * H - 1));
+        assertFalse(spans.isActive(0, 7 * H, 6 * H), "earliest > latest");
+    }
+
+    @Test
+    void unboundedWindowKeepsEveryRouteWithTrips() {
+        RouteServiceSpans spans = RouteServiceSpans.of(sample());
+
+        long[] active = spans.activeRoutes(RouteServiceSpans.UNBOUNDED_EARLIEST, RouteServiceSpans.UNBOUNDED_LATEST);
+        assertArrayEquals(new long[] {0b11011L}, active);
+    }
+}
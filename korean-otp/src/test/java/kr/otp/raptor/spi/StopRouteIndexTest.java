@@ -0,0 +1,130 @@
+package kr.otp.raptor.spi;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.spi.IntIterator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StopRouteIndexTest {
+
+    private static final int ROUTES = 200;  // 워드 4개에 걸치도록
+
+    /**
+     * 정류장 0: 3, 64, 130 / 1: 64, 199 / 2: 없음 / 3: 0, 3
+     */
+    private static final int[][] ROUTES_BY_STOP = {
+        {130, 3, 64},
+        {64, 199},
+        {},
+        {0, 3},
+    };
+
+    private static StopRouteIndex sample() {
+        return StopRouteIndex.of(ROUTES_BY_STOP.length, ROUTES, s -> ROUTES_BY_STOP[s]);
+    }
+
+    @Test
+    void returnsDistinctRoutesInAscendingOrder() {
+        StopRouteIndex index = sample();
+
+        assertEquals(List.of(0, 3, 64, 130, 199), drain(index.routeIndexIterator(stops(0, 1, 2, 3))));
+        assertEquals(List.of(3, 64, 130), drain(index.routeIndexIterator(stops(0))));
+        assertEquals(List.of(), drain(index.routeIndexIterator(stops(2))));
+        assertEquals(List.of(), drain(index.routeIndexIterator(stops())));
+        assertEquals(4, index.getStopCount());
+        assertEquals(ROUTES, index.getRouteCount());
+    }
+
+    @Test
+    void partiallyReadIteratorDoesNotLeakIntoNextCall() {
+        StopRouteIndex index = sample();
+
+        IntIterator first = index.routeIndexIterator(stops(0, 1, 3));
+        assertEquals(0, first.next());
+        assertEquals(3, first.next());
+
+        // 읽지 않은 64, 130, 199 워드는 다음 호출 전에 지워져야 한다
+        assertEquals(List.of(0, 3), drain(index.routeIndexIterator(stops(3))));
+        assertEquals(List.of(64, 199), drain(index.routeIndexIterator(stops(1))));
+
+        IntIterator empty = index.routeIndexIterator(stops(2));
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    void filtersByAllowedRoutes() {
+        StopRouteIndex index = sample();
+        long[] allowed = new long[(ROUTES + 63) >>> 6];
+        for (int route : new int[] {3, 130, 199}) {
+            allowed[route >>> 6] |= 1L << route;
+        }
+
+        assertEquals(List.of(3, 130, 199), drain(index.routeIndexIterator(stops(0, 1, 3), allowed)));
+        assertEquals(List.of(0, 3, 64, 130, 199), drain(index.routeIndexIterator(stops(0, 1, 3), null)));
+        assertEquals(List.of(), drain(index.routeIndexIterator(stops(1), new long[allowed.length])));
+    }
+
+    @Test
+    void matchesBitSetReferenceOnRandomQueries() {
+        Random random = new Random(42);
+        int stopCount = 300;
+        int routeCount = 1000;
+        int[][] routesByStop = new int[stopCount][];
+        for (int s = 0; s < stopCount; s++) {
+            routesByStop[s] = random.ints(random.nextInt(12), 0, routeCount).distinct().toArray();
+        }
+        StopRouteIndex index = StopRouteIndex.of(stopCount, routeCount, s -> routesByStop[s]);
+
+        for (int q = 0; q < 200; q++) {
+            int[] stops = random.ints(random.nextInt(40), 0, stopCount).toArray();
+            BitSet expected = new BitSet(routeCount);
+            for (int stop : stops) {
+                for (int route : routesByStop[stop]) {
+                    expected.set(route);
+                }
+            }
+            IntIterator it = index.routeIndexIterator(stops(stops));
+            List<Integer> actual = new ArrayList<>();
+            // 가끔 중간까지만 읽어 지연 정리도 함께 검증
+            int readLimit = q % 5 == 0 ? 3 : Integer.MAX_VALUE;
+            while (it.hasNext() && actual.size() < readLimit) {
+                actual.add(it.next());
+            }
+            List<Integer> reference = expected.stream().boxed().limit(readLimit).toList();
+            assertEquals(reference, actual);
+        }
+    }
+
+    private static IntIterator stops(int... stops) {
+        return new IntIterator() {
+            private int pos;
+
+            @Override
+            public int next() {
+                return stops[pos++];
+            }
+
+            @Override
+            public boolean hasNext() {
+                return pos < stops.length;
+            }
+        };
+    }
+
+    private static List<Integer> drain(IntIterator it) {
+        List<Integer> list = new ArrayList<>();
+        while (it.hasNext()) {
+            list.add(it.next());
+        }
+        return list;
+    }
+}
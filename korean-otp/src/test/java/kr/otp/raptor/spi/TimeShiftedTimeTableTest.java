@@ -0,0 +1,168 @@
+package kr.otp.raptor.spi;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTimeTable;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeShiftedTimeTableTest {
+
+    private static final int STOPS = 5;
+    private static final KoreanTripPattern PATTERN = new KoreanTripPattern(3, new int[] {0, 1, 2, 3, 4}, 1, "테스트");
+
+    /**
+     * 10분 간격 트립 (홀수 트립은 구간마다 1분 정차해서 프로필 2개), 입력은 역순
+     */
+    private static KoreanTripSchedule[] repeatedTrips(int count) {
+        KoreanTripSchedule[] trips = new KoreanTripSchedule[count];
+        for (int i = 0; i < count; i++) {
+            int start = 6 * 3600 + i * 600;
+            int dwell = i % 2 == 0 ? 0 : 60;
+            int[] arrivals = new int[STOPS];
+            int[] departures = new int[STOPS];
+            for (int pos = 0; pos < STOPS; pos++) {
+                arrivals[pos] = start + pos * (120 + dwell);
+                departures[pos] = pos == 0 ? start : arrivals[pos] + dwell;
+            }
+            trips[count - 1 - i] = new KoreanTripSchedule(start, arrivals, departures, PATTERN, "T" + i, "1번");
+        }
+        return trips;
+    }
+
+    /**
+     * 트립마다 구간 시간이 달라 프로필로 묶이지 않는 시간표 (추월 없음)
+     */
+    private static KoreanTripSchedule[] irregularTrips(int count, long seed) {
+        Random random = new Random(seed);
+        KoreanTripSchedule[] trips = new KoreanTripSchedule[count];
+        for (int i = 0; i < count; i++) {
+            int start = 6 * 3600 + i * 900;
+            int[] arrivals = new int[STOPS];
+            int[] departures = new int[STOPS];
+            int time = start;
+            for (int pos = 0; pos < STOPS; pos++) {
+                arrivals[pos] = time;
+                departures[pos] = time + (pos == 0 ? 0 : random.nextInt(30));
+                time = departures[pos] + 100 + random.nextInt(200);
+            }
+            trips[i] = new KoreanTripSchedule(start, arrivals, departures, PATTERN, "X" + i, "2번");
+        }
+        return trips;
+    }
+
+    @Test
+    void encodesRepeatedTripsAsProfiles() {
+        RaptorTimeTable<KoreanTripSchedule> encoded = TimeShiftedTimeTable.encode(PATTERN, repeatedTrips(20));
+
+        TimeShiftedTimeTable timetable = assertInstanceOf(TimeShiftedTimeTable.class, encoded);
+        assertEquals(20, timetable.numberOfTripSchedules());
+        assertEquals(2, timetable.getProfileCount());
+        assertEquals("T0", timetable.getTripSchedule(0).getTripId());
+        assertEquals("T19", timetable.getTripSchedule(19).getTripId());
+        assertInstanceOf(TimeShiftedTripSchedule.class, timetable.getTripSchedule(5));
+        assertEquals(6 * 3600 + 5 * 600 + 4 * 180, timetable.getTripSchedule(5).arrival(4));
+        assertEquals(6 * 3600 + 5 * 600 + 3 * 180 + 60, timetable.getTripSchedule(5).departure(3));
+    }
+
+    @Test
+    void fallsBackToColumnarWhenProfilesDoNotPayOff() {
+        assertInstanceOf(ColumnarTimeTable.class, TimeShiftedTimeTable.encode(PATTERN, irregularTrips(12, 1L)));
+        assertInstanceOf(ColumnarTimeTable.class, TimeShiftedTimeTable.encode(PATTERN, repeatedTrips(1)));
+    }
+
+    @Test
+    void schedulesAndSearchesMatchArrayBackedTimetable() {
+        for (KoreanTripSchedule[] source : new KoreanTripSchedule[][] {repeatedTrips(20), irregularTrips(12, 7L)}) {
+            KoreanTripSchedule[] sorted = source.clone();
+            Arrays.sort(sorted, Comparator.comparingInt(KoreanTripSchedule::tripSortIndex));
+
+            RaptorTimeTable<KoreanTripSchedule> columnar = ColumnarTimeTable.of(PATTERN, source);
+            RaptorTimeTable<KoreanTripSchedule> shifted = repeatedOrForced(source, sorted);
+
+            for (int t = 0; t < sorted.length; t++) {
+                for (int pos = 0; pos < STOPS; pos++) {
+                    assertEquals(sorted[t].arrival(pos), columnar.getTripSchedule(t).arrival(pos));
+                    assertEquals(sorted[t].departure(pos), columnar.getTripSchedule(t).departure(pos));
+                    assertEquals(sorted[t].arrival(pos), shifted.getTripSchedule(t).arrival(pos));
+                    assertEquals(sorted[t].departure(pos), shifted.getTripSchedule(t).departure(pos));
+                }
+                assertEquals(sorted[t].getTripId(), shifted.getTripSchedule(t).getTripId());
+            }
+
+            for (SearchDirection direction : SearchDirection.values()) {
+                RaptorTripScheduleSearch<KoreanTripSchedule> a = columnar.tripSearch(direction);
+                RaptorTripScheduleSearch<KoreanTripSchedule> b = shifted.tripSearch(direction);
+                for (int pos = 0; pos < STOPS; pos++) {
+                    for (int limit = RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX; limit < sorted.length; limit++) {
+                        for (int time = 6 * 3600 - 60; time <= 10 * 3600; time += 97) {
+                            int expected = linearScan(sorted, direction, time, pos, limit);
+                            int expectedTime = expected < 0 ? -1 : direction == SearchDirection.FORWARD
+                                ? sorted[expected].departure(pos) : sorted[expected].arrival(pos);
+                            ColumnarTimeTableTest.assertEvent(a.search(time, pos, limit), expected, pos, time, expectedTime);
+                            ColumnarTimeTableTest.assertEvent(b.search(time, pos, limit), expected, pos, time, expectedTime);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 압축 이득이 없는 시간표도 시간 이동 디코딩을 검증하도록 프로필을 트립마다 하나씩 강제로 만든다
+     */
+    private static RaptorTimeTable<KoreanTripSchedule> repeatedOrForced(KoreanTripSchedule[] source,
+                                                                      KoreanTripSchedule[] sorted) {
+        RaptorTimeTable<KoreanTripSchedule> encoded = TimeShiftedTimeTable.encode(PATTERN, source);
+        if (encoded instanceof TimeShiftedTimeTable) {
+            return encoded;
+        }
+        int trips = sorted.length;
+        int[] startTimes = new int[trips];
+        int[] profileIds = new int[trips];
+        int[] profiles = new int[trips * 2 * STOPS];
+        String[] tripIds = new String[trips];
+        String[] routeShortNames = new String[trips];
+        for (int t = 0; t < trips; t++) {
+            startTimes[t] = sorted[t].departure(0);
+            profileIds[t] = t;
+            for (int pos = 0; pos < STOPS; pos++) {
+                profiles[t * 2 * STOPS + pos] = sorted[t].arrival(pos) - startTimes[t];
+                profiles[t * 2 * STOPS + STOPS + pos] = sorted[t].departure(pos) - startTimes[t];
+            }
+            tripIds[t] = sorted[t].getTripId();
+            routeShortNames[t] = sorted[t].getRouteShortName();
+        }
+        TimeShiftedTimeTable forced =
+            new TimeShiftedTimeTable(PATTERN, startTimes, profileIds, profiles, tripIds, routeShortNames);
+        assertTrue(forced.toString().contains("profiles=" + trips));
+        return forced;
+    }
+
+    private static int linearScan(KoreanTripSchedule[] sorted, SearchDirection direction, int time, int pos,
+                                  int limit) {
+        if (direction == SearchDirection.FORWARD) {
+            int upper = limit == RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX ? sorted.length : limit;
+            for (int t = 0; t < upper; t++) {
+                if (sorted[t].departure(pos) >= time) {
+                    return t;
+                }
+            }
+        } else {
+            int lower = limit == RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX ? 0 : limit + 1;
+            for (int t = sorted.length - 1; t >= lower; t--) {
+                if (sorted[t].arrival(pos) <= time) {
+                    return t;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,143 @@
+package kr.otp.raptor.spi;
+
+import kr.otp.raptor.data.TransitData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransferIndexTest {
+
+    private static final KoreanTransfer A_TO_B = new KoreanTransfer(1, 60, 6000);
+    private static final KoreanTransfer A_TO_C = new KoreanTransfer(2, 120, 12000);
+    private static final KoreanTransfer C_TO_A = new KoreanTransfer(0, 120, 12000);
+
+    /**
+     * 정류장 4개: 0→1, 0→2, 2→0 (3은 환승 없음)
+     */
+    @SuppressWarnings("unchecked")
+    private static TransitData transitData(List<KoreanTransfer>[] from, List<KoreanTransfer>[] to) {
+        return new TransitData(4, new String[] {"A", "B", "C", "D"}, new double[4], new double[4],
+            new KoreanRoute[0], from, to, new int[4][0], 0, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TransitData sample() {
+        List<KoreanTransfer>[] from = new List[] {List.of(A_TO_B, A_TO_C), List.of(), List.of(C_TO_A), List.of()};
+        List<KoreanTransfer>[] to = new List[] {
+            List.of(new KoreanTransfer(2, 120, 12000)),
+            List.of(new KoreanTransfer(0, 60, 6000)),
+            List.of(new KoreanTransfer(0, 120, 12000)),
+            List.of()
+        };
+        return transitData(from, to);
+    }
+
+    @Test
+    void keepsTransfersPerStopInSourceOrder() {
+        TransferIndex index = TransferIndex.of(sample());
+
+        assertEquals(4, index.getStopCount());
+        assertEquals(3, index.getTransferCount());
+        assertEquals(List.of(A_TO_B, A_TO_C), drain(index.transfersFrom(0)));
+        assertEquals(List.of(), drain(index.transfersFrom(1)));
+        assertEquals(List.of(C_TO_A), drain(index.transfersFrom(2)));
+        assertEquals(List.of(), drain(index.transfersFrom(3)));
+        assertEquals(1, drain(index.transfersTo(1)).size());
+        assertEquals(0, drain(index.transfersTo(1)).get(0).stop());
+
+        // 원본 객체를 그대로 공유 (Raptor가 경로 복원에 참조를 보관)
+        assertSame(A_TO_B, index.transfersFrom(0).next());
+    }
+
+    @Test
+    void iteratorIsReusedPerThreadAndBounded() throws Exception {
+        TransferIndex index = TransferIndex.of(sample());
+
+        Iterator<KoreanTransfer> first = index.transfersFrom(0);
+        first.next();
+        first.next();
+        assertFalse(first.hasNext());
+        assertThrows(NoSuchElementException.class, first::next);
+        assertSame(first, index.transfersFrom(2));
+
+        AtomicReference<Iterator<KoreanTransfer>> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(index.transfersFrom(0)));
+        thread.start();
+        thread.join();
+        assertNotSame(first, other.get(), "스레드마다 별도 커서");
+        assertEquals(List.of(C_TO_A), drain(first));
+    }
+
+    @Test
+    void listViewsRebuildTheSameIndex() {
+        TransferIndex index = TransferIndex.of(sample());
+        List<KoreanTransfer>[] from = index.transferListsFrom();
+        List<KoreanTransfer>[] to = index.transferListsTo();
+
+        assertEquals(List.of(A_TO_B, A_TO_C), from[0]);
+        assertThrows(UnsupportedOperationException.class, () -> from[0].set(0, C_TO_A));
+
+        // 래퍼 TransitData로 다시 만든 인덱스(시나리오 엔진)도 같은 환승을 본다
+        TransferIndex rebuilt = TransferIndex.of(transitData(from, to));
+        assertEquals(index.getTransferCount(), rebuilt.getTransferCount());
+        for (int s = 0; s < 4; s++) {
+            assertEquals(drain(index.transfersFrom(s)), drain(rebuilt.transfersFrom(s)));
+            assertEquals(drain(index.transfersTo(s)), drain(rebuilt.transfersTo(s)));
+        }
+    }
+
+    @Test
+    void builderCreatesBothDirectionsInInsertionOrder() {
+        TransferIndex index = new TransferIndex.Builder(4)
+            .add(0, 1, 60, 6000)
+            .add(2, 0, 120, 12000)
+            .add(0, 2, 120, 12000)
+            .build();
+
+        assertEquals(3, index.getTransferCount());
+        List<KoreanTransfer> fromA = drain(index.transfersFrom(0));
+        assertEquals(List.of(1, 2), fromA.stream().map(KoreanTransfer::stop).toList());
+        assertEquals(60, fromA.get(0).durationInSeconds());
+        assertEquals(12000, fromA.get(1).c1());
+        assertEquals(List.of(2), drain(index.transfersTo(0)).stream().map(KoreanTransfer::stop).toList());
+        assertEquals(List.of(0), drain(index.transfersTo(2)).stream().map(KoreanTransfer::stop).toList());
+        assertEquals(List.of(0), drain(index.transfersTo(1)).stream().map(KoreanTransfer::stop).toList());
+        assertEquals(List.of(), drain(index.transfersFrom(3)));
+    }
+
+    @Test
+    void boundIndexIsReusedForItsTransitData() {
+        TransferIndex index = new TransferIndex.Builder(4).add(0, 1, 60, 6000).build();
+        TransitData data = index.bind(transitData(index.transferListsFrom(), index.transferListsTo()));
+
+        assertSame(index, TransferIndex.of(data));
+        assertNotSame(index, TransferIndex.of(sample()));
+    }
+
+    @Test
+    void csrFactoryRejectsMismatchedArrays() {
+        KoreanTransfer[] one = {A_TO_B};
+        TransferIndex index = TransferIndex.of(new int[] {0, 1, 1, 1, 1}, one, new int[] {0, 0, 1, 1, 1}, one);
+        assertSame(A_TO_B, index.transfersFrom(0).next());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> TransferIndex.of(new int[] {0, 2, 2, 2, 2}, one, new int[] {0, 0, 1, 1, 1}, one));
+    }
+
+    private static List<KoreanTransfer> drain(Iterator<KoreanTransfer> it) {
+        List<KoreanTransfer> list = new ArrayList<>();
+        it.forEachRemaining(list::add);
+        return list;
+    }
+}
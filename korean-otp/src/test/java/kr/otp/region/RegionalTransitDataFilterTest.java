@@ -0,0 +1,105 @@
+package kr.otp.region;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTimeTable;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionalTransitDataFilterTest {
+
+    private static final Region REGION = Region.bbox(37.0, 127.0, 37.1, 127.1);
+
+    /**
+     * 정류장 0~2, 4는 지역 안, 3은 지역 밖.
+     * 순환 노선 0 → 1 → 2 → 0 → 3 → 4 (지역 밖 3에서 끊기고 4 하나만 남는 구간은 버려짐)
+     */
+    @SuppressWarnings("unchecked")
+    private static TransitData data() {
+        double[] lats = {37.01, 37.02, 37.03, 38.00, 37.05};
+        double[] lons = {127.01, 127.02, 127.03, 128.00, 127.05};
+        int[] stops = {0, 1, 2, 0, 3, 4};
+        KoreanTripPattern pattern = new KoreanTripPattern(0, stops, 1, "loop");
+        KoreanTripSchedule[] trips = new KoreanTripSchedule[2];
+        for (int t = 0; t < trips.length; t++) {
+            int[] times = new int[stops.length];
+            for (int p = 0; p < stops.length; p++) {
+                times[p] = 8 * 3600 + t * 600 + p * 120;
+            }
+            trips[t] = new KoreanTripSchedule(times[0], times, times.clone(), pattern, "T" + t, "L");
+        }
+        KoreanRoute route = new KoreanRoute(pattern, new KoreanTimeTable(trips), "L", "L", "loop", 3);
+
+        List<KoreanTransfer>[] from = new List[5];
+        List<KoreanTransfer>[] to = new List[5];
+        for (int s = 0; s < 5; s++) {
+            from[s] = new ArrayList<>();
+            to[s] = new ArrayList<>();
+        }
+        from[0].add(new KoreanTransfer(1, 60, 6000));
+        from[0].add(new KoreanTransfer(3, 60, 6000));
+        to[1].add(new KoreanTransfer(0, 60, 6000));
+        to[3].add(new KoreanTransfer(0, 60, 6000));
+
+        int[][] routesByStop = {{0}, {0}, {0}, {0}, {0}};
+        return new TransitData(5, new String[] {"A", "B", "C", "X", "D"}, lats, lons,
+            new KoreanRoute[] {route}, from, to, routesByStop, 0, 24 * 3600);
+    }
+
+    @Test
+    void keepsInsideSegmentsAndRenumbersStops() {
+        TransitData filtered = new RegionalTransitDataFilter(REGION).filter(data());
+
+        assertEquals(4, filtered.getStopCount());
+        assertEquals("D", filtered.getStopName(3));
+        assertEquals(1, filtered.getRouteCount());
+
+        KoreanRoute route = filtered.getRoute(0);
+        assertArrayEquals(new int[] {0, 1, 2, 0}, ((KoreanTripPattern) route.pattern()).getStopIndexes());
+        assertEquals(2, route.getTripCount());
+        assertEquals(8 * 3600 + 3 * 120, route.timetable().getTripSchedule(0).arrival(3));
+    }
+
+    @Test
+    void routesByStopListsLoopPatternOnce() {
+        TransitData filtered = new RegionalTransitDataFilter(REGION).filter(data());
+
+        assertArrayEquals(new int[] {0}, filtered.getRoutesByStop(0));
+        assertArrayEquals(new int[] {0}, filtered.getRoutesByStop(1));
+        assertArrayEquals(new int[0], filtered.getRoutesByStop(3));
+    }
+
+    @Test
+    void dropsTransfersLeavingRegion() {
+        TransitData filtered = new RegionalTransitDataFilter(REGION).filter(data());
+
+        Iterator<KoreanTransfer> it = filtered.getTransfersFrom(0);
+        assertTrue(it.hasNext());
+        assertEquals(1, it.next().stop());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    void fingerprintFollowsGeometry() {
+        Region a = Region.bbox(37.0, 127.0, 37.1, 127.1);
+
+        assertEquals(a.fingerprint(1L), Region.parse("bbox:37.0,127.0,37.1,127.1").fingerprint(1L));
+        assertNotEquals(a.withBuffer(1500).fingerprint(1L), a.withBuffer(1500.5).fingerprint(1L));
+        assertNotEquals(a.fingerprint(1L), Region.bbox(37.0, 127.0, 37.1, 127.2).fingerprint(1L));
+        assertNotEquals(a.fingerprint(1L), a.fingerprint(2L));
+        assertTrue(a.withBuffer(2000).contains(37.11, 127.05));
+        assertFalse(a.contains(37.11, 127.05));
+    }
+}
@@ -0,0 +1,75 @@
+package kr.otp.server;
+
+import kr.otp.raptor.spi.TransitMode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoutingServerTest {
+
+    private RoutingServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = new RoutingServer(0);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void metricsAreServedBeforeEngineIsReady() throws Exception {
+        HttpResponse<String> response = get("/metrics");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+        assertTrue(response.body().contains("korean_raptor_ready 0"));
+    }
+
+    @Test
+    void routeIsGatedUntilEngineIsReady() throws Exception {
+        assertEquals(503, get("/route?fromLat=37.5&fromLon=127.0&toLat=37.6&toLon=127.1&time=09:00").statusCode());
+        assertEquals(503, get("/ready").statusCode());
+        assertEquals(200, get("/health").statusCode());
+    }
+
+    @Test
+    void modesParamRejectsEmptyOrConflictingModes() {
+        assertNull(RoutingServer.modesParam(Map.of()));
+        assertEquals(EnumSet.of(TransitMode.SUBWAY, TransitMode.BUS),
+            RoutingServer.modesParam(Map.of("modes", "subway, BUS")));
+        assertEquals(EnumSet.of(TransitMode.TRAM, TransitMode.SUBWAY, TransitMode.RAIL),
+            RoutingServer.modesParam(Map.of("excludeModes", "bus,other")));
+
+        assertThrows(RoutingServer.BadRequestException.class,
+            () -> RoutingServer.modesParam(Map.of("modes", " , ")));
+        assertThrows(RoutingServer.BadRequestException.class,
+            () -> RoutingServer.modesParam(Map.of("excludeModes", "tram,subway,rail,bus,other")));
+        assertThrows(RoutingServer.BadRequestException.class,
+            () -> RoutingServer.modesParam(Map.of("modes", "bus", "excludeModes", "rail")));
+        assertThrows(RoutingServer.BadRequestException.class,
+            () -> RoutingServer.modesParam(Map.of("modes", "ferry")));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,90 @@
+package kr.otp.synthetic;
+
+import kr.otp.raptor.data.TransitData;
+import kr.otp.raptor.spi.KoreanRoute;
+import kr.otp.raptor.spi.KoreanTransfer;
+import kr.otp.raptor.spi.KoreanTripPattern;
+import kr.otp.raptor.spi.KoreanTripSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticTransitDataGeneratorTest {
+
+    private static final SyntheticTransitDataGenerator.Config CONFIG =
+        new SyntheticTransitDataGenerator.Config(7L, 4, 6, 400.0, 1, 2, 2, 3600, 1800, 7200, 700.0, false);
+
+    @Test
+    void sameSeedProducesSameNetwork() {
+        TransitData a = new SyntheticTransitDataGenerator(CONFIG).generate().transitData();
+        TransitData b = new SyntheticTransitDataGenerator(CONFIG).generate().transitData();
+
+        assertEquals(a.getStopCount(), b.getStopCount());
+        assertEquals(a.getRouteCount(), b.getRouteCount());
+        assertEquals(a.getTotalTripCount(), b.getTotalTripCount());
+        assertEquals(transferCount(a), transferCount(b));
+        for (int s = 0; s < a.getStopCount(); s++) {
+            assertEquals(a.getStopLat(s), b.getStopLat(s), 0.0);
+            assertEquals(a.getStopLon(s), b.getStopLon(s), 0.0);
+        }
+    }
+
+    @Test
+    void indicesInRangeAndTripsSorted() {
+        TransitData data = new SyntheticTransitDataGenerator(CONFIG).generate().transitData();
+        int stopCount = data.getStopCount();
+
+        for (int r = 0; r < data.getRouteCount(); r++) {
+            KoreanRoute route = data.getRoute(r);
+            KoreanTripPattern pattern = (KoreanTripPattern) route.pattern();
+            for (int stop : pattern.getStopIndexes()) {
+                assertTrue(stop >= 0 && stop < stopCount, "패턴 정류장 범위: " + stop);
+            }
+            int previous = Integer.MIN_VALUE;
+            for (int t = 0; t < route.getTripCount(); t++) {
+                KoreanTripSchedule trip = route.timetable().getTripSchedule(t);
+                assertTrue(trip.departure(0) >= previous, "트립 정렬: " + route.getRouteId());
+                previous = trip.departure(0);
+                for (int p = 1; p < pattern.numberOfStopsInPattern(); p++) {
+                    assertTrue(trip.arrival(p) >= trip.departure(p - 1));
+                }
+            }
+        }
+        for (int s = 0; s < stopCount; s++) {
+            for (int route : data.getRoutesByStop(s)) {
+                assertTrue(route >= 0 && route < data.getRouteCount(), "노선 범위: " + route);
+            }
+            for (Iterator<KoreanTransfer> it = data.getTransfersFrom(s); it.hasNext(); ) {
+                int to = it.next().stop();
+                assertTrue(to >= 0 && to < stopCount && to != s, "환승 정류장 범위: " + to);
+            }
+        }
+    }
+
+    @Test
+    void everyCityGetsRequestedRailLinks() {
+        TransitData data = new SyntheticTransitDataGenerator(CONFIG).generate().transitData();
+
+        // 도시 4개 × 2개 연결, 양쪽에서 같은 구간을 고르면 건너뛰므로 서로 다른 구간은 최소 4개 (양방향 패턴 8개 이상)
+        int railPatterns = 0;
+        for (int r = 0; r < data.getRouteCount(); r++) {
+            if (data.getRoute(r).getRouteId().startsWith("R")) {
+                railPatterns++;
+            }
+        }
+        assertTrue(railPatterns >= 8, "철도 패턴 수: " + railPatterns);
+    }
+
+    private static long transferCount(TransitData data) {
+        long count = 0;
+        for (int s = 0; s < data.getStopCount(); s++) {
+            for (Iterator<KoreanTransfer> it = data.getTransfersFrom(s); it.hasNext(); it.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}